@@ -0,0 +1,55 @@
+package com.infragest.infra_devices_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuración de los pools de hilos usados para el procesamiento en segundo plano.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Pool acotado que procesa las cargas masivas de dispositivos.
+     *
+     * La cola tiene capacidad fija: cuando se llena, el envío es rechazado
+     * ({@link java.util.concurrent.RejectedExecutionException}) en lugar de acumular trabajos sin límite.
+     *
+     * @param workers número de hilos de procesamiento
+     * @param queueCapacity número máximo de trabajos en espera
+     * @return executor de cargas masivas
+     */
+    @Bean(name = "bulkUploadExecutor")
+    public ThreadPoolTaskExecutor bulkUploadExecutor(
+            @Value("${devices.bulk-upload.workers:2}") int workers,
+            @Value("${devices.bulk-upload.queue-capacity:20}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bulk-upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    /**
+     * Pool fork-join en el que se validan en paralelo los bloques de filas de una carga masiva.
+     *
+     * @param parallelism número de hilos; 0 usa el número de procesadores disponibles
+     * @return pool de validación
+     */
+    @Bean(name = "bulkUploadValidationPool", destroyMethod = "shutdown")
+    public ForkJoinPool bulkUploadValidationPool(
+            @Value("${devices.bulk-upload.validation-parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,45 @@
+package com.infragest.infra_devices_service.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuración del formato binario (Smile) que ofrecen los endpoints batch usados por otros servicios.
+ *
+ * Los endpoints que lo admiten declaran {@link #APPLICATION_SMILE_VALUE} en {@code consumes}/{@code produces};
+ * el cliente lo elige con las cabeceras {@code Content-Type} y {@code Accept}, y JSON sigue siendo el formato
+ * por defecto. Los UUID viajan como 16 bytes binarios en lugar de 36 caracteres.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    /**
+     * Tipo de contenido de Smile (JSON binario de Jackson).
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    /**
+     * Convertidor Smile construido con la misma configuración de Jackson que el de JSON (módulos, fechas).
+     *
+     * Desactiva la codificación de binarios en 7 bits para que los UUID se escriban como 16 bytes crudos;
+     * los nombres de propiedad repetidos (por ejemplo, en listas de dispositivos) se referencian en lugar de
+     * repetirse. Reemplaza al convertidor Smile por defecto de Spring.
+     *
+     * @param builder constructor de {@link com.fasterxml.jackson.databind.ObjectMapper} de Spring Boot
+     * @return convertidor HTTP de Smile
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .disable(SmileGenerator.Feature.ENCODE_BINARY_AS_7BIT)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory).build());
+    }
+}
@@ -0,0 +1,53 @@
+package com.infragest.infra_devices_service.config;
+
+import com.infragest.infra_devices_service.util.GradientConcurrencyLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuración del límite de concurrencia adaptativo de las escrituras en lote (reserva, restauración y
+ * actualización de estados), compartido por la API REST y la interfaz gRPC.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Limitador de las escrituras en lote. Publica el límite y las operaciones en curso como métricas
+     * {@code devices.write_limit.limit} y {@code devices.write_limit.in_flight}.
+     *
+     * @param meterRegistry registro de métricas
+     * @param initialLimit límite inicial
+     * @param minLimit límite mínimo
+     * @param maxLimit límite máximo
+     * @param smoothing peso de cada ajuste sobre el límite actual
+     * @param rttTolerance tolerancia de la latencia reciente frente a la de referencia
+     * @param probeInterval vigencia de la latencia mínima antes de volver a medirla
+     * @return limitador de escrituras
+     */
+    @Bean(name = "writeConcurrencyLimiter")
+    public GradientConcurrencyLimiter writeConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${devices.write-limit.initial:20}") int initialLimit,
+            @Value("${devices.write-limit.min:4}") int minLimit,
+            @Value("${devices.write-limit.max:200}") int maxLimit,
+            @Value("${devices.write-limit.smoothing:0.2}") double smoothing,
+            @Value("${devices.write-limit.rtt-tolerance:1.5}") double rttTolerance,
+            @Value("${devices.write-limit.probe-interval:PT10S}") Duration probeInterval) {
+
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(
+                initialLimit, minLimit, maxLimit, smoothing, rttTolerance, probeInterval);
+        Gauge.builder("devices.write_limit.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("devices.write_limit.in_flight", limiter, GradientConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        return limiter;
+    }
+}
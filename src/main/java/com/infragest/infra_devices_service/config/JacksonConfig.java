@@ -0,0 +1,32 @@
+package com.infragest.infra_devices_service.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ajustes de rendimiento de Jackson.
+ *
+ * Spring Boot registra los {@link Module} declarados como beans en todos los {@code ObjectMapper} que construye
+ * (JSON y Smile).
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Blackbird sustituye el acceso por reflexión a getters, setters y constructores por accesores generados
+     * con {@code LambdaMetafactory}, que el JIT puede inlinear. Acelera la (de)serialización de las listas de
+     * {@code DeviceRs}, {@code DeviceAssignmentDto} y {@code DeviceAssignmentActiveRs} sin cambiar el JSON
+     * producido: los nombres de propiedad siguen pre-codificados por el serializador de beans.
+     *
+     * @return módulo Blackbird
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
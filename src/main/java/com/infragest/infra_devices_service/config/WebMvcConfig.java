@@ -0,0 +1,46 @@
+package com.infragest.infra_devices_service.config;
+
+import com.infragest.infra_devices_service.security.RateLimitInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuración de Spring MVC: interceptores aplicados a la API de dispositivos.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    /**
+     * Inyección de dependencia: limitación por cliente y bulkheads.
+     */
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    /**
+     * Inyección de dependencia: límite adaptativo de las escrituras en lote.
+     */
+    private final WriteConcurrencyLimitInterceptor writeConcurrencyLimitInterceptor;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param rateLimitInterceptor limitación por cliente y bulkheads
+     * @param writeConcurrencyLimitInterceptor límite adaptativo de las escrituras en lote
+     */
+    public WebMvcConfig(RateLimitInterceptor rateLimitInterceptor,
+                        WriteConcurrencyLimitInterceptor writeConcurrencyLimitInterceptor) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+        this.writeConcurrencyLimitInterceptor = writeConcurrencyLimitInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/devices/**", "/devices-assignments/**", "/devices-analytics/**");
+        registry.addInterceptor(writeConcurrencyLimitInterceptor)
+                .addPathPatterns("/devices/reserve", "/devices/restore", "/devices/update-batch");
+    }
+}
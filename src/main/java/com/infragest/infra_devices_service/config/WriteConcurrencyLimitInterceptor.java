@@ -0,0 +1,85 @@
+package com.infragest.infra_devices_service.config;
+
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.util.GradientConcurrencyLimiter;
+import com.infragest.infra_devices_service.util.MessageException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Aplica el límite de concurrencia adaptativo ({@link GradientConcurrencyLimiter}) a las escrituras en lote de
+ * la API REST: {@code /devices/reserve}, {@code /devices/restore} y {@code /devices/update-batch}.
+ *
+ * Sin capacidad, la petición se rechaza antes de tocar la base de datos con SERVICE_UNAVAILABLE (503 con
+ * {@code Retry-After}). La latencia de cada petición completada con éxito ajusta el límite; las respuestas 5xx
+ * se tratan como señales de sobrecarga y las 4xx (validación, no encontrado, conflicto) liberan el permiso sin
+ * ajustarlo, ya que suelen fallar antes de hacer el trabajo y su latencia no es representativa.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Component
+public class WriteConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = WriteConcurrencyLimitInterceptor.class.getName() + ".start";
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    /**
+     * Inyección de dependencia: limitador de escrituras.
+     */
+    private final GradientConcurrencyLimiter limiter;
+
+    /**
+     * Inyección de dependencia: registro de métricas.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param limiter limitador de escrituras
+     * @param meterRegistry registro de métricas
+     */
+    public WriteConcurrencyLimitInterceptor(@Qualifier("writeConcurrencyLimiter") GradientConcurrencyLimiter limiter,
+                                            MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            meterRegistry.counter("devices.write_limit.rejected", "entrypoint", "rest").increment();
+            throw new DeviceException(MessageException.WRITE_LIMIT_EXCEEDED,
+                    DeviceException.Type.SERVICE_UNAVAILABLE, RETRY_AFTER);
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long startNanos)) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        if (ex != null || response.getStatus() >= 500) {
+            limiter.onDropped();
+        } else if (response.getStatus() >= 400) {
+            limiter.onIgnore();
+        } else {
+            limiter.onSuccess(System.nanoTime() - startNanos);
+        }
+    }
+}
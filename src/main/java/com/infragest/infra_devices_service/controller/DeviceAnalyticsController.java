@@ -0,0 +1,94 @@
+package com.infragest.infra_devices_service.controller;
+
+import com.infragest.infra_devices_service.enums.UtilizationGroupByEnum;
+import com.infragest.infra_devices_service.model.ApiResponseDto;
+import com.infragest.infra_devices_service.model.DeviceUtilizationRs;
+import com.infragest.infra_devices_service.service.DeviceUtilizationService;
+import com.infragest.infra_devices_service.util.ResponseFactory;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller REST para la analítica de utilización de dispositivos.
+ *
+ * Expone el tiempo ocupado, las asignaciones y el tiempo ocioso por dispositivo o por marca,
+ * calculados a partir de los acumulados diarios de asignaciones.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Tag(name = "DevicesAnalytics", description = "Analítica de utilización de dispositivos")
+@RestController
+@RequestMapping("/devices-analytics")
+public class DeviceAnalyticsController {
+
+    /**
+     * Inyección de la dependencia: deviceUtilizationService.
+     */
+    private final DeviceUtilizationService deviceUtilizationService;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param deviceUtilizationService servicio de utilización de dispositivos.
+     */
+    public DeviceAnalyticsController(DeviceUtilizationService deviceUtilizationService) {
+        this.deviceUtilizationService = deviceUtilizationService;
+    }
+
+    /**
+     * Obtiene la utilización de dispositivos en una ventana de días.
+     *
+     * @param from    primer día (inclusive), formato ISO (yyyy-MM-dd)
+     * @param to      último día (inclusive), formato ISO (yyyy-MM-dd)
+     * @param groupBy agregación por dispositivo ({@code DEVICE}) o por marca ({@code BRAND})
+     * @return lista de {@link DeviceUtilizationRs} ordenada por tiempo ocupado descendente
+     */
+    @Operation(summary = "Utilización de dispositivos por dispositivo o por marca",
+            description = "Devuelve tiempo ocupado, número de asignaciones, tiempo y días ociosos y fracción de uso en la ventana indicada.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Utilización calculada",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = DeviceUtilizationRs.class)))),
+            @ApiResponse(responseCode = "400", description = "Rango de fechas inválido", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Error interno", content = @Content)
+    })
+    @GetMapping("/utilization")
+    public ResponseEntity<List<DeviceUtilizationRs>> getUtilization(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DEVICE") UtilizationGroupByEnum groupBy) {
+        return ResponseEntity.ok(deviceUtilizationService.getUtilization(from, to, groupBy));
+    }
+
+    /**
+     * Reconstruye los acumulados diarios de utilización de un rango de días.
+     *
+     * @param from primer día (inclusive), formato ISO (yyyy-MM-dd)
+     * @param to   último día (inclusive), formato ISO (yyyy-MM-dd)
+     * @return número de intervalos de asignación procesados
+     */
+    @Operation(summary = "Reconstruir acumulados diarios de utilización")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Acumulados reconstruidos"),
+            @ApiResponse(responseCode = "400", description = "Rango de fechas inválido", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Error interno", content = @Content)
+    })
+    @PostMapping("/utilization/rollups/rebuild")
+    public ResponseEntity<ApiResponseDto<Long>> rebuildRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        long intervals = deviceUtilizationService.rebuildRollups(from, to);
+        return ResponseEntity.ok(ResponseFactory.success("Acumulados reconstruidos exitosamente.", intervals));
+    }
+}
@@ -1,5 +1,6 @@
 package com.infragest.infra_devices_service.controller;
 
+import com.infragest.infra_devices_service.config.BinaryFormatConfig;
 import com.infragest.infra_devices_service.entity.DeviceAssignment;
 import com.infragest.infra_devices_service.model.DeviceAssignmentActiveRs;
 import com.infragest.infra_devices_service.model.DeviceAssignmentDto;
@@ -13,6 +14,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -50,6 +52,8 @@ public class DeviceAssignmentController {
     /**
      * Verifica si los dispositivos especificados tienen una asignación activa.
      *
+     * Admite JSON o Smile (binario), según {@code Content-Type} y {@code Accept}.
+     *
      * @param devicesBatchRq Objeto que contiene una lista de UUIDs de dispositivos a consultar.
      * @return {@link ResponseEntity} con una lista de objetos {@link DeviceAssignmentActiveRs},
      *         cada uno indicando el deviceId consultado y si tiene una asignación activa.
@@ -75,7 +79,9 @@ public class DeviceAssignmentController {
                     content = @Content(schema = @Schema(hidden = true))
             )
     })
-    @PostMapping("/devices/active")
+    @PostMapping(value = "/devices/active",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE})
     public ResponseEntity<List<DeviceAssignmentActiveRs>> hasActiveAssignment(
             @RequestBody @Valid DevicesBatchRq devicesBatchRq) {
         return ResponseEntity.ok(deviceAssignmentService.hasActiveAssignment(devicesBatchRq));
@@ -1,8 +1,12 @@
 package com.infragest.infra_devices_service.controller;
 
+import com.infragest.infra_devices_service.config.BinaryFormatConfig;
 import com.infragest.infra_devices_service.entity.Device;
+import com.infragest.infra_devices_service.enums.BulkUploadModeEnum;
 import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
 import com.infragest.infra_devices_service.model.*;
+import com.infragest.infra_devices_service.service.BulkUploadService;
+import com.infragest.infra_devices_service.service.DeviceExportService;
 import com.infragest.infra_devices_service.service.DeviceService;
 import com.infragest.infra_devices_service.util.ResponseFactory;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,11 +16,25 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -39,15 +57,39 @@ public class DeviceController {
      */
     private final DeviceService deviceService;
 
+    /**
+     * Inyección de la dependencia: bulkUploadService.
+     */
+    private final BulkUploadService bulkUploadService;
+
+    /**
+     * Inyección de la dependencia: deviceExportService.
+     */
+    private final DeviceExportService deviceExportService;
+
+    /**
+     * Tiempo máximo para escribir una exportación XLSX.
+     */
+    private final Duration exportTimeout;
+
     /**
      * Constructor para la inyección de dependencias.
      *
      * @param deviceService servicio de dispositivos.
+     * @param bulkUploadService servicio de cargas masivas.
+     * @param deviceExportService servicio de exportación del inventario.
+     * @param exportTimeout tiempo máximo para escribir una exportación XLSX.
      */
     public DeviceController(
-            DeviceService deviceService)
+            DeviceService deviceService,
+            BulkUploadService bulkUploadService,
+            DeviceExportService deviceExportService,
+            @Value("${devices.export.timeout:PT10M}") Duration exportTimeout)
     {
         this.deviceService = deviceService;
+        this.bulkUploadService = bulkUploadService;
+        this.deviceExportService = deviceExportService;
+        this.exportTimeout = exportTimeout;
     }
 
     /**
@@ -116,6 +158,45 @@ public class DeviceController {
         return ResponseEntity.ok(deviceService.getAllDevices());
     }
 
+    /**
+     * Exporta el inventario de dispositivos a XLSX, con las columnas que acepta la carga masiva
+     * (nombre, marca, barcode, estado).
+     *
+     * El libro se genera en una sola hoja mientras se escribe la respuesta, sin cargar el inventario en memoria.
+     * La escritura es asíncrona y tiene su propio tiempo máximo ({@code devices.export.timeout}), de modo que no
+     * se alarga el del resto de peticiones asíncronas.
+     *
+     * @param status estado por el que filtrar (opcional).
+     * @param response respuesta en la que se escribe el archivo XLSX.
+     * @return Un {@link WebAsyncTask} que escribe el archivo XLSX.
+     */
+    @Operation(summary = "Exportar el inventario de dispositivos a XLSX")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Archivo XLSX con los dispositivos"),
+            @ApiResponse(responseCode = "400",
+                    description = "Estado inválido o más dispositivos de los que caben en una hoja XLSX")
+    })
+    @GetMapping("/export.xlsx")
+    public WebAsyncTask<Void> exportDevices(
+            @RequestParam(value = "status", required = false) DeviceStatusEnum status,
+            HttpServletResponse response) {
+
+        // Se rechaza antes de empezar a escribir: después ya no se puede responder con un 400
+        deviceExportService.checkExportSize(status);
+
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(status != null ? "dispositivos-" + status.name().toLowerCase() + ".xlsx"
+                        : "dispositivos.xlsx")
+                .build()
+                .toString());
+
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            deviceExportService.exportToXlsx(status, response.getOutputStream());
+            return null;
+        });
+    }
+
     /**
      * Devuelve dispositivos filtrados por un estado.
      *
@@ -189,6 +270,8 @@ public class DeviceController {
     /**
      * Obtiene información de varios devices por sus IDs.
      *
+     * Admite JSON o Smile (binario) en la petición y la respuesta, según {@code Content-Type} y {@code Accept}.
+     *
      * @param rq body { "ids": [uuid, ...] }
      * @return lista de mapas con la información de cada device (id, state, model, barcode, ...)
      */
@@ -199,7 +282,9 @@ public class DeviceController {
             @ApiResponse(responseCode = "404", description = "Algún device no encontrado (opcional)"),
             @ApiResponse(responseCode = "500", description = "Error interno")
     })
-    @PostMapping("/batch")
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE})
     public ResponseEntity<List<DeviceRs>> getDevicesByIds(@Valid @RequestBody DevicesBatchRq rq) {
         return ResponseEntity.ok(deviceService.getDevicesByIds(rq.getIds()));
     }
@@ -211,6 +296,8 @@ public class DeviceController {
      * (por ejemplo, "OCCUPIED") para todos los dispositivos de la lista. El estado solo
      * será actualizado si los dispositivos existen y están disponibles.
      *
+     * Admite JSON o Smile (binario), según {@code Content-Type} y {@code Accept}.
+     *
      * @param request La solicitud que incluye la lista de IDs de los dispositivos y el nuevo estado a aplicar.
      * @return Una lista de dispositivos con sus nuevos estados.
      */
@@ -221,7 +308,9 @@ public class DeviceController {
             @ApiResponse(responseCode = "404", description = "Algún dispositivo no encontrado", content = @Content),
             @ApiResponse(responseCode = "500", description = "Error interno en el servidor", content = @Content)
     })
-    @PutMapping("/reserve")
+    @PutMapping(value = "/reserve",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE})
     public ResponseEntity<ApiResponseDto<Void>> reserveDevices(@Valid @RequestBody UpdateDevicesStateRq request) {
 
         deviceService.reserveDevices(request.getDeviceIds(), request.getState(), request.getOrderId());
@@ -277,23 +366,118 @@ public class DeviceController {
     }
 
     /**
-     * Procesa un archivo Excel y crea dispositivos de forma masiva.
+     * Recibe un archivo para la creación masiva de dispositivos y encola su procesamiento.
      *
-     * @param file archivo Excel (.xlsx o .xls) que contiene los dispositivos a cargar.
-     * @return Un {@link ResponseEntity} con {@link ApiResponseDto<Void>} indicando el éxito de la operación.
-     * @throws DeviceException si se detecta un error durante la validación o al procesar el archivo.
+     * @param file archivo XLSX, CSV o NDJSON que contiene los dispositivos a cargar; el formato se
+     *             detecta por content-type o extensión.
+     * @param mode modo de la carga: INSERT (por defecto) rechaza los barcodes existentes, UPSERT actualiza
+     *             nombre, marca y estado de los existentes.
+     * @param principal usuario autenticado que realiza la carga.
+     * @param httpRequest petición HTTP, usada para registrar IP y user agent.
+     * @return Un {@link ResponseEntity} 202 con el {@link BulkUploadJobRs} del trabajo creado, o 200 con el
+     *         trabajo previo si el mismo usuario subió el mismo archivo dentro de la ventana de deduplicación.
+     * @throws DeviceException si el archivo está vacío o la cola de procesamiento está llena.
      */
-    @Operation(summary = "Carga masiva de dispositivos desde un archivo Excel")
+    @Operation(summary = "Carga masiva de dispositivos desde un archivo XLSX, CSV o NDJSON (asíncrona)")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Dispositivos cargados exitosamente"),
+            @ApiResponse(responseCode = "202", description = "Archivo recibido, procesamiento en curso"),
+            @ApiResponse(responseCode = "200", description = "Archivo idéntico reciente, se devuelve el trabajo existente"),
             @ApiResponse(responseCode = "400", description = "Error en el archivo o solicitud inválida"),
+            @ApiResponse(responseCode = "503", description = "Cola de cargas masivas llena"),
             @ApiResponse(responseCode = "500", description = "Error interno en el servidor")
     })
     @PostMapping("/batch/upload")
-    public ResponseEntity<ApiResponseDto<Void>> uploadDevicesArchive(@RequestParam("file")MultipartFile file) {
+    public ResponseEntity<ApiResponseDto<BulkUploadJobRs>> uploadDevicesArchive(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "mode", defaultValue = "INSERT") BulkUploadModeEnum mode,
+            Principal principal,
+            HttpServletRequest httpRequest) {
 
-        deviceService.uploadDevicesArchive(file);
+        BulkUploadJobRs job = bulkUploadService.submitUpload(
+                file,
+                mode,
+                ownerOf(principal),
+                httpRequest.getRemoteAddr(),
+                httpRequest.getHeader("User-Agent")
+        );
+
+        if (job.isDeduplicated()) {
+            return ResponseEntity.ok(ResponseFactory.success(
+                    "Archivo idéntico cargado recientemente, se devuelve el trabajo existente", job));
+        }
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ResponseFactory.success("Archivo recibido, la carga masiva se está procesando", job));
+    }
+
+    /**
+     * Consulta el estado de un trabajo de carga masiva.
+     *
+     * @param id identificador del trabajo devuelto por la carga.
+     * @param principal usuario autenticado; solo el que subió el archivo puede consultar el trabajo.
+     * @return Un {@link ResponseEntity} con el {@link BulkUploadJobRs} del trabajo.
+     * @throws DeviceException si el trabajo no existe o pertenece a otro usuario.
+     */
+    @Operation(summary = "Consultar el estado de una carga masiva")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Estado del trabajo"),
+            @ApiResponse(responseCode = "404", description = "Trabajo no encontrado")
+    })
+    @GetMapping("/batch/upload/{id}")
+    public ResponseEntity<ApiResponseDto<BulkUploadJobRs>> getUploadJob(@PathVariable UUID id, Principal principal) {
+        return ResponseEntity.ok(ResponseFactory.success("Estado de la carga masiva",
+                bulkUploadService.getUploadJob(id, ownerOf(principal))));
+    }
+
+    /**
+     * Publica el progreso de un trabajo de carga masiva por server-sent events.
+     *
+     * Eventos: {@code progress} ({@link BulkUploadProgressRs}) mientras el trabajo avanza y {@code completed}
+     * ({@link BulkUploadJobRs}) al terminar, tras lo cual el stream se cierra.
+     *
+     * @param id identificador del trabajo.
+     * @param principal usuario autenticado; solo el que subió el archivo puede seguir el trabajo.
+     * @return emisor SSE del progreso.
+     * @throws DeviceException si el trabajo no existe o pertenece a otro usuario.
+     */
+    @Operation(summary = "Seguir el progreso de una carga masiva (server-sent events)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream de eventos de progreso"),
+            @ApiResponse(responseCode = "404", description = "Trabajo no encontrado")
+    })
+    @GetMapping(value = "/batch/upload/{id}/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUploadProgress(@PathVariable UUID id, Principal principal) {
+        return bulkUploadService.streamProgress(id, ownerOf(principal));
+    }
+
+    /**
+     * Descarga el reporte CSV con las filas rechazadas de un trabajo de carga masiva.
+     *
+     * @param id identificador del trabajo.
+     * @param principal usuario autenticado; solo el que subió el archivo puede descargar el reporte.
+     * @return Un {@link ResponseEntity} con el archivo CSV (fila, barcode, motivo).
+     * @throws DeviceException si el trabajo no existe, pertenece a otro usuario o no tiene filas rechazadas.
+     */
+    @Operation(summary = "Descargar el reporte de filas rechazadas de una carga masiva")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Reporte CSV de filas rechazadas"),
+            @ApiResponse(responseCode = "404", description = "Trabajo no encontrado o sin filas rechazadas")
+    })
+    @GetMapping("/batch/upload/{id}/errors")
+    public ResponseEntity<Resource> getUploadErrorReport(@PathVariable UUID id, Principal principal) {
+
+        Resource report = new FileSystemResource(bulkUploadService.getErrorReport(id, ownerOf(principal)));
+
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("carga-" + id + "-errores.csv")
+                        .build()
+                        .toString())
+                .body(report);
+    }
 
-        return ResponseEntity.ok(ResponseFactory.success("Dispositvos cargados exitosamente", null));
+    private static String ownerOf(Principal principal) {
+        return principal != null ? principal.getName() : "anonymous";
     }
 }
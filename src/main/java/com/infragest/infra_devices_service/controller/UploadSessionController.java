@@ -0,0 +1,176 @@
+package com.infragest.infra_devices_service.controller;
+
+import com.infragest.infra_devices_service.enums.BulkUploadModeEnum;
+import com.infragest.infra_devices_service.model.ApiResponseDto;
+import com.infragest.infra_devices_service.model.BulkUploadJobRs;
+import com.infragest.infra_devices_service.model.UploadSessionRq;
+import com.infragest.infra_devices_service.model.UploadSessionRs;
+import com.infragest.infra_devices_service.service.UploadSessionService;
+import com.infragest.infra_devices_service.util.ResponseFactory;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Controller REST para las cargas masivas por partes (reanudables).
+ *
+ * Flujo: abrir la sesión, enviar rangos de bytes consecutivos con {@code PUT} y la cabecera
+ * {@code Content-Range}, y confirmar. Tras un corte, {@code GET} devuelve el offset desde el que continuar.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Tag(name = "DevicesUploadSessions", description = "Cargas masivas de dispositivos por partes")
+@RestController
+@RequestMapping("/devices/batch/upload/sessions")
+public class UploadSessionController {
+
+    /**
+     * Inyección de la dependencia: uploadSessionService.
+     */
+    private final UploadSessionService uploadSessionService;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param uploadSessionService servicio de sesiones de carga.
+     */
+    public UploadSessionController(UploadSessionService uploadSessionService) {
+        this.uploadSessionService = uploadSessionService;
+    }
+
+    /**
+     * Abre una sesión de carga por partes.
+     *
+     * @param request nombre, content-type y tamaño total del archivo.
+     * @param principal usuario autenticado.
+     * @return Un {@link ResponseEntity} 201 con el {@link UploadSessionRs} creado.
+     */
+    @Operation(summary = "Abrir una sesión de carga masiva por partes")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Sesión creada"),
+            @ApiResponse(responseCode = "400", description = "Formato no soportado o tamaño excedido")
+    })
+    @PostMapping
+    public ResponseEntity<ApiResponseDto<UploadSessionRs>> openSession(
+            @Valid @RequestBody UploadSessionRq request,
+            Principal principal) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ResponseFactory.success("Sesión de carga creada",
+                        uploadSessionService.openSession(request, ownerOf(principal))));
+    }
+
+    /**
+     * Agrega un rango de bytes a la sesión. El cuerpo se lee en streaming, sin multipart.
+     *
+     * @param id identificador de la sesión.
+     * @param contentRange cabecera {@code Content-Range: bytes inicio-fin/total}.
+     * @param principal usuario autenticado.
+     * @param httpRequest petición HTTP cuyo cuerpo contiene los bytes del rango.
+     * @return Un {@link ResponseEntity} con el estado de la sesión y el offset recibido.
+     * @throws IOException si no se puede abrir el cuerpo de la petición.
+     */
+    @Operation(summary = "Enviar un rango de bytes de la sesión")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rango recibido"),
+            @ApiResponse(responseCode = "400", description = "Content-Range inválido"),
+            @ApiResponse(responseCode = "404", description = "Sesión no encontrada"),
+            @ApiResponse(responseCode = "409", description = "El rango no continúa el offset recibido")
+    })
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponseDto<UploadSessionRs>> appendChunk(
+            @PathVariable UUID id,
+            @RequestHeader(HttpHeaders.CONTENT_RANGE) String contentRange,
+            Principal principal,
+            HttpServletRequest httpRequest) throws IOException {
+        return ResponseEntity.ok(ResponseFactory.success("Rango recibido",
+                uploadSessionService.appendChunk(id, ownerOf(principal), contentRange, httpRequest.getInputStream())));
+    }
+
+    /**
+     * Consulta el estado de una sesión para reanudar la carga.
+     *
+     * @param id identificador de la sesión.
+     * @param principal usuario autenticado.
+     * @return Un {@link ResponseEntity} con el {@link UploadSessionRs}.
+     */
+    @Operation(summary = "Consultar el estado de una sesión de carga")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Estado de la sesión"),
+            @ApiResponse(responseCode = "404", description = "Sesión no encontrada")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponseDto<UploadSessionRs>> getSession(@PathVariable UUID id, Principal principal) {
+        return ResponseEntity.ok(ResponseFactory.success("Estado de la sesión de carga",
+                uploadSessionService.getSession(id, ownerOf(principal))));
+    }
+
+    /**
+     * Confirma la sesión y encola el archivo armado para la carga masiva.
+     *
+     * @param id identificador de la sesión.
+     * @param mode modo de la carga: INSERT (por defecto) rechaza los barcodes existentes, UPSERT los actualiza.
+     * @param principal usuario autenticado.
+     * @param httpRequest petición HTTP, usada para registrar IP y user agent.
+     * @return Un {@link ResponseEntity} 202 con el trabajo creado, o 200 con el trabajo previo si el archivo
+     *         está deduplicado.
+     */
+    @Operation(summary = "Confirmar la sesión y procesar el archivo")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Archivo recibido, procesamiento en curso"),
+            @ApiResponse(responseCode = "200", description = "Archivo idéntico reciente, se devuelve el trabajo existente"),
+            @ApiResponse(responseCode = "400", description = "La sesión no está completa"),
+            @ApiResponse(responseCode = "404", description = "Sesión no encontrada"),
+            @ApiResponse(responseCode = "503", description = "Cola de cargas masivas llena")
+    })
+    @PostMapping("/{id}/commit")
+    public ResponseEntity<ApiResponseDto<BulkUploadJobRs>> commitSession(
+            @PathVariable UUID id,
+            @RequestParam(value = "mode", defaultValue = "INSERT") BulkUploadModeEnum mode,
+            Principal principal,
+            HttpServletRequest httpRequest) {
+
+        BulkUploadJobRs job = uploadSessionService.commitSession(id, ownerOf(principal), mode,
+                httpRequest.getRemoteAddr(), httpRequest.getHeader("User-Agent"));
+
+        if (job.isDeduplicated()) {
+            return ResponseEntity.ok(ResponseFactory.success(
+                    "Archivo idéntico cargado recientemente, se devuelve el trabajo existente", job));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ResponseFactory.success("Archivo recibido, la carga masiva se está procesando", job));
+    }
+
+    /**
+     * Cancela la sesión y elimina los datos recibidos.
+     *
+     * @param id identificador de la sesión.
+     * @param principal usuario autenticado.
+     * @return Un {@link ResponseEntity} indicando el éxito de la operación.
+     */
+    @Operation(summary = "Cancelar una sesión de carga")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sesión cancelada"),
+            @ApiResponse(responseCode = "404", description = "Sesión no encontrada")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponseDto<Void>> abortSession(@PathVariable UUID id, Principal principal) {
+        uploadSessionService.abortSession(id, ownerOf(principal));
+        return ResponseEntity.ok(ResponseFactory.success("Sesión de carga cancelada", null));
+    }
+
+    private static String ownerOf(Principal principal) {
+        return principal != null ? principal.getName() : "anonymous";
+    }
+}
@@ -58,6 +58,12 @@ public class BulkUploadLog extends BaseEntity{
     @Column(name = "error_log_path", length = 500)
     private String errorLogPath;
 
+    /**
+     * Mensaje del error que hizo fallar el procesamiento, si lo hubo.
+     */
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
     /**
      * Usuario que realizó la carga del archivo.
      */
@@ -88,6 +94,54 @@ public class BulkUploadLog extends BaseEntity{
     @Column(name = "processing_time_ms")
     private Long processingTimeMs;
 
+    /**
+     * Número de filas de datos leídas del archivo.
+     */
+    @Column(name = "total_rows")
+    private Long totalRows;
+
+    /**
+     * Número de filas insertadas como dispositivos.
+     */
+    @Column(name = "inserted_rows")
+    private Long insertedRows;
+
+    /**
+     * Número de filas rechazadas.
+     */
+    @Column(name = "rejected_rows")
+    private Long rejectedRows;
+
+    /**
+     * Número de filas validadas (progreso).
+     */
+    @Column(name = "validated_rows")
+    private Long validatedRows;
+
+    /**
+     * Número de filas persistidas: insertadas, actualizadas o sin cambios (progreso).
+     */
+    @Column(name = "persisted_rows")
+    private Long persistedRows;
+
+    /**
+     * Bloque que se estaba procesando en el último checkpoint.
+     */
+    @Column(name = "current_chunk")
+    private Integer currentChunk;
+
+    /**
+     * Número de dispositivos existentes actualizados (modo upsert).
+     */
+    @Column(name = "updated_rows")
+    private Long updatedRows;
+
+    /**
+     * Número de dispositivos existentes sin cambios (modo upsert).
+     */
+    @Column(name = "unchanged_rows")
+    private Long unchangedRows;
+
     /**
      * Versión del microservicio que procesó la carga.
      */
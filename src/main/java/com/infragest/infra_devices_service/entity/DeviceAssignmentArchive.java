@@ -0,0 +1,91 @@
+package com.infragest.infra_devices_service.entity;
+
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidad JPA que representa una asignación de dispositivo ya liberada y archivada.
+ *
+ * Las asignaciones liberadas con una antigüedad superior a la configurada se mueven
+ * desde {@code device_assignments} a esta tabla, de modo que la tabla caliente solo
+ * contenga asignaciones activas y recientes. Conserva el identificador original de la
+ * asignación, por lo que no hereda de {@link BaseEntity}.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "device_assignments_archive")
+public class DeviceAssignmentArchive {
+
+    /**
+     * Identificador original de la asignación en {@code device_assignments}.
+     */
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    /**
+     * ID de la orden que utilizó este dispositivo.
+     */
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    /**
+     * Dispositivo que estuvo asignado a la orden.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "device_id", nullable = false)
+    private Device device;
+
+    /**
+     * Estado del dispositivo al liberar la asignación.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeviceStatusEnum status;
+
+    /**
+     * Fecha y hora en la que el dispositivo fue asignado a la orden.
+     */
+    @Column(name = "assigned_at", nullable = false)
+    private LocalDateTime assignedAt;
+
+    /**
+     * Fecha y hora en la que el dispositivo fue liberado.
+     */
+    @Column(name = "released_at", nullable = false)
+    private LocalDateTime releasedAt;
+
+    /**
+     * Fecha y hora de creación de la asignación original.
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Fecha y hora de la última actualización de la asignación original.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Fecha y hora en la que la asignación fue movida al archivo.
+     */
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+}
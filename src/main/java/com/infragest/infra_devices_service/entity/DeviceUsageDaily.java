@@ -0,0 +1,77 @@
+package com.infragest.infra_devices_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Entidad JPA que representa el acumulado diario de uso de un dispositivo.
+ *
+ * Cada fila agrega, para un dispositivo y un día, el tiempo ocupado en asignaciones y el
+ * número de asignaciones iniciadas ese día. Se mantiene de forma incremental al liberar
+ * asignaciones, de modo que las consultas de utilización no recorren la tabla de asignaciones.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(DeviceUsageDaily.Key.class)
+@Table(name = "device_usage_daily")
+public class DeviceUsageDaily {
+
+    /**
+     * ID del dispositivo.
+     */
+    @Id
+    @Column(name = "device_id", nullable = false)
+    private UUID deviceId;
+
+    /**
+     * Día al que corresponde el acumulado.
+     */
+    @Id
+    @Column(name = "usage_day", nullable = false)
+    private LocalDate usageDay;
+
+    /**
+     * Marca del dispositivo (desnormalizada para agregar por marca sin joins).
+     */
+    @Column(name = "brand", nullable = false)
+    private String brand;
+
+    /**
+     * Segundos que el dispositivo estuvo asignado durante el día.
+     */
+    @Column(name = "occupied_seconds", nullable = false)
+    private long occupiedSeconds;
+
+    /**
+     * Número de asignaciones iniciadas durante el día.
+     */
+    @Column(name = "assignment_count", nullable = false)
+    private long assignmentCount;
+
+    /**
+     * Clave compuesta (dispositivo, día).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID deviceId;
+        private LocalDate usageDay;
+    }
+}
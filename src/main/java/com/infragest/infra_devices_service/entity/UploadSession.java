@@ -0,0 +1,71 @@
+package com.infragest.infra_devices_service.entity;
+
+import com.infragest.infra_devices_service.enums.BulkUploadFormatEnum;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA que representa una sesión de carga masiva por partes.
+ *
+ * Guarda los metadatos de la sesión y el offset de bytes contiguos recibidos; los bytes se escriben en el
+ * archivo {@code session-<id><extensión>} del directorio de spool compartido.
+ *
+ * Hereda campos comunes (id, timestamps, version) de {@link BaseEntity}.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Setter
+@Getter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "upload_session")
+public class UploadSession extends BaseEntity {
+
+    /**
+     * Usuario dueño de la sesión.
+     */
+    @Column(name = "owner", nullable = false, length = 100)
+    private String owner;
+
+    /**
+     * Nombre original del archivo.
+     */
+    @Column(name = "original_filename", nullable = false)
+    private String originalFilename;
+
+    /**
+     * Formato del archivo.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 16)
+    private BulkUploadFormatEnum format;
+
+    /**
+     * Tamaño total del archivo en bytes.
+     */
+    @Column(name = "total_size", nullable = false)
+    private long totalSize;
+
+    /**
+     * Bytes contiguos recibidos desde el inicio del archivo.
+     */
+    @Column(name = "received_bytes", nullable = false)
+    private long receivedBytes;
+
+    /**
+     * Fecha y hora en que la sesión recibió datos por última vez.
+     */
+    @Column(name = "last_activity_at", nullable = false)
+    private LocalDateTime lastActivityAt;
+
+    /**
+     * Indica que la sesión se está confirmando y ya no admite más datos.
+     */
+    @Column(name = "committing", nullable = false)
+    private boolean committing;
+}
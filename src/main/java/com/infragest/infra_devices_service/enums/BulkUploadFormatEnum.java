@@ -0,0 +1,60 @@
+package com.infragest.infra_devices_service.enums;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Formatos de archivo aceptados en la carga masiva de dispositivos.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public enum BulkUploadFormatEnum {
+    XLSX(".xlsx"), // Libro de Excel.
+    CSV(".csv"), // Valores separados por coma o punto y coma.
+    NDJSON(".ndjson"); // Un objeto JSON por línea.
+
+    /**
+     * Extensión usada para el archivo en el spool.
+     */
+    private final String extension;
+
+    BulkUploadFormatEnum(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Determina el formato de un archivo a partir de su content-type y, si este no es concluyente,
+     * de la extensión del nombre original.
+     *
+     * @param contentType content-type declarado por el cliente (puede ser null)
+     * @param filename nombre original del archivo (puede ser null)
+     * @return formato detectado, o vacío si no es soportado
+     */
+    public static Optional<BulkUploadFormatEnum> detect(String contentType, String filename) {
+        if (contentType != null) {
+            String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            switch (type) {
+                case "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet":
+                    return Optional.of(XLSX);
+                case "text/csv", "application/csv":
+                    return Optional.of(CSV);
+                case "application/x-ndjson", "application/ndjson", "application/jsonl":
+                    return Optional.of(NDJSON);
+                default:
+                    break;
+            }
+        }
+        if (filename != null) {
+            String name = filename.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".xlsx")) return Optional.of(XLSX);
+            if (name.endsWith(".csv")) return Optional.of(CSV);
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) return Optional.of(NDJSON);
+        }
+        return Optional.empty();
+    }
+}
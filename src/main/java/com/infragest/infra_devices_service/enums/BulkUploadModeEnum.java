@@ -0,0 +1,35 @@
+package com.infragest.infra_devices_service.enums;
+
+/**
+ * Modos de la carga masiva de dispositivos.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public enum BulkUploadModeEnum {
+    INSERT("DEVICE_BULK_UPLOAD"), // Solo inserta; los barcodes existentes se rechazan.
+    UPSERT("DEVICE_BULK_UPSERT"); // Inserta los barcodes nuevos y actualiza nombre, marca y estado de los existentes.
+
+    /**
+     * Valor registrado en {@code BulkUploadLog.operationType}.
+     */
+    private final String operationType;
+
+    BulkUploadModeEnum(String operationType) {
+        this.operationType = operationType;
+    }
+
+    public String getOperationType() {
+        return operationType;
+    }
+
+    /**
+     * Obtiene el modo a partir del tipo de operación registrado.
+     *
+     * @param operationType tipo de operación de un {@code BulkUploadLog}
+     * @return modo correspondiente; INSERT para valores desconocidos
+     */
+    public static BulkUploadModeEnum fromOperationType(String operationType) {
+        return UPSERT.operationType.equals(operationType) ? UPSERT : INSERT;
+    }
+}
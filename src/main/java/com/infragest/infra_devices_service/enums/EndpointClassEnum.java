@@ -0,0 +1,27 @@
+package com.infragest.infra_devices_service.enums;
+
+/**
+ * Clases de endpoints de la API, usadas para aislar su concurrencia (bulkheads) y etiquetar las métricas de
+ * limitación.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public enum EndpointClassEnum {
+    READ("read"), // Consultas: GET y las consultas batch por POST.
+    WRITE("write"), // Altas, cambios de estado, reservas y borrados.
+    BULK_UPLOAD("bulk-upload"); // Envío y confirmación de cargas masivas.
+
+    /**
+     * Nombre usado en la configuración y en las etiquetas de métricas.
+     */
+    private final String key;
+
+    EndpointClassEnum(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,12 @@
+package com.infragest.infra_devices_service.enums;
+
+/**
+ * Criterio de agregación para las consultas de utilización de dispositivos.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public enum UtilizationGroupByEnum {
+    DEVICE, // Un resultado por dispositivo.
+    BRAND // Un resultado por marca.
+}
@@ -1,11 +1,18 @@
 package com.infragest.infra_devices_service.exception;
 
+import java.time.Duration;
+
 /**
  * Excepción de negocio específica del módulo Device.
  *
  * Es una excepción unchecked (extiende {@link RuntimeException}) para permitir el rollback
  * automático en transacciones gestionadas por Spring cuando se lanza desde la capa de servicio.
  *
+ * Los errores de negocio esperados (todos los tipos salvo INTERNAL_SERVER: no encontrado, validación,
+ * conflicto, rechazos por carga) no capturan la traza de la pila ni admiten excepciones suprimidas: son un
+ * resultado habitual y la traza, que no aporta al diagnóstico, es la parte más costosa de crearlos. Los
+ * INTERNAL_SERVER conservan ambas, como cualquier excepción inesperada.
+ *
  * @author bunnystring
  * @since 2025-11-07
  */
@@ -18,7 +25,9 @@ public class DeviceException extends RuntimeException {
         NOT_FOUND,
         BAD_REQUEST,
         INTERNAL_SERVER,
-        CONFLICT
+        CONFLICT,
+        SERVICE_UNAVAILABLE,
+        TOO_MANY_REQUESTS
     }
 
     /**
@@ -26,6 +35,11 @@ public class DeviceException extends RuntimeException {
      */
     private final Type type;
 
+    /**
+     * Tiempo sugerido al cliente antes de reintentar (cabecera {@code Retry-After}); null si no aplica.
+     */
+    private final Duration retryAfter;
+
     /**
      * Crea una nueva {@code DeviceException} con mensaje y tipo.
      *
@@ -33,8 +47,20 @@ public class DeviceException extends RuntimeException {
      * @param type    tipo de excepción (clasificación)
      */
     public DeviceException(String message, Type type) {
-        super(message);
+        this(message, type, null);
+    }
+
+    /**
+     * Crea una nueva {@code DeviceException} reintentable, con el tiempo de espera sugerido al cliente.
+     *
+     * @param message    mensaje descriptivo del error
+     * @param type       tipo de excepción (clasificación)
+     * @param retryAfter tiempo sugerido antes de reintentar
+     */
+    public DeviceException(String message, Type type, Duration retryAfter) {
+        super(message, null, type == Type.INTERNAL_SERVER, type == Type.INTERNAL_SERVER);
         this.type = type;
+        this.retryAfter = retryAfter;
     }
 
     /**
@@ -45,4 +71,13 @@ public class DeviceException extends RuntimeException {
     public Type getType() {
         return type;
     }
+
+    /**
+     * Obtiene el tiempo sugerido antes de reintentar.
+     *
+     * @return tiempo de espera, o null si la operación no es reintentable
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
 }
@@ -1,16 +1,21 @@
 package com.infragest.infra_devices_service.exception;
 
+import com.infragest.infra_devices_service.model.ErrorRs;
+import com.infragest.infra_devices_service.util.OperationMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
  * Manejador global de excepciones para la API REST de dispositivos.
- * Centraliza la conversión de excepciones en respuestas HTTP con un cuerpo JSON consistente.
+ * Centraliza la conversión de excepciones en respuestas HTTP con un cuerpo JSON consistente ({@link ErrorRs}).
  *
  * @author bunnystring
  * @since 2025-11-07
@@ -18,6 +23,37 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final ErrorRs.Template VALIDATION_ERROR =
+            new ErrorRs.Template(HttpStatus.BAD_REQUEST, "Validation Error", null);
+
+    private static final ErrorRs.Template INTERNAL_ERROR =
+            new ErrorRs.Template(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", null);
+
+    /**
+     * Plantillas de respuesta de cada tipo de {@link DeviceException}, construidas una sola vez.
+     */
+    private static final Map<DeviceException.Type, ErrorRs.Template> DEVICE_ERRORS = new EnumMap<>(DeviceException.Type.class);
+
+    static {
+        for (DeviceException.Type type : DeviceException.Type.values()) {
+            DEVICE_ERRORS.put(type, new ErrorRs.Template(statusOf(type), "Device Error", type));
+        }
+    }
+
+    /**
+     * Contadores {@code devices.errors} por tipo de {@link DeviceException}.
+     */
+    private final Map<DeviceException.Type, Counter> errorCounters;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param meterRegistry registro de métricas
+     */
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.errorCounters = OperationMetrics.errorCounters(meterRegistry, "http");
+    }
+
     /**
      * Maneja errores de validación lanzados por Spring cuando un DTO anotado con
      * {@code @Valid} falla (por ejemplo {@link org.springframework.web.bind.MethodArgumentNotValidException}).
@@ -26,16 +62,10 @@ public class GlobalExceptionHandler {
      * @return ResponseEntity con status 400 y cuerpo con detalles del error
      */
     @ExceptionHandler(org.springframework.web.bind.MethodArgumentNotValidException.class)
-    public ResponseEntity<?> handleValidationException(org.springframework.web.bind.MethodArgumentNotValidException ex) {
+    public ResponseEntity<ErrorRs> handleValidationException(org.springframework.web.bind.MethodArgumentNotValidException ex) {
         String message = ex.getBindingResult().getAllErrors().get(0).getDefaultMessage();
         assert message != null;
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(Map.of(
-                        "timestamp", LocalDateTime.now(),
-                        "status", HttpStatus.BAD_REQUEST.value(),
-                        "error", "Validation Error",
-                        "message", message
-                ));
+        return ResponseEntity.status(VALIDATION_ERROR.httpStatus()).body(VALIDATION_ERROR.toBody(message));
     }
 
     /**
@@ -45,19 +75,16 @@ public class GlobalExceptionHandler {
      * @return ResponseEntity con el status apropiado y detalles del error
      */
     @ExceptionHandler(DeviceException.class)
-    public ResponseEntity<?> handleDeviceException(DeviceException ex) {
-        HttpStatus status = HttpStatus.BAD_REQUEST;
-        if (ex.getType() == DeviceException.Type.NOT_FOUND) {
-            status = HttpStatus.NOT_FOUND;
+    public ResponseEntity<ErrorRs> handleDeviceException(DeviceException ex) {
+        errorCounters.get(ex.getType()).increment();
+        ErrorRs.Template template = DEVICE_ERRORS.get(ex.getType());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(template.httpStatus());
+        if (ex.getRetryAfter() != null) {
+            // Retry-After en segundos, redondeado hacia arriba
+            response.header(HttpHeaders.RETRY_AFTER,
+                    Long.toString(Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000)));
         }
-        return ResponseEntity.status(status)
-                .body(Map.of(
-                        "timestamp", LocalDateTime.now(),
-                        "status", status.value(),
-                        "error", "Device Error",
-                        "type", ex.getType(),
-                        "message", ex.getMessage()
-                ));
+        return response.body(template.toBody(ex.getMessage()));
     }
 
     /**
@@ -67,13 +94,18 @@ public class GlobalExceptionHandler {
      * @return ResponseEntity con status 500 y mensaje del error
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<?> handleGenericsException(Exception ex){
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(Map.of(
-                        "timestamp", LocalDateTime.now(),
-                        "status", HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                        "error", "Internal Server Error",
-                        "message", ex.getMessage()
-                ));
+    public ResponseEntity<ErrorRs> handleGenericsException(Exception ex){
+        return ResponseEntity.status(INTERNAL_ERROR.httpStatus()).body(INTERNAL_ERROR.toBody(ex.getMessage()));
+    }
+
+    private static HttpStatus statusOf(DeviceException.Type type) {
+        return switch (type) {
+            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case CONFLICT -> HttpStatus.CONFLICT;
+            case SERVICE_UNAVAILABLE -> HttpStatus.SERVICE_UNAVAILABLE;
+            case TOO_MANY_REQUESTS -> HttpStatus.TOO_MANY_REQUESTS;
+            case INTERNAL_SERVER -> HttpStatus.INTERNAL_SERVER_ERROR;
+            default -> HttpStatus.BAD_REQUEST;
+        };
     }
 }
@@ -0,0 +1,244 @@
+package com.infragest.infra_devices_service.grpc;
+
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.grpc.proto.ActiveAssignment;
+import com.infragest.infra_devices_service.grpc.proto.ActiveAssignmentsResponse;
+import com.infragest.infra_devices_service.grpc.proto.Device;
+import com.infragest.infra_devices_service.grpc.proto.DeviceIdsRequest;
+import com.infragest.infra_devices_service.grpc.proto.DevicesResponse;
+import com.infragest.infra_devices_service.grpc.proto.DevicesServiceGrpc;
+import com.infragest.infra_devices_service.grpc.proto.OperationResponse;
+import com.infragest.infra_devices_service.grpc.proto.ReserveDevicesRequest;
+import com.infragest.infra_devices_service.grpc.proto.RestoreDeviceStatesRequest;
+import com.infragest.infra_devices_service.grpc.proto.UpdateDevicesBatchRequest;
+import com.infragest.infra_devices_service.model.DeviceAssignmentActiveRs;
+import com.infragest.infra_devices_service.model.DeviceRs;
+import com.infragest.infra_devices_service.model.DevicesBatchRq;
+import com.infragest.infra_devices_service.model.RestoreDevicesRq;
+import com.infragest.infra_devices_service.service.DeviceAssignmentService;
+import com.infragest.infra_devices_service.service.DeviceService;
+import com.infragest.infra_devices_service.util.MessageException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementación gRPC de {@code DevicesService}: expone las operaciones batch usadas por otros servicios
+ * (consulta, asignación activa, reserva, actualización y restauración) sobre la misma capa de servicio
+ * que los endpoints REST.
+ *
+ * Las variantes en streaming procesan cada bloque de IDs a medida que llega y envían sus resultados antes de
+ * leer el siguiente, de modo que un conjunto grande de IDs no se materializa completo en memoria. Respetan el
+ * control de flujo de gRPC: solo envían mientras el cliente puede recibir ({@code isReady}) y no piden el
+ * siguiente bloque hasta haber enviado los resultados del anterior.
+ *
+ * Los errores ({@link DeviceException} incluidas) se traducen a estados gRPC en {@link GrpcExceptionInterceptor}.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class DeviceGrpcService extends DevicesServiceGrpc.DevicesServiceImplBase {
+
+    /**
+     * Inyección de dependencia: DeviceService.
+     */
+    private final DeviceService deviceService;
+
+    /**
+     * Inyección de dependencia: DeviceAssignmentService.
+     */
+    private final DeviceAssignmentService deviceAssignmentService;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param deviceService servicio de dispositivos
+     * @param deviceAssignmentService servicio de asignaciones
+     */
+    public DeviceGrpcService(DeviceService deviceService, DeviceAssignmentService deviceAssignmentService) {
+        this.deviceService = deviceService;
+        this.deviceAssignmentService = deviceAssignmentService;
+    }
+
+    @Override
+    public void getDevicesByIds(DeviceIdsRequest request, StreamObserver<DevicesResponse> responseObserver) {
+        DevicesResponse.Builder response = DevicesResponse.newBuilder();
+        for (DeviceRs device : deviceService.getDevicesByIds(requireIds(request))) {
+            response.addDevices(GrpcMapper.toProto(device));
+        }
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<DeviceIdsRequest> streamDevicesByIds(StreamObserver<Device> responseObserver) {
+        return new ChunkObserver<>(responseObserver) {
+            @Override
+            Iterator<Device> results(List<UUID> ids) {
+                return deviceService.getDevicesByIds(ids).stream().map(GrpcMapper::toProto).iterator();
+            }
+        };
+    }
+
+    @Override
+    public void hasActiveAssignment(DeviceIdsRequest request, StreamObserver<ActiveAssignmentsResponse> responseObserver) {
+        ActiveAssignmentsResponse.Builder response = ActiveAssignmentsResponse.newBuilder();
+        for (DeviceAssignmentActiveRs assignment : findActiveAssignments(requireIds(request))) {
+            response.addAssignments(GrpcMapper.toProto(assignment));
+        }
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<DeviceIdsRequest> streamActiveAssignments(StreamObserver<ActiveAssignment> responseObserver) {
+        return new ChunkObserver<>(responseObserver) {
+            @Override
+            Iterator<ActiveAssignment> results(List<UUID> ids) {
+                return findActiveAssignments(ids).stream().map(GrpcMapper::toProto).iterator();
+            }
+        };
+    }
+
+    @Override
+    public void reserveDevices(ReserveDevicesRequest request, StreamObserver<OperationResponse> responseObserver) {
+        if (request.getDeviceIdsCount() == 0) {
+            throw new DeviceException(MessageException.DEVICES_LIST_CANNOT_BE_EMPTY, DeviceException.Type.BAD_REQUEST);
+        }
+        UUID orderId = request.getOrderId().isEmpty() ? null : GrpcMapper.toUuid(request.getOrderId());
+        deviceService.reserveDevices(GrpcMapper.toUuids(request.getDeviceIdsList()),
+                GrpcMapper.toStatus(request.getState()), orderId);
+        complete(responseObserver, "Estados actualizados exitosamente.");
+    }
+
+    @Override
+    public void updateDevicesBatch(UpdateDevicesBatchRequest request, StreamObserver<OperationResponse> responseObserver) {
+        if (request.getDeviceIdsCount() == 0) {
+            throw new DeviceException(MessageException.DEVICES_LIST_CANNOT_BE_EMPTY, DeviceException.Type.BAD_REQUEST);
+        }
+        deviceService.updateDevicesBatch(GrpcMapper.toUuids(request.getDeviceIdsList()),
+                GrpcMapper.toStatus(request.getState()));
+        complete(responseObserver, "Estados actualizados exitosamente.");
+    }
+
+    @Override
+    public void restoreDeviceStates(RestoreDeviceStatesRequest request, StreamObserver<OperationResponse> responseObserver) {
+        List<RestoreDevicesRq.RestoreItem> items = request.getItemsList().stream()
+                .map(item -> RestoreDevicesRq.RestoreItem.builder()
+                        .deviceId(GrpcMapper.toUuid(item.getDeviceId()))
+                        .state(GrpcMapper.toStatus(item.getState()))
+                        .build())
+                .toList();
+        deviceService.restoreDeviceStates(items);
+        complete(responseObserver, "Estados restaurados exitosamente.");
+    }
+
+    private List<DeviceAssignmentActiveRs> findActiveAssignments(List<UUID> ids) {
+        return deviceAssignmentService.hasActiveAssignment(DevicesBatchRq.builder().ids(ids).build());
+    }
+
+    private static List<UUID> requireIds(DeviceIdsRequest request) {
+        if (request.getIdsCount() == 0) {
+            throw new DeviceException(MessageException.DEVICES_LIST_CANNOT_BE_EMPTY, DeviceException.Type.BAD_REQUEST);
+        }
+        return GrpcMapper.toUuids(request.getIdsList());
+    }
+
+    private static void complete(StreamObserver<OperationResponse> responseObserver, String message) {
+        responseObserver.onNext(OperationResponse.newBuilder().setMessage(message).build());
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Base de los observadores de las variantes en streaming, con control de flujo manual: pide un bloque al
+     * cliente, envía sus resultados mientras el cliente puede recibirlos y, cuando se vacían, pide el
+     * siguiente. Los bloques vacíos se ignoran. La respuesta se cierra cuando el cliente termina de enviar
+     * bloques y se han enviado todos los resultados pendientes.
+     *
+     * gRPC entrega de forma secuencial los eventos de una llamada (mensajes, fin del cliente, {@code onReady} y
+     * cancelación), por lo que el estado no necesita sincronización.
+     *
+     * @param <T> tipo de los mensajes de respuesta
+     */
+    private abstract static class ChunkObserver<T> implements StreamObserver<DeviceIdsRequest> {
+
+        private final ServerCallStreamObserver<T> responseObserver;
+
+        /**
+         * Resultados del bloque actual pendientes de enviar.
+         */
+        private Iterator<T> pending = Collections.emptyIterator();
+
+        private boolean awaitingChunk;
+        private boolean clientCompleted;
+        private boolean completed;
+
+        ChunkObserver(StreamObserver<T> responseObserver) {
+            this.responseObserver = (ServerCallStreamObserver<T>) responseObserver;
+            this.responseObserver.disableAutoRequest();
+            this.responseObserver.setOnReadyHandler(this::drain);
+            this.responseObserver.setOnCancelHandler(() -> pending = Collections.emptyIterator());
+            requestChunk();
+        }
+
+        /**
+         * @param ids IDs de un bloque no vacío
+         * @return resultados del bloque
+         */
+        abstract Iterator<T> results(List<UUID> ids);
+
+        @Override
+        public void onNext(DeviceIdsRequest chunk) {
+            awaitingChunk = false;
+            if (chunk.getIdsCount() > 0) {
+                pending = results(GrpcMapper.toUuids(chunk.getIdsList()));
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            log.debug("Stream gRPC cancelado por el cliente: {}", t.getMessage());
+        }
+
+        @Override
+        public void onCompleted() {
+            clientCompleted = true;
+            drain();
+        }
+
+        /**
+         * Envía resultados pendientes mientras el cliente puede recibirlos; si no queda ninguno, pide el
+         * siguiente bloque o cierra la respuesta. Se vuelve a invocar cuando el cliente está listo.
+         */
+        private void drain() {
+            while (pending.hasNext() && responseObserver.isReady()) {
+                responseObserver.onNext(pending.next());
+            }
+            if (pending.hasNext() || completed || responseObserver.isCancelled()) {
+                return;
+            }
+            if (clientCompleted) {
+                completed = true;
+                responseObserver.onCompleted();
+            } else {
+                requestChunk();
+            }
+        }
+
+        private void requestChunk() {
+            if (!awaitingChunk) {
+                awaitingChunk = true;
+                responseObserver.request(1);
+            }
+        }
+    }
+}
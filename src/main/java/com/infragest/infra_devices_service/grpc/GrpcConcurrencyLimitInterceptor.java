@@ -0,0 +1,106 @@
+package com.infragest.infra_devices_service.grpc;
+
+import com.infragest.infra_devices_service.grpc.proto.DevicesServiceGrpc;
+import com.infragest.infra_devices_service.util.GradientConcurrencyLimiter;
+import com.infragest.infra_devices_service.util.MessageException;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Aplica a las escrituras en lote de gRPC ({@code ReserveDevices}, {@code UpdateDevicesBatch} y
+ * {@code RestoreDeviceStates}) el mismo límite adaptativo que a sus equivalentes REST.
+ *
+ * Sin capacidad, la llamada se cierra con {@code UNAVAILABLE}, que los clientes gRPC reintentan. Los estados
+ * {@code INTERNAL}, {@code UNAVAILABLE} y {@code DEADLINE_EXCEEDED} se tratan como señales de sobrecarga; solo
+ * las llamadas {@code OK} ajustan el límite con su latencia, y los errores del cliente y las llamadas canceladas
+ * no lo ajustan.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Component
+public class GrpcConcurrencyLimitInterceptor implements ServerInterceptor {
+
+    private static final Set<String> LIMITED_METHODS = Set.of(
+            DevicesServiceGrpc.getReserveDevicesMethod().getFullMethodName(),
+            DevicesServiceGrpc.getUpdateDevicesBatchMethod().getFullMethodName(),
+            DevicesServiceGrpc.getRestoreDeviceStatesMethod().getFullMethodName());
+
+    private static final Set<Status.Code> OVERLOAD_CODES = Set.of(
+            Status.Code.INTERNAL, Status.Code.UNAVAILABLE, Status.Code.DEADLINE_EXCEEDED);
+
+    /**
+     * Inyección de dependencia: limitador de escrituras.
+     */
+    private final GradientConcurrencyLimiter limiter;
+
+    /**
+     * Inyección de dependencia: registro de métricas.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param limiter limitador de escrituras
+     * @param meterRegistry registro de métricas
+     */
+    public GrpcConcurrencyLimitInterceptor(@Qualifier("writeConcurrencyLimiter") GradientConcurrencyLimiter limiter,
+                                           MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(
+            ServerCall<Q, R> call, Metadata headers, ServerCallHandler<Q, R> next) {
+
+        if (!LIMITED_METHODS.contains(call.getMethodDescriptor().getFullMethodName())) {
+            return next.startCall(call, headers);
+        }
+        if (!limiter.tryAcquire()) {
+            meterRegistry.counter("devices.write_limit.rejected", "entrypoint", "grpc").increment();
+            call.close(Status.UNAVAILABLE.withDescription(MessageException.WRITE_LIMIT_EXCEEDED), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        ServerCall<Q, R> limitedCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                if (released.compareAndSet(false, true)) {
+                    if (OVERLOAD_CODES.contains(status.getCode())) {
+                        limiter.onDropped();
+                    } else if (status.isOk()) {
+                        limiter.onSuccess(System.nanoTime() - start);
+                    } else {
+                        limiter.onIgnore();
+                    }
+                }
+                super.close(status, trailers);
+            }
+        };
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(limitedCall, headers)) {
+            @Override
+            public void onCancel() {
+                if (released.compareAndSet(false, true)) {
+                    limiter.onIgnore();
+                }
+                super.onCancel();
+            }
+        };
+    }
+}
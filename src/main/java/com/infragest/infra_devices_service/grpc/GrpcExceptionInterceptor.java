@@ -0,0 +1,85 @@
+package com.infragest.infra_devices_service.grpc;
+
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.util.OperationMetrics;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Equivalente gRPC de {@link com.infragest.infra_devices_service.exception.GlobalExceptionHandler}: cierra la
+ * llamada con el estado correspondiente cuando un método lanza una excepción.
+ *
+ * {@link DeviceException} se traduce con {@link GrpcMapper#toGrpcStatus(DeviceException)}; cualquier otra
+ * excepción se devuelve como {@code INTERNAL}. Cada {@link DeviceException} incrementa {@code devices.errors}
+ * con {@code entrypoint=grpc}.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class GrpcExceptionInterceptor implements ServerInterceptor {
+
+    /**
+     * Contadores {@code devices.errors} por tipo de {@link DeviceException}.
+     */
+    private final Map<DeviceException.Type, Counter> errorCounters;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param meterRegistry registro de métricas
+     */
+    public GrpcExceptionInterceptor(MeterRegistry meterRegistry) {
+        this.errorCounters = OperationMetrics.errorCounters(meterRegistry, "grpc");
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(
+            ServerCall<Q, R> call, Metadata headers, ServerCallHandler<Q, R> next) {
+
+        ServerCall.Listener<Q> delegate = next.startCall(call, headers);
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(delegate) {
+
+            @Override
+            public void onMessage(Q message) {
+                try {
+                    super.onMessage(message);
+                } catch (RuntimeException e) {
+                    close(call, e);
+                }
+            }
+
+            @Override
+            public void onHalfClose() {
+                try {
+                    super.onHalfClose();
+                } catch (RuntimeException e) {
+                    close(call, e);
+                }
+            }
+        };
+    }
+
+    private void close(ServerCall<?, ?> call, RuntimeException e) {
+        Status status;
+        if (e instanceof DeviceException deviceException) {
+            errorCounters.get(deviceException.getType()).increment();
+            status = GrpcMapper.toGrpcStatus(deviceException);
+        } else {
+            log.error("Error no controlado en {}", call.getMethodDescriptor().getFullMethodName(), e);
+            status = Status.INTERNAL.withDescription(e.getMessage());
+        }
+        call.close(status, new Metadata());
+    }
+}
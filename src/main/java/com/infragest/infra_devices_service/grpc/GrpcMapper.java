@@ -0,0 +1,153 @@
+package com.infragest.infra_devices_service.grpc;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.grpc.proto.ActiveAssignment;
+import com.infragest.infra_devices_service.grpc.proto.Device;
+import com.infragest.infra_devices_service.grpc.proto.DeviceStatus;
+import com.infragest.infra_devices_service.model.DeviceAssignmentActiveRs;
+import com.infragest.infra_devices_service.model.DeviceRs;
+import com.infragest.infra_devices_service.util.MessageException;
+import io.grpc.Status;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Conversión entre los mensajes gRPC ({@code devices.proto}) y los DTO de la capa de servicio.
+ *
+ * Los UUID viajan como 16 bytes (bits más significativos primero) y las fechas como {@link Timestamp}. Las
+ * fechas se guardan como {@link LocalDateTime} en la zona horaria de la JVM (no se configura
+ * {@code hibernate.jdbc.time_zone}), así que se interpretan en esa zona al convertirlas a un instante.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public final class GrpcMapper {
+
+    private GrpcMapper() {
+    }
+
+    /**
+     * Convierte 16 bytes en un UUID.
+     *
+     * @param bytes UUID codificado
+     * @return UUID
+     * @throws DeviceException BAD_REQUEST si no tiene 16 bytes
+     */
+    public static UUID toUuid(ByteString bytes) {
+        if (bytes.size() != 16) {
+            throw new DeviceException(String.format(MessageException.GRPC_INVALID_UUID, bytes.size()),
+                    DeviceException.Type.BAD_REQUEST);
+        }
+        ByteBuffer buffer = bytes.asReadOnlyByteBuffer();
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Convierte una lista de UUID codificados.
+     *
+     * @param ids UUID codificados
+     * @return lista de UUID en el mismo orden
+     */
+    public static List<UUID> toUuids(List<ByteString> ids) {
+        List<UUID> result = new ArrayList<>(ids.size());
+        for (ByteString id : ids) {
+            result.add(toUuid(id));
+        }
+        return result;
+    }
+
+    /**
+     * Codifica un UUID en 16 bytes.
+     *
+     * @param uuid UUID
+     * @return UUID codificado
+     */
+    public static ByteString toBytes(UUID uuid) {
+        return ByteString.copyFrom(ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array());
+    }
+
+    /**
+     * Convierte el estado de un mensaje gRPC.
+     *
+     * @param status estado recibido
+     * @return estado del dominio
+     * @throws DeviceException BAD_REQUEST si el estado no se especificó
+     */
+    public static DeviceStatusEnum toStatus(DeviceStatus status) {
+        if (status == DeviceStatus.DEVICE_STATUS_UNSPECIFIED || status == DeviceStatus.UNRECOGNIZED) {
+            throw new DeviceException(MessageException.GRPC_STATUS_REQUIRED, DeviceException.Type.BAD_REQUEST);
+        }
+        return DeviceStatusEnum.valueOf(status.name());
+    }
+
+    /**
+     * Convierte un dispositivo a su mensaje gRPC.
+     *
+     * @param device dispositivo
+     * @return mensaje {@link Device}
+     */
+    public static Device toProto(DeviceRs device) {
+        Device.Builder builder = Device.newBuilder()
+                .setId(toBytes(device.getId()))
+                .setName(device.getName())
+                .setBrand(device.getBrand())
+                .setBarcode(device.getBarcode())
+                .setStatus(DeviceStatus.valueOf(device.getStatus().name()));
+        if (device.getCreatedAt() != null) {
+            builder.setCreatedAt(toTimestamp(device.getCreatedAt()));
+        }
+        if (device.getUpdatedAt() != null) {
+            builder.setUpdatedAt(toTimestamp(device.getUpdatedAt()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Convierte el estado de asignación de un dispositivo a su mensaje gRPC.
+     *
+     * @param assignment estado de asignación
+     * @return mensaje {@link ActiveAssignment}
+     */
+    public static ActiveAssignment toProto(DeviceAssignmentActiveRs assignment) {
+        return ActiveAssignment.newBuilder()
+                .setDeviceId(toBytes(assignment.getDeviceId()))
+                .setActive(assignment.isActive())
+                .build();
+    }
+
+    /**
+     * Traduce una {@link DeviceException} al estado gRPC correspondiente a su tipo.
+     *
+     * @param ex excepción de la capa de servicio
+     * @return estado gRPC con el mensaje de la excepción
+     */
+    public static Status toGrpcStatus(DeviceException ex) {
+        Status status = switch (ex.getType()) {
+            case NOT_FOUND -> Status.NOT_FOUND;
+            case CONFLICT -> Status.FAILED_PRECONDITION;
+            case SERVICE_UNAVAILABLE -> Status.UNAVAILABLE;
+            case TOO_MANY_REQUESTS -> Status.RESOURCE_EXHAUSTED;
+            case INTERNAL_SERVER -> Status.INTERNAL;
+            default -> Status.INVALID_ARGUMENT;
+        };
+        return status.withDescription(ex.getMessage());
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return Timestamp.newBuilder()
+                .setSeconds(dateTime.atZone(ZoneId.systemDefault()).toEpochSecond())
+                .setNanos(dateTime.getNano())
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.infragest.infra_devices_service.grpc;
+
+import com.infragest.infra_devices_service.security.JwtServerInterceptor;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arranca y detiene el servidor gRPC junto con el contexto de Spring.
+ *
+ * El servidor escucha en {@code devices.grpc.port} (por defecto 9090; 0 elige un puerto libre) y publica
+ * {@link DeviceGrpcService} detrás de la autenticación JWT, el límite de escrituras y la traducción de errores.
+ * Al detenerse deja de aceptar llamadas y espera a las que están en curso hasta
+ * {@code devices.grpc.shutdown-grace-period}.
+ * Se desactiva con {@code devices.grpc.enabled=false}.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "devices.grpc.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    /**
+     * Inyección de dependencia: servicio gRPC de dispositivos.
+     */
+    private final DeviceGrpcService deviceGrpcService;
+
+    /**
+     * Inyección de dependencia: autenticación JWT de las llamadas.
+     */
+    private final JwtServerInterceptor jwtServerInterceptor;
+
+    /**
+     * Inyección de dependencia: traducción de excepciones a estados gRPC.
+     */
+    private final GrpcExceptionInterceptor grpcExceptionInterceptor;
+
+    /**
+     * Inyección de dependencia: límite adaptativo de las escrituras en lote.
+     */
+    private final GrpcConcurrencyLimitInterceptor grpcConcurrencyLimitInterceptor;
+
+    /**
+     * Puerto del servidor gRPC.
+     */
+    @Value("${devices.grpc.port:9090}")
+    private int port;
+
+    /**
+     * Tiempo máximo de espera de las llamadas en curso al detener el servidor.
+     */
+    @Value("${devices.grpc.shutdown-grace-period:PT30S}")
+    private Duration shutdownGracePeriod;
+
+    private volatile Server server;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param deviceGrpcService servicio gRPC de dispositivos
+     * @param jwtServerInterceptor autenticación JWT
+     * @param grpcExceptionInterceptor traducción de excepciones
+     * @param grpcConcurrencyLimitInterceptor límite adaptativo de las escrituras en lote
+     */
+    public GrpcServerLifecycle(DeviceGrpcService deviceGrpcService,
+                               JwtServerInterceptor jwtServerInterceptor,
+                               GrpcExceptionInterceptor grpcExceptionInterceptor,
+                               GrpcConcurrencyLimitInterceptor grpcConcurrencyLimitInterceptor) {
+        this.deviceGrpcService = deviceGrpcService;
+        this.jwtServerInterceptor = jwtServerInterceptor;
+        this.grpcExceptionInterceptor = grpcExceptionInterceptor;
+        this.grpcConcurrencyLimitInterceptor = grpcConcurrencyLimitInterceptor;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server = NettyServerBuilder.forPort(port)
+                    .addService(interceptedService(deviceGrpcService, jwtServerInterceptor,
+                            grpcConcurrencyLimitInterceptor, grpcExceptionInterceptor))
+                    .build()
+                    .start();
+            log.info("Servidor gRPC escuchando en el puerto {}", server.getPort());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo iniciar el servidor gRPC en el puerto " + port, e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        Server current = server;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(shutdownGracePeriod.toMillis(), TimeUnit.MILLISECONDS)) {
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            current.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        log.info("Servidor gRPC detenido");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Publica el servicio detrás de los interceptores. El último interceptor agregado se ejecuta primero:
+     * autenticación, límite de escrituras y manejo de errores, en ese orden.
+     *
+     * @param service servicio gRPC de dispositivos
+     * @param jwtServerInterceptor autenticación JWT
+     * @param grpcConcurrencyLimitInterceptor límite adaptativo de las escrituras en lote
+     * @param grpcExceptionInterceptor traducción de excepciones
+     * @return definición del servicio interceptado
+     */
+    static ServerServiceDefinition interceptedService(DeviceGrpcService service,
+                                                      JwtServerInterceptor jwtServerInterceptor,
+                                                      GrpcConcurrencyLimitInterceptor grpcConcurrencyLimitInterceptor,
+                                                      GrpcExceptionInterceptor grpcExceptionInterceptor) {
+        return ServerInterceptors.intercept(service,
+                grpcExceptionInterceptor, grpcConcurrencyLimitInterceptor, jwtServerInterceptor);
+    }
+
+    /**
+     * @return puerto en el que escucha el servidor, o -1 si no está iniciado
+     */
+    public int getPort() {
+        Server current = server;
+        return current != null ? current.getPort() : -1;
+    }
+}
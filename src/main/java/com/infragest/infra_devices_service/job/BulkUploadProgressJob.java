@@ -0,0 +1,55 @@
+package com.infragest.infra_devices_service.job;
+
+import com.infragest.infra_devices_service.service.BulkUploadProgressService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tareas programadas que publican y guardan el progreso de las cargas masivas en curso.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class BulkUploadProgressJob {
+
+    /**
+     * Inyección de dependencia: servicio de progreso de cargas masivas.
+     */
+    private final BulkUploadProgressService bulkUploadProgressService;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param bulkUploadProgressService servicio de progreso de cargas masivas.
+     */
+    public BulkUploadProgressJob(BulkUploadProgressService bulkUploadProgressService) {
+        this.bulkUploadProgressService = bulkUploadProgressService;
+    }
+
+    /**
+     * Envía el progreso a los suscriptores SSE (por defecto, cada segundo).
+     */
+    @Scheduled(fixedDelayString = "${devices.bulk-upload.progress.publish-interval:PT1S}")
+    public void publishProgress() {
+        try {
+            bulkUploadProgressService.publishProgress();
+        } catch (RuntimeException ex) {
+            log.error("Error publicando el progreso de las cargas masivas: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Guarda el progreso en {@code BulkUploadLog} (por defecto, cada 5 segundos).
+     */
+    @Scheduled(fixedDelayString = "${devices.bulk-upload.progress.checkpoint-interval:PT5S}")
+    public void checkpointProgress() {
+        try {
+            bulkUploadProgressService.checkpointProgress();
+        } catch (RuntimeException ex) {
+            log.error("Error guardando el progreso de las cargas masivas: {}", ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.infragest.infra_devices_service.job;
+
+import com.infragest.infra_devices_service.service.BulkUploadService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea que da por fallidas las cargas masivas abandonadas (por ejemplo, por un reinicio del servicio) y
+ * elimina los archivos huérfanos del spool, al arrancar y periódicamente.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class BulkUploadRecoveryJob {
+
+    /**
+     * Inyección de dependencia: servicio de cargas masivas.
+     */
+    private final BulkUploadService bulkUploadService;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param bulkUploadService servicio de cargas masivas.
+     */
+    public BulkUploadRecoveryJob(BulkUploadService bulkUploadService) {
+        this.bulkUploadService = bulkUploadService;
+    }
+
+    /**
+     * Recupera las cargas abandonadas al arrancar el servicio.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        recoverStaleJobs();
+    }
+
+    /**
+     * Recupera las cargas abandonadas según el intervalo configurado (por defecto, cada 15 minutos).
+     */
+    @Scheduled(fixedDelayString = "${devices.bulk-upload.recovery-interval:PT15M}",
+            initialDelayString = "${devices.bulk-upload.recovery-interval:PT15M}")
+    public void recoverStaleJobs() {
+        try {
+            int failed = bulkUploadService.recoverStaleJobs();
+            if (failed > 0) {
+                log.warn("{} cargas masivas abandonadas marcadas como fallidas", failed);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Error recuperando cargas masivas abandonadas: {}", ex.getMessage(), ex);
+        }
+    }
+}
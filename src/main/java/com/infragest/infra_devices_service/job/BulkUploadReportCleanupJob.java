@@ -0,0 +1,43 @@
+package com.infragest.infra_devices_service.job;
+
+import com.infragest.infra_devices_service.service.BulkUploadService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea programada que elimina los reportes de filas rechazadas que superan su retención.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class BulkUploadReportCleanupJob {
+
+    /**
+     * Inyección de dependencia: servicio de cargas masivas.
+     */
+    private final BulkUploadService bulkUploadService;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param bulkUploadService servicio de cargas masivas.
+     */
+    public BulkUploadReportCleanupJob(BulkUploadService bulkUploadService) {
+        this.bulkUploadService = bulkUploadService;
+    }
+
+    /**
+     * Elimina los reportes expirados según el cron configurado (por defecto, diariamente a las 03:15).
+     */
+    @Scheduled(cron = "${devices.bulk-upload.report-cleanup.cron:0 15 3 * * *}")
+    public void purgeExpiredReports() {
+        try {
+            bulkUploadService.purgeExpiredReports();
+        } catch (RuntimeException ex) {
+            log.error("Error eliminando reportes de cargas masivas expirados: {}", ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.infragest.infra_devices_service.job;
+
+import com.infragest.infra_devices_service.service.DeviceAssignmentArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea programada que archiva periódicamente las asignaciones de dispositivos liberadas.
+ *
+ * Se puede desactivar con {@code devices.assignments.archive.enabled=false}.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "devices.assignments.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class DeviceAssignmentArchiveJob {
+
+    /**
+     * Inyección de dependencia: servicio de archivado.
+     */
+    private final DeviceAssignmentArchiveService deviceAssignmentArchiveService;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param deviceAssignmentArchiveService servicio de archivado de asignaciones.
+     */
+    public DeviceAssignmentArchiveJob(DeviceAssignmentArchiveService deviceAssignmentArchiveService) {
+        this.deviceAssignmentArchiveService = deviceAssignmentArchiveService;
+    }
+
+    /**
+     * Ejecuta el archivado según el cron configurado (por defecto, diariamente a las 02:30).
+     */
+    @Scheduled(cron = "${devices.assignments.archive.cron:0 30 2 * * *}")
+    public void archiveReleasedAssignments() {
+        try {
+            deviceAssignmentArchiveService.archiveReleasedAssignments();
+        } catch (RuntimeException ex) {
+            log.error("Error archivando asignaciones liberadas: {}", ex.getMessage(), ex);
+        }
+    }
+}
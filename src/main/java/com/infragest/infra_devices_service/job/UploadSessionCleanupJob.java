@@ -0,0 +1,43 @@
+package com.infragest.infra_devices_service.job;
+
+import com.infragest.infra_devices_service.service.UploadSessionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea programada que elimina las sesiones de carga por partes abandonadas y sus archivos.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class UploadSessionCleanupJob {
+
+    /**
+     * Inyección de dependencia: servicio de sesiones de carga.
+     */
+    private final UploadSessionService uploadSessionService;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param uploadSessionService servicio de sesiones de carga.
+     */
+    public UploadSessionCleanupJob(UploadSessionService uploadSessionService) {
+        this.uploadSessionService = uploadSessionService;
+    }
+
+    /**
+     * Elimina las sesiones expiradas según el intervalo configurado (por defecto, cada 5 minutos).
+     */
+    @Scheduled(fixedDelayString = "${devices.bulk-upload.session.cleanup-interval:PT5M}")
+    public void purgeExpiredSessions() {
+        try {
+            uploadSessionService.purgeExpiredSessions();
+        } catch (RuntimeException ex) {
+            log.error("Error eliminando sesiones de carga expiradas: {}", ex.getMessage(), ex);
+        }
+    }
+}
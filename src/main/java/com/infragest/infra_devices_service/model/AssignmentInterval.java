@@ -0,0 +1,43 @@
+package com.infragest.infra_devices_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Proyección ligera de una asignación como intervalo de uso de un dispositivo.
+ *
+ * Se obtiene mediante expresiones constructoras JPQL, por lo que no queda gestionada
+ * en el contexto de persistencia y puede recorrerse en streaming.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentInterval {
+
+    /**
+     * Identificador del dispositivo asignado.
+     */
+    private UUID deviceId;
+
+    /**
+     * Marca del dispositivo asignado.
+     */
+    private String brand;
+
+    /**
+     * Inicio del intervalo (asignación).
+     */
+    private LocalDateTime assignedAt;
+
+    /**
+     * Fin del intervalo (liberación); {@code null} si la asignación sigue activa.
+     */
+    private LocalDateTime releasedAt;
+}
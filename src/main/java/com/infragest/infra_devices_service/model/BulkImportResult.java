@@ -0,0 +1,50 @@
+package com.infragest.infra_devices_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de la importación de un archivo de carga masiva.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResult {
+
+    /**
+     * Filas de datos leídas del archivo.
+     */
+    private long totalRows;
+
+    /**
+     * Filas insertadas como dispositivos nuevos.
+     */
+    private long insertedRows;
+
+    /**
+     * Filas que actualizaron un dispositivo existente (modo upsert).
+     */
+    private long updatedRows;
+
+    /**
+     * Filas idénticas a un dispositivo existente (modo upsert).
+     */
+    private long unchangedRows;
+
+    /**
+     * Filas rechazadas por validación, duplicado o error al persistir.
+     */
+    private long rejectedRows;
+
+    /**
+     * Primera fila rechazada, útil como resumen del error.
+     */
+    private RejectedRow firstRejected;
+}
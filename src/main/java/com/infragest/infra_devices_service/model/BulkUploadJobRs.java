@@ -0,0 +1,125 @@
+package com.infragest.infra_devices_service.model;
+
+import com.infragest.infra_devices_service.enums.BulkUploadModeEnum;
+import com.infragest.infra_devices_service.enums.BulkUploadStatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de respuesta con el estado de un trabajo de carga masiva.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUploadJobRs {
+
+    /**
+     * Identificador del trabajo (id del {@code BulkUploadLog}).
+     */
+    private UUID id;
+
+    /**
+     * Nombre original del archivo subido.
+     */
+    private String originalFilename;
+
+    /**
+     * Modo de la carga (inserción o upsert).
+     */
+    private BulkUploadModeEnum mode;
+
+    /**
+     * Estado actual del trabajo.
+     */
+    private BulkUploadStatusEnum status;
+
+    /**
+     * Usuario que realizó la carga.
+     */
+    private String uploadedBy;
+
+    /**
+     * Fecha/hora en que se recibió el archivo.
+     */
+    private LocalDateTime uploadedAt;
+
+    /**
+     * Fecha/hora en que comenzó el procesamiento.
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * Fecha/hora en que terminó el procesamiento.
+     */
+    private LocalDateTime completedAt;
+
+    /**
+     * Duración del procesamiento en milisegundos.
+     */
+    private Long processingTimeMs;
+
+    /**
+     * Número de filas de datos leídas del archivo.
+     */
+    private Long totalRows;
+
+    /**
+     * Número de filas insertadas.
+     */
+    private Long insertedRows;
+
+    /**
+     * Número de dispositivos existentes actualizados (modo upsert).
+     */
+    private Long updatedRows;
+
+    /**
+     * Número de dispositivos existentes sin cambios (modo upsert).
+     */
+    private Long unchangedRows;
+
+    /**
+     * Número de filas rechazadas.
+     */
+    private Long rejectedRows;
+
+    /**
+     * Número de filas validadas (progreso; se actualiza periódicamente mientras el trabajo está en curso).
+     */
+    private Long validatedRows;
+
+    /**
+     * Número de filas persistidas: insertadas, actualizadas o sin cambios (progreso).
+     */
+    private Long persistedRows;
+
+    /**
+     * Último bloque procesado.
+     */
+    private Integer currentChunk;
+
+    /**
+     * Filas procesadas por segundo.
+     */
+    private Double rowsPerSecond;
+
+    /**
+     * Motivo del fallo o resumen de las filas rechazadas.
+     */
+    private String errorMessage;
+
+    /**
+     * Indica que el archivo es idéntico a uno subido recientemente y se devuelve el trabajo previo.
+     */
+    private boolean deduplicated;
+}
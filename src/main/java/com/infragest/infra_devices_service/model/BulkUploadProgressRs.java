@@ -0,0 +1,57 @@
+package com.infragest.infra_devices_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Progreso de una carga masiva en curso, publicado por server-sent events.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUploadProgressRs {
+
+    /**
+     * Identificador del trabajo.
+     */
+    private UUID id;
+
+    /**
+     * Filas leídas del archivo.
+     */
+    private long rowsRead;
+
+    /**
+     * Filas validadas.
+     */
+    private long rowsValidated;
+
+    /**
+     * Filas persistidas (insertadas, actualizadas o sin cambios).
+     */
+    private long rowsPersisted;
+
+    /**
+     * Filas rechazadas.
+     */
+    private long rowsRejected;
+
+    /**
+     * Número del bloque que se está leyendo.
+     */
+    private int currentChunk;
+
+    /**
+     * Filas leídas por segundo desde el inicio del procesamiento.
+     */
+    private double rowsPerSecond;
+}
@@ -0,0 +1,78 @@
+package com.infragest.infra_devices_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * DTO de respuesta con la utilización de un dispositivo o de una marca en una ventana de días.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceUtilizationRs {
+
+    /**
+     * Identificador del dispositivo; {@code null} cuando la agregación es por marca.
+     */
+    private UUID deviceId;
+
+    /**
+     * Marca del dispositivo o marca agregada.
+     */
+    private String brand;
+
+    /**
+     * Primer día (inclusive) de la ventana consultada.
+     */
+    private LocalDate from;
+
+    /**
+     * Último día (inclusive) de la ventana consultada.
+     */
+    private LocalDate to;
+
+    /**
+     * Número de dispositivos considerados (1 cuando la agregación es por dispositivo).
+     */
+    private long deviceCount;
+
+    /**
+     * Segundos ocupados en asignaciones dentro de la ventana.
+     */
+    private long occupiedSeconds;
+
+    /**
+     * Segundos sin asignación dentro de la ventana (capacidad menos ocupación).
+     */
+    private long idleSeconds;
+
+    /**
+     * Asignaciones iniciadas dentro de la ventana.
+     */
+    private long assignmentCount;
+
+    /**
+     * Días-dispositivo con alguna ocupación.
+     */
+    private long busyDays;
+
+    /**
+     * Días-dispositivo sin ninguna ocupación.
+     */
+    private long idleDays;
+
+    /**
+     * Fracción de la capacidad ocupada (0..1).
+     */
+    private double utilization;
+}
@@ -0,0 +1,71 @@
+package com.infragest.infra_devices_service.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta de error de la API: {@code timestamp}, {@code status}, {@code error}, {@code type}
+ * (solo en errores de negocio) y {@code message}.
+ *
+ * Las partes fijas de cada clase de error se construyen una sola vez en un {@link Template}; por respuesta
+ * solo se crean el objeto, la hora y el mensaje.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ * @version 1.0
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ErrorRs {
+
+    /**
+     * Fecha/hora del error.
+     */
+    private final LocalDateTime timestamp;
+
+    /**
+     * Código de estado HTTP.
+     */
+    private final int status;
+
+    /**
+     * Categoría del error.
+     */
+    private final String error;
+
+    /**
+     * Tipo de la {@link DeviceException}; null para errores que no son de negocio.
+     */
+    private final DeviceException.Type type;
+
+    /**
+     * Descripción del error.
+     */
+    private final String message;
+
+    /**
+     * Partes fijas (estado, categoría y tipo) de una clase de error, compartidas entre respuestas.
+     *
+     * @param httpStatus estado HTTP
+     * @param error      categoría del error
+     * @param type       tipo de la {@link DeviceException}, o null
+     */
+    public record Template(HttpStatus httpStatus, String error, DeviceException.Type type) {
+
+        /**
+         * Crea la respuesta de error con el mensaje indicado.
+         *
+         * @param message descripción del error
+         * @return cuerpo de la respuesta
+         */
+        public ErrorRs toBody(String message) {
+            return new ErrorRs(LocalDateTime.now(), httpStatus.value(), error, type, message);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.infragest.infra_devices_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila de un archivo de carga masiva que fue rechazada durante la importación.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RejectedRow {
+
+    /**
+     * Número de la fila en el archivo (1 es el encabezado).
+     */
+    private int rowNumber;
+
+    /**
+     * Barcode leído de la fila, si estaba presente.
+     */
+    private String barcode;
+
+    /**
+     * Motivo del rechazo.
+     */
+    private String message;
+}
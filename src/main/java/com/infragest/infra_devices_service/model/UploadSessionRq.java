@@ -0,0 +1,41 @@
+package com.infragest.infra_devices_service.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para abrir una sesión de carga masiva por partes.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionRq {
+
+    /**
+     * Nombre original del archivo; su extensión determina el formato si no se indica content-type.
+     */
+    @NotBlank(message = "El nombre del archivo es obligatorio")
+    private String filename;
+
+    /**
+     * Content-type del archivo (opcional).
+     */
+    private String contentType;
+
+    /**
+     * Tamaño total del archivo en bytes.
+     */
+    @NotNull(message = "El tamaño del archivo es obligatorio")
+    @Positive(message = "El tamaño del archivo debe ser mayor que cero")
+    private Long totalSize;
+}
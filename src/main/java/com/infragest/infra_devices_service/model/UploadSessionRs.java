@@ -0,0 +1,59 @@
+package com.infragest.infra_devices_service.model;
+
+import com.infragest.infra_devices_service.enums.BulkUploadFormatEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de respuesta con el estado de una sesión de carga masiva por partes.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionRs {
+
+    /**
+     * Identificador de la sesión.
+     */
+    private UUID id;
+
+    /**
+     * Nombre original del archivo.
+     */
+    private String filename;
+
+    /**
+     * Formato detectado del archivo.
+     */
+    private BulkUploadFormatEnum format;
+
+    /**
+     * Tamaño total esperado en bytes.
+     */
+    private long totalSize;
+
+    /**
+     * Bytes recibidos de forma contigua; es el offset desde el que debe continuar el cliente.
+     */
+    private long receivedBytes;
+
+    /**
+     * Indica si ya se recibió el archivo completo y la sesión puede confirmarse.
+     */
+    private boolean complete;
+
+    /**
+     * Fecha/hora en que expira la sesión si no recibe más datos.
+     */
+    private LocalDateTime expiresAt;
+}
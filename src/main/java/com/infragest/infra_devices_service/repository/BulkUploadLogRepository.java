@@ -5,9 +5,14 @@ import com.infragest.infra_devices_service.enums.BulkUploadStatusEnum;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,6 +28,31 @@ import java.util.UUID;
 @Repository
 public interface BulkUploadLogRepository extends JpaRepository<BulkUploadLog, UUID> {
 
+    /**
+     * Guarda el progreso de un trabajo en curso sin incrementar su versión, para no invalidar la entidad que
+     * mantiene el hilo de procesamiento.
+     *
+     * @param id identificador del trabajo
+     * @param status estado que debe tener el trabajo (PROCESSING)
+     * @param rowsRead filas leídas
+     * @param rowsValidated filas validadas
+     * @param rowsPersisted filas persistidas
+     * @param rowsRejected filas rechazadas
+     * @param currentChunk bloque actual
+     * @return número de registros actualizados
+     */
+    @Modifying
+    @Query("update BulkUploadLog l set l.totalRows = :rowsRead, l.validatedRows = :rowsValidated, "
+            + "l.persistedRows = :rowsPersisted, l.rejectedRows = :rowsRejected, l.currentChunk = :currentChunk "
+            + "where l.id = :id and l.status = :status")
+    int updateProgress(@Param("id") UUID id,
+                       @Param("status") BulkUploadStatusEnum status,
+                       @Param("rowsRead") long rowsRead,
+                       @Param("rowsValidated") long rowsValidated,
+                       @Param("rowsPersisted") long rowsPersisted,
+                       @Param("rowsRejected") long rowsRejected,
+                       @Param("currentChunk") int currentChunk);
+
     /**
      * Busca registros de carga por usuario con paginación.
      *
@@ -60,6 +90,45 @@ public interface BulkUploadLogRepository extends JpaRepository<BulkUploadLog, UU
      */
     Optional<BulkUploadLog> findByFileHashAndUploadedAtAfter(String fileHash, LocalDateTime uploadedAt);
 
+    /**
+     * Busca la carga más reciente de un archivo (por hash), tipo de operación y usuario posterior a una fecha,
+     * excluyendo un estado. Usado para reutilizar el resultado de un archivo idéntico subido recientemente.
+     *
+     * @param fileHash hash SHA-256 del archivo
+     * @param operationType tipo de operación (inserción o upsert)
+     * @param uploadedBy usuario que subió el archivo
+     * @param uploadedAt fecha límite
+     * @param status estado a excluir (normalmente FAILED)
+     * @return opcional con el registro más reciente encontrado
+     */
+    Optional<BulkUploadLog> findFirstByFileHashAndOperationTypeAndUploadedByAndUploadedAtAfterAndStatusNotOrderByUploadedAtDesc(
+            String fileHash,
+            String operationType,
+            String uploadedBy,
+            LocalDateTime uploadedAt,
+            BulkUploadStatusEnum status
+    );
+
+    /**
+     * Busca los trabajos en alguno de los estados indicados subidos antes de una fecha. Usado para detectar los
+     * trabajos que quedaron sin terminar tras un reinicio.
+     *
+     * @param statuses estados buscados (normalmente PENDING y PROCESSING)
+     * @param uploadedAt fecha límite
+     * @return registros encontrados
+     */
+    List<BulkUploadLog> findByStatusInAndUploadedAtBefore(Collection<BulkUploadStatusEnum> statuses,
+                                                          LocalDateTime uploadedAt);
+
+    /**
+     * Busca los trabajos con reporte de filas rechazadas terminados antes de una fecha. Usado para eliminar los
+     * reportes que superan su retención.
+     *
+     * @param completedAt fecha límite
+     * @return registros encontrados
+     */
+    List<BulkUploadLog> findByErrorLogPathIsNotNullAndCompletedAtBefore(LocalDateTime completedAt);
+
     /**
      * Busca registros de carga subidos después de una fecha específica con paginación.
      * Útil para reportes y consultas por rango de fechas.
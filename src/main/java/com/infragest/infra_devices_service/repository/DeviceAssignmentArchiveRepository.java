@@ -0,0 +1,61 @@
+package com.infragest.infra_devices_service.repository;
+
+import com.infragest.infra_devices_service.entity.DeviceAssignmentArchive;
+import com.infragest.infra_devices_service.model.AssignmentInterval;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio JPA para la entidad {@link DeviceAssignmentArchive}.
+ *
+ * Proporciona la copia por lotes desde {@code device_assignments} y la consulta
+ * del historial archivado de un dispositivo.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Repository
+public interface DeviceAssignmentArchiveRepository extends JpaRepository<DeviceAssignmentArchive, UUID> {
+
+    /**
+     * Copia al archivo las asignaciones indicadas en una única sentencia set-based.
+     *
+     * @param ids IDs de las asignaciones (liberadas) a copiar
+     * @return número de filas insertadas en el archivo
+     */
+    @Modifying
+    @Query("insert into DeviceAssignmentArchive (id, orderId, device, status, assignedAt, releasedAt, createdAt, updatedAt, archivedAt) "
+            + "select a.id, a.orderId, a.device, a.status, a.assignedAt, a.releasedAt, a.createdAt, a.updatedAt, local datetime "
+            + "from DeviceAssignment a where a.id in :ids and a.releasedAt is not null")
+    int copyFromAssignments(@Param("ids") List<UUID> ids);
+
+    /**
+     * Obtiene todas las asignaciones archivadas de un dispositivo.
+     *
+     * @param deviceId ID del dispositivo a consultar.
+     * @return Lista de asignaciones archivadas ordenadas por fecha de asignación descendente.
+     */
+    @Query("select a from DeviceAssignmentArchive a where a.device.id = :deviceId order by a.assignedAt desc")
+    List<DeviceAssignmentArchive> findAllByDeviceIdOrderByAssignedAtDesc(@Param("deviceId") UUID deviceId);
+
+    /**
+     * Recorre en streaming las asignaciones archivadas que se solapan con el rango indicado.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @param from inicio del rango (inclusive).
+     * @param to   fin del rango (exclusivo).
+     * @return Stream de intervalos de asignación.
+     */
+    @Query("select new com.infragest.infra_devices_service.model.AssignmentInterval(d.id, d.brand, a.assignedAt, a.releasedAt) "
+            + "from DeviceAssignmentArchive a join a.device d "
+            + "where a.releasedAt > :from and a.assignedAt < :to")
+    Stream<AssignmentInterval> streamReleasedIntervals(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
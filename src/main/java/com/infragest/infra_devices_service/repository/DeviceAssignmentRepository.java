@@ -1,23 +1,34 @@
 package com.infragest.infra_devices_service.repository;
 
 import com.infragest.infra_devices_service.entity.DeviceAssignment;
+import com.infragest.infra_devices_service.model.AssignmentInterval;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface DeviceAssignmentRepository extends JpaRepository<DeviceAssignment, UUID> {
 
+    // Las consultas por dispositivo filtran por la FK (a.device.id) en JPQL explícito: la derivación
+    // por nombre genera un join con devices que filtra por d.id e impide usar los índices de device_id.
+
     /**
      * Busca la asignación activa (released_at IS NULL) de un dispositivo.
      *
      * @param deviceId ID del dispositivo.
      * @return Optional con la asignación activa, si existe; vacío en caso contrario.
      */
-    Optional<DeviceAssignment> findByDeviceIdAndReleasedAtIsNull(UUID deviceId);
+    @Query("select a from DeviceAssignment a where a.device.id = :deviceId and a.releasedAt is null")
+    Optional<DeviceAssignment> findByDeviceIdAndReleasedAtIsNull(@Param("deviceId") UUID deviceId);
 
     /**
      * Busca la asignación activa de un dispositivo para una orden específica.
@@ -26,7 +37,9 @@ public interface DeviceAssignmentRepository extends JpaRepository<DeviceAssignme
      * @param deviceId ID del dispositivo.
      * @return Optional con la asignación activa para el dispositivo en la orden indicada, si existe.
      */
-    Optional<DeviceAssignment> findByOrderIdAndDeviceIdAndReleasedAtIsNull(UUID orderId, UUID deviceId);
+    @Query("select a from DeviceAssignment a where a.orderId = :orderId and a.device.id = :deviceId and a.releasedAt is null")
+    Optional<DeviceAssignment> findByOrderIdAndDeviceIdAndReleasedAtIsNull(@Param("orderId") UUID orderId,
+                                                                           @Param("deviceId") UUID deviceId);
 
     /**
      * Busca y bloquea la asignación activa de un dispositivo para evitar conflictos concurrentes.
@@ -35,7 +48,8 @@ public interface DeviceAssignmentRepository extends JpaRepository<DeviceAssignme
      * @return Optional con la asignación activa bloqueada.
      */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    Optional<DeviceAssignment> findWithLockByDeviceIdAndReleasedAtIsNull(UUID deviceId);
+    @Query("select a from DeviceAssignment a where a.device.id = :deviceId and a.releasedAt is null")
+    Optional<DeviceAssignment> findWithLockByDeviceIdAndReleasedAtIsNull(@Param("deviceId") UUID deviceId);
 
     /**
      * Obtiene todas las asignaciones históricas de un dispositivo.
@@ -43,7 +57,8 @@ public interface DeviceAssignmentRepository extends JpaRepository<DeviceAssignme
      * @param deviceId ID del dispositivo a consultar.
      * @return Lista de entidades {@link DeviceAssignment} con asignaciones.
      */
-    List<DeviceAssignment> findAllByDeviceIdOrderByAssignedAtDesc(UUID deviceId);
+    @Query("select a from DeviceAssignment a where a.device.id = :deviceId order by a.assignedAt desc")
+    List<DeviceAssignment> findAllByDeviceIdOrderByAssignedAtDesc(@Param("deviceId") UUID deviceId);
 
     /**
      * Obtiene todas las asignaciones activas (con released_at IS NULL) para una lista de dispositivos.
@@ -51,5 +66,49 @@ public interface DeviceAssignmentRepository extends JpaRepository<DeviceAssignme
      * @param deviceIds Lista de IDs de los dispositivos a consultar.
      * @return Lista de entidades {@link DeviceAssignment} que tienen una asignación activa para los IDs especificados.
      */
-    List<DeviceAssignment> findAllByDeviceIdInAndReleasedAtIsNull(List<UUID> deviceIds);
+    @Query("select a from DeviceAssignment a where a.device.id in :deviceIds and a.releasedAt is null")
+    List<DeviceAssignment> findAllByDeviceIdInAndReleasedAtIsNull(@Param("deviceIds") List<UUID> deviceIds);
+
+    /**
+     * Obtiene los IDs de las asignaciones liberadas antes de la fecha indicada, las más antiguas primero.
+     * Se usa para archivar el historial por lotes acotados.
+     *
+     * @param cutoff   fecha límite de liberación.
+     * @param pageable tamaño del lote a recuperar.
+     * @return Lista de IDs de asignaciones liberadas candidatas a archivar.
+     */
+    @Query("select a.id from DeviceAssignment a where a.releasedAt is not null and a.releasedAt < :cutoff order by a.releasedAt")
+    List<UUID> findIdsReleasedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Elimina las asignaciones liberadas indicadas (ya copiadas al archivo).
+     *
+     * @param ids IDs de las asignaciones a eliminar.
+     * @return número de filas eliminadas.
+     */
+    @Modifying
+    @Query("delete from DeviceAssignment a where a.id in :ids and a.releasedAt is not null")
+    int deleteReleasedByIdIn(@Param("ids") List<UUID> ids);
+
+    /**
+     * Obtiene como intervalos las asignaciones activas (released_at IS NULL).
+     *
+     * @return Lista de intervalos abiertos con el dispositivo y su marca.
+     */
+    @Query("select new com.infragest.infra_devices_service.model.AssignmentInterval(d.id, d.brand, a.assignedAt, a.releasedAt) "
+            + "from DeviceAssignment a join a.device d where a.releasedAt is null")
+    List<AssignmentInterval> findActiveIntervals();
+
+    /**
+     * Recorre en streaming las asignaciones liberadas que se solapan con el rango indicado.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @param from inicio del rango (inclusive).
+     * @param to   fin del rango (exclusivo).
+     * @return Stream de intervalos de asignación.
+     */
+    @Query("select new com.infragest.infra_devices_service.model.AssignmentInterval(d.id, d.brand, a.assignedAt, a.releasedAt) "
+            + "from DeviceAssignment a join a.device d "
+            + "where a.releasedAt is not null and a.releasedAt > :from and a.assignedAt < :to")
+    Stream<AssignmentInterval> streamReleasedIntervals(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
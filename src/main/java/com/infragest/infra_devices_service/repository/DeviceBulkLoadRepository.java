@@ -0,0 +1,167 @@
+package com.infragest.infra_devices_service.repository;
+
+import com.infragest.infra_devices_service.entity.Device;
+import com.infragest.infra_devices_service.model.RejectedRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Acceso JDBC para la carga nativa de dispositivos en MariaDB.
+ *
+ * Las filas validadas se cargan con {@code LOAD DATA LOCAL INFILE} en {@code devices_bulk_staging} y se
+ * fusionan en {@code devices} con un único {@code INSERT ... SELECT ... WHERE NOT EXISTS}, que omite los
+ * barcodes ya existentes. Cualquier otro error (incluido un barcode insertado entretanto por otra transacción)
+ * aborta la sentencia en lugar de descartarse en silencio como haría {@code INSERT IGNORE}.
+ *
+ * También resuelve el modo upsert de la carga masiva con {@code INSERT ... ON DUPLICATE KEY UPDATE}.
+ *
+ * Las operaciones de la carga nativa deben ejecutarse dentro de una misma transacción (misma conexión).
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Repository
+public class DeviceBulkLoadRepository {
+
+    /**
+     * Inyección de dependencia: JdbcTemplate.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Resultado (cacheado) de la comprobación de soporte de la carga nativa.
+     */
+    private volatile Boolean nativeLoadSupported;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param jdbcTemplate plantilla JDBC sobre el datasource principal
+     */
+    public DeviceBulkLoadRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Indica si la base de datos admite {@code LOAD DATA LOCAL INFILE}: debe ser MariaDB o MySQL con la
+     * variable {@code local_infile} activa. El resultado se calcula una sola vez.
+     *
+     * @return {@code true} si la carga nativa está disponible
+     */
+    public boolean isNativeLoadSupported() {
+        Boolean supported = nativeLoadSupported;
+        if (supported == null) {
+            supported = probeNativeLoad();
+            nativeLoadSupported = supported;
+        }
+        return supported;
+    }
+
+    /**
+     * Carga un archivo de staging generado por
+     * {@link com.infragest.infra_devices_service.util.DeviceStagingFileWriter}.
+     *
+     * @param file archivo delimitado por tabuladores
+     * @param loadId identificador de la importación
+     * @return número de filas cargadas
+     */
+    public int loadStaging(Path file, UUID loadId) {
+        // LOAD DATA no admite parámetros: la ruta es un archivo temporal propio y loadId un UUID
+        String path = file.toAbsolutePath().toString().replace("\\", "\\\\").replace("'", "\\'");
+        return jdbcTemplate.update("LOAD DATA LOCAL INFILE '" + path + "' INTO TABLE devices_bulk_staging "
+                + "CHARACTER SET utf8mb4 "
+                + "FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' "
+                + "(row_num, id, name, brand, barcode, status) "
+                + "SET load_id = '" + loadId + "'");
+    }
+
+    /**
+     * Fusiona las filas de staging en {@code devices}, omitiendo los barcodes ya existentes. Las filas de
+     * staging de una importación no repiten barcode (los duplicados del archivo se descartan antes).
+     *
+     * @param loadId identificador de la importación
+     * @return número de dispositivos insertados
+     */
+    public int mergeIntoDevices(UUID loadId) {
+        return jdbcTemplate.update("INSERT INTO devices (id, created_at, version, name, brand, barcode, status) "
+                + "SELECT s.id, NOW(6), 0, s.name, s.brand, s.barcode, s.status "
+                + "FROM devices_bulk_staging s WHERE s.load_id = ? "
+                + "AND NOT EXISTS (SELECT 1 FROM devices d WHERE d.barcode = s.barcode) "
+                + "ORDER BY s.row_num", loadId.toString());
+    }
+
+    /**
+     * Obtiene las filas de staging que no se insertaron porque su barcode ya existía.
+     *
+     * @param loadId identificador de la importación
+     * @param message plantilla del motivo de rechazo (recibe el barcode)
+     * @return filas rechazadas en orden de fila
+     */
+    public List<RejectedRow> findConflicts(UUID loadId, String message) {
+        return jdbcTemplate.query("SELECT s.row_num, s.barcode FROM devices_bulk_staging s "
+                        + "JOIN devices d ON d.barcode = s.barcode "
+                        + "WHERE s.load_id = ? AND d.id <> s.id ORDER BY s.row_num",
+                (rs, i) -> new RejectedRow(rs.getInt(1), rs.getString(2), String.format(message, rs.getString(2))),
+                loadId.toString());
+    }
+
+    /**
+     * Inserta o actualiza (por barcode) un lote de dispositivos con {@code INSERT ... ON DUPLICATE KEY UPDATE}.
+     * En los existentes se actualizan nombre, marca y estado, y se incrementa la versión. El estado de un
+     * dispositivo OCCUPIED no se modifica: depende de su asignación activa, que la carga no libera.
+     *
+     * @param devices dispositivos a insertar o actualizar; el ID solo se usa en los nuevos
+     */
+    public void upsertDevices(List<Device> devices) {
+        jdbcTemplate.batchUpdate("INSERT INTO devices (id, created_at, version, name, brand, barcode, status) "
+                        + "VALUES (?, NOW(6), 0, ?, ?, ?, ?) "
+                        + "ON DUPLICATE KEY UPDATE name = VALUES(name), brand = VALUES(brand), "
+                        + "status = CASE WHEN status = 'OCCUPIED' THEN status ELSE VALUES(status) END, "
+                        + "updated_at = NOW(6), version = version + 1",
+                devices, devices.size(), (ps, device) -> {
+                    ps.setString(1, device.getId().toString());
+                    ps.setString(2, device.getName());
+                    ps.setString(3, device.getBrand());
+                    ps.setString(4, device.getBarcode());
+                    ps.setString(5, device.getStatus().name());
+                });
+    }
+
+    /**
+     * Elimina las filas de staging de una importación.
+     *
+     * @param loadId identificador de la importación
+     * @return número de filas eliminadas
+     */
+    public int clearStaging(UUID loadId) {
+        return jdbcTemplate.update("DELETE FROM devices_bulk_staging WHERE load_id = ?", loadId.toString());
+    }
+
+    private boolean probeNativeLoad() {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>)
+                    connection -> connection.getMetaData().getDatabaseProductName());
+            if (product == null || !(product.contains("MariaDB") || product.contains("MySQL"))) {
+                log.info("Carga nativa no disponible en {}, se usará JPA", product);
+                return false;
+            }
+            Integer localInfile = jdbcTemplate.queryForObject("SELECT @@local_infile", Integer.class);
+            if (localInfile == null || localInfile == 0) {
+                log.info("Carga nativa no disponible: local_infile está desactivado, se usará JPA");
+                return false;
+            }
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("No se pudo comprobar el soporte de carga nativa: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.infragest.infra_devices_service.repository;
+
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+
+/**
+ * Acceso JDBC de solo lectura para la exportación del inventario de dispositivos.
+ *
+ * Recorre {@code devices} con un cursor en streaming ({@code fetchSize} > 0 en MariaDB Connector/J), de
+ * modo que el driver no materializa el resultado completo en memoria. El fetch size se fija en la sentencia
+ * de la exportación, sin modificar el {@link JdbcTemplate} compartido.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Repository
+public class DeviceExportRepository {
+
+    /**
+     * Inyección de dependencia: JdbcTemplate.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Filas que el driver trae por cada viaje al servidor.
+     */
+    private final int fetchSize;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param jdbcTemplate plantilla JDBC sobre el datasource principal
+     * @param fetchSize filas que el driver trae por cada viaje al servidor
+     */
+    public DeviceExportRepository(JdbcTemplate jdbcTemplate,
+                                  @Value("${devices.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Cuenta los dispositivos que exportaría {@link #streamDevices}.
+     *
+     * @param status estado por el que filtrar, o null para todos
+     * @return número de dispositivos
+     */
+    public long countDevices(DeviceStatusEnum status) {
+        Long count = status == null
+                ? jdbcTemplate.queryForObject("SELECT COUNT(*) FROM devices", Long.class)
+                : jdbcTemplate.queryForObject("SELECT COUNT(*) FROM devices WHERE status = ?", Long.class, status.name());
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Recorre los dispositivos ordenados por barcode, con las columnas {@code name, brand, barcode, status}.
+     *
+     * @param status estado por el que filtrar, o null para todos
+     * @param handler receptor de cada fila
+     */
+    public void streamDevices(DeviceStatusEnum status, RowCallbackHandler handler) {
+        String sql = status == null
+                ? "SELECT name, brand, barcode, status FROM devices ORDER BY barcode"
+                : "SELECT name, brand, barcode, status FROM devices WHERE status = ? ORDER BY barcode";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            if (status != null) {
+                statement.setString(1, status.name());
+            }
+            return statement;
+        }, handler);
+    }
+}
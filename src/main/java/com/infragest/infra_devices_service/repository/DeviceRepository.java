@@ -5,6 +5,7 @@ import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -65,4 +66,21 @@ public interface DeviceRepository extends JpaRepository<Device, UUID> {
      * @return lista de dispositivos que coinciden con los barcodes
      */
     List<Device> findByBarcodeIn(Set<String> barcodes);
+
+    /**
+     * Número de dispositivos por marca.
+     */
+    interface BrandCount {
+        String getBrand();
+        Long getDevices();
+    }
+
+    /**
+     * Cuenta los dispositivos registrados agrupados por marca.
+     * Útil para calcular la capacidad disponible en los reportes de utilización.
+     *
+     * @return lista con el número de dispositivos por marca
+     */
+    @Query("select d.brand as brand, count(d) as devices from Device d group by d.brand")
+    List<BrandCount> countByBrand();
 }
@@ -0,0 +1,100 @@
+package com.infragest.infra_devices_service.repository;
+
+import com.infragest.infra_devices_service.entity.DeviceUsageDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositorio JPA para la entidad {@link DeviceUsageDaily}.
+ *
+ * Proporciona el incremento atómico de los acumulados diarios y las agregaciones
+ * por dispositivo y por marca sobre una ventana de días.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Repository
+public interface DeviceUsageDailyRepository extends JpaRepository<DeviceUsageDaily, DeviceUsageDaily.Key> {
+
+    /**
+     * Totales de uso comunes a las agregaciones.
+     */
+    interface UsageTotals {
+        String getBrand();
+        Long getOccupiedSeconds();
+        Long getAssignmentCount();
+        Long getBusyDays();
+    }
+
+    /**
+     * Totales de uso de un dispositivo.
+     */
+    interface DeviceUsage extends UsageTotals {
+        UUID getDeviceId();
+    }
+
+    /**
+     * Suma tiempo ocupado y asignaciones al acumulado de un día, creándolo si no existe.
+     *
+     * @param deviceId ID del dispositivo
+     * @param usageDay día del acumulado
+     * @param brand marca del dispositivo
+     * @param occupiedSeconds segundos a sumar
+     * @param assignmentCount asignaciones a sumar
+     */
+    @Modifying
+    @Query(value = "INSERT INTO device_usage_daily (device_id, usage_day, brand, occupied_seconds, assignment_count) "
+            + "VALUES (:deviceId, :usageDay, :brand, :occupiedSeconds, :assignmentCount) "
+            + "ON DUPLICATE KEY UPDATE occupied_seconds = occupied_seconds + VALUES(occupied_seconds), "
+            + "assignment_count = assignment_count + VALUES(assignment_count), brand = VALUES(brand)",
+            nativeQuery = true)
+    void increment(@Param("deviceId") UUID deviceId,
+                   @Param("usageDay") LocalDate usageDay,
+                   @Param("brand") String brand,
+                   @Param("occupiedSeconds") long occupiedSeconds,
+                   @Param("assignmentCount") long assignmentCount);
+
+    /**
+     * Elimina los acumulados de un rango de días (para reconstruirlos).
+     *
+     * @param from primer día (inclusive)
+     * @param to último día (inclusive)
+     * @return número de filas eliminadas
+     */
+    @Modifying
+    @Query("delete from DeviceUsageDaily r where r.usageDay between :from and :to")
+    int deleteByUsageDayBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Agrega los acumulados por dispositivo en un rango de días.
+     *
+     * @param from primer día (inclusive)
+     * @param to último día (inclusive)
+     * @return agregados por dispositivo
+     */
+    @Query("select r.deviceId as deviceId, max(r.brand) as brand, sum(r.occupiedSeconds) as occupiedSeconds, "
+            + "sum(r.assignmentCount) as assignmentCount, "
+            + "sum(case when r.occupiedSeconds > 0 then 1 else 0 end) as busyDays "
+            + "from DeviceUsageDaily r where r.usageDay between :from and :to group by r.deviceId")
+    List<DeviceUsage> aggregateByDevice(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Agrega los acumulados por marca en un rango de días.
+     *
+     * @param from primer día (inclusive)
+     * @param to último día (inclusive)
+     * @return agregados por marca
+     */
+    @Query("select r.brand as brand, sum(r.occupiedSeconds) as occupiedSeconds, "
+            + "sum(r.assignmentCount) as assignmentCount, "
+            + "sum(case when r.occupiedSeconds > 0 then 1 else 0 end) as busyDays "
+            + "from DeviceUsageDaily r where r.usageDay between :from and :to group by r.brand")
+    List<UsageTotals> aggregateByBrand(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,90 @@
+package com.infragest.infra_devices_service.repository;
+
+import com.infragest.infra_devices_service.entity.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repositorio JPA para la entidad {@link UploadSession}.
+ *
+ * Las actualizaciones del offset y del estado de confirmación son sentencias condicionales, de modo que
+ * varias peticiones (o réplicas) sobre la misma sesión no necesitan bloqueos.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+
+    /**
+     * Busca una sesión de un usuario.
+     *
+     * @param id identificador de la sesión
+     * @param owner usuario dueño
+     * @return opcional con la sesión encontrada
+     */
+    Optional<UploadSession> findByIdAndOwner(UUID id, String owner);
+
+    /**
+     * Avanza el offset recibido de una sesión abierta si el nuevo valor es mayor que el actual, y registra la
+     * actividad en cualquier caso.
+     *
+     * @param id identificador de la sesión
+     * @param received nuevo offset de bytes contiguos recibidos
+     * @param now fecha y hora de la actividad
+     * @return número de registros actualizados (0 si la sesión no existe o se está confirmando)
+     */
+    @Modifying
+    @Query("update UploadSession s set s.receivedBytes = case when s.receivedBytes < :received then :received "
+            + "else s.receivedBytes end, s.lastActivityAt = :now where s.id = :id and s.committing = false")
+    int advanceReceived(@Param("id") UUID id, @Param("received") long received, @Param("now") LocalDateTime now);
+
+    /**
+     * Marca como en confirmación una sesión completa y abierta del usuario.
+     *
+     * @param id identificador de la sesión
+     * @param owner usuario dueño
+     * @return 1 si la sesión quedó reservada para esta confirmación, 0 en otro caso
+     */
+    @Modifying
+    @Query("update UploadSession s set s.committing = true "
+            + "where s.id = :id and s.owner = :owner and s.committing = false and s.receivedBytes = s.totalSize")
+    int claimForCommit(@Param("id") UUID id, @Param("owner") String owner);
+
+    /**
+     * Devuelve a abierta una sesión cuya confirmación falló, para poder confirmarla de nuevo.
+     *
+     * @param id identificador de la sesión
+     * @return número de registros actualizados
+     */
+    @Modifying
+    @Query("update UploadSession s set s.committing = false where s.id = :id")
+    int releaseCommit(@Param("id") UUID id);
+
+    /**
+     * Elimina una sesión sin actividad desde la fecha indicada.
+     *
+     * @param id identificador de la sesión
+     * @param lastActivityAt fecha límite
+     * @return número de registros eliminados (0 si la sesión recibió datos entretanto)
+     */
+    @Modifying
+    @Query("delete from UploadSession s where s.id = :id and s.lastActivityAt < :lastActivityAt")
+    int deleteIdle(@Param("id") UUID id, @Param("lastActivityAt") LocalDateTime lastActivityAt);
+
+    /**
+     * Busca las sesiones sin actividad desde la fecha indicada.
+     *
+     * @param lastActivityAt fecha límite
+     * @return sesiones encontradas
+     */
+    List<UploadSession> findByLastActivityAtBefore(LocalDateTime lastActivityAt);
+}
@@ -1,5 +1,6 @@
 package com.infragest.infra_devices_service.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,7 +18,7 @@ import java.util.Collections;
  * Filtro que válida JWT en cada petición y carga la autenticación en el contexto de Spring.
  *
  * - Espera el header Authorization con el esquema "Bearer &lt;token&gt;".
- * - Si el token es válido, extrae el email y crea una {@link Authentication}.
+ * - Si el token es válido, extrae el email de sus claims (un solo parseo) y crea una {@link Authentication}.
  * - Si falta o es inválido, responde 401 y corta la cadena de filtros.
  *
  * Solo válida el token y pone la autenticación en SecurityContext.
@@ -59,10 +60,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.getEmailFromToken(token);
+            // Un solo parseo (o acierto en la caché de tokens verificados) por petición
+            Claims claims = jwtUtil.verifyToken(token);
+            if (claims != null) {
                 Authentication authentication = new UsernamePasswordAuthenticationToken(
-                        email,
+                        claims.getSubject(),
                         null,
                         Collections.emptyList()
                 );
@@ -0,0 +1,69 @@
+package com.infragest.infra_devices_service.security;
+
+import com.infragest.infra_devices_service.util.MessageException;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Component;
+
+/**
+ * Equivalente gRPC de {@link JwtAuthFilter}: exige la cabecera {@code authorization: Bearer <token>} en cada
+ * llamada y la rechaza con {@code UNAUTHENTICATED} si falta o el token no es válido.
+ *
+ * La verificación se hace una vez por llamada (no por mensaje en los streams) y usa la caché de tokens
+ * verificados de {@link JwtUtil}. El email del token queda disponible en {@link #SUBJECT}.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Component
+public class JwtServerInterceptor implements ServerInterceptor {
+
+    /**
+     * Email (subject) del token de la llamada en curso.
+     */
+    public static final Context.Key<String> SUBJECT = Context.key("subject");
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * Inyección de dependencia: JwtUtil.
+     */
+    private final JwtUtil jwtUtil;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param jwtUtil utilidad de verificación de JWT
+     */
+    public JwtServerInterceptor(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(
+            ServerCall<Q, R> call, Metadata headers, ServerCallHandler<Q, R> next) {
+
+        String header = headers.get(AUTHORIZATION);
+        Claims claims = header != null && header.startsWith(BEARER_PREFIX)
+                ? jwtUtil.verifyToken(header.substring(BEARER_PREFIX.length()))
+                : null;
+
+        if (claims == null) {
+            call.close(Status.UNAUTHENTICATED.withDescription(MessageException.GRPC_UNAUTHENTICATED), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+
+        Context context = Context.current().withValue(SUBJECT, claims.getSubject());
+        return Contexts.interceptCall(context, call, headers, next);
+    }
+}
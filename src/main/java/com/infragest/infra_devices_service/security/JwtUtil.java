@@ -1,20 +1,36 @@
 package com.infragest.infra_devices_service.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
 import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utilidad para operaciones básicas con JWT: inicializa la clave secreta,
  * válida tokens y extrae el email (subject).
  *
- * Breve y directo: solo maneja verificación e extracción de subject.
+ * Los tokens ya verificados se guardan (por SHA-256 del token) en una caché acotada hasta su {@code exp},
+ * de modo que un cliente que reutiliza el mismo token no repite el parseo ni la verificación HMAC.
  *
  * @author bunnystring
  * @since 2025-11-07
@@ -25,8 +41,52 @@ public class JwtUtil {
     @Value("${spring.security.oauth2.resourceserver.jwt.secret}")
     private String jwtSecretBase64;
 
+    /**
+     * Número máximo de tokens verificados en caché; 0 desactiva la caché.
+     */
+    @Value("${devices.security.token-cache.max-size:10000}")
+    private long tokenCacheMaxSize;
+
     private Key secretKey;
 
+    private JwtParser parser;
+
+    /**
+     * Tokens verificados (SHA-256 del token en hexadecimal) y sus claims, hasta su expiración.
+     */
+    private Cache<String, Claims> verifiedTokens;
+
+    /**
+     * Inyección de dependencia: registro de métricas.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Reloj con el que se comprueba el {@code exp} de los tokens, tanto al parsearlos como en la caché.
+     */
+    private final Clock clock;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param meterRegistry registro de métricas (aciertos y fallos de la caché de tokens)
+     */
+    @Autowired
+    public JwtUtil(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor con un reloj propio, para controlar la expiración de los tokens en pruebas.
+     *
+     * @param meterRegistry registro de métricas (aciertos y fallos de la caché de tokens)
+     * @param clock reloj con el que se comprueba la expiración
+     */
+    public JwtUtil(MeterRegistry meterRegistry, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
     /**
      * Inicializa la clave secreta a partir del valor Base64 configurado.
      * Se ejecuta tras la inyección de dependencias.
@@ -35,20 +95,66 @@ public class JwtUtil {
     public void init() {
         byte[] keyBytes = Base64.getDecoder().decode(jwtSecretBase64);
         this.secretKey = new SecretKeySpec(keyBytes, "HmacSHA256");
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+
+        if (tokenCacheMaxSize > 0) {
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(tokenCacheMaxSize)
+                    .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                    .expireAfter(new UntilTokenExpiry(clock))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+        }
+    }
+
+    /**
+     * Verifica un token y devuelve sus claims, parseándolo una sola vez. Si el mismo token ya se verificó
+     * y no ha expirado, se devuelven los claims en caché sin volver a verificar la firma.
+     *
+     * @param token JWT a verificar
+     * @return claims del token, o null si el token es inválido o expiró
+     */
+    public Claims verifyToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        String key = null;
+        if (verifiedTokens != null) {
+            key = digest(token);
+            Claims cached = verifiedTokens.getIfPresent(key);
+            if (cached != null && !isExpired(cached)) {
+                return cached;
+            }
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+
+        // Solo se cachean tokens con expiración: sin exp no hay un límite natural para la entrada
+        if (verifiedTokens != null && claims.getExpiration() != null) {
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
     }
 
     /**
      * Extrae el email (subject) de un token JWT.
      *
      * @param token JWT válido
-     * @return subject (email) contenido en el token
+     * @return subject (email) contenido en el token, o null si el token no es válido
      */
     public String getEmailFromToken(String token) {
-        return Jwts.parser()
-                .setSigningKey(secretKey)
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        Claims claims = verifyToken(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     /**
@@ -58,12 +164,48 @@ public class JwtUtil {
      * @return true si el token es válido, false en caso contrario
      */
     public boolean validateToken(String token) {
+        return verifyToken(token) != null;
+    }
+
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().getTime() <= clock.millis();
+    }
+
+    private static String digest(String token) {
         try {
-            Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 
+    /**
+     * Expira cada entrada en el instante {@code exp} de su token.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        private final Clock clock;
+
+        private UntilTokenExpiry(Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long millis = claims.getExpiration().getTime() - clock.millis();
+            // toNanos satura en Long.MAX_VALUE en lugar de desbordar con un exp muy lejano
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,246 @@
+package com.infragest.infra_devices_service.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.infragest.infra_devices_service.enums.EndpointClassEnum;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.util.MessageException;
+import com.infragest.infra_devices_service.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limita las peticiones de cada cliente y aísla la concurrencia de cada clase de endpoint.
+ *
+ * - Rate limit: un {@link TokenBucket} (sin bloqueos) por subject del JWT que autenticó {@link JwtAuthFilter}.
+ *   Los buckets viven en una caché acotada y expiran tras un tiempo sin uso.
+ * - Bulkheads: un {@link Semaphore} por {@link EndpointClassEnum}; si no hay permisos libres la petición se
+ *   rechaza de inmediato en lugar de esperar, de modo que un cliente que satura las lecturas no consume las
+ *   conexiones que necesitan las reservas.
+ *
+ * Ambos rechazos son {@link DeviceException} de tipo TOO_MANY_REQUESTS (429 con {@code Retry-After}).
+ * Cada decisión se cuenta en {@code devices.rate_limit.requests} por clase y resultado, con contadores creados
+ * al inicio. El cliente solo se etiqueta en {@code devices.rate_limit.rejected}, que se crea con el primer
+ * rechazo por rate limit de ese cliente y se elimina del registro junto con su bucket, de modo que el número de
+ * series queda acotado por el tamaño de la caché.
+ *
+ * En las respuestas asíncronas (SSE, exportación XLSX) el permiso se libera al iniciar el procesamiento asíncrono.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Component
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".permit";
+    private static final String ANONYMOUS = "anonymous";
+    private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private static final String ALLOWED = "allowed";
+    private static final String RATE_LIMITED = "rate_limited";
+    private static final String BULKHEAD_FULL = "bulkhead_full";
+
+    /**
+     * Inyección de dependencia: registro de métricas.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Activa o desactiva la limitación (rate limit y bulkheads).
+     */
+    private final boolean enabled;
+
+    /**
+     * Bucket y contador de rechazos de cada subject.
+     */
+    private final LoadingCache<String, ClientLimit> clients;
+
+    /**
+     * Contadores {@code devices.rate_limit.requests} por clase y resultado.
+     */
+    private final Map<EndpointClassEnum, Map<String, Counter>> requestCounters = new EnumMap<>(EndpointClassEnum.class);
+
+    /**
+     * Bulkhead de cada clase de endpoint.
+     */
+    private final Map<EndpointClassEnum, Semaphore> bulkheads = new EnumMap<>(EndpointClassEnum.class);
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param meterRegistry registro de métricas
+     * @param enabled activa la limitación
+     * @param requestsPerSecond peticiones por segundo sostenidas por cliente
+     * @param burst ráfaga máxima por cliente
+     * @param idleExpiry tiempo sin peticiones tras el que se descarta el bucket de un cliente
+     * @param readLimit peticiones de lectura concurrentes
+     * @param writeLimit peticiones de escritura concurrentes
+     * @param bulkUploadLimit peticiones de carga masiva concurrentes
+     */
+    public RateLimitInterceptor(MeterRegistry meterRegistry,
+                                @Value("${devices.rate-limit.enabled:true}") boolean enabled,
+                                @Value("${devices.rate-limit.requests-per-second:50}") double requestsPerSecond,
+                                @Value("${devices.rate-limit.burst:100}") int burst,
+                                @Value("${devices.rate-limit.idle-expiry:PT10M}") Duration idleExpiry,
+                                @Value("${devices.bulkhead.read:32}") int readLimit,
+                                @Value("${devices.bulkhead.write:16}") int writeLimit,
+                                @Value("${devices.bulkhead.bulk-upload:4}") int bulkUploadLimit) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(idleExpiry)
+                // Síncrono con el desalojo: no puede crearse a la vez otra entrada del mismo subject
+                .evictionListener((String subject, ClientLimit client, RemovalCause cause) -> {
+                    if (client != null) {
+                        client.removeMeter(meterRegistry);
+                    }
+                })
+                .build(subject -> new ClientLimit(new TokenBucket(requestsPerSecond, burst, System.nanoTime())));
+
+        for (EndpointClassEnum endpointClass : EndpointClassEnum.values()) {
+            Map<String, Counter> byOutcome = new HashMap<>();
+            for (String outcome : List.of(ALLOWED, RATE_LIMITED, BULKHEAD_FULL)) {
+                byOutcome.put(outcome, Counter.builder("devices.rate_limit.requests")
+                        .tag("class", endpointClass.getKey())
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+            }
+            requestCounters.put(endpointClass, byOutcome);
+        }
+
+        bulkheads.put(EndpointClassEnum.READ, new Semaphore(readLimit));
+        bulkheads.put(EndpointClassEnum.WRITE, new Semaphore(writeLimit));
+        bulkheads.put(EndpointClassEnum.BULK_UPLOAD, new Semaphore(bulkUploadLimit));
+        Map<EndpointClassEnum, Integer> limits = Map.of(
+                EndpointClassEnum.READ, readLimit,
+                EndpointClassEnum.WRITE, writeLimit,
+                EndpointClassEnum.BULK_UPLOAD, bulkUploadLimit);
+        bulkheads.forEach((endpointClass, semaphore) -> meterRegistry.gauge("devices.bulkhead.in_use",
+                Tags.of("class", endpointClass.getKey()), semaphore,
+                s -> limits.get(endpointClass) - s.availablePermits()));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Solo el despacho original: las redirecciones asíncronas y de error ya se contabilizaron
+        if (!enabled || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        String caller = callerOf(request.getUserPrincipal());
+        EndpointClassEnum endpointClass = classify(request);
+
+        ClientLimit client = clients.get(caller);
+        long waitNanos = client.bucket.tryAcquire(System.nanoTime());
+        if (waitNanos > 0) {
+            count(endpointClass, RATE_LIMITED);
+            client.rejected(meterRegistry, caller).increment();
+            throw new DeviceException(String.format(MessageException.RATE_LIMIT_EXCEEDED, caller),
+                    DeviceException.Type.TOO_MANY_REQUESTS, Duration.ofNanos(waitNanos));
+        }
+
+        Semaphore bulkhead = bulkheads.get(endpointClass);
+        if (!bulkhead.tryAcquire()) {
+            count(endpointClass, BULKHEAD_FULL);
+            throw new DeviceException(String.format(MessageException.BULKHEAD_FULL, endpointClass.getKey()),
+                    DeviceException.Type.TOO_MANY_REQUESTS, BULKHEAD_RETRY_AFTER);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, bulkhead);
+        count(endpointClass, ALLOWED);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    /**
+     * Clasifica una petición: las cargas masivas (salvo sus consultas GET), las lecturas (GET y las consultas
+     * batch por POST) y el resto como escrituras.
+     *
+     * @param request petición HTTP
+     * @return clase del endpoint
+     */
+    static EndpointClassEnum classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        boolean read = HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+
+        if (path.startsWith("/devices/batch/upload")) {
+            return read ? EndpointClassEnum.READ : EndpointClassEnum.BULK_UPLOAD;
+        }
+        if (read || path.equals("/devices/batch") || path.equals("/devices-assignments/devices/active")) {
+            return EndpointClassEnum.READ;
+        }
+        return EndpointClassEnum.WRITE;
+    }
+
+    private void release(HttpServletRequest request) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof Semaphore bulkhead) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            bulkhead.release();
+        }
+    }
+
+    private void count(EndpointClassEnum endpointClass, String outcome) {
+        requestCounters.get(endpointClass).get(outcome).increment();
+    }
+
+    private static String callerOf(Principal principal) {
+        return principal != null ? principal.getName() : ANONYMOUS;
+    }
+
+    /**
+     * Estado de un cliente: su bucket y, desde su primer rechazo, su contador {@code devices.rate_limit.rejected}.
+     */
+    private static final class ClientLimit {
+
+        private final TokenBucket bucket;
+        private volatile Counter rejected;
+
+        private ClientLimit(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+
+        private Counter rejected(MeterRegistry meterRegistry, String caller) {
+            Counter counter = rejected;
+            if (counter == null) {
+                counter = meterRegistry.counter("devices.rate_limit.rejected", "caller", caller);
+                rejected = counter;
+            }
+            return counter;
+        }
+
+        private void removeMeter(MeterRegistry meterRegistry) {
+            Counter counter = rejected;
+            if (counter != null) {
+                meterRegistry.remove(counter);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.infragest.infra_devices_service.service;
+
+import com.infragest.infra_devices_service.model.BulkUploadJobRs;
+import com.infragest.infra_devices_service.util.BulkUploadProgress;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+/**
+ * Registro en memoria del progreso de las cargas masivas en curso y de sus suscriptores SSE.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public interface BulkUploadProgressService {
+
+    /**
+     * Registra el inicio del procesamiento de un trabajo.
+     *
+     * @param jobId identificador del trabajo
+     * @return contadores del trabajo, que actualiza la importación
+     */
+    BulkUploadProgress start(UUID jobId);
+
+    /**
+     * Da por terminado un trabajo: envía su estado final a los suscriptores y los cierra.
+     *
+     * @param jobId identificador del trabajo
+     * @param job estado final del trabajo (puede ser null si no se pudo leer)
+     */
+    void finish(UUID jobId, BulkUploadJobRs job);
+
+    /**
+     * Suscribe un emisor SSE al progreso de un trabajo en curso.
+     *
+     * @param jobId identificador del trabajo
+     * @param emitter emisor SSE
+     * @return {@code false} si el trabajo no está en curso en esta instancia
+     */
+    boolean subscribe(UUID jobId, SseEmitter emitter);
+
+    /**
+     * Envía el progreso actual de cada trabajo en curso a sus suscriptores.
+     */
+    void publishProgress();
+
+    /**
+     * Guarda el progreso actual de cada trabajo en curso en su {@code BulkUploadLog}.
+     */
+    void checkpointProgress();
+}
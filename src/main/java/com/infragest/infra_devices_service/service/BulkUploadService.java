@@ -0,0 +1,109 @@
+package com.infragest.infra_devices_service.service;
+
+import com.infragest.infra_devices_service.enums.BulkUploadFormatEnum;
+import com.infragest.infra_devices_service.enums.BulkUploadModeEnum;
+import com.infragest.infra_devices_service.model.BulkUploadJobRs;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Servicio que gestiona los trabajos de carga masiva de dispositivos.
+ *
+ * La carga se registra en {@code BulkUploadLog} y se procesa en segundo plano.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public interface BulkUploadService {
+
+    /**
+     * Recibe un archivo de carga masiva, lo almacena temporalmente y encola su procesamiento.
+     *
+     * @param file archivo XLSX, CSV o NDJSON con los dispositivos a cargar
+     * @param mode modo de la carga (inserción o upsert)
+     * @param uploadedBy usuario que realiza la carga
+     * @param clientIp dirección IP del cliente
+     * @param userAgent user agent del cliente
+     * @return estado inicial del trabajo (PENDING)
+     * @throws DeviceException si el archivo está vacío, su formato no es soportado o la cola de procesamiento está llena
+     */
+    BulkUploadJobRs submitUpload(MultipartFile file, BulkUploadModeEnum mode, String uploadedBy,
+                                 String clientIp, String userAgent);
+
+    /**
+     * Registra y encola un archivo que ya está completo en el directorio de spool (por ejemplo, el de una
+     * sesión de carga por partes), sin copiarlo de nuevo.
+     *
+     * Si el método termina normalmente, el archivo pasa a ser responsabilidad del trabajo (o se elimina si
+     * está deduplicado); si lanza una excepción, el archivo queda en poder del invocador.
+     *
+     * @param spooled archivo en el spool
+     * @param fileHash hash SHA-256 del contenido
+     * @param originalFilename nombre original del archivo
+     * @param format formato del archivo
+     * @param mode modo de la carga (inserción o upsert)
+     * @param uploadedBy usuario que realiza la carga
+     * @param clientIp dirección IP del cliente
+     * @param userAgent user agent del cliente
+     * @return estado inicial del trabajo, o el trabajo previo si el archivo está deduplicado
+     * @throws DeviceException si la cola de procesamiento está llena
+     */
+    BulkUploadJobRs submitSpooledUpload(Path spooled, String fileHash, String originalFilename,
+                                        BulkUploadFormatEnum format, BulkUploadModeEnum mode, String uploadedBy,
+                                        String clientIp, String userAgent);
+
+    /**
+     * Obtiene el estado de un trabajo de carga masiva.
+     *
+     * @param jobId identificador del trabajo
+     * @param requestedBy usuario que consulta; solo el que subió el archivo puede ver el trabajo
+     * @return estado del trabajo
+     * @throws DeviceException si el trabajo no existe o pertenece a otro usuario
+     */
+    BulkUploadJobRs getUploadJob(UUID jobId, String requestedBy);
+
+    /**
+     * Abre un stream SSE con el progreso de un trabajo de carga masiva.
+     *
+     * Mientras el trabajo está en curso se envían eventos {@code progress}; al terminar se envía un evento
+     * {@code completed} con el estado final y el stream se cierra. Si el trabajo ya terminó (o se procesa
+     * en otra instancia), se envía de inmediato su último estado registrado.
+     *
+     * @param jobId identificador del trabajo
+     * @param requestedBy usuario que consulta; solo el que subió el archivo puede ver el trabajo
+     * @return emisor SSE
+     * @throws DeviceException si el trabajo no existe o pertenece a otro usuario
+     */
+    SseEmitter streamProgress(UUID jobId, String requestedBy);
+
+    /**
+     * Obtiene el reporte CSV con las filas rechazadas de un trabajo de carga masiva.
+     *
+     * @param jobId identificador del trabajo
+     * @param requestedBy usuario que consulta; solo el que subió el archivo puede ver el trabajo
+     * @return ruta del reporte en disco
+     * @throws DeviceException si el trabajo no existe, pertenece a otro usuario o no tiene filas rechazadas
+     */
+    Path getErrorReport(UUID jobId, String requestedBy);
+
+    /**
+     * Da por fallidos los trabajos PENDING o PROCESSING subidos hace más de {@code devices.bulk-upload.stale-after}
+     * que no están en curso en esta instancia (por ejemplo, los que se procesaban cuando el servicio se
+     * reinició), y elimina del spool los archivos de carga de esa antigüedad que ningún trabajo está usando.
+     *
+     * @return número de trabajos marcados como fallidos
+     */
+    int recoverStaleJobs();
+
+    /**
+     * Elimina los reportes de filas rechazadas de los trabajos terminados hace más de
+     * {@code devices.bulk-upload.report-retention}, y los archivos del directorio de reportes de esa antigüedad
+     * que no pertenecen a ningún trabajo. Tras la eliminación, el reporte del trabajo deja de estar disponible.
+     *
+     * @return número de reportes de trabajos eliminados
+     */
+    int purgeExpiredReports();
+}
@@ -0,0 +1,23 @@
+package com.infragest.infra_devices_service.service;
+
+import com.infragest.infra_devices_service.entity.DeviceAssignmentArchive;
+
+/**
+ * Servicio para archivar asignaciones de dispositivos liberadas.
+ *
+ * Mueve las asignaciones liberadas con antigüedad superior a la configurada desde
+ * {@code device_assignments} hacia {@link DeviceAssignmentArchive}, en lotes acotados.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public interface DeviceAssignmentArchiveService {
+
+    /**
+     * Archiva las asignaciones liberadas antes del umbral configurado.
+     * Cada lote se procesa en su propia transacción y entre lotes se aplica una pausa.
+     *
+     * @return número total de asignaciones movidas al archivo
+     */
+    int archiveReleasedAssignments();
+}
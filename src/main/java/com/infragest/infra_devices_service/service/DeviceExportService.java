@@ -0,0 +1,36 @@
+package com.infragest.infra_devices_service.service;
+
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import com.infragest.infra_devices_service.exception.DeviceException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Servicio de exportación del inventario de dispositivos.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public interface DeviceExportService {
+
+    /**
+     * Comprueba que el inventario a exportar cabe en una hoja XLSX, para rechazar la exportación antes de
+     * empezar a escribir la respuesta.
+     *
+     * @param status estado por el que filtrar, o null para todos los dispositivos
+     * @throws DeviceException BAD_REQUEST si hay más dispositivos que filas de datos en una hoja
+     */
+    void checkExportSize(DeviceStatusEnum status);
+
+    /**
+     * Escribe el inventario en formato XLSX, con las mismas columnas que lee la carga masiva
+     * (nombre, marca, barcode, estado), en una sola hoja.
+     *
+     * @param status estado por el que filtrar, o null para exportar todos los dispositivos
+     * @param out destino del libro; no se cierra
+     * @return número de dispositivos exportados
+     * @throws IOException si no se puede escribir en el destino
+     */
+    long exportToXlsx(DeviceStatusEnum status, OutputStream out) throws IOException;
+}
@@ -0,0 +1,38 @@
+package com.infragest.infra_devices_service.service;
+
+import com.infragest.infra_devices_service.enums.BulkUploadFormatEnum;
+import com.infragest.infra_devices_service.enums.BulkUploadModeEnum;
+import com.infragest.infra_devices_service.model.BulkImportResult;
+import com.infragest.infra_devices_service.model.RejectedRow;
+import com.infragest.infra_devices_service.util.BulkUploadProgress;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Servicio que importa dispositivos desde un archivo de carga masiva.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public interface DeviceImportService {
+
+    /**
+     * Importa los dispositivos de un archivo XLSX, CSV o NDJSON.
+     *
+     * Las filas inválidas no abortan la importación: se entregan a {@code rejectedRows} y el resto
+     * de filas se persiste. En modo INSERT los barcodes existentes se rechazan; en modo UPSERT se
+     * actualizan su nombre, marca y estado.
+     *
+     * @param file ruta del archivo a importar
+     * @param format formato del archivo
+     * @param mode modo de la carga (inserción o upsert)
+     * @param progress contadores de progreso del trabajo, actualizados una vez por bloque
+     * @param rejectedRows receptor de las filas rechazadas, invocado en orden de fila (con la carga nativa,
+     *                     los barcodes ya existentes se entregan al final)
+     * @return conteos de filas leídas, insertadas, actualizadas, sin cambios y rechazadas
+     * @throws DeviceException si el archivo no se puede leer o no contiene filas de datos
+     */
+    BulkImportResult importDevices(Path file, BulkUploadFormatEnum format, BulkUploadModeEnum mode,
+                                   BulkUploadProgress progress, Consumer<RejectedRow> rejectedRows);
+}
@@ -5,7 +5,6 @@ import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
 import com.infragest.infra_devices_service.model.CreateDeviceRq;
 import com.infragest.infra_devices_service.model.DeviceRs;
 import com.infragest.infra_devices_service.model.RestoreDevicesRq;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Map;
@@ -122,12 +121,4 @@ public interface DeviceService {
      */
     void updateDevicesBatch(List<UUID> deviceIds, DeviceStatusEnum state);
 
-    /**
-     * Procesa un archivo de cargue y crea los dispositivos de forma masiva.
-     *
-     * @param file archivo Excel(.xls o xlsx) que contiene los datos para la carga masiva
-     * @return <void>
-     */
-    void uploadDevicesArchive(MultipartFile file);
-
-}
\ No newline at end of file
+}
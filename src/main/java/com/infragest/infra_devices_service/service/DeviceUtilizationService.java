@@ -0,0 +1,53 @@
+package com.infragest.infra_devices_service.service;
+
+import com.infragest.infra_devices_service.entity.DeviceUsageDaily;
+import com.infragest.infra_devices_service.enums.UtilizationGroupByEnum;
+import com.infragest.infra_devices_service.model.DeviceUtilizationRs;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Servicio de analítica de utilización de dispositivos.
+ *
+ * Mantiene los acumulados diarios {@link DeviceUsageDaily} a partir de los intervalos de
+ * asignación (assignedAt/releasedAt) y responde consultas de tiempo ocupado, asignaciones
+ * y tiempo ocioso por dispositivo o por marca.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public interface DeviceUtilizationService {
+
+    /**
+     * Suma un intervalo de asignación finalizado a los acumulados diarios del dispositivo.
+     *
+     * @param deviceId   identificador del dispositivo
+     * @param brand      marca del dispositivo
+     * @param assignedAt inicio del intervalo
+     * @param releasedAt fin del intervalo
+     */
+    void recordInterval(UUID deviceId, String brand, LocalDateTime assignedAt, LocalDateTime releasedAt);
+
+    /**
+     * Calcula la utilización en la ventana de días indicada.
+     *
+     * @param from    primer día (inclusive)
+     * @param to      último día (inclusive)
+     * @param groupBy criterio de agregación
+     * @return lista de resultados ordenada por tiempo ocupado descendente
+     */
+    List<DeviceUtilizationRs> getUtilization(LocalDate from, LocalDate to, UtilizationGroupByEnum groupBy);
+
+    /**
+     * Reconstruye los acumulados diarios del rango recorriendo en streaming las asignaciones
+     * liberadas (recientes y archivadas). Útil para la carga inicial o tras una corrección de datos.
+     *
+     * @param from primer día (inclusive)
+     * @param to   último día (inclusive)
+     * @return número de intervalos procesados
+     */
+    long rebuildRollups(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,84 @@
+package com.infragest.infra_devices_service.service;
+
+import com.infragest.infra_devices_service.enums.BulkUploadModeEnum;
+import com.infragest.infra_devices_service.model.BulkUploadJobRs;
+import com.infragest.infra_devices_service.model.UploadSessionRq;
+import com.infragest.infra_devices_service.model.UploadSessionRs;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Servicio de sesiones de carga masiva por partes (reanudables).
+ *
+ * El cliente abre una sesión, envía rangos de bytes consecutivos y la confirma; el archivo armado en el
+ * spool se entrega al procesamiento de cargas masivas sin copiarlo.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public interface UploadSessionService {
+
+    /**
+     * Abre una sesión de carga.
+     *
+     * @param request nombre, content-type y tamaño del archivo
+     * @param owner usuario dueño de la sesión
+     * @return estado inicial de la sesión
+     * @throws DeviceException si el formato no es soportado o el tamaño excede el máximo
+     */
+    UploadSessionRs openSession(UploadSessionRq request, String owner);
+
+    /**
+     * Agrega un rango de bytes a la sesión.
+     *
+     * @param sessionId identificador de la sesión
+     * @param owner usuario dueño de la sesión
+     * @param contentRange cabecera {@code Content-Range} ({@code bytes inicio-fin/total})
+     * @param body contenido del rango
+     * @return estado de la sesión tras agregar el rango
+     * @throws DeviceException si la sesión no existe, el rango es inválido o no continúa el offset actual
+     */
+    UploadSessionRs appendChunk(UUID sessionId, String owner, String contentRange, InputStream body);
+
+    /**
+     * Obtiene el estado de una sesión, para reanudar la carga.
+     *
+     * @param sessionId identificador de la sesión
+     * @param owner usuario dueño de la sesión
+     * @return estado de la sesión
+     * @throws DeviceException si la sesión no existe
+     */
+    UploadSessionRs getSession(UUID sessionId, String owner);
+
+    /**
+     * Confirma una sesión completa y encola el archivo para su procesamiento.
+     *
+     * @param sessionId identificador de la sesión
+     * @param owner usuario dueño de la sesión
+     * @param mode modo de la carga (inserción o upsert)
+     * @param clientIp dirección IP del cliente
+     * @param userAgent user agent del cliente
+     * @return estado del trabajo de carga masiva
+     * @throws DeviceException si la sesión no existe o no está completa
+     */
+    BulkUploadJobRs commitSession(UUID sessionId, String owner, BulkUploadModeEnum mode, String clientIp,
+                                  String userAgent);
+
+    /**
+     * Cancela una sesión y elimina los datos recibidos.
+     *
+     * @param sessionId identificador de la sesión
+     * @param owner usuario dueño de la sesión
+     * @throws DeviceException si la sesión no existe
+     */
+    void abortSession(UUID sessionId, String owner);
+
+    /**
+     * Elimina las sesiones que no han recibido datos dentro del tiempo de vida configurado, y los archivos de
+     * sesión del spool que ya no tienen sesión.
+     *
+     * @return número de sesiones eliminadas
+     */
+    int purgeExpiredSessions();
+}
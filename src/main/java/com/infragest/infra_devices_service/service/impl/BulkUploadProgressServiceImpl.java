@@ -0,0 +1,183 @@
+package com.infragest.infra_devices_service.service.impl;
+
+import com.infragest.infra_devices_service.enums.BulkUploadStatusEnum;
+import com.infragest.infra_devices_service.model.BulkUploadJobRs;
+import com.infragest.infra_devices_service.model.BulkUploadProgressRs;
+import com.infragest.infra_devices_service.repository.BulkUploadLogRepository;
+import com.infragest.infra_devices_service.service.BulkUploadProgressService;
+import com.infragest.infra_devices_service.util.BulkUploadProgress;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Implementación de {@link BulkUploadProgressService}.
+ *
+ * La importación solo actualiza los contadores de {@link BulkUploadProgress}; el envío a los suscriptores
+ * y el checkpoint en base de datos los hacen tareas programadas a intervalo fijo, fuera del bucle de
+ * ingesta.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class BulkUploadProgressServiceImpl implements BulkUploadProgressService {
+
+    /**
+     * Evento SSE con el progreso de un trabajo en curso.
+     */
+    private static final String PROGRESS_EVENT = "progress";
+
+    /**
+     * Evento SSE con el estado final de un trabajo; tras él se cierra el stream.
+     */
+    private static final String COMPLETED_EVENT = "completed";
+
+    /**
+     * Trabajos en curso en esta instancia.
+     */
+    private final Map<UUID, LiveJob> liveJobs = new ConcurrentHashMap<>();
+
+    /**
+     * Inyección de dependencia: Repositorio de registros de carga masiva.
+     */
+    private final BulkUploadLogRepository bulkUploadLogRepository;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param bulkUploadLogRepository repositorio de registros de carga masiva
+     */
+    public BulkUploadProgressServiceImpl(BulkUploadLogRepository bulkUploadLogRepository) {
+        this.bulkUploadLogRepository = bulkUploadLogRepository;
+    }
+
+    @Override
+    public BulkUploadProgress start(UUID jobId) {
+        LiveJob live = new LiveJob(new BulkUploadProgress(jobId));
+        liveJobs.put(jobId, live);
+        return live.progress;
+    }
+
+    @Override
+    public void finish(UUID jobId, BulkUploadJobRs job) {
+        LiveJob live = liveJobs.remove(jobId);
+        if (live == null) {
+            return;
+        }
+
+        List<SseEmitter> emitters;
+        synchronized (live) {
+            live.finished = true;
+            emitters = List.copyOf(live.emitters);
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                if (job != null) {
+                    emitter.send(SseEmitter.event().name(COMPLETED_EVENT).data(job));
+                }
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    @Override
+    public boolean subscribe(UUID jobId, SseEmitter emitter) {
+        LiveJob live = liveJobs.get(jobId);
+        if (live == null) {
+            return false;
+        }
+        synchronized (live) {
+            if (live.finished) {
+                return false;
+            }
+            live.emitters.add(emitter);
+        }
+        emitter.onCompletion(() -> live.emitters.remove(emitter));
+        emitter.onTimeout(() -> live.emitters.remove(emitter));
+        emitter.onError(e -> live.emitters.remove(emitter));
+
+        // Primer evento inmediato, sin esperar al siguiente ciclo de publicación
+        send(live, emitter, toProgressRs(live.progress));
+        return true;
+    }
+
+    @Override
+    public void publishProgress() {
+        for (LiveJob live : liveJobs.values()) {
+            if (live.emitters.isEmpty()) {
+                continue;
+            }
+            BulkUploadProgressRs progress = toProgressRs(live.progress);
+            for (SseEmitter emitter : live.emitters) {
+                send(live, emitter, progress);
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public void checkpointProgress() {
+        for (LiveJob live : liveJobs.values()) {
+            BulkUploadProgress progress = live.progress;
+            bulkUploadLogRepository.updateProgress(progress.getJobId(), BulkUploadStatusEnum.PROCESSING,
+                    progress.getRowsRead(), progress.getRowsValidated(), progress.getRowsPersisted(),
+                    progress.getRowsRejected(), progress.getCurrentChunk());
+        }
+    }
+
+    /**
+     * Envía un evento de progreso; si el cliente se desconectó, descarta el emisor.
+     */
+    private static void send(LiveJob live, SseEmitter emitter, BulkUploadProgressRs progress) {
+        try {
+            emitter.send(SseEmitter.event().name(PROGRESS_EVENT).data(progress));
+        } catch (IOException | IllegalStateException e) {
+            live.emitters.remove(emitter);
+            log.debug("Suscriptor de progreso desconectado del trabajo {}", progress.getId());
+        }
+    }
+
+    /**
+     * Convierte los contadores de un trabajo al DTO de progreso.
+     *
+     * @param progress contadores del trabajo
+     * @return DTO de progreso
+     */
+    static BulkUploadProgressRs toProgressRs(BulkUploadProgress progress) {
+        long rowsRead = progress.getRowsRead();
+        return BulkUploadProgressRs.builder()
+                .id(progress.getJobId())
+                .rowsRead(rowsRead)
+                .rowsValidated(progress.getRowsValidated())
+                .rowsPersisted(progress.getRowsPersisted())
+                .rowsRejected(progress.getRowsRejected())
+                .currentChunk(progress.getCurrentChunk())
+                .rowsPerSecond(rowsRead * 1000.0 / Math.max(progress.getElapsedMs(), 1))
+                .build();
+    }
+
+    /**
+     * Trabajo en curso: contadores y suscriptores SSE.
+     */
+    private static final class LiveJob {
+        private final BulkUploadProgress progress;
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private boolean finished;
+
+        private LiveJob(BulkUploadProgress progress) {
+            this.progress = progress;
+        }
+    }
+}
@@ -0,0 +1,678 @@
+package com.infragest.infra_devices_service.service.impl;
+
+import com.infragest.infra_devices_service.entity.BulkUploadLog;
+import com.infragest.infra_devices_service.enums.BulkUploadFormatEnum;
+import com.infragest.infra_devices_service.enums.BulkUploadModeEnum;
+import com.infragest.infra_devices_service.enums.BulkUploadStatusEnum;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.model.BulkImportResult;
+import com.infragest.infra_devices_service.model.BulkUploadJobRs;
+import com.infragest.infra_devices_service.model.RejectedRow;
+import com.infragest.infra_devices_service.repository.BulkUploadLogRepository;
+import com.infragest.infra_devices_service.service.BulkUploadProgressService;
+import com.infragest.infra_devices_service.service.BulkUploadService;
+import com.infragest.infra_devices_service.service.DeviceImportService;
+import com.infragest.infra_devices_service.util.BulkUploadProgress;
+import com.infragest.infra_devices_service.util.MessageException;
+import com.infragest.infra_devices_service.util.FileHashes;
+import com.infragest.infra_devices_service.util.OperationMetrics;
+import com.infragest.infra_devices_service.util.RejectedRowsCsvWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de {@link BulkUploadService}.
+ *
+ * El archivo recibido se vuelca al directorio de spool, se registra un {@link BulkUploadLog} en estado
+ * PENDING y el procesamiento se delega al pool acotado {@code bulkUploadExecutor}. El hilo HTTP queda
+ * libre en cuanto el archivo está en disco.
+ *
+ * Los trabajos solo son visibles para el usuario que subió el archivo. Los que quedan sin terminar tras un
+ * reinicio se dan por fallidos con {@link #recoverStaleJobs()}, que también limpia los archivos huérfanos del spool,
+ * y los reportes de filas rechazadas se eliminan al superar su retención con {@link #purgeExpiredReports()}.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class BulkUploadServiceImpl implements BulkUploadService {
+
+    /**
+     * Longitud máxima de las columnas de texto libre de {@link BulkUploadLog}.
+     */
+    private static final int USER_AGENT_MAX_LENGTH = 255;
+    private static final int ERROR_MESSAGE_MAX_LENGTH = 1000;
+
+    /**
+     * Estados de un trabajo que todavía no ha terminado.
+     */
+    private static final Set<BulkUploadStatusEnum> UNFINISHED_STATUSES =
+            EnumSet.of(BulkUploadStatusEnum.PENDING, BulkUploadStatusEnum.PROCESSING);
+
+    /**
+     * Prefijo de los archivos de las sesiones de carga por partes, que comparten el spool y limpia su propio servicio.
+     */
+    private static final String SESSION_FILE_PREFIX = "session-";
+
+    /**
+     * Inyección de dependencia: Repositorio de registros de carga masiva.
+     */
+    private final BulkUploadLogRepository bulkUploadLogRepository;
+
+    /**
+     * Inyección de dependencia: Servicio que realiza la importación de dispositivos.
+     */
+    private final DeviceImportService deviceImportService;
+
+    /**
+     * Inyección de dependencia: Servicio de progreso de cargas masivas.
+     */
+    private final BulkUploadProgressService bulkUploadProgressService;
+
+    /**
+     * Inyección de dependencia: Pool de procesamiento de cargas masivas.
+     */
+    private final TaskExecutor bulkUploadExecutor;
+
+    /**
+     * Métricas de la recepción de archivos (fase {@code submit}).
+     */
+    private final OperationMetrics uploadMetrics;
+
+    /**
+     * Métricas de la importación en segundo plano (fase {@code process}): duración, resultado y filas leídas y
+     * modificadas.
+     */
+    private final OperationMetrics processMetrics;
+
+    /**
+     * Archivo del spool de cada trabajo encolado o en curso en esta instancia.
+     */
+    private final Map<UUID, Path> activeJobs = new ConcurrentHashMap<>();
+
+    /**
+     * Directorio donde se almacenan los archivos pendientes de procesar.
+     */
+    @Value("${devices.bulk-upload.spool-dir:${java.io.tmpdir}/infra-devices-uploads}")
+    private Path spoolDir;
+
+    /**
+     * Directorio donde se escriben los reportes de filas rechazadas.
+     */
+    @Value("${devices.bulk-upload.report-dir:${java.io.tmpdir}/infra-devices-reports}")
+    private Path reportDir;
+
+    /**
+     * Ventana durante la cual un archivo idéntico (mismo SHA-256) reutiliza el trabajo previo.
+     * Una duración cero desactiva la deduplicación.
+     */
+    @Value("${devices.bulk-upload.dedup-window:PT1H}")
+    private Duration dedupWindow;
+
+    /**
+     * Duración máxima de un stream SSE de progreso.
+     */
+    @Value("${devices.bulk-upload.progress.stream-timeout:PT30M}")
+    private Duration progressStreamTimeout;
+
+    /**
+     * Antigüedad a partir de la cual un trabajo sin terminar que no está en curso en esta instancia, o un archivo
+     * del spool que ningún trabajo usa, se considera abandonado.
+     */
+    @Value("${devices.bulk-upload.stale-after:PT6H}")
+    private Duration staleAfter;
+
+    /**
+     * Tiempo durante el cual se conserva el reporte de filas rechazadas de un trabajo terminado.
+     */
+    @Value("${devices.bulk-upload.report-retention:P7D}")
+    private Duration reportRetention;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param bulkUploadLogRepository repositorio de registros de carga masiva
+     * @param deviceImportService servicio de importación de dispositivos
+     * @param bulkUploadProgressService servicio de progreso de cargas masivas
+     * @param bulkUploadExecutor pool de procesamiento de cargas masivas
+     * @param meterRegistry registro de métricas
+     */
+    public BulkUploadServiceImpl(
+            BulkUploadLogRepository bulkUploadLogRepository,
+            DeviceImportService deviceImportService,
+            BulkUploadProgressService bulkUploadProgressService,
+            @Qualifier("bulkUploadExecutor") TaskExecutor bulkUploadExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.bulkUploadLogRepository = bulkUploadLogRepository;
+        this.deviceImportService = deviceImportService;
+        this.bulkUploadProgressService = bulkUploadProgressService;
+        this.bulkUploadExecutor = bulkUploadExecutor;
+        this.uploadMetrics = new OperationMetrics(meterRegistry, "upload-devices-archive", "submit",
+                Duration.ofSeconds(30));
+        this.processMetrics = new OperationMetrics(meterRegistry, "upload-devices-archive", "process",
+                Duration.ofHours(1));
+    }
+
+    /**
+     * Recibe un archivo de carga masiva, lo almacena temporalmente y encola su procesamiento.
+     *
+     * @param file archivo XLSX, CSV o NDJSON con los dispositivos a cargar
+     * @param mode modo de la carga (inserción o upsert)
+     * @param uploadedBy usuario que realiza la carga
+     * @param clientIp dirección IP del cliente
+     * @param userAgent user agent del cliente
+     * @return estado inicial del trabajo (PENDING)
+     */
+    @Override
+    public BulkUploadJobRs submitUpload(MultipartFile file, BulkUploadModeEnum mode, String uploadedBy,
+                                        String clientIp, String userAgent) {
+        return uploadMetrics.record(() -> submit(file, mode, uploadedBy, clientIp, userAgent));
+    }
+
+    private BulkUploadJobRs submit(MultipartFile file, BulkUploadModeEnum mode, String uploadedBy,
+                                   String clientIp, String userAgent) {
+
+        // Validar que el archivo no esté vacío
+        if (file == null || file.isEmpty()) {
+            throw new DeviceException("El archivo está vacío. Carga un archivo válido.", DeviceException.Type.BAD_REQUEST);
+        }
+
+        BulkUploadFormatEnum format = BulkUploadFormatEnum.detect(file.getContentType(), file.getOriginalFilename())
+                .orElseThrow(() -> new DeviceException(MessageException.BULK_UPLOAD_UNSUPPORTED_FORMAT,
+                        DeviceException.Type.BAD_REQUEST));
+
+        Path spooled = spoolDir.resolve(UUID.randomUUID() + format.getExtension());
+        String fileHash = spool(file, spooled);
+
+        try {
+            return submitSpooledUpload(spooled, fileHash,
+                    file.getOriginalFilename() != null ? file.getOriginalFilename() : spooled.getFileName().toString(),
+                    format, mode, uploadedBy, clientIp, userAgent);
+        } catch (RuntimeException e) {
+            deleteQuietly(spooled);
+            throw e;
+        }
+    }
+
+    /**
+     * Registra y encola un archivo que ya está completo en el directorio de spool.
+     *
+     * @param spooled archivo en el spool
+     * @param fileHash hash SHA-256 del contenido
+     * @param originalFilename nombre original del archivo
+     * @param format formato del archivo
+     * @param mode modo de la carga (inserción o upsert)
+     * @param uploadedBy usuario que realiza la carga
+     * @param clientIp dirección IP del cliente
+     * @param userAgent user agent del cliente
+     * @return estado inicial del trabajo, o el trabajo previo si el archivo está deduplicado
+     */
+    @Override
+    public BulkUploadJobRs submitSpooledUpload(Path spooled, String fileHash, String originalFilename,
+                                               BulkUploadFormatEnum format, BulkUploadModeEnum mode, String uploadedBy,
+                                               String clientIp, String userAgent) {
+
+        // Un archivo idéntico subido dentro de la ventana devuelve el trabajo previo sin reprocesarlo
+        Optional<BulkUploadLog> previous = findRecentUpload(fileHash, mode, uploadedBy);
+        if (previous.isPresent()) {
+            deleteQuietly(spooled);
+            log.info("Archivo idéntico al del trabajo {}, se omite el reprocesamiento", previous.get().getId());
+            BulkUploadJobRs job = toJobRs(previous.get());
+            job.setDeduplicated(true);
+            return job;
+        }
+
+        BulkUploadLog uploadLog = bulkUploadLogRepository.save(BulkUploadLog.builder()
+                .originalFilename(originalFilename)
+                .fileHash(fileHash)
+                .operationType(mode.getOperationType())
+                .status(BulkUploadStatusEnum.PENDING)
+                .uploadedBy(uploadedBy)
+                .uploadedAt(LocalDateTime.now())
+                .serviceVersion(getClass().getPackage().getImplementationVersion())
+                .clientIp(clientIp)
+                .userAgent(truncate(userAgent, USER_AGENT_MAX_LENGTH))
+                .build());
+
+        UUID jobId = uploadLog.getId();
+        activeJobs.put(jobId, spooled);
+        try {
+            bulkUploadExecutor.execute(() -> processUpload(jobId, spooled, format, mode));
+        } catch (TaskRejectedException e) {
+            activeJobs.remove(jobId);
+            log.warn("Cola de cargas masivas llena, se rechaza el trabajo {}", jobId);
+            uploadLog.setStatus(BulkUploadStatusEnum.FAILED);
+            uploadLog.setErrorMessage(MessageException.BULK_UPLOAD_QUEUE_FULL);
+            uploadLog.setCompletedAt(LocalDateTime.now());
+            bulkUploadLogRepository.save(uploadLog);
+            throw new DeviceException(MessageException.BULK_UPLOAD_QUEUE_FULL, DeviceException.Type.SERVICE_UNAVAILABLE);
+        }
+
+        return toJobRs(uploadLog);
+    }
+
+    /**
+     * Obtiene el estado de un trabajo de carga masiva.
+     *
+     * @param jobId identificador del trabajo
+     * @param requestedBy usuario que consulta
+     * @return estado del trabajo
+     */
+    @Override
+    public BulkUploadJobRs getUploadJob(UUID jobId, String requestedBy) {
+        return toJobRs(findOwnedJob(jobId, requestedBy));
+    }
+
+    /**
+     * Abre un stream SSE con el progreso de un trabajo de carga masiva.
+     *
+     * @param jobId identificador del trabajo
+     * @param requestedBy usuario que consulta
+     * @return emisor SSE
+     */
+    @Override
+    public SseEmitter streamProgress(UUID jobId, String requestedBy) {
+        findOwnedJob(jobId, requestedBy);
+
+        SseEmitter emitter = new SseEmitter(progressStreamTimeout.toMillis());
+        if (bulkUploadProgressService.subscribe(jobId, emitter)) {
+            return emitter;
+        }
+
+        // No está en curso aquí (terminó o se procesa en otra instancia): se envía el último estado registrado
+        BulkUploadJobRs job = getUploadJob(jobId, requestedBy);
+        try {
+            emitter.send(SseEmitter.event().name(isFinished(job.getStatus()) ? "completed" : "status").data(job));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Obtiene el reporte de filas rechazadas de un trabajo de carga masiva.
+     *
+     * @param jobId identificador del trabajo
+     * @param requestedBy usuario que consulta
+     * @return ruta del reporte CSV
+     */
+    @Override
+    public Path getErrorReport(UUID jobId, String requestedBy) {
+        BulkUploadLog uploadLog = findOwnedJob(jobId, requestedBy);
+
+        if (uploadLog.getErrorLogPath() == null || !Files.isReadable(Path.of(uploadLog.getErrorLogPath()))) {
+            throw new DeviceException(
+                    String.format(MessageException.BULK_UPLOAD_REPORT_NOT_FOUND, jobId),
+                    DeviceException.Type.NOT_FOUND
+            );
+        }
+        return Path.of(uploadLog.getErrorLogPath());
+    }
+
+    /**
+     * Da por fallidos los trabajos sin terminar abandonados y elimina los archivos huérfanos del spool.
+     *
+     * @return número de trabajos marcados como fallidos
+     */
+    @Override
+    public int recoverStaleJobs() {
+        LocalDateTime limit = LocalDateTime.now().minus(staleAfter);
+        int failed = 0;
+        for (BulkUploadLog uploadLog : bulkUploadLogRepository.findByStatusInAndUploadedAtBefore(UNFINISHED_STATUSES, limit)) {
+            if (activeJobs.containsKey(uploadLog.getId())) {
+                continue;
+            }
+            uploadLog.setStatus(BulkUploadStatusEnum.FAILED);
+            uploadLog.setErrorMessage(MessageException.BULK_UPLOAD_INTERRUPTED);
+            uploadLog.setCompletedAt(LocalDateTime.now());
+            try {
+                bulkUploadLogRepository.save(uploadLog);
+                failed++;
+                log.warn("Carga masiva {} sin terminar desde {}, se marca como fallida", uploadLog.getId(),
+                        uploadLog.getUploadedAt());
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // Otra instancia lo actualizó mientras tanto: no está abandonado
+                log.debug("Carga masiva {} modificada durante la recuperación, se omite", uploadLog.getId());
+            }
+        }
+        deleteOrphanSpools();
+        return failed;
+    }
+
+    /**
+     * Elimina los reportes de filas rechazadas que superan su retención.
+     *
+     * @return número de reportes de trabajos eliminados
+     */
+    @Override
+    public int purgeExpiredReports() {
+        int purged = 0;
+        for (BulkUploadLog uploadLog : bulkUploadLogRepository.findByErrorLogPathIsNotNullAndCompletedAtBefore(
+                LocalDateTime.now().minus(reportRetention))) {
+            deleteQuietly(Path.of(uploadLog.getErrorLogPath()));
+            uploadLog.setErrorLogPath(null);
+            try {
+                bulkUploadLogRepository.save(uploadLog);
+                purged++;
+            } catch (ObjectOptimisticLockingFailureException e) {
+                log.debug("Carga masiva {} modificada durante la limpieza de reportes, se omite", uploadLog.getId());
+            }
+        }
+
+        // Reportes sin trabajo que los referencie (por ejemplo, de un trabajo interrumpido)
+        deleteFilesOlderThan(reportDir, reportRetention, file -> true);
+        if (purged > 0) {
+            log.info("Reportes de filas rechazadas eliminados: {}", purged);
+        }
+        return purged;
+    }
+
+    /**
+     * Procesa un trabajo encolado: importa el archivo y registra tiempos y estado final.
+     *
+     * @param jobId identificador del trabajo
+     * @param spooled archivo almacenado en el spool
+     * @param format formato del archivo
+     * @param mode modo de la carga
+     */
+    private void processUpload(UUID jobId, Path spooled, BulkUploadFormatEnum format, BulkUploadModeEnum mode) {
+        BulkUploadJobRs finalState = null;
+        try {
+            BulkUploadLog uploadLog = bulkUploadLogRepository.findById(jobId).orElse(null);
+            if (uploadLog == null) {
+                log.warn("Trabajo de carga masiva {} no encontrado, se descarta", jobId);
+                return;
+            }
+
+            uploadLog.setStatus(BulkUploadStatusEnum.PROCESSING);
+            uploadLog.setStartedAt(LocalDateTime.now());
+            uploadLog = bulkUploadLogRepository.save(uploadLog);
+
+            BulkUploadProgress progress = bulkUploadProgressService.start(jobId);
+            long start = System.nanoTime();
+            RejectedRowsCsvWriter report = new RejectedRowsCsvWriter(reportDir.resolve(jobId + "-errors.csv"));
+            try (report) {
+                BulkImportResult result = processMetrics.recordChecked(
+                        () -> deviceImportService.importDevices(spooled, format, mode, progress, report));
+
+                uploadLog.setTotalRows(result.getTotalRows());
+                uploadLog.setInsertedRows(result.getInsertedRows());
+                if (mode == BulkUploadModeEnum.UPSERT) {
+                    uploadLog.setUpdatedRows(result.getUpdatedRows());
+                    uploadLog.setUnchangedRows(result.getUnchangedRows());
+                }
+                uploadLog.setRejectedRows(result.getRejectedRows());
+                uploadLog.setStatus(resolveStatus(result));
+                processMetrics.recordBatchSize(result.getTotalRows());
+                processMetrics.recordRowsAffected(result.getInsertedRows() + result.getUpdatedRows());
+                if (result.getFirstRejected() != null) {
+                    uploadLog.setErrorMessage(truncate(summarize(result), ERROR_MESSAGE_MAX_LENGTH));
+                }
+                log.info("Carga masiva {} ({}) terminada en {}: {} filas, {} insertadas, {} actualizadas, {} sin cambios, "
+                                + "{} rechazadas", jobId, mode, uploadLog.getStatus(), result.getTotalRows(),
+                        result.getInsertedRows(), result.getUpdatedRows(), result.getUnchangedRows(),
+                        result.getRejectedRows());
+            } catch (DeviceException e) {
+                uploadLog.setStatus(BulkUploadStatusEnum.FAILED);
+                uploadLog.setErrorMessage(truncate(e.getMessage(), ERROR_MESSAGE_MAX_LENGTH));
+                log.warn("Carga masiva {} rechazada: {}", jobId, e.getMessage());
+            } catch (IOException | RuntimeException e) {
+                uploadLog.setStatus(BulkUploadStatusEnum.FAILED);
+                uploadLog.setErrorMessage(MessageException.BULK_UPLOAD_PROCESSING_ERROR);
+                log.error("Error procesando la carga masiva {}", jobId, e);
+            }
+
+            if (report.hasRows()) {
+                uploadLog.setErrorLogPath(report.getPath().toString());
+            }
+
+            uploadLog.setValidatedRows(progress.getRowsValidated());
+            uploadLog.setPersistedRows(progress.getRowsPersisted());
+            uploadLog.setCurrentChunk(progress.getCurrentChunk());
+            uploadLog.setCompletedAt(LocalDateTime.now());
+            uploadLog.setProcessingTimeMs((System.nanoTime() - start) / 1_000_000);
+            finalState = toJobRs(bulkUploadLogRepository.save(uploadLog));
+        } finally {
+            bulkUploadProgressService.finish(jobId, finalState);
+            deleteQuietly(spooled);
+            activeJobs.remove(jobId);
+        }
+    }
+
+    /**
+     * Elimina los archivos de carga del spool más antiguos que {@code staleAfter} que no pertenecen a ningún
+     * trabajo de esta instancia. Los de las sesiones de carga por partes se dejan a su propio servicio.
+     */
+    private void deleteOrphanSpools() {
+        Set<Path> inUse = Set.copyOf(activeJobs.values());
+        deleteFilesOlderThan(spoolDir, staleAfter,
+                file -> !file.getFileName().toString().startsWith(SESSION_FILE_PREFIX) && !inUse.contains(file));
+    }
+
+    /**
+     * Elimina los archivos de un directorio modificados hace más de {@code age} que cumplen {@code candidate}.
+     *
+     * @param dir directorio (puede no existir)
+     * @param age antigüedad mínima
+     * @param candidate filtro de los archivos que se pueden eliminar
+     */
+    private void deleteFilesOlderThan(Path dir, Duration age, Predicate<Path> candidate) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        long limit = System.currentTimeMillis() - age.toMillis();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(candidate)
+                    .filter(file -> lastModifiedMillis(file) < limit)
+                    .forEach(file -> {
+                        log.info("Se elimina el archivo huérfano {}", file);
+                        deleteQuietly(file);
+                    });
+        } catch (IOException e) {
+            log.warn("No se pudo recorrer el directorio {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private static long lastModifiedMillis(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            // Eliminado mientras se recorría el directorio
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Busca un trabajo de carga masiva del usuario indicado. Los trabajos de otros usuarios se tratan como
+     * inexistentes, igual que las sesiones de carga por partes.
+     *
+     * @param jobId identificador del trabajo
+     * @param requestedBy usuario que consulta
+     * @return registro del trabajo
+     * @throws DeviceException NOT_FOUND si el trabajo no existe o pertenece a otro usuario
+     */
+    private BulkUploadLog findOwnedJob(UUID jobId, String requestedBy) {
+        return bulkUploadLogRepository.findById(jobId)
+                .filter(uploadLog -> uploadLog.getUploadedBy().equals(requestedBy))
+                .orElseThrow(() -> new DeviceException(
+                        String.format(MessageException.BULK_UPLOAD_NOT_FOUND, jobId),
+                        DeviceException.Type.NOT_FOUND
+                ));
+    }
+
+    /**
+     * Estado final de un trabajo según sus conteos: COMPLETED sin rechazos, COMPLETED_WITH_WARNINGS con
+     * éxito parcial y FAILED si ninguna fila se insertó ni coincidió con un dispositivo existente.
+     *
+     * @param result resultado de la importación
+     * @return estado final
+     */
+    private static BulkUploadStatusEnum resolveStatus(BulkImportResult result) {
+        if (result.getRejectedRows() == 0) {
+            return BulkUploadStatusEnum.COMPLETED;
+        }
+        return result.getInsertedRows() + result.getUpdatedRows() + result.getUnchangedRows() > 0
+                ? BulkUploadStatusEnum.COMPLETED_WITH_WARNINGS
+                : BulkUploadStatusEnum.FAILED;
+    }
+
+    /**
+     * Indica si un estado es final.
+     *
+     * @param status estado del trabajo
+     * @return {@code true} si el trabajo terminó
+     */
+    private static boolean isFinished(BulkUploadStatusEnum status) {
+        return status == BulkUploadStatusEnum.COMPLETED
+                || status == BulkUploadStatusEnum.COMPLETED_WITH_WARNINGS
+                || status == BulkUploadStatusEnum.FAILED;
+    }
+
+    /**
+     * Resumen de las filas rechazadas para {@link BulkUploadLog#getErrorMessage()}.
+     *
+     * @param result resultado de la importación
+     * @return resumen legible
+     */
+    private static String summarize(BulkImportResult result) {
+        RejectedRow first = result.getFirstRejected();
+        return result.getRejectedRows() + " filas rechazadas. Primera: fila " + first.getRowNumber() + ": " + first.getMessage();
+    }
+
+    /**
+     * Busca un trabajo no fallido del mismo archivo, modo y usuario dentro de la ventana de deduplicación. Se
+     * limita al usuario porque el trabajo devuelto solo es visible para quien lo subió.
+     *
+     * @param fileHash hash SHA-256 del archivo
+     * @param mode modo de la carga
+     * @param uploadedBy usuario que realiza la carga
+     * @return opcional con el trabajo previo
+     */
+    private Optional<BulkUploadLog> findRecentUpload(String fileHash, BulkUploadModeEnum mode, String uploadedBy) {
+        if (dedupWindow.isZero() || dedupWindow.isNegative()) {
+            return Optional.empty();
+        }
+        return bulkUploadLogRepository.findFirstByFileHashAndOperationTypeAndUploadedByAndUploadedAtAfterAndStatusNotOrderByUploadedAtDesc(
+                fileHash, mode.getOperationType(), uploadedBy, LocalDateTime.now().minus(dedupWindow),
+                BulkUploadStatusEnum.FAILED);
+    }
+
+    /**
+     * Mueve el archivo recibido al directorio de spool y calcula su SHA-256.
+     *
+     * El contenedor ya guardó la parte multipart en su directorio temporal; {@code transferTo(File)} la mueve
+     * (Tomcat la renombra si está en el mismo sistema de archivos) en lugar de copiarla, y el hash se calcula
+     * con una sola lectura del archivo ya en el spool.
+     *
+     * @param file archivo recibido
+     * @param target ruta destino en el spool
+     * @return hash SHA-256 del contenido en hexadecimal
+     */
+    private String spool(MultipartFile file, Path target) {
+        try {
+            Files.createDirectories(spoolDir);
+            // Ruta absoluta: con una relativa, Tomcat la resolvería contra su propio directorio temporal
+            file.transferTo(target.toAbsolutePath().toFile());
+            return FileHashes.sha256(target);
+        } catch (IOException e) {
+            log.error("No se pudo almacenar el archivo de carga masiva", e);
+            deleteQuietly(target);
+            throw new DeviceException(
+                    "Ocurrió un error al leer el archivo. Verifique si el archivo es valido.",
+                    DeviceException.Type.INTERNAL_SERVER
+            );
+        }
+    }
+
+    /**
+     * Convierte un {@link BulkUploadLog} al DTO de respuesta.
+     *
+     * @param uploadLog registro de carga masiva
+     * @return DTO con el estado del trabajo
+     */
+    private BulkUploadJobRs toJobRs(BulkUploadLog uploadLog) {
+        return BulkUploadJobRs.builder()
+                .id(uploadLog.getId())
+                .originalFilename(uploadLog.getOriginalFilename())
+                .mode(BulkUploadModeEnum.fromOperationType(uploadLog.getOperationType()))
+                .status(uploadLog.getStatus())
+                .uploadedBy(uploadLog.getUploadedBy())
+                .uploadedAt(uploadLog.getUploadedAt())
+                .startedAt(uploadLog.getStartedAt())
+                .completedAt(uploadLog.getCompletedAt())
+                .processingTimeMs(uploadLog.getProcessingTimeMs())
+                .totalRows(uploadLog.getTotalRows())
+                .insertedRows(uploadLog.getInsertedRows())
+                .updatedRows(uploadLog.getUpdatedRows())
+                .unchangedRows(uploadLog.getUnchangedRows())
+                .rejectedRows(uploadLog.getRejectedRows())
+                .validatedRows(uploadLog.getValidatedRows())
+                .persistedRows(uploadLog.getPersistedRows())
+                .currentChunk(uploadLog.getCurrentChunk())
+                .rowsPerSecond(rowsPerSecond(uploadLog))
+                .errorMessage(uploadLog.getErrorMessage())
+                .build();
+    }
+
+    /**
+     * Filas por segundo de un trabajo terminado.
+     *
+     * @param uploadLog registro de carga masiva
+     * @return filas por segundo, o null si el trabajo no ha terminado
+     */
+    private static Double rowsPerSecond(BulkUploadLog uploadLog) {
+        if (uploadLog.getTotalRows() == null || uploadLog.getProcessingTimeMs() == null) {
+            return null;
+        }
+        return uploadLog.getTotalRows() * 1000.0 / Math.max(uploadLog.getProcessingTimeMs(), 1);
+    }
+
+    /**
+     * Recorta un texto a una longitud máxima.
+     *
+     * @param value texto (puede ser null)
+     * @param maxLength longitud máxima
+     * @return texto recortado o null
+     */
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    /**
+     * Elimina un archivo temporal ignorando errores.
+     *
+     * @param path ruta del archivo
+     */
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar el archivo temporal {}", path, e);
+        }
+    }
+}
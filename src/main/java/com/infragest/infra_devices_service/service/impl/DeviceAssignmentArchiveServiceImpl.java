@@ -0,0 +1,145 @@
+package com.infragest.infra_devices_service.service.impl;
+
+import com.infragest.infra_devices_service.repository.DeviceAssignmentArchiveRepository;
+import com.infragest.infra_devices_service.repository.DeviceAssignmentRepository;
+import com.infragest.infra_devices_service.service.DeviceAssignmentArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementación de {@link DeviceAssignmentArchiveService}.
+ *
+ * Selecciona las asignaciones liberadas más antiguas en lotes de tamaño fijo, las copia al
+ * archivo y las elimina de la tabla caliente dentro de una misma transacción por lote.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class DeviceAssignmentArchiveServiceImpl implements DeviceAssignmentArchiveService {
+
+    private final DeviceAssignmentRepository deviceAssignmentRepository;
+    private final DeviceAssignmentArchiveRepository deviceAssignmentArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Antigüedad mínima (desde released_at) para archivar una asignación.
+     */
+    @Value("${devices.assignments.archive.min-age:P90D}")
+    private Duration minAge;
+
+    /**
+     * Número de asignaciones movidas por lote (y por transacción).
+     */
+    @Value("${devices.assignments.archive.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Número máximo de lotes por ejecución; limita la duración de cada corrida.
+     */
+    @Value("${devices.assignments.archive.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    /**
+     * Pausa entre lotes para no competir con el tráfico transaccional.
+     */
+    @Value("${devices.assignments.archive.pause-between-batches:PT0.2S}")
+    private Duration pauseBetweenBatches;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param deviceAssignmentRepository Repositorio de asignaciones.
+     * @param deviceAssignmentArchiveRepository Repositorio de asignaciones archivadas.
+     * @param transactionManager gestor de transacciones usado para delimitar cada lote.
+     */
+    public DeviceAssignmentArchiveServiceImpl(DeviceAssignmentRepository deviceAssignmentRepository,
+                                              DeviceAssignmentArchiveRepository deviceAssignmentArchiveRepository,
+                                              PlatformTransactionManager transactionManager) {
+        this.deviceAssignmentRepository = deviceAssignmentRepository;
+        this.deviceAssignmentArchiveRepository = deviceAssignmentArchiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Archiva las asignaciones liberadas antes de {@code now - minAge}.
+     *
+     * @return número total de asignaciones movidas al archivo
+     */
+    @Override
+    public int archiveReleasedAssignments() {
+
+        // El umbral se fija al inicio para que la corrida sea acotada aunque se liberen asignaciones mientras tanto
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        int total = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            int count = moved != null ? moved : 0;
+            total += count;
+
+            // Último lote incompleto: no quedan candidatas
+            if (count < batchSize) {
+                break;
+            }
+
+            if (!pause()) {
+                break;
+            }
+        }
+
+        log.info("Archivadas {} asignaciones liberadas antes de {}", total, cutoff);
+        return total;
+    }
+
+    /**
+     * Mueve un lote de asignaciones al archivo. Debe ejecutarse dentro de una transacción.
+     *
+     * @param cutoff fecha límite de liberación
+     * @return número de asignaciones movidas
+     */
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<UUID> ids = deviceAssignmentRepository.findIdsReleasedBefore(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int copied = deviceAssignmentArchiveRepository.copyFromAssignments(ids);
+        int deleted = deviceAssignmentRepository.deleteReleasedByIdIn(ids);
+
+        // Si otra instancia movió parte del lote en paralelo, se revierte para no perder ni duplicar filas
+        if (copied != deleted) {
+            throw new IllegalStateException(
+                    "Archivado inconsistente: copiadas " + copied + ", eliminadas " + deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Aplica la pausa configurada entre lotes.
+     *
+     * @return {@code false} si el hilo fue interrumpido y la corrida debe detenerse
+     */
+    private boolean pause() {
+        if (pauseBetweenBatches.isZero() || pauseBetweenBatches.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseBetweenBatches.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -2,43 +2,62 @@ package com.infragest.infra_devices_service.service.impl;
 
 import com.infragest.infra_devices_service.entity.Device;
 import com.infragest.infra_devices_service.entity.DeviceAssignment;
+import com.infragest.infra_devices_service.entity.DeviceAssignmentArchive;
 import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
 import com.infragest.infra_devices_service.exception.DeviceException;
 import com.infragest.infra_devices_service.model.DeviceAssignmentActiveRs;
 import com.infragest.infra_devices_service.model.DeviceAssignmentDto;
 import com.infragest.infra_devices_service.model.DevicesBatchRq;
+import com.infragest.infra_devices_service.repository.DeviceAssignmentArchiveRepository;
 import com.infragest.infra_devices_service.repository.DeviceAssignmentRepository;
 import com.infragest.infra_devices_service.repository.DeviceRepository;
 import com.infragest.infra_devices_service.service.DeviceAssignmentService;
+import com.infragest.infra_devices_service.service.DeviceUtilizationService;
 import com.infragest.infra_devices_service.util.MessageException;
+import com.infragest.infra_devices_service.util.OperationMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 public class DeviceAssignmentServiceImpl implements DeviceAssignmentService {
 
     private final DeviceAssignmentRepository deviceAssignmentRepository;
+    private final DeviceAssignmentArchiveRepository deviceAssignmentArchiveRepository;
     private final DeviceRepository deviceRepository;
+    private final DeviceUtilizationService deviceUtilizationService;
+    private final OperationMetrics assignMetrics;
 
     /**
      * Constructor para inyección de dependencias.
      *
      * @param deviceAssignmentRepository Repositorio de asignaciones.
+     * @param deviceAssignmentArchiveRepository Repositorio de asignaciones archivadas.
      * @param deviceRepository Repositorio de dispositivos.
+     * @param deviceUtilizationService Servicio de acumulados de utilización.
+     * @param meterRegistry Registro de métricas.
      */
     public DeviceAssignmentServiceImpl(DeviceAssignmentRepository deviceAssignmentRepository,
-                                       DeviceRepository deviceRepository) {
+                                       DeviceAssignmentArchiveRepository deviceAssignmentArchiveRepository,
+                                       DeviceRepository deviceRepository,
+                                       DeviceUtilizationService deviceUtilizationService,
+                                       MeterRegistry meterRegistry) {
         this.deviceAssignmentRepository = deviceAssignmentRepository;
+        this.deviceAssignmentArchiveRepository = deviceAssignmentArchiveRepository;
         this.deviceRepository = deviceRepository;
+        this.deviceUtilizationService = deviceUtilizationService;
+        this.assignMetrics = new OperationMetrics(meterRegistry, "assign-device-to-order");
     }
 
     /**
@@ -50,6 +69,10 @@ public class DeviceAssignmentServiceImpl implements DeviceAssignmentService {
     @Override
     @Transactional
     public void assignDeviceToOrder(UUID orderId, UUID deviceId) {
+        assignMetrics.record(() -> assign(orderId, deviceId));
+    }
+
+    private void assign(UUID orderId, UUID deviceId) {
 
         // Busca una asignación activa para el deviceId
         Optional<DeviceAssignment> activeAssignment = deviceAssignmentRepository.findByDeviceIdAndReleasedAtIsNull(deviceId);
@@ -88,9 +111,10 @@ public class DeviceAssignmentServiceImpl implements DeviceAssignmentService {
         deviceAssignmentRepository.save(assignment);
         log.info("Asignación creada para el dispositivo {} en la orden {}", deviceId, orderId);
 
-        // Actualizar el estado del dispositivo a OCCUPIED
+        // Actualizar el estado del dispositivo a OCCUPIED; el flush envía el INSERT y el UPDATE dentro del
+        // cuerpo medido en lugar de en el commit posterior
         device.setStatus(DeviceStatusEnum.OCCUPIED);
-        deviceRepository.save(device);
+        deviceRepository.saveAndFlush(device);
     }
 
     /**
@@ -115,30 +139,50 @@ public class DeviceAssignmentServiceImpl implements DeviceAssignmentService {
         deviceAssignmentRepository.save(assignment);
         log.info("Assignment released for device {}", deviceId);
 
-        // Cambiar el estado del dispositivo a GOOD_CONDITION
+        // Sumar el intervalo finalizado a los acumulados diarios de utilización
         Device device = assignment.getDevice();
+        deviceUtilizationService.recordInterval(deviceId, device.getBrand(),
+                assignment.getAssignedAt(), assignment.getReleasedAt());
+
+        // Cambiar el estado del dispositivo a GOOD_CONDITION
         device.setStatus(DeviceStatusEnum.GOOD_CONDITION);
         deviceRepository.save(device);
         log.info("Device {} status set to GOOD_CONDITION", deviceId);
     }
 
     /**
-     * Obtiene todas las asignaciones históricas (liberadas) de un dispositivo.
+     * Obtiene todas las asignaciones históricas de un dispositivo.
+     *
+     * Combina las asignaciones de la tabla caliente con las ya archivadas, de forma
+     * transparente para el consumidor, ordenadas por fecha de asignación descendente.
      *
      * @param deviceId Identificador único del dispositivo.
      * @return Lista de asignaciones históricas del dispositivo.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<DeviceAssignmentDto> getDeviceAssignmentHistory(UUID deviceId) {
 
-        // Buscar asignaciones históricas
+        // Buscar asignaciones recientes y archivadas (ambas ya ordenadas por assignedAt desc)
         List<DeviceAssignment> assignments = deviceAssignmentRepository.findAllByDeviceIdOrderByAssignedAtDesc(deviceId);
+        List<DeviceAssignmentArchive> archived = deviceAssignmentArchiveRepository.findAllByDeviceIdOrderByAssignedAtDesc(deviceId);
 
         // Registrar log con el tamaño de las asignaciones encontradas
-        log.info("Se encontraron {} asignaciones históricas para el dispositivo {}", assignments.size(), deviceId);
+        log.info("Se encontraron {} asignaciones históricas ({} archivadas) para el dispositivo {}",
+                assignments.size() + archived.size(), archived.size(), deviceId);
 
-        // Mapear cada asignación a un DTO y devolver la lista resultante
-        return assignments.stream()
+        // Mapear cada asignación a un DTO y mezclar ambas fuentes manteniendo el orden
+        Stream<DeviceAssignmentDto> recent = assignments.stream()
+                .map(assignment -> DeviceAssignmentDto.builder()
+                        .deviceId(assignment.getDevice().getId())
+                        .deviceName(assignment.getDevice().getName())
+                        .orderId(assignment.getOrderId())
+                        .deviceStatus(assignment.getStatus())
+                        .assignedAt(assignment.getAssignedAt())
+                        .releasedAt(assignment.getReleasedAt())
+                        .build()
+                );
+        Stream<DeviceAssignmentDto> old = archived.stream()
                 .map(assignment -> DeviceAssignmentDto.builder()
                         .deviceId(assignment.getDevice().getId())
                         .deviceName(assignment.getDevice().getName())
@@ -147,7 +191,10 @@ public class DeviceAssignmentServiceImpl implements DeviceAssignmentService {
                         .assignedAt(assignment.getAssignedAt())
                         .releasedAt(assignment.getReleasedAt())
                         .build()
-                )
+                );
+
+        return Stream.concat(recent, old)
+                .sorted(Comparator.comparing(DeviceAssignmentDto::getAssignedAt).reversed())
                 .collect(Collectors.toList()); // Colectar como lista
     }
 
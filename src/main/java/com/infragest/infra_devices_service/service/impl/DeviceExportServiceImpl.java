@@ -0,0 +1,137 @@
+package com.infragest.infra_devices_service.service.impl;
+
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.repository.DeviceExportRepository;
+import com.infragest.infra_devices_service.service.DeviceExportService;
+import com.infragest.infra_devices_service.util.MessageException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+
+/**
+ * Implementación de {@link DeviceExportService}.
+ *
+ * Usa el libro en streaming de POI ({@link SXSSFWorkbook}): solo las últimas {@code rowWindow} filas
+ * quedan en memoria y el resto se vuelca a un archivo temporal comprimido. Las filas se leen con un
+ * cursor JDBC, por lo que el heap usado no depende del número de dispositivos.
+ *
+ * El libro tiene una sola hoja, la única que lee la carga masiva, así que la exportación admite como máximo
+ * 1.048.575 dispositivos (el límite de filas de Excel menos el encabezado); por encima se
+ * rechaza y hay que filtrar por estado.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class DeviceExportServiceImpl implements DeviceExportService {
+
+    /**
+     * Encabezados de la hoja, en el orden que lee la carga masiva.
+     */
+    private static final String[] HEADERS = {"name", "brand", "barcode", "status"};
+
+    /**
+     * Filas de datos de una hoja XLSX: todas menos la del encabezado (el último índice de fila).
+     */
+    private static final int MAX_DATA_ROWS = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+
+    /**
+     * Inyección de dependencia: Repositorio de exportación.
+     */
+    private final DeviceExportRepository deviceExportRepository;
+
+    /**
+     * Filas que SXSSF mantiene en memoria antes de volcarlas al archivo temporal.
+     */
+    @Value("${devices.export.row-window:100}")
+    private int rowWindow;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param deviceExportRepository repositorio de exportación
+     */
+    public DeviceExportServiceImpl(DeviceExportRepository deviceExportRepository) {
+        this.deviceExportRepository = deviceExportRepository;
+    }
+
+    /**
+     * Comprueba que el inventario a exportar cabe en una hoja XLSX.
+     *
+     * @param status estado por el que filtrar, o null para todos los dispositivos
+     */
+    @Override
+    public void checkExportSize(DeviceStatusEnum status) {
+        long devices = deviceExportRepository.countDevices(status);
+        if (devices > MAX_DATA_ROWS) {
+            throw new DeviceException(String.format(MessageException.EXPORT_TOO_LARGE, devices, MAX_DATA_ROWS),
+                    DeviceException.Type.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Escribe el inventario en formato XLSX.
+     *
+     * @param status estado por el que filtrar, o null para exportar todos los dispositivos
+     * @param out destino del libro; no se cierra
+     * @return número de dispositivos exportados
+     * @throws IOException si no se puede escribir en el destino
+     */
+    @Override
+    public long exportToXlsx(DeviceStatusEnum status, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = createSheet(workbook, "devices");
+            int[] rowIndex = {1};
+
+            deviceExportRepository.streamDevices(status, rs -> {
+                // Dispositivos creados después de checkExportSize: la hoja no admite más filas
+                if (rowIndex[0] > MAX_DATA_ROWS) {
+                    throw new SQLException("La hoja XLSX admite como máximo " + MAX_DATA_ROWS + " dispositivos");
+                }
+                Row row = sheet.createRow(rowIndex[0]++);
+                for (int i = 0; i < HEADERS.length; i++) {
+                    row.createCell(i).setCellValue(rs.getString(i + 1));
+                }
+            });
+            long exported = rowIndex[0] - 1L;
+
+            workbook.write(out);
+            log.info("Exportación XLSX de {} dispositivos (estado: {}) en {} ms", exported,
+                    status != null ? status : "todos", (System.nanoTime() - start) / 1_000_000);
+            return exported;
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Crea una hoja con la fila de encabezados.
+     *
+     * @param workbook libro en streaming
+     * @param name nombre de la hoja
+     * @return hoja creada
+     */
+    private static SXSSFSheet createSheet(SXSSFWorkbook workbook, String name) {
+        SXSSFSheet sheet = workbook.createSheet(name);
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < HEADERS.length; i++) {
+            header.createCell(i).setCellValue(HEADERS[i]);
+        }
+        return sheet;
+    }
+}
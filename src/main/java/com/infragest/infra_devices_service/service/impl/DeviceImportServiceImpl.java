@@ -0,0 +1,666 @@
+package com.infragest.infra_devices_service.service.impl;
+
+import com.infragest.infra_devices_service.entity.Device;
+import com.infragest.infra_devices_service.enums.BulkUploadFormatEnum;
+import com.infragest.infra_devices_service.enums.BulkUploadModeEnum;
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.model.BulkImportResult;
+import com.infragest.infra_devices_service.model.CreateDeviceRq;
+import com.infragest.infra_devices_service.model.RejectedRow;
+import com.infragest.infra_devices_service.repository.DeviceBulkLoadRepository;
+import com.infragest.infra_devices_service.repository.DeviceRepository;
+import com.infragest.infra_devices_service.service.DeviceImportService;
+import com.infragest.infra_devices_service.util.BulkUploadProgress;
+import com.infragest.infra_devices_service.util.CsvStreamingReader;
+import com.infragest.infra_devices_service.util.DeviceStagingFileWriter;
+import com.infragest.infra_devices_service.util.MessageException;
+import com.infragest.infra_devices_service.util.NdjsonStreamingReader;
+import com.infragest.infra_devices_service.util.SheetRow;
+import com.infragest.infra_devices_service.util.XlsxStreamingReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Implementación de {@link DeviceImportService}.
+ *
+ * El archivo se lee en streaming y se divide en bloques de {@code chunkSize} filas. Cada bloque se
+ * valida en el pool fork-join {@code bulkUploadValidationPool} mientras el lector sigue avanzando;
+ * los bloques validados se confirman en orden de lectura, cada uno en su propia transacción. El número
+ * de bloques en vuelo está acotado, de modo que el lector se detiene si la base de datos no da abasto.
+ *
+ * Las filas inválidas, repetidas en el archivo o ya existentes se rechazan sin abortar la importación.
+ * En modo UPSERT los barcodes existentes no se rechazan: cada bloque se escribe con un
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE} por lotes y solo incluye las filas nuevas o con cambios.
+ *
+ * En modo INSERT, con {@code devices.bulk-upload.native-load.enabled} y una base MariaDB que lo admita, las filas validadas
+ * no se persisten por bloques: se escriben en un archivo temporal, se cargan con {@code LOAD DATA LOCAL
+ * INFILE} y se fusionan en una sola transacción. Si la carga nativa falla, el archivo temporal se importa
+ * por la ruta JPA.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class DeviceImportServiceImpl implements DeviceImportService {
+
+    /**
+     * Columnas leídas del archivo de carga: nombre, marca, barcode y estado.
+     */
+    private static final int UPLOAD_COLUMNS = 4;
+
+    /**
+     * Inyección de dependencia: Repositorio de dispositivos.
+     */
+    private final DeviceRepository deviceRepository;
+
+    /**
+     * Inyección de dependencia: Repositorio de carga nativa.
+     */
+    private final DeviceBulkLoadRepository bulkLoadRepository;
+
+    /**
+     * Inyección de dependencia: Pool de validación de bloques.
+     */
+    private final ForkJoinPool validationPool;
+
+    /**
+     * Transacción independiente por bloque.
+     */
+    private final TransactionTemplate chunkTransaction;
+
+    private final Counter insertedRowsCounter;
+    private final Counter updatedRowsCounter;
+    private final Counter unchangedRowsCounter;
+    private final Counter rejectedRowsCounter;
+    private final Timer chunkCommitTimer;
+    private final Timer nativeLoadTimer;
+    private final Counter nativeLoadFallbackCounter;
+    private final DistributionSummary throughputSummary;
+
+    /**
+     * Número de filas validadas y persistidas por bloque.
+     */
+    @Value("${devices.bulk-upload.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Número máximo de bloques leídos pendientes de confirmar.
+     */
+    @Value("${devices.bulk-upload.max-in-flight-chunks:4}")
+    private int maxInFlightChunks;
+
+    /**
+     * Usa LOAD DATA LOCAL INFILE en lugar de los INSERT por lotes de JPA, si la base de datos lo admite.
+     */
+    @Value("${devices.bulk-upload.native-load.enabled:false}")
+    private boolean nativeLoadEnabled;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param deviceRepository repositorio de dispositivos
+     * @param bulkLoadRepository repositorio de carga nativa
+     * @param validationPool pool fork-join de validación
+     * @param transactionManager gestor de transacciones
+     * @param meterRegistry registro de métricas
+     */
+    public DeviceImportServiceImpl(
+            DeviceRepository deviceRepository,
+            DeviceBulkLoadRepository bulkLoadRepository,
+            @Qualifier("bulkUploadValidationPool") ForkJoinPool validationPool,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.deviceRepository = deviceRepository;
+        this.bulkLoadRepository = bulkLoadRepository;
+        this.validationPool = validationPool;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.insertedRowsCounter = Counter.builder("devices.bulk_upload.rows")
+                .description("Filas procesadas en cargas masivas")
+                .tag("outcome", "inserted")
+                .register(meterRegistry);
+        this.updatedRowsCounter = Counter.builder("devices.bulk_upload.rows")
+                .description("Filas procesadas en cargas masivas")
+                .tag("outcome", "updated")
+                .register(meterRegistry);
+        this.unchangedRowsCounter = Counter.builder("devices.bulk_upload.rows")
+                .description("Filas procesadas en cargas masivas")
+                .tag("outcome", "unchanged")
+                .register(meterRegistry);
+        this.rejectedRowsCounter = Counter.builder("devices.bulk_upload.rows")
+                .description("Filas procesadas en cargas masivas")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        this.chunkCommitTimer = Timer.builder("devices.bulk_upload.chunk.commit")
+                .description("Latencia de confirmación de cada bloque de una carga masiva")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.nativeLoadTimer = Timer.builder("devices.bulk_upload.native_load")
+                .description("Duración de la carga nativa (LOAD DATA y fusión) de una carga masiva")
+                .register(meterRegistry);
+        this.nativeLoadFallbackCounter = Counter.builder("devices.bulk_upload.native_load.fallback")
+                .description("Cargas nativas fallidas que se importaron por la ruta JPA")
+                .register(meterRegistry);
+        this.throughputSummary = DistributionSummary.builder("devices.bulk_upload.throughput")
+                .description("Filas por segundo de cada carga masiva")
+                .baseUnit("rows/s")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Importa los dispositivos de un archivo XLSX, CSV o NDJSON.
+     *
+     * @param file ruta del archivo a importar
+     * @param format formato del archivo
+     * @param mode modo de la carga (inserción o upsert)
+     * @param progress contadores de progreso del trabajo, actualizados una vez por bloque
+     * @param rejectedRows receptor de las filas rechazadas, invocado en orden de fila
+     * @return conteos de filas leídas, insertadas, actualizadas, sin cambios y rechazadas
+     */
+    @Override
+    public BulkImportResult importDevices(Path file, BulkUploadFormatEnum format, BulkUploadModeEnum mode,
+                                          BulkUploadProgress progress, Consumer<RejectedRow> rejectedRows) {
+
+        ImportState state = new ImportState(mode, progress, rejectedRows);
+        Deque<Future<ValidatedChunk>> inFlight = new ArrayDeque<>();
+        long start = System.nanoTime();
+
+        try {
+            if (mode == BulkUploadModeEnum.INSERT && nativeLoadEnabled && bulkLoadRepository.isNativeLoadSupported()) {
+                state.staging = new DeviceStagingFileWriter(Files.createTempFile(file.getParent(), "staging-", ".tsv"));
+            }
+
+            Consumer<List<SheetRow>> pipeline = chunk -> {
+                progress.chunkRead(chunk.size());
+                inFlight.addLast(validationPool.submit(() -> validateChunk(chunk, progress)));
+
+                // Confirmar en orden los bloques ya validados; bloquear si hay demasiados en vuelo
+                while (!inFlight.isEmpty()
+                        && (inFlight.size() >= maxInFlightChunks || inFlight.peekFirst().isDone())) {
+                    commitChunk(await(inFlight.pollFirst()), state);
+                }
+            };
+
+            int rows = switch (format) {
+                case XLSX -> XlsxStreamingReader.read(file, UPLOAD_COLUMNS, chunkSize, pipeline);
+                case CSV -> CsvStreamingReader.read(file, UPLOAD_COLUMNS, chunkSize, pipeline);
+                case NDJSON -> NdjsonStreamingReader.read(file, UPLOAD_COLUMNS, chunkSize, pipeline);
+            };
+
+            while (!inFlight.isEmpty()) {
+                commitChunk(await(inFlight.pollFirst()), state);
+            }
+
+            if (state.staging != null) {
+                state.staging.close();
+                loadStagedRows(state);
+            }
+
+            // Validar que hay filas de datos
+            if (rows == 0) {
+                throw new DeviceException("El archivo no contiene datos validos.",
+                        DeviceException.Type.BAD_REQUEST);
+            }
+
+            double seconds = Math.max((System.nanoTime() - start) / 1e9, 1e-3);
+            throughputSummary.record(rows / seconds);
+
+            return BulkImportResult.builder()
+                    .totalRows(rows)
+                    .insertedRows(state.inserted)
+                    .updatedRows(state.updated)
+                    .unchangedRows(state.unchanged)
+                    .rejectedRows(state.rejected)
+                    .firstRejected(state.firstRejected)
+                    .build();
+        } catch (IOException e) {
+            throw new DeviceException(
+                    "Ocurrió un error al leer el archivo " + format + ". Verifique si el archivo es valido.",
+                    DeviceException.Type.INTERNAL_SERVER
+            );
+        } catch (UncheckedIOException e) {
+            log.error("Error al escribir el archivo de staging de la carga masiva: {}", e.getMessage());
+            throw new DeviceException(MessageException.BULK_UPLOAD_PROCESSING_ERROR, DeviceException.Type.INTERNAL_SERVER);
+        } finally {
+            inFlight.forEach(pending -> pending.cancel(true));
+            if (state.staging != null) {
+                deleteStagingFile(state.staging);
+            }
+        }
+    }
+
+    /**
+     * Valida un bloque de filas (se ejecuta en el pool fork-join).
+     *
+     * @param rows filas leídas del archivo
+     * @param progress contadores de progreso del trabajo
+     * @return filas válidas y rechazadas del bloque
+     */
+    private ValidatedChunk validateChunk(List<SheetRow> rows, BulkUploadProgress progress) {
+        ValidatedChunk validated = new ValidatedChunk(rows.size());
+        for (SheetRow row : rows) {
+            if (row.getError() != null) {
+                validated.rejected.add(new RejectedRow(row.getRowNumber(), null, row.getError()));
+                continue;
+            }
+            try {
+                validated.valid.add(new ValidRow(row.getRowNumber(), parseRowToCreateDeviceRq(row)));
+            } catch (DeviceException e) {
+                validated.rejected.add(new RejectedRow(row.getRowNumber(), row.getCell(2), e.getMessage()));
+            }
+        }
+        progress.rowsValidated(rows.size());
+        return validated;
+    }
+
+    /**
+     * Descarta los duplicados dentro del archivo de un bloque validado y lo confirma en su propia
+     * transacción (inserción o upsert), o lo agrega al archivo de staging si la importación usa la carga
+     * nativa.
+     *
+     * @param chunk bloque validado
+     * @param state estado acumulado de la importación
+     */
+    private void commitChunk(ValidatedChunk chunk, ImportState state) {
+
+        List<RejectedRow> rejected = new ArrayList<>(chunk.rejected);
+
+        // Descartar duplicados dentro del archivo (barcode), conservando la primera aparición
+        Map<String, ValidRow> candidates = new LinkedHashMap<>();
+        for (ValidRow row : chunk.valid) {
+            String barcode = row.request().getBarcode();
+            if (state.seenBarcodes.add(barcode)) {
+                candidates.put(barcode, row);
+            } else {
+                rejected.add(new RejectedRow(row.rowNumber(), barcode,
+                        "El barcode " + barcode + " está repetido en el archivo."));
+            }
+        }
+
+        if (state.staging != null) {
+            try {
+                for (ValidRow row : candidates.values()) {
+                    state.staging.write(row.rowNumber(), UUID.randomUUID(), row.request());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else if (!candidates.isEmpty()) {
+            if (state.mode == BulkUploadModeEnum.UPSERT) {
+                upsertChunk(candidates, rejected, state);
+            } else {
+                persistChunk(candidates, rejected, state);
+            }
+        }
+
+        reportRejected(rejected, state);
+    }
+
+    /**
+     * Persiste por JPA las filas candidatas de un bloque en su propia transacción, descartando las que ya
+     * existen en la base de datos.
+     *
+     * Si la transacción falla, todas las filas pendientes del bloque se rechazan y la importación continúa.
+     *
+     * @param candidates filas a insertar por barcode
+     * @param rejected receptor de las filas rechazadas del bloque
+     * @param state estado acumulado de la importación
+     */
+    private void persistChunk(Map<String, ValidRow> candidates, List<RejectedRow> rejected, ImportState state) {
+        List<RejectedRow> existing = new ArrayList<>();
+        try {
+            int saved = chunkCommitTimer.record(() -> chunkTransaction.execute(status -> {
+
+                // Validar la existencia en la base de datos de todo el bloque con una sola consulta
+                for (Device device : deviceRepository.findByBarcodeIn(candidates.keySet())) {
+                    ValidRow row = candidates.remove(barcodeKey(device.getBarcode()));
+                    if (row != null) {
+                        existing.add(new RejectedRow(row.rowNumber(), device.getBarcode(),
+                                String.format(MessageException.DEVICE_ALREADY_EXISTS, device.getBarcode())));
+                    }
+                }
+
+                List<Device> devices = candidates.values().stream()
+                        .map(row -> mapToDeviceEntity(row.request()))
+                        .toList();
+                deviceRepository.saveAll(devices);
+                return devices.size();
+            }));
+            rejected.addAll(existing);
+            state.inserted += saved;
+            state.progress.rowsPersisted(saved);
+            insertedRowsCounter.increment(saved);
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Error al confirmar un bloque de la carga masiva: {}", e.getMessage());
+            candidates.values().forEach(row -> rejected.add(
+                    new RejectedRow(row.rowNumber(), row.request().getBarcode(), MessageException.DATABASE_ERROR)));
+            existing.forEach(rejected::add);
+        }
+    }
+
+    /**
+     * Inserta o actualiza las filas candidatas de un bloque en su propia transacción.
+     *
+     * Los dispositivos existentes se consultan con una sola consulta para clasificar cada fila como nueva,
+     * modificada o sin cambios; solo las nuevas y modificadas se envían en el lote
+     * {@code INSERT ... ON DUPLICATE KEY UPDATE}. Las filas que cambiarían el estado de un dispositivo
+     * OCCUPIED se rechazan, porque ese estado depende de su asignación activa. Si la transacción falla,
+     * todas las filas del bloque se rechazan y la importación continúa.
+     *
+     * @param candidates filas a insertar o actualizar por barcode
+     * @param rejected receptor de las filas rechazadas del bloque
+     * @param state estado acumulado de la importación
+     */
+    private void upsertChunk(Map<String, ValidRow> candidates, List<RejectedRow> rejected, ImportState state) {
+        List<RejectedRow> occupied = new ArrayList<>();
+        try {
+            UpsertResult result = chunkCommitTimer.record(() -> chunkTransaction.execute(status -> {
+
+                Map<String, Device> existing = new HashMap<>();
+                for (Device device : deviceRepository.findByBarcodeIn(candidates.keySet())) {
+                    existing.put(barcodeKey(device.getBarcode()), device);
+                }
+
+                List<Device> changes = new ArrayList<>(candidates.size());
+                int inserted = 0;
+                int updated = 0;
+                for (ValidRow row : candidates.values()) {
+                    CreateDeviceRq request = row.request();
+                    Device current = existing.get(request.getBarcode());
+                    if (current == null) {
+                        Device device = mapToDeviceEntity(request);
+                        device.setId(UUID.randomUUID());
+                        changes.add(device);
+                        inserted++;
+                    } else if (current.getStatus() == DeviceStatusEnum.OCCUPIED
+                            && request.getStatus() != DeviceStatusEnum.OCCUPIED) {
+                        occupied.add(new RejectedRow(row.rowNumber(), current.getBarcode(),
+                                String.format(MessageException.DEVICE_OCCUPIED_STATUS_LOCKED, current.getBarcode())));
+                    } else if (!Objects.equals(current.getName(), request.getName())
+                            || !Objects.equals(current.getBrand(), request.getBrand())
+                            || current.getStatus() != request.getStatus()) {
+                        Device device = mapToDeviceEntity(request);
+                        device.setId(current.getId());
+                        changes.add(device);
+                        updated++;
+                    }
+                }
+
+                if (!changes.isEmpty()) {
+                    bulkLoadRepository.upsertDevices(changes);
+                }
+                return new UpsertResult(inserted, updated,
+                        candidates.size() - inserted - updated - occupied.size());
+            }));
+            rejected.addAll(occupied);
+
+            state.inserted += result.inserted();
+            state.updated += result.updated();
+            state.unchanged += result.unchanged();
+            state.progress.rowsPersisted(result.inserted() + result.updated() + result.unchanged());
+            insertedRowsCounter.increment(result.inserted());
+            updatedRowsCounter.increment(result.updated());
+            unchangedRowsCounter.increment(result.unchanged());
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Error al confirmar un bloque de la carga masiva (upsert): {}", e.getMessage());
+            candidates.values().forEach(row -> rejected.add(
+                    new RejectedRow(row.rowNumber(), row.request().getBarcode(), MessageException.DATABASE_ERROR)));
+        }
+    }
+
+    /**
+     * Carga el archivo de staging con LOAD DATA y lo fusiona en {@code devices} en una sola transacción.
+     * Los barcodes ya existentes se rechazan al final, en orden de fila. Si la carga nativa falla, el
+     * archivo de staging se importa por bloques con JPA.
+     *
+     * @param state estado acumulado de la importación
+     * @throws IOException si no se puede leer el archivo de staging en la ruta JPA
+     */
+    private void loadStagedRows(ImportState state) throws IOException {
+        if (state.staging.getRows() == 0) {
+            return;
+        }
+
+        UUID loadId = UUID.randomUUID();
+        Path stagingFile = state.staging.getPath();
+        try {
+            NativeLoadResult result = nativeLoadTimer.record(() -> chunkTransaction.execute(status -> {
+                bulkLoadRepository.loadStaging(stagingFile, loadId);
+                int inserted = bulkLoadRepository.mergeIntoDevices(loadId);
+                List<RejectedRow> conflicts =
+                        bulkLoadRepository.findConflicts(loadId, MessageException.DEVICE_ALREADY_EXISTS);
+                bulkLoadRepository.clearStaging(loadId);
+                return new NativeLoadResult(inserted, conflicts);
+            }));
+            state.inserted += result.inserted();
+            state.progress.rowsPersisted(result.inserted());
+            insertedRowsCounter.increment(result.inserted());
+            reportRejected(new ArrayList<>(result.conflicts()), state);
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("La carga nativa falló ({}), se importa por la ruta JPA", e.getMessage());
+            nativeLoadFallbackCounter.increment();
+
+            Map<String, ValidRow> candidates = new LinkedHashMap<>();
+            DeviceStagingFileWriter.read(stagingFile, (request, rowNumber) -> {
+                candidates.put(request.getBarcode(), new ValidRow(rowNumber, request));
+                if (candidates.size() >= chunkSize) {
+                    persistStagedChunk(candidates, state);
+                    candidates.clear();
+                }
+            });
+            if (!candidates.isEmpty()) {
+                persistStagedChunk(candidates, state);
+            }
+        }
+    }
+
+    private void persistStagedChunk(Map<String, ValidRow> candidates, ImportState state) {
+        List<RejectedRow> rejected = new ArrayList<>();
+        persistChunk(candidates, rejected, state);
+        reportRejected(rejected, state);
+    }
+
+    /**
+     * Entrega en orden de fila las filas rechazadas de un bloque.
+     *
+     * @param rejected filas rechazadas
+     * @param state estado acumulado de la importación
+     */
+    private void reportRejected(List<RejectedRow> rejected, ImportState state) {
+        rejected.sort(Comparator.comparingInt(RejectedRow::getRowNumber));
+        rejected.forEach(state::reject);
+        state.progress.rowsRejected(rejected.size());
+        rejectedRowsCounter.increment(rejected.size());
+    }
+
+    private static void deleteStagingFile(DeviceStagingFileWriter staging) {
+        try {
+            staging.close();
+            Files.deleteIfExists(staging.getPath());
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar el archivo de staging {}: {}", staging.getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Espera el resultado de la validación de un bloque.
+     *
+     * @param pending validación en curso
+     * @return bloque validado
+     */
+    private static ValidatedChunk await(Future<ValidatedChunk> pending) {
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeviceException(MessageException.BULK_UPLOAD_PROCESSING_ERROR, DeviceException.Type.INTERNAL_SERVER);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error validando un bloque de la carga masiva", e.getCause());
+        }
+    }
+
+    /**
+     * Convierte una fila del archivo (XLSX, CSV o NDJSON) en un objeto CreateDeviceRq.
+     *
+     * @param row fila procesada del archivo
+     * @return un objeto CreateDeviceRq
+     * @throws DeviceException si alguna columna tiene datos inválidos
+     */
+    private CreateDeviceRq parseRowToCreateDeviceRq(SheetRow row) {
+
+        String name = row.getCell(0);
+        String brand = row.getCell(1);
+        String barcode = row.getCell(2);
+        String state = row.getCell(3);
+
+        if (name == null || name.isBlank()) {
+            throw new DeviceException("El nombre del dispositivo no puede estar vacío",
+                    DeviceException.Type.BAD_REQUEST);
+        }
+
+        if (brand == null || brand.isBlank()) {
+            throw new DeviceException("La marca del dispositivo no puede estar vacía",
+                    DeviceException.Type.BAD_REQUEST);
+        }
+
+        if (barcode == null || barcode.isBlank()) {
+            throw new DeviceException("El barcode del dispositivo no puede estar vacío",
+                    DeviceException.Type.BAD_REQUEST);
+        }
+
+        if (state == null || state.isBlank()) {
+            throw new DeviceException("El estado del dispositivo no puede estar vacío",
+                    DeviceException.Type.BAD_REQUEST);
+        }
+
+        DeviceStatusEnum status;
+
+        try {
+            status = DeviceStatusEnum.valueOf(state.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new DeviceException("El estado del dispositivo '" + state + "' no es valido.",
+                    DeviceException.Type.BAD_REQUEST);
+        }
+
+        // Crear y retornar el objeto CreateDeviceRq
+        return CreateDeviceRq.builder()
+                .name(name)
+                .brand(brand)
+                .barcode(barcode.trim().toUpperCase())
+                .status(status)
+                .build();
+    }
+
+    /**
+     * Clave de un barcode en los mapas de un bloque, con la misma normalización que la lectura del archivo.
+     *
+     * La colación de {@code devices.barcode} no distingue mayúsculas, así que la consulta por los barcodes
+     * del archivo también devuelve los guardados en minúsculas; sin normalizar no se encontrarían en el mapa.
+     *
+     * @param barcode barcode leído del archivo o guardado en la base de datos
+     * @return barcode en mayúsculas
+     */
+    private static String barcodeKey(String barcode) {
+        return barcode.trim().toUpperCase();
+    }
+
+    /**
+     * Convierte un objeto CreateDeviceRq en una entidad Device.
+     *
+     * @param request el DTO CreateDeviceRq
+     * @return una entidad Device
+     */
+    private Device mapToDeviceEntity(CreateDeviceRq request) {
+        return Device.builder()
+                .name(request.getName())
+                .brand(request.getBrand())
+                .barcode(request.getBarcode())
+                .status(request.getStatus())
+                .build();
+    }
+
+    /**
+     * Fila válida junto con su número de fila de origen.
+     */
+    private record ValidRow(int rowNumber, CreateDeviceRq request) {
+    }
+
+    /**
+     * Conteos de un bloque confirmado en modo upsert.
+     */
+    private record UpsertResult(int inserted, int updated, int unchanged) {
+    }
+
+    /**
+     * Dispositivos insertados y barcodes ya existentes de una carga nativa.
+     */
+    private record NativeLoadResult(int inserted, List<RejectedRow> conflicts) {
+    }
+
+    /**
+     * Resultado de validar un bloque de filas.
+     */
+    private static final class ValidatedChunk {
+        private final List<ValidRow> valid;
+        private final List<RejectedRow> rejected = new ArrayList<>();
+
+        private ValidatedChunk(int size) {
+            this.valid = new ArrayList<>(size);
+        }
+    }
+
+    /**
+     * Estado acumulado de una importación; solo lo modifica el hilo lector.
+     */
+    private static final class ImportState {
+        private final BulkUploadModeEnum mode;
+        private final BulkUploadProgress progress;
+        private final Consumer<RejectedRow> rejectedRows;
+        private final Set<String> seenBarcodes = new HashSet<>();
+        private DeviceStagingFileWriter staging;
+        private long inserted;
+        private long updated;
+        private long unchanged;
+        private long rejected;
+        private RejectedRow firstRejected;
+
+        private ImportState(BulkUploadModeEnum mode, BulkUploadProgress progress, Consumer<RejectedRow> rejectedRows) {
+            this.mode = mode;
+            this.progress = progress;
+            this.rejectedRows = rejectedRows;
+        }
+
+        private void reject(RejectedRow row) {
+            if (firstRejected == null) {
+                firstRejected = row;
+            }
+            rejected++;
+            rejectedRows.accept(row);
+        }
+    }
+}
@@ -10,22 +10,20 @@ import com.infragest.infra_devices_service.repository.DeviceRepository;
 import com.infragest.infra_devices_service.service.DeviceAssignmentService;
 import com.infragest.infra_devices_service.service.DeviceService;
 import com.infragest.infra_devices_service.util.MessageException;
+import com.infragest.infra_devices_service.util.OperationMetrics;
+import com.infragest.infra_devices_service.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -51,17 +49,41 @@ public class DeviceServiceImpl implements DeviceService {
      */
     private final DeviceAssignmentService deviceAssignmentService;
 
+    /**
+     * Agrupa las consultas concurrentes de un mismo ID.
+     */
+    private final SingleFlight<UUID, DeviceRs> byIdFlight = new SingleFlight<>();
+
+    /**
+     * Agrupa las consultas concurrentes de un mismo barcode.
+     */
+    private final SingleFlight<String, Device> byBarcodeFlight = new SingleFlight<>();
+
+    /**
+     * Métricas de las operaciones por lotes.
+     */
+    private final OperationMetrics reserveMetrics;
+    private final OperationMetrics restoreMetrics;
+    private final OperationMetrics updateBatchMetrics;
+
     /**
      * Constructor para la inyección de dependencias.
      *
      * @param deviceRepository
      * @param deviceAssignmentService
+     * @param meterRegistry registro de métricas de las consultas agrupadas y las operaciones por lotes
      */
     public DeviceServiceImpl(
-            DeviceRepository deviceRepository, DeviceAssignmentService deviceAssignmentService)
+            DeviceRepository deviceRepository, DeviceAssignmentService deviceAssignmentService,
+            MeterRegistry meterRegistry)
     {
         this.deviceRepository = deviceRepository;
         this.deviceAssignmentService = deviceAssignmentService;
+        registerMetrics(meterRegistry, "by-id", byIdFlight);
+        registerMetrics(meterRegistry, "by-barcode", byBarcodeFlight);
+        this.reserveMetrics = new OperationMetrics(meterRegistry, "reserve-devices");
+        this.restoreMetrics = new OperationMetrics(meterRegistry, "restore-device-states");
+        this.updateBatchMetrics = new OperationMetrics(meterRegistry, "update-devices-batch");
     }
 
     /**
@@ -115,36 +137,43 @@ public class DeviceServiceImpl implements DeviceService {
     /**
      * Obtiene un dispositivo por su identificador UUID.
      *
+     * Las peticiones concurrentes del mismo ID comparten una única consulta y su resultado.
+     *
      * @param id identificador UUID del dispositivo
      * @return {@link DeviceRs} correspondiente
      * @throws DeviceException si no se encuentra el dispositivo (tipo NOT_FOUND)
      */
     @Override
     public DeviceRs getDeviceById(UUID id) {
+        return coalesce(byIdFlight, id, () -> {
 
-        Device device = deviceRepository.findById(id)
-                .orElseThrow(() -> new DeviceException(
-                        String.format(MessageException.DEVICE_ALREADY_EXISTS, id),
-                        DeviceException.Type.NOT_FOUND
-                ));
+            Device device = deviceRepository.findById(id)
+                    .orElseThrow(() -> new DeviceException(
+                            String.format(MessageException.DEVICE_NOT_FOUND_BY_ID, id),
+                            DeviceException.Type.NOT_FOUND
+                    ));
 
-        return buildDeviceRs(device);
+            return buildDeviceRs(device);
+        });
     }
 
     /**
      * Obtiene la entidad {@link Device} por su código de barras.
      *
+     * Las peticiones concurrentes del mismo barcode comparten una única consulta y la misma instancia de
+     * la entidad, que no debe modificarse.
+     *
      * @param barcode código de barras del dispositivo
      * @return entidad {@link Device}
      * @throws DeviceException si no se encuentra el dispositivo (tipo NOT_FOUND)
      */
     @Override
     public Device getDeviceByBarcode(String barcode) {
-        return deviceRepository.findByBarcode(barcode)
+        return coalesce(byBarcodeFlight, barcode, () -> deviceRepository.findByBarcode(barcode)
                 .orElseThrow(() -> new DeviceException(
                         String.format(MessageException.DEVICE_NOT_FOUND_BY_BARCODE, barcode),
                         DeviceException.Type.NOT_FOUND
-                ));
+                )));
     }
 
     /**
@@ -330,10 +359,15 @@ public class DeviceServiceImpl implements DeviceService {
     @Override
     @Transactional
     public void restoreDeviceStates(List<RestoreDevicesRq.RestoreItem> items) {
+        restoreMetrics.record(() -> restore(items));
+    }
+
+    private void restore(List<RestoreDevicesRq.RestoreItem> items) {
 
         if (items == null || items.isEmpty()) {
             throw new DeviceException(MessageException.DEVICES_LIST_CANNOT_BE_EMPTY, DeviceException.Type.BAD_REQUEST);
         }
+        restoreMetrics.recordBatchSize(items.size());
 
         try {
             // Extraer IDs y mapear estados por ID
@@ -353,6 +387,7 @@ public class DeviceServiceImpl implements DeviceService {
             Map<UUID, DeviceStatusEnum> idToState = items.stream()
                     .collect(Collectors.toMap(RestoreDevicesRq.RestoreItem::getDeviceId, RestoreDevicesRq.RestoreItem::getState));
 
+            int changed = 0;
             for (Device device : foundDevices) {
                 UUID deviceId = device.getId();
                 DeviceStatusEnum targetState = idToState.get(deviceId);
@@ -375,12 +410,14 @@ public class DeviceServiceImpl implements DeviceService {
                 // Aplicar el nuevo estado (si es diferente del existente)
                 if (!device.getStatus().equals(targetState)) {
                     device.setStatus(targetState);
+                    changed++;
                     log.info("Device {} status updated to {}", deviceId, targetState);
                 }
             }
 
             // Guardar actualizaciones en la base de datos
-            deviceRepository.saveAll(foundDevices);
+            deviceRepository.saveAllAndFlush(foundDevices);
+            restoreMetrics.recordRowsAffected(changed);
             log.info("Successfully restored states for devices: {}", ids);
 
         } catch (DataAccessException dae) {
@@ -421,6 +458,10 @@ public class DeviceServiceImpl implements DeviceService {
     @Override
     @Transactional
     public void reserveDevices(List<UUID> deviceIds, DeviceStatusEnum state, UUID orderId) {
+        reserveMetrics.record(() -> reserve(deviceIds, state, orderId));
+    }
+
+    private void reserve(List<UUID> deviceIds, DeviceStatusEnum state, UUID orderId) {
 
         // Verificar que la lista de IDs no sea vacía o nula
         if (deviceIds == null || deviceIds.isEmpty()) {
@@ -438,6 +479,8 @@ public class DeviceServiceImpl implements DeviceService {
             );
         }
 
+        reserveMetrics.recordBatchSize(deviceIds.size());
+
         // Recuperar los dispositivos desde la base de datos haciendo un bloqueo pesimista a los registros.
         List<Device> devices = deviceRepository.findAllByIdIn(deviceIds);
 
@@ -473,7 +516,8 @@ public class DeviceServiceImpl implements DeviceService {
 
         try {
             // Persistir los cambios en la base de datos
-            deviceRepository.saveAll(devices);
+            deviceRepository.saveAllAndFlush(devices);
+            reserveMetrics.recordRowsAffected(devices.size());
         } catch (DataAccessException ex) {
             log.error("Error al actualizar el estado de los dispositivos {}: {}", deviceIds, ex.getMessage());
             throw new DeviceException(
@@ -493,6 +537,10 @@ public class DeviceServiceImpl implements DeviceService {
     @Override
     @Transactional
     public void updateDevicesBatch(List<UUID> deviceIds, DeviceStatusEnum state) {
+        updateBatchMetrics.record(() -> updateBatch(deviceIds, state));
+    }
+
+    private void updateBatch(List<UUID> deviceIds, DeviceStatusEnum state) {
 
         // Verificar que la lista de IDs no sea vacía o nula
         if (deviceIds == null || deviceIds.isEmpty()) {
@@ -502,6 +550,8 @@ public class DeviceServiceImpl implements DeviceService {
             );
         }
 
+        updateBatchMetrics.recordBatchSize(deviceIds.size());
+
         // Recuperar los dispositivos desde la base de datos haciendo un bloqueo pesimista a los registros.
         List<Device> devices = deviceRepository.findAllByIdIn(deviceIds);
 
@@ -524,7 +574,8 @@ public class DeviceServiceImpl implements DeviceService {
 
         try {
             // Persistir los cambios en la base de datos
-            deviceRepository.saveAll(devices);
+            deviceRepository.saveAllAndFlush(devices);
+            updateBatchMetrics.recordRowsAffected(devices.size());
         } catch (DataAccessException ex) {
             log.error("Error al actualizar el estado de los dispositivos {}: {}", deviceIds, ex.getMessage());
             throw new DeviceException(
@@ -535,165 +586,38 @@ public class DeviceServiceImpl implements DeviceService {
     }
 
     /**
-     * Procesa un archivo de cargue y crea los dispositivos de forma masiva.
-     *
-     * @param file archivo Excel(.xls o xlsx) que contiene los datos para la carga masiva
-     * @return <void>
-     */
-    @Transactional
-    @Override
-    public void uploadDevicesArchive(MultipartFile file) {
-
-        // Validar que el archivo no esté vacío
-        if (file.isEmpty()) {
-            throw new DeviceException("El archivo está vacío. Carga un archivo válido.", DeviceException.Type.BAD_REQUEST);
-        }
-
-        List<CreateDeviceRq> requestDevices = new ArrayList<>();
-
-        try (
-                Workbook workbook = new XSSFWorkbook(file.getInputStream())
-        ) {
-            Sheet sheet = workbook.getSheetAt(0);
-
-            // Validar que hay filas de datos
-            if (sheet.getPhysicalNumberOfRows() <= 1) {
-                throw new DeviceException("El archivo no contiene datos validos.",
-                        DeviceException.Type.BAD_REQUEST);
-            }
-
-            //Cargar dispositivos del archivo
-            for (int i = 1; i < sheet.getPhysicalNumberOfRows(); i++) {
-                Row row = sheet.getRow(i);
-
-                if (row != null) {
-                    try {
-                        // Convertir el formato del dispositivo a un objeto CreateDeviceRq
-                        CreateDeviceRq request = parseRowToCreateDeviceRq(row);
-
-                        // validar la existencia en la base de datos por barcode
-                        String barcode = request.getBarcode().trim().toUpperCase();
-                        if (deviceRepository.findByBarcode(barcode).isPresent()) {
-                            throw new DeviceException(MessageException.DEVICE_ALREADY_EXISTS + request.getBarcode(),
-                                    DeviceException.Type.BAD_REQUEST);
-                        }
-
-                        requestDevices.add(request);
-
-                    } catch (DeviceException e) {
-                      throw new DeviceException("Error en la fila " + (i + 1) + ": " + e.getMessage(),
-                              DeviceException.Type.BAD_REQUEST);
-                    }
-                }
-            }
-
-            // Validar duplicados en el archivo antes de guardar y borrarlos(barcode)
-            removeDuplicatesWithStream(requestDevices);
-
-            // Convertir los dto a Entity y guardar
-            List<Device> devices = requestDevices.stream()
-                    .map(this::mapToDeviceEntity)
-                    .collect(Collectors.toList());
-
-            deviceRepository.saveAll(devices);
-        } catch (IOException e) {
-            throw new DeviceException(
-                    "Ocurrió un error al leer el archivo Excel. Verifique si el archivo es valido.",
-                    DeviceException.Type.INTERNAL_SERVER
-            );
-        }
-    }
-
-    /**
-     * Convierte una fila del archivo Excel en un objeto CreateDeviceRq.
+     * Ejecuta la consulta agrupándola con las concurrentes de la misma clave. Dentro de una transacción se
+     * consulta directamente, para no compartir entidades entre contextos de persistencia transaccionales.
      *
-     * @param row fila procesada del archivo Excel
-     * @return un objeto CreateDeviceRq
-     * @throws DeviceException si alguna columna tiene datos inválidos
+     * @param flight agrupador de la consulta
+     * @param key clave consultada
+     * @param loader consulta a la base de datos
+     * @return resultado de la consulta
      */
-    private CreateDeviceRq parseRowToCreateDeviceRq(Row row){
-
-        String name = getStringCellValue(row.getCell(0));
-        String brand = getStringCellValue(row.getCell(1));
-        String barcode = getStringCellValue(row.getCell(2));
-        String state = getStringCellValue(row.getCell(3));
-
-        if (state == null || state.isBlank()) {
-            throw new DeviceException("El estado del dispositivo no puede estar vacío",
-                    DeviceException.Type.BAD_REQUEST);
-        }
-
-         DeviceStatusEnum status;
-
-        try {
-            status = DeviceStatusEnum.valueOf(state.toUpperCase());
-        } catch ( DeviceException e) {
-            throw new DeviceException("El estado del dispositivo '" + state + "' no es valido.",
-                    DeviceException.Type.BAD_REQUEST);
+    private static <K, V> V coalesce(SingleFlight<K, V> flight, K key, Supplier<V> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
         }
-
-        // Crear y retornar el objeto CreateDeviceRq
-        return CreateDeviceRq.builder()
-                .name(name)
-                .brand(brand)
-                .barcode(barcode)
-                .status(status)
-                .build();
-    }
-
-    /**
-     * Obtiene el valor de una celda como String.
-     *
-     * @param cell celda a procesar
-     * @return Valor como String o {@code null} si la celda está vacía
-     */
-    private String getStringCellValue(Cell cell) {
-        if (cell == null) return null;
-        return switch (cell.getCellType()) {
-            case STRING -> cell.getStringCellValue().trim(); // Eliminar espacios en los datos tipo texto
-            case NUMERIC ->
-                    String.valueOf((long) cell.getNumericCellValue()); // Convertir números a String (sin decimales)
-            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue()); // Manejar datos booleanos
-            default -> null; // Otros tipos, como FORMULA, no se manejan explícitamente
-        };
-    }
-
-    /**
-     * Elimina duplicados en la lista basada en el código de barras (barcode).
-     *
-     * @param devices Lista de dispositivos cargados.
-     * @return Lista nueva sin duplicados.
-     */
-    private List<CreateDeviceRq> removeDuplicatesWithStream(List<CreateDeviceRq> devices) {
-        return devices.stream()
-                .filter(distinctByKey(CreateDeviceRq::getBarcode)) // Filtrado por barcode único
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Función auxiliar para filtrar elementos únicos por una clave.
-     *
-     * @param keyExtractor Función para obtener la clave (en este caso, el barcode).
-     * @param <T> Tipo de los elementos en el stream.
-     * @return Predicate para filtrar únicos por clave.
-     */
-    private static <T> Predicate<T> distinctByKey(Function<? super T, Object> keyExtractor) {
-        Set<Object> seenKeys = new HashSet<>();
-        return t -> seenKeys.add(keyExtractor.apply(t));
+        return flight.execute(key, loader);
     }
 
     /**
-     * Convierte un objeto CreateDeviceRq en una entidad Device.
+     * Registra las métricas de un agrupador: {@code devices.single_flight.calls} con {@code outcome=load}
+     * (consultas ejecutadas) o {@code outcome=shared} (consultas ahorradas), y las claves en curso.
      *
-     * @param request el DTO CreateDeviceRq
-     * @return una entidad Device
+     * @param meterRegistry registro de métricas
+     * @param operation consulta agrupada
+     * @param flight agrupador
      */
-    private Device mapToDeviceEntity(CreateDeviceRq request) {
-        return Device.builder()
-                .name(request.getName())
-                .brand(request.getBrand())
-                .barcode(request.getBarcode())
-                .status(request.getStatus())
-                .build();
+    private static void registerMetrics(MeterRegistry meterRegistry, String operation, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("devices.single_flight.calls", flight, SingleFlight::getLoads)
+                .tag("operation", operation).tag("outcome", "load")
+                .register(meterRegistry);
+        FunctionCounter.builder("devices.single_flight.calls", flight, SingleFlight::getShared)
+                .tag("operation", operation).tag("outcome", "shared")
+                .register(meterRegistry);
+        Gauge.builder("devices.single_flight.in_flight", flight, SingleFlight::getInFlight)
+                .tag("operation", operation)
+                .register(meterRegistry);
     }
 }
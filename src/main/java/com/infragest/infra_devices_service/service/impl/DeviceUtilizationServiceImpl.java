@@ -0,0 +1,306 @@
+package com.infragest.infra_devices_service.service.impl;
+
+import com.infragest.infra_devices_service.entity.DeviceUsageDaily;
+import com.infragest.infra_devices_service.enums.UtilizationGroupByEnum;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.model.AssignmentInterval;
+import com.infragest.infra_devices_service.model.DeviceUtilizationRs;
+import com.infragest.infra_devices_service.repository.DeviceAssignmentArchiveRepository;
+import com.infragest.infra_devices_service.repository.DeviceAssignmentRepository;
+import com.infragest.infra_devices_service.repository.DeviceRepository;
+import com.infragest.infra_devices_service.repository.DeviceUsageDailyRepository;
+import com.infragest.infra_devices_service.service.DeviceUtilizationService;
+import com.infragest.infra_devices_service.util.MessageException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de {@link DeviceUtilizationService}.
+ *
+ * Los intervalos se reparten por día natural; el tiempo ocupado se suma a cada día que cubre el
+ * intervalo y la asignación se cuenta en el día en que empezó. Las asignaciones activas no están
+ * en los acumulados (se registran al liberarse), por lo que se suman en vivo al consultar.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class DeviceUtilizationServiceImpl implements DeviceUtilizationService {
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    /**
+     * Número de acumulados pendientes a partir del cual se vuelcan a la base de datos
+     * durante una reconstrucción, para mantener acotada la memoria.
+     */
+    private static final int REBUILD_FLUSH_THRESHOLD = 10_000;
+
+    private final DeviceUsageDailyRepository deviceUsageDailyRepository;
+    private final DeviceAssignmentRepository deviceAssignmentRepository;
+    private final DeviceAssignmentArchiveRepository deviceAssignmentArchiveRepository;
+    private final DeviceRepository deviceRepository;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param deviceUsageDailyRepository Repositorio de acumulados diarios.
+     * @param deviceAssignmentRepository Repositorio de asignaciones.
+     * @param deviceAssignmentArchiveRepository Repositorio de asignaciones archivadas.
+     * @param deviceRepository Repositorio de dispositivos.
+     */
+    public DeviceUtilizationServiceImpl(DeviceUsageDailyRepository deviceUsageDailyRepository,
+                                        DeviceAssignmentRepository deviceAssignmentRepository,
+                                        DeviceAssignmentArchiveRepository deviceAssignmentArchiveRepository,
+                                        DeviceRepository deviceRepository) {
+        this.deviceUsageDailyRepository = deviceUsageDailyRepository;
+        this.deviceAssignmentRepository = deviceAssignmentRepository;
+        this.deviceAssignmentArchiveRepository = deviceAssignmentArchiveRepository;
+        this.deviceRepository = deviceRepository;
+    }
+
+    /**
+     * Suma un intervalo finalizado a los acumulados diarios del dispositivo.
+     *
+     * @param deviceId   identificador del dispositivo
+     * @param brand      marca del dispositivo
+     * @param assignedAt inicio del intervalo
+     * @param releasedAt fin del intervalo
+     */
+    @Override
+    @Transactional
+    public void recordInterval(UUID deviceId, String brand, LocalDateTime assignedAt, LocalDateTime releasedAt) {
+        Map<DeviceUsageDaily.Key, DeviceUsageDaily> pending = new HashMap<>();
+        accumulate(new AssignmentInterval(deviceId, brand, assignedAt, releasedAt), assignedAt, releasedAt, pending);
+        flush(pending);
+    }
+
+    /**
+     * Calcula la utilización en la ventana de días indicada a partir de los acumulados
+     * diarios y de las asignaciones activas.
+     *
+     * @param from    primer día (inclusive)
+     * @param to      último día (inclusive)
+     * @param groupBy criterio de agregación
+     * @return lista de resultados ordenada por tiempo ocupado descendente
+     * @throws DeviceException si la ventana es inválida (tipo BAD_REQUEST)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<DeviceUtilizationRs> getUtilization(LocalDate from, LocalDate to, UtilizationGroupByEnum groupBy) {
+
+        validateWindow(from, to);
+
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        LocalDateTime windowStart = from.atStartOfDay();
+        LocalDateTime windowEnd = to.plusDays(1).atStartOfDay();
+
+        // Las asignaciones activas aún no están en los acumulados: se suman en vivo hasta ahora
+        Map<DeviceUsageDaily.Key, DeviceUsageDaily> live = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (AssignmentInterval active : deviceAssignmentRepository.findActiveIntervals()) {
+            accumulate(active, windowStart, windowEnd.isBefore(now) ? windowEnd : now, live);
+        }
+
+        List<DeviceUtilizationRs> result = groupBy == UtilizationGroupByEnum.BRAND
+                ? utilizationByBrand(from, to, days, live.values())
+                : utilizationByDevice(from, to, days, live.values());
+
+        result.sort(Comparator.comparingLong(DeviceUtilizationRs::getOccupiedSeconds).reversed());
+        return result;
+    }
+
+    /**
+     * Reconstruye los acumulados diarios del rango a partir de las asignaciones liberadas.
+     *
+     * @param from primer día (inclusive)
+     * @param to   último día (inclusive)
+     * @return número de intervalos procesados
+     * @throws DeviceException si el rango es inválido (tipo BAD_REQUEST)
+     */
+    @Override
+    @Transactional
+    public long rebuildRollups(LocalDate from, LocalDate to) {
+
+        validateWindow(from, to);
+
+        LocalDateTime rangeStart = from.atStartOfDay();
+        LocalDateTime rangeEnd = to.plusDays(1).atStartOfDay();
+
+        int deleted = deviceUsageDailyRepository.deleteByUsageDayBetween(from, to);
+
+        // Los acumulados son aditivos, así que se pueden volcar por tramos mientras se recorre
+        Map<DeviceUsageDaily.Key, DeviceUsageDaily> pending = new HashMap<>();
+        long intervals = 0;
+        try (Stream<AssignmentInterval> recent = deviceAssignmentRepository.streamReleasedIntervals(rangeStart, rangeEnd)) {
+            intervals += accumulateAll(recent.iterator(), rangeStart, rangeEnd, pending);
+        }
+        try (Stream<AssignmentInterval> archived = deviceAssignmentArchiveRepository.streamReleasedIntervals(rangeStart, rangeEnd)) {
+            intervals += accumulateAll(archived.iterator(), rangeStart, rangeEnd, pending);
+        }
+        flush(pending);
+
+        log.info("Acumulados de uso reconstruidos entre {} y {}: {} intervalos procesados, {} filas previas eliminadas",
+                from, to, intervals, deleted);
+        return intervals;
+    }
+
+    /**
+     * Acumula los intervalos de un recorrido, volcando a la base de datos cada cierto número de acumulados.
+     *
+     * @return número de intervalos procesados
+     */
+    private long accumulateAll(Iterator<AssignmentInterval> intervals, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                               Map<DeviceUsageDaily.Key, DeviceUsageDaily> pending) {
+        long count = 0;
+        while (intervals.hasNext()) {
+            accumulate(intervals.next(), rangeStart, rangeEnd, pending);
+            count++;
+            if (pending.size() >= REBUILD_FLUSH_THRESHOLD) {
+                flush(pending);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Construye los resultados por dispositivo.
+     */
+    private List<DeviceUtilizationRs> utilizationByDevice(LocalDate from, LocalDate to, long days,
+                                                          Collection<DeviceUsageDaily> live) {
+        Map<UUID, DeviceUtilizationRs> byDevice = new LinkedHashMap<>();
+
+        for (DeviceUsageDailyRepository.DeviceUsage usage : deviceUsageDailyRepository.aggregateByDevice(from, to)) {
+            DeviceUtilizationRs rs = emptyResult(usage.getDeviceId(), usage.getBrand(), from, to, 1);
+            addTotals(rs, usage.getOccupiedSeconds(), usage.getAssignmentCount(), usage.getBusyDays());
+            byDevice.put(usage.getDeviceId(), rs);
+        }
+        for (DeviceUsageDaily usage : live) {
+            DeviceUtilizationRs rs = byDevice.computeIfAbsent(usage.getDeviceId(),
+                    id -> emptyResult(id, usage.getBrand(), from, to, 1));
+            addTotals(rs, usage.getOccupiedSeconds(), usage.getAssignmentCount(), usage.getOccupiedSeconds() > 0 ? 1L : 0L);
+        }
+
+        byDevice.values().forEach(rs -> complete(rs, days));
+        return new ArrayList<>(byDevice.values());
+    }
+
+    /**
+     * Construye los resultados por marca; la capacidad se calcula con los dispositivos registrados de cada marca.
+     */
+    private List<DeviceUtilizationRs> utilizationByBrand(LocalDate from, LocalDate to, long days,
+                                                         Collection<DeviceUsageDaily> live) {
+        Map<String, DeviceUtilizationRs> byBrand = new LinkedHashMap<>();
+
+        for (DeviceRepository.BrandCount count : deviceRepository.countByBrand()) {
+            byBrand.put(count.getBrand(), emptyResult(null, count.getBrand(), from, to, count.getDevices()));
+        }
+        for (DeviceUsageDailyRepository.UsageTotals usage : deviceUsageDailyRepository.aggregateByBrand(from, to)) {
+            DeviceUtilizationRs rs = byBrand.computeIfAbsent(usage.getBrand(), brand -> emptyResult(null, brand, from, to, 0));
+            addTotals(rs, usage.getOccupiedSeconds(), usage.getAssignmentCount(), usage.getBusyDays());
+        }
+        for (DeviceUsageDaily usage : live) {
+            DeviceUtilizationRs rs = byBrand.computeIfAbsent(usage.getBrand(), brand -> emptyResult(null, brand, from, to, 0));
+            addTotals(rs, usage.getOccupiedSeconds(), usage.getAssignmentCount(), usage.getOccupiedSeconds() > 0 ? 1L : 0L);
+        }
+
+        byBrand.values().forEach(rs -> complete(rs, days));
+        return new ArrayList<>(byBrand.values());
+    }
+
+    /**
+     * Reparte un intervalo por día natural, recortado a [rangeStart, rangeEnd), y lo suma al acumulador.
+     */
+    private void accumulate(AssignmentInterval interval, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                            Map<DeviceUsageDaily.Key, DeviceUsageDaily> pending) {
+
+        LocalDateTime end = interval.getReleasedAt() == null || interval.getReleasedAt().isAfter(rangeEnd)
+                ? rangeEnd
+                : interval.getReleasedAt();
+        LocalDateTime cursor = interval.getAssignedAt().isBefore(rangeStart) ? rangeStart : interval.getAssignedAt();
+
+        // La asignación se cuenta una única vez, en el día en que empezó (si está dentro del rango)
+        if (!interval.getAssignedAt().isBefore(rangeStart) && interval.getAssignedAt().isBefore(rangeEnd)) {
+            DeviceUsageDaily firstDay = usageFor(interval, interval.getAssignedAt().toLocalDate(), pending);
+            firstDay.setAssignmentCount(firstDay.getAssignmentCount() + 1);
+        }
+
+        while (cursor.isBefore(end)) {
+            LocalDateTime nextDay = cursor.toLocalDate().plusDays(1).atStartOfDay();
+            LocalDateTime segmentEnd = nextDay.isBefore(end) ? nextDay : end;
+            DeviceUsageDaily usage = usageFor(interval, cursor.toLocalDate(), pending);
+            usage.setOccupiedSeconds(usage.getOccupiedSeconds() + Duration.between(cursor, segmentEnd).getSeconds());
+            cursor = segmentEnd;
+        }
+    }
+
+    /**
+     * Obtiene (o crea) el acumulado pendiente de un dispositivo para un día.
+     */
+    private DeviceUsageDaily usageFor(AssignmentInterval interval, LocalDate day,
+                                      Map<DeviceUsageDaily.Key, DeviceUsageDaily> pending) {
+        return pending.computeIfAbsent(new DeviceUsageDaily.Key(interval.getDeviceId(), day),
+                key -> DeviceUsageDaily.builder()
+                        .deviceId(key.getDeviceId())
+                        .usageDay(key.getUsageDay())
+                        .brand(interval.getBrand())
+                        .build());
+    }
+
+    /**
+     * Vuelca los acumulados pendientes sumándolos a los existentes y vacía el acumulador.
+     */
+    private void flush(Map<DeviceUsageDaily.Key, DeviceUsageDaily> pending) {
+        for (DeviceUsageDaily usage : pending.values()) {
+            if (usage.getOccupiedSeconds() > 0 || usage.getAssignmentCount() > 0) {
+                deviceUsageDailyRepository.increment(usage.getDeviceId(), usage.getUsageDay(), usage.getBrand(),
+                        usage.getOccupiedSeconds(), usage.getAssignmentCount());
+            }
+        }
+        pending.clear();
+    }
+
+    private DeviceUtilizationRs emptyResult(UUID deviceId, String brand, LocalDate from, LocalDate to, long deviceCount) {
+        return DeviceUtilizationRs.builder()
+                .deviceId(deviceId)
+                .brand(brand)
+                .from(from)
+                .to(to)
+                .deviceCount(deviceCount)
+                .build();
+    }
+
+    private void addTotals(DeviceUtilizationRs rs, Long occupiedSeconds, Long assignmentCount, Long busyDays) {
+        rs.setOccupiedSeconds(rs.getOccupiedSeconds() + (occupiedSeconds != null ? occupiedSeconds : 0L));
+        rs.setAssignmentCount(rs.getAssignmentCount() + (assignmentCount != null ? assignmentCount : 0L));
+        rs.setBusyDays(rs.getBusyDays() + (busyDays != null ? busyDays : 0L));
+    }
+
+    /**
+     * Calcula los campos derivados de capacidad: tiempo y días ociosos y fracción de uso.
+     */
+    private void complete(DeviceUtilizationRs rs, long days) {
+        long capacityDays = rs.getDeviceCount() * days;
+        long capacitySeconds = capacityDays * SECONDS_PER_DAY;
+        rs.setBusyDays(Math.min(rs.getBusyDays(), capacityDays));
+        rs.setIdleDays(Math.max(0L, capacityDays - rs.getBusyDays()));
+        rs.setIdleSeconds(Math.max(0L, capacitySeconds - rs.getOccupiedSeconds()));
+        rs.setUtilization(capacitySeconds > 0
+                ? Math.min(1d, (double) rs.getOccupiedSeconds() / capacitySeconds)
+                : 0d);
+    }
+
+    private void validateWindow(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new DeviceException(MessageException.INVALID_DATE_RANGE, DeviceException.Type.BAD_REQUEST);
+        }
+    }
+}
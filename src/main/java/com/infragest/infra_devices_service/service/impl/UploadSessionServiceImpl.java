@@ -0,0 +1,504 @@
+package com.infragest.infra_devices_service.service.impl;
+
+import com.infragest.infra_devices_service.entity.UploadSession;
+import com.infragest.infra_devices_service.enums.BulkUploadFormatEnum;
+import com.infragest.infra_devices_service.enums.BulkUploadModeEnum;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.model.BulkUploadJobRs;
+import com.infragest.infra_devices_service.model.UploadSessionRq;
+import com.infragest.infra_devices_service.model.UploadSessionRs;
+import com.infragest.infra_devices_service.repository.UploadSessionRepository;
+import com.infragest.infra_devices_service.service.BulkUploadService;
+import com.infragest.infra_devices_service.service.UploadSessionService;
+import com.infragest.infra_devices_service.util.FileHashes;
+import com.infragest.infra_devices_service.util.MessageException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implementación de {@link UploadSessionService}.
+ *
+ * Los metadatos de cada sesión (dueño, formato, tamaño y offset de bytes contiguos recibidos) se guardan en
+ * la tabla {@code upload_session}, y los bytes en el archivo {@code session-<id><extensión>} del spool; así
+ * la carga sobrevive a un reinicio. Al confirmar, el archivo se renombra dentro del spool y se entrega a
+ * {@link BulkUploadService#submitSpooledUpload}.
+ *
+ * Con varias réplicas, {@code devices.bulk-upload.spool-dir} debe apuntar a un volumen compartido por todas
+ * (el valor por defecto, bajo {@code java.io.tmpdir}, es local a cada nodo): los rangos de una sesión pueden
+ * llegar a cualquier réplica. Al arrancar se comprueba que el directorio existe y admite escrituras; si una
+ * réplica no encuentra el archivo de una sesión registrada responde con
+ * {@link MessageException#UPLOAD_SESSION_DATA_MISSING} en lugar de tratar la sesión como incompleta.
+ *
+ * Los rangos deben llegar en orden: un rango que empieza después del offset actual se rechaza y uno que
+ * se solapa con lo ya recibido solo aporta sus bytes nuevos, lo que permite reintentar tras un corte. El
+ * cuerpo se copia sin bloqueos, escribiendo en posiciones absolutas del archivo; el offset avanza después con
+ * una actualización condicional que solo lo hace crecer.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class UploadSessionServiceImpl implements UploadSessionService {
+
+    /**
+     * Formato de la cabecera Content-Range: {@code bytes inicio-fin/total} (total puede ser {@code *}).
+     */
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes\\s+(\\d+)-(\\d+)/(\\d+|\\*)");
+
+    /**
+     * Prefijo de los archivos de las sesiones en el spool.
+     */
+    private static final String SESSION_FILE_PREFIX = "session-";
+
+    /**
+     * Tamaño del búfer de copia hacia el archivo de la sesión.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Inyección de dependencia: Servicio de cargas masivas que procesa el archivo confirmado.
+     */
+    private final BulkUploadService bulkUploadService;
+
+    /**
+     * Inyección de dependencia: Repositorio de sesiones de carga.
+     */
+    private final UploadSessionRepository uploadSessionRepository;
+
+    /**
+     * Transacciones cortas para las actualizaciones de la sesión; la copia del cuerpo queda fuera.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Directorio donde se arman los archivos de las sesiones (el mismo spool de las cargas masivas); compartido
+     * entre réplicas.
+     */
+    @Value("${devices.bulk-upload.spool-dir:${java.io.tmpdir}/infra-devices-uploads}")
+    private Path spoolDir;
+
+    /**
+     * Tamaño máximo de un archivo cargado por sesión.
+     */
+    @Value("${devices.bulk-upload.session.max-size:2GB}")
+    private DataSize maxSize;
+
+    /**
+     * Tiempo sin recibir datos tras el cual una sesión expira.
+     */
+    @Value("${devices.bulk-upload.session.ttl:PT1H}")
+    private Duration ttl;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param bulkUploadService servicio de cargas masivas
+     * @param uploadSessionRepository repositorio de sesiones de carga
+     * @param transactionManager gestor de transacciones
+     */
+    public UploadSessionServiceImpl(BulkUploadService bulkUploadService,
+                                    UploadSessionRepository uploadSessionRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.bulkUploadService = bulkUploadService;
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Comprueba al arrancar que el spool existe y admite escrituras, para no aceptar sesiones que luego no se
+     * podrían guardar.
+     *
+     * @throws IllegalStateException si el directorio no se puede crear o no admite escrituras
+     */
+    @PostConstruct
+    void checkSpoolDir() {
+        try {
+            Files.createDirectories(spoolDir);
+            Files.delete(Files.createTempFile(spoolDir, ".probe-", ".tmp"));
+        } catch (IOException e) {
+            throw new IllegalStateException("El directorio de spool " + spoolDir + " no admite escrituras", e);
+        }
+        log.info("Spool de sesiones de carga en {}; con varias réplicas debe ser un volumen compartido", spoolDir);
+    }
+
+    /**
+     * Abre una sesión de carga.
+     *
+     * @param request nombre, content-type y tamaño del archivo
+     * @param owner usuario dueño de la sesión
+     * @return estado inicial de la sesión
+     */
+    @Override
+    public UploadSessionRs openSession(UploadSessionRq request, String owner) {
+
+        BulkUploadFormatEnum format = BulkUploadFormatEnum.detect(request.getContentType(), request.getFilename())
+                .orElseThrow(() -> new DeviceException(MessageException.BULK_UPLOAD_UNSUPPORTED_FORMAT,
+                        DeviceException.Type.BAD_REQUEST));
+
+        if (request.getTotalSize() > maxSize.toBytes()) {
+            throw new DeviceException(
+                    String.format(MessageException.UPLOAD_SESSION_TOO_LARGE, request.getTotalSize(), maxSize.toBytes()),
+                    DeviceException.Type.BAD_REQUEST
+            );
+        }
+
+        UploadSession session = uploadSessionRepository.save(UploadSession.builder()
+                .owner(owner)
+                .originalFilename(request.getFilename())
+                .format(format)
+                .totalSize(request.getTotalSize())
+                .receivedBytes(0)
+                .lastActivityAt(LocalDateTime.now())
+                .build());
+
+        Path file = sessionFile(session);
+        try {
+            Files.createDirectories(spoolDir);
+            Files.createFile(file);
+        } catch (IOException e) {
+            log.error("No se pudo crear el archivo de la sesión de carga {}", session.getId(), e);
+            uploadSessionRepository.deleteById(session.getId());
+            throw new DeviceException(MessageException.BULK_UPLOAD_PROCESSING_ERROR, DeviceException.Type.INTERNAL_SERVER);
+        }
+        return toSessionRs(session);
+    }
+
+    /**
+     * Agrega un rango de bytes a la sesión.
+     *
+     * @param sessionId identificador de la sesión
+     * @param owner usuario dueño de la sesión
+     * @param contentRange cabecera {@code Content-Range}
+     * @param body contenido del rango
+     * @return estado de la sesión tras agregar el rango
+     */
+    @Override
+    public UploadSessionRs appendChunk(UUID sessionId, String owner, String contentRange, InputStream body) {
+
+        UploadSession session = findOpenSession(sessionId, owner);
+
+        Matcher range = contentRange != null ? CONTENT_RANGE.matcher(contentRange.trim()) : null;
+        if (range == null || !range.matches()) {
+            throw invalidRange(contentRange);
+        }
+        long start = Long.parseLong(range.group(1));
+        long end = Long.parseLong(range.group(2));
+        boolean totalMatches = "*".equals(range.group(3)) || Long.parseLong(range.group(3)) == session.getTotalSize();
+        if (start > end || end >= session.getTotalSize() || !totalMatches) {
+            throw invalidRange(contentRange);
+        }
+
+        long received = session.getReceivedBytes();
+        if (start > received) {
+            throw new DeviceException(
+                    String.format(MessageException.UPLOAD_SESSION_OFFSET_MISMATCH, start, received),
+                    DeviceException.Type.CONFLICT
+            );
+        }
+
+        // Un rango ya recibido por completo (reintento) no aporta bytes nuevos
+        Appended appended = end >= received
+                ? append(session, body, received - start, received, end + 1 - received)
+                : new Appended(0, null);
+        if (appended.failure() instanceof NoSuchFileException) {
+            throw dataMissing(sessionId);
+        }
+
+        long advanced = received + appended.bytes();
+        Integer updated = transactionTemplate.execute(status ->
+                uploadSessionRepository.advanceReceived(sessionId, advanced, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            throw notFound(sessionId);
+        }
+        UploadSession current = findOpenSession(sessionId, owner);
+
+        if (appended.failure() != null) {
+            log.warn("Carga interrumpida en la sesión {} con {} bytes recibidos: {}",
+                    sessionId, current.getReceivedBytes(), appended.failure().getMessage());
+            throw new DeviceException(
+                    String.format(MessageException.UPLOAD_SESSION_INCOMPLETE, current.getReceivedBytes(),
+                            current.getTotalSize()),
+                    DeviceException.Type.BAD_REQUEST
+            );
+        }
+        return toSessionRs(current);
+    }
+
+    /**
+     * Obtiene el estado de una sesión, para reanudar la carga.
+     *
+     * @param sessionId identificador de la sesión
+     * @param owner usuario dueño de la sesión
+     * @return estado de la sesión
+     */
+    @Override
+    public UploadSessionRs getSession(UUID sessionId, String owner) {
+        return toSessionRs(findOpenSession(sessionId, owner));
+    }
+
+    /**
+     * Confirma una sesión completa y encola el archivo para su procesamiento.
+     *
+     * @param sessionId identificador de la sesión
+     * @param owner usuario dueño de la sesión
+     * @param mode modo de la carga (inserción o upsert)
+     * @param clientIp dirección IP del cliente
+     * @param userAgent user agent del cliente
+     * @return estado del trabajo de carga masiva
+     */
+    @Override
+    public BulkUploadJobRs commitSession(UUID sessionId, String owner, BulkUploadModeEnum mode, String clientIp,
+                                 String userAgent) {
+
+        UploadSession session = findOpenSession(sessionId, owner);
+        if (session.getReceivedBytes() != session.getTotalSize()) {
+            throw new DeviceException(
+                    String.format(MessageException.UPLOAD_SESSION_INCOMPLETE, session.getReceivedBytes(),
+                            session.getTotalSize()),
+                    DeviceException.Type.BAD_REQUEST
+            );
+        }
+
+        // Reservar la sesión: otra confirmación concurrente (en esta u otra réplica) la verá como inexistente
+        Integer claimed = transactionTemplate.execute(status -> uploadSessionRepository.claimForCommit(sessionId, owner));
+        if (claimed == null || claimed == 0) {
+            throw notFound(sessionId);
+        }
+
+        // Fuera del prefijo session-, el archivo pasa a ser un spool de trabajo y deja de limpiarlo este servicio
+        Path sessionFile = sessionFile(session);
+        Path spooled = spoolDir.resolve(sessionId + session.getFormat().getExtension());
+        BulkUploadJobRs job;
+        try {
+            if (!Files.exists(sessionFile)) {
+                throw dataMissing(sessionId);
+            }
+            String fileHash = FileHashes.sha256(sessionFile);
+            Files.move(sessionFile, spooled, StandardCopyOption.ATOMIC_MOVE);
+            try {
+                job = bulkUploadService.submitSpooledUpload(spooled, fileHash, session.getOriginalFilename(),
+                        session.getFormat(), mode, owner, clientIp, userAgent);
+            } catch (RuntimeException e) {
+                // Si el envío falla (cola llena) la sesión puede confirmarse de nuevo
+                if (Files.exists(spooled)) {
+                    Files.move(spooled, sessionFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+                throw e;
+            }
+        } catch (IOException e) {
+            log.error("No se pudo preparar el archivo de la sesión de carga {}", sessionId, e);
+            transactionTemplate.executeWithoutResult(status -> uploadSessionRepository.releaseCommit(sessionId));
+            throw new DeviceException(MessageException.BULK_UPLOAD_PROCESSING_ERROR, DeviceException.Type.INTERNAL_SERVER);
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> uploadSessionRepository.releaseCommit(sessionId));
+            throw e;
+        }
+
+        uploadSessionRepository.deleteById(sessionId);
+        return job;
+    }
+
+    /**
+     * Cancela una sesión y elimina los datos recibidos.
+     *
+     * @param sessionId identificador de la sesión
+     * @param owner usuario dueño de la sesión
+     */
+    @Override
+    public void abortSession(UUID sessionId, String owner) {
+        UploadSession session = findOpenSession(sessionId, owner);
+        uploadSessionRepository.deleteById(sessionId);
+        deleteQuietly(sessionFile(session));
+    }
+
+    /**
+     * Elimina las sesiones que no han recibido datos dentro del tiempo de vida configurado, y los archivos de
+     * sesión del spool sin sesión registrada (por ejemplo, de una sesión cuyo registro se eliminó sin llegar a
+     * borrar el archivo) con esa misma antigüedad.
+     *
+     * @return número de sesiones eliminadas
+     */
+    @Override
+    public int purgeExpiredSessions() {
+        LocalDateTime limit = LocalDateTime.now().minus(ttl);
+        int purged = 0;
+        for (UploadSession session : uploadSessionRepository.findByLastActivityAtBefore(limit)) {
+            Integer deleted = transactionTemplate.execute(status ->
+                    uploadSessionRepository.deleteIdle(session.getId(), limit));
+            if (deleted != null && deleted > 0) {
+                deleteQuietly(sessionFile(session));
+                purged++;
+            }
+        }
+        if (purged > 0) {
+            log.info("Sesiones de carga expiradas eliminadas: {}", purged);
+        }
+        deleteOrphanSessionFiles();
+        return purged;
+    }
+
+    /**
+     * Elimina los archivos {@code session-*} del spool más antiguos que el tiempo de vida cuya sesión ya no
+     * existe.
+     */
+    private void deleteOrphanSessionFiles() {
+        if (!Files.isDirectory(spoolDir)) {
+            return;
+        }
+        long limit = System.currentTimeMillis() - ttl.toMillis();
+        Set<Path> candidates;
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            candidates = files
+                    .filter(file -> file.getFileName().toString().startsWith(SESSION_FILE_PREFIX))
+                    .filter(file -> lastModifiedMillis(file) < limit)
+                    .collect(Collectors.toSet());
+        } catch (IOException e) {
+            log.warn("No se pudo recorrer el directorio {}: {}", spoolDir, e.getMessage());
+            return;
+        }
+        for (Path file : candidates) {
+            UUID sessionId = sessionIdOf(file);
+            if (sessionId == null || !uploadSessionRepository.existsById(sessionId)) {
+                log.info("Se elimina el archivo de sesión huérfano {}", file);
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    /**
+     * Copia {@code count} bytes del cuerpo en el archivo de la sesión a partir de {@code position}, tras
+     * descartar {@code skip} bytes ya recibidos. Las escrituras usan posiciones absolutas, así que dos
+     * peticiones que reintentan el mismo rango escriben los mismos bytes en el mismo lugar.
+     *
+     * @return bytes escritos y, si el cuerpo se cortó o falló la escritura, el error
+     */
+    private Appended append(UploadSession session, InputStream body, long skip, long position, long count) {
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(sessionFile(session), StandardOpenOption.WRITE)) {
+            body.skipNBytes(skip);
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (written < count) {
+                int read = body.read(buffer, 0, (int) Math.min(buffer.length, count - written));
+                if (read < 0) {
+                    break;
+                }
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk, position + written + chunk.position());
+                }
+                written += read;
+            }
+            return new Appended(written, null);
+        } catch (IOException e) {
+            return new Appended(written, e);
+        }
+    }
+
+    /**
+     * Busca una sesión abierta del usuario; las de otros usuarios y las que se están confirmando se tratan
+     * como inexistentes.
+     */
+    private UploadSession findOpenSession(UUID sessionId, String owner) {
+        return uploadSessionRepository.findByIdAndOwner(sessionId, owner)
+                .filter(session -> !session.isCommitting())
+                .orElseThrow(() -> notFound(sessionId));
+    }
+
+    private Path sessionFile(UploadSession session) {
+        return spoolDir.resolve(SESSION_FILE_PREFIX + session.getId() + session.getFormat().getExtension());
+    }
+
+    /**
+     * @return identificador de la sesión de un archivo {@code session-<id><extensión>}, o null si el nombre no
+     * tiene esa forma
+     */
+    private static UUID sessionIdOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.indexOf('.', SESSION_FILE_PREFIX.length());
+        try {
+            return UUID.fromString(name.substring(SESSION_FILE_PREFIX.length(), dot < 0 ? name.length() : dot));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long lastModifiedMillis(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            // Eliminado mientras se recorría el directorio
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar el archivo de la sesión {}", file, e);
+        }
+    }
+
+    private UploadSessionRs toSessionRs(UploadSession session) {
+        return UploadSessionRs.builder()
+                .id(session.getId())
+                .filename(session.getOriginalFilename())
+                .format(session.getFormat())
+                .totalSize(session.getTotalSize())
+                .receivedBytes(session.getReceivedBytes())
+                .complete(session.getReceivedBytes() == session.getTotalSize())
+                .expiresAt(session.getLastActivityAt().plus(ttl))
+                .build();
+    }
+
+    private static DeviceException notFound(UUID sessionId) {
+        return new DeviceException(String.format(MessageException.UPLOAD_SESSION_NOT_FOUND, sessionId),
+                DeviceException.Type.NOT_FOUND);
+    }
+
+    private static DeviceException invalidRange(String contentRange) {
+        return new DeviceException(String.format(MessageException.UPLOAD_SESSION_INVALID_RANGE, contentRange),
+                DeviceException.Type.BAD_REQUEST);
+    }
+
+    /**
+     * Error de una sesión registrada cuyo archivo no está en el spool de esta réplica.
+     */
+    private static DeviceException dataMissing(UUID sessionId) {
+        log.error("El archivo de la sesión de carga {} no está en el spool; revisar que sea compartido entre réplicas",
+                sessionId);
+        return new DeviceException(String.format(MessageException.UPLOAD_SESSION_DATA_MISSING, sessionId),
+                DeviceException.Type.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Resultado de copiar un rango: bytes escritos y el error que cortó la copia, si lo hubo.
+     */
+    private record Appended(long bytes, IOException failure) {
+    }
+}
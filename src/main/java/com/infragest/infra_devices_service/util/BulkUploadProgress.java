@@ -0,0 +1,85 @@
+package com.infragest.infra_devices_service.util;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores en memoria del progreso de una carga masiva en curso.
+ *
+ * Los contadores se actualizan una vez por bloque (nunca por fila) con {@link LongAdder}, que no
+ * bloquea a los hilos de validación ni al lector. Las lecturas son aproximadas mientras la carga avanza.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class BulkUploadProgress {
+
+    private final UUID jobId;
+    private final long startedAt = System.nanoTime();
+    private final LongAdder rowsRead = new LongAdder();
+    private final LongAdder rowsValidated = new LongAdder();
+    private final LongAdder rowsPersisted = new LongAdder();
+    private final LongAdder rowsRejected = new LongAdder();
+
+    /**
+     * Bloque actual; solo lo escribe el hilo lector.
+     */
+    private volatile int currentChunk;
+
+    public BulkUploadProgress(UUID jobId) {
+        this.jobId = jobId;
+    }
+
+    /**
+     * Registra un bloque leído del archivo.
+     *
+     * @param rows filas del bloque
+     */
+    public void chunkRead(int rows) {
+        currentChunk = currentChunk + 1;
+        rowsRead.add(rows);
+    }
+
+    public void rowsValidated(long rows) {
+        rowsValidated.add(rows);
+    }
+
+    public void rowsPersisted(long rows) {
+        rowsPersisted.add(rows);
+    }
+
+    public void rowsRejected(long rows) {
+        rowsRejected.add(rows);
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public long getRowsRead() {
+        return rowsRead.sum();
+    }
+
+    public long getRowsValidated() {
+        return rowsValidated.sum();
+    }
+
+    public long getRowsPersisted() {
+        return rowsPersisted.sum();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.sum();
+    }
+
+    public int getCurrentChunk() {
+        return currentChunk;
+    }
+
+    /**
+     * @return milisegundos transcurridos desde el inicio del procesamiento
+     */
+    public long getElapsedMs() {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+}
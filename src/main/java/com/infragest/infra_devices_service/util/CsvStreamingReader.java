@@ -0,0 +1,239 @@
+package com.infragest.infra_devices_service.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Lector en streaming de archivos CSV (UTF-8) para la carga masiva de dispositivos.
+ *
+ * Lee el archivo por un {@link FileChannel} con un búfer fijo y lo recorre byte a byte con una máquina
+ * de estados (RFC 4180: campos entre comillas, comillas escapadas y saltos de línea dentro de comillas).
+ * Solo se crean objetos por cada celda conservada, de modo que la memoria depende del tamaño del bloque
+ * y no del archivo. El separador es {@code ,} o {@code ;}, según lo que use la fila de encabezados.
+ *
+ * Las filas se entregan con la misma forma que {@link XlsxStreamingReader}: la fila 1 es el encabezado y
+ * se omite, las celdas se recortan y las vacías son {@code null}.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public final class CsvStreamingReader {
+
+    /**
+     * Tamaño del búfer de lectura.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CsvStreamingReader() {
+    }
+
+    /**
+     * Lee el archivo y entrega sus filas de datos en bloques.
+     *
+     * @param file          ruta del archivo CSV
+     * @param columns       número de columnas a conservar por fila
+     * @param chunkSize     número de filas por bloque
+     * @param chunkConsumer receptor de cada bloque de filas
+     * @return número de filas de datos leídas
+     * @throws IOException si el archivo no se puede leer
+     */
+    public static int read(Path file, int columns, int chunkSize, Consumer<List<SheetRow>> chunkConsumer)
+            throws IOException {
+
+        Parser parser = new Parser(columns, chunkSize, chunkConsumer);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                parser.feed(buffer.array(), buffer.limit());
+                buffer.clear();
+            }
+        }
+        parser.finish();
+        return parser.dataRows;
+    }
+
+    /**
+     * Máquina de estados del parser CSV.
+     */
+    private static final class Parser {
+
+        private static final int FIELD_START = 0;
+        private static final int UNQUOTED = 1;
+        private static final int QUOTED = 2;
+        private static final int QUOTE_IN_QUOTED = 3;
+
+        private final int columns;
+        private final int chunkSize;
+        private final Consumer<List<SheetRow>> chunkConsumer;
+
+        private List<SheetRow> chunk;
+        private String[] cells;
+        private byte[] field = new byte[256];
+        private int fieldLength;
+        private int column;
+        private int state = FIELD_START;
+        private byte delimiter;
+        private boolean bomChecked;
+        private boolean recordHasContent;
+        private int recordNumber = 1;
+        private int dataRows;
+
+        Parser(int columns, int chunkSize, Consumer<List<SheetRow>> chunkConsumer) {
+            this.columns = columns;
+            this.chunkSize = chunkSize;
+            this.chunkConsumer = chunkConsumer;
+            this.chunk = new ArrayList<>(chunkSize);
+            this.cells = new String[columns];
+        }
+
+        /**
+         * Procesa los bytes leídos del canal.
+         */
+        void feed(byte[] bytes, int length) {
+            int i = 0;
+            if (!bomChecked) {
+                bomChecked = true;
+                // BOM UTF-8 que agregan Excel y otras herramientas
+                if (length >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF) {
+                    i = 3;
+                }
+            }
+            if (delimiter == 0) {
+                delimiter = detectDelimiter(bytes, i, length);
+            }
+
+            for (; i < length; i++) {
+                byte b = bytes[i];
+                switch (state) {
+                    case FIELD_START -> {
+                        if (b == '"') {
+                            state = QUOTED;
+                            recordHasContent = true;
+                        } else if (b == delimiter) {
+                            endField();
+                        } else if (b == '\n') {
+                            endRecord();
+                        } else if (b != '\r') {
+                            append(b);
+                            state = UNQUOTED;
+                        }
+                    }
+                    case UNQUOTED -> {
+                        if (b == delimiter) {
+                            endField();
+                            state = FIELD_START;
+                        } else if (b == '\n') {
+                            endRecord();
+                            state = FIELD_START;
+                        } else if (b != '\r') {
+                            append(b);
+                        }
+                    }
+                    case QUOTED -> {
+                        if (b == '"') {
+                            state = QUOTE_IN_QUOTED;
+                        } else {
+                            append(b);
+                        }
+                    }
+                    default -> { // QUOTE_IN_QUOTED
+                        if (b == '"') {
+                            // Comilla escapada ("")
+                            append(b);
+                            state = QUOTED;
+                        } else if (b == delimiter) {
+                            endField();
+                            state = FIELD_START;
+                        } else if (b == '\n') {
+                            endRecord();
+                            state = FIELD_START;
+                        } else if (b != '\r') {
+                            // Texto tras la comilla de cierre: se conserva como parte del campo
+                            append(b);
+                            state = UNQUOTED;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Cierra el último registro (archivo sin salto de línea final) y entrega el bloque pendiente.
+         */
+        void finish() {
+            if (recordHasContent || fieldLength > 0 || column > 0) {
+                endRecord();
+            }
+            if (!chunk.isEmpty()) {
+                List<SheetRow> full = chunk;
+                chunk = new ArrayList<>(chunkSize);
+                chunkConsumer.accept(full);
+            }
+        }
+
+        private void append(byte b) {
+            if (fieldLength == field.length) {
+                field = Arrays.copyOf(field, fieldLength * 2);
+            }
+            field[fieldLength++] = b;
+            recordHasContent = true;
+        }
+
+        private void endField() {
+            if (column < columns && recordNumber > 1) {
+                String value = new String(field, 0, fieldLength, StandardCharsets.UTF_8).trim();
+                cells[column] = value.isEmpty() ? null : value;
+            }
+            column++;
+            fieldLength = 0;
+            recordHasContent = true;
+        }
+
+        private void endRecord() {
+            // Las líneas vacías no cuentan como registro
+            if (!recordHasContent && fieldLength == 0 && column == 0) {
+                return;
+            }
+            endField();
+
+            // La fila 1 contiene los encabezados
+            if (recordNumber > 1) {
+                chunk.add(new SheetRow(recordNumber, cells));
+                cells = new String[columns];
+                dataRows++;
+                if (chunk.size() >= chunkSize) {
+                    List<SheetRow> full = chunk;
+                    chunk = new ArrayList<>(chunkSize);
+                    chunkConsumer.accept(full);
+                }
+            }
+
+            recordNumber++;
+            column = 0;
+            recordHasContent = false;
+        }
+
+        /**
+         * Determina el separador a partir de la primera línea: {@code ;} si aparece y {@code ,} no.
+         */
+        private static byte detectDelimiter(byte[] bytes, int from, int length) {
+            int commas = 0;
+            int semicolons = 0;
+            for (int i = from; i < length && bytes[i] != '\n'; i++) {
+                if (bytes[i] == ',') commas++;
+                else if (bytes[i] == ';') semicolons++;
+            }
+            return semicolons > 0 && commas == 0 ? (byte) ';' : (byte) ',';
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.infragest.infra_devices_service.util;
+
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import com.infragest.infra_devices_service.model.CreateDeviceRq;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Escribe las filas validadas de una carga masiva en un archivo delimitado por tabuladores para
+ * {@code LOAD DATA LOCAL INFILE}.
+ *
+ * Usa el formato por defecto de MariaDB: campos separados por {@code \t}, líneas terminadas en {@code \n}
+ * y {@code \} como carácter de escape. Las columnas son {@code row_num, id, name, brand, barcode, status}.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class DeviceStagingFileWriter implements Closeable {
+
+    private final Path path;
+    private final BufferedWriter writer;
+    private long rows;
+
+    /**
+     * Crea el archivo de staging.
+     *
+     * @param path ruta del archivo
+     * @throws IOException si no se puede crear el archivo
+     */
+    public DeviceStagingFileWriter(Path path) throws IOException {
+        this.path = path;
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Agrega una fila validada.
+     *
+     * @param rowNumber número de fila en el archivo de origen
+     * @param id ID asignado al dispositivo
+     * @param request datos validados del dispositivo
+     * @throws IOException si no se puede escribir
+     */
+    public void write(int rowNumber, UUID id, CreateDeviceRq request) throws IOException {
+        writer.write(Integer.toString(rowNumber));
+        writer.write('\t');
+        writer.write(id.toString());
+        writer.write('\t');
+        writeEscaped(request.getName());
+        writer.write('\t');
+        writeEscaped(request.getBrand());
+        writer.write('\t');
+        writeEscaped(request.getBarcode());
+        writer.write('\t');
+        writer.write(request.getStatus().name());
+        writer.write('\n');
+        rows++;
+    }
+
+    /**
+     * @return número de filas escritas
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return ruta del archivo
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Lee de vuelta un archivo de staging, en el orden en que se escribió.
+     *
+     * @param path ruta del archivo
+     * @param consumer receptor de cada fila (datos del dispositivo y número de fila de origen)
+     * @throws IOException si no se puede leer el archivo
+     */
+    public static void read(Path path, ObjIntConsumer<CreateDeviceRq> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                consumer.accept(CreateDeviceRq.builder()
+                        .name(unescape(fields[2]))
+                        .brand(unescape(fields[3]))
+                        .barcode(unescape(fields[4]))
+                        .status(DeviceStatusEnum.valueOf(fields[5]))
+                        .build(), Integer.parseInt(fields[0]));
+            }
+        }
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> writer.write("\\\\");
+                case '\t' -> writer.write("\\t");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                default -> writer.write(c);
+            }
+        }
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                result.append(switch (next) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> next;
+                });
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
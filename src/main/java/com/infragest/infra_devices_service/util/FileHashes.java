@@ -0,0 +1,48 @@
+package com.infragest.infra_devices_service.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Hash del contenido de los archivos de carga masiva, usado para detectar cargas repetidas.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public final class FileHashes {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private FileHashes() {
+    }
+
+    /**
+     * Calcula el SHA-256 de un archivo en una sola lectura.
+     *
+     * @param file archivo
+     * @return hash SHA-256 del contenido en hexadecimal
+     * @throws IOException si no se puede leer el archivo
+     */
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Algoritmo obligatorio en toda JVM
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
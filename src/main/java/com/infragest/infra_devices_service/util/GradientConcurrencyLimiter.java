@@ -0,0 +1,181 @@
+package com.infragest.infra_devices_service.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de concurrencia adaptativo basado en el gradiente de latencias (estilo Gradient / TCP Vegas).
+ *
+ * Compara la latencia reciente con la latencia sin carga (la mínima observada): mientras la reciente no supera
+ * a la mínima más una tolerancia, el límite sube en {@code √límite}; cuando la base de datos se ralentiza y las
+ * peticiones empiezan a hacer cola, el gradiente {@code tolerancia · mínima / reciente} baja de 1 y el límite
+ * se reduce en proporción. Los errores (timeouts, fallos de conexión) lo reducen de forma multiplicativa.
+ *
+ * El límite se ajusta una vez por ventana de respuestas (del orden de una latencia con el límite actual), y solo
+ * si la carga lo aprovecha: con menos de la mitad de los permisos en uso no se modifica.
+ *
+ * La latencia mínima caduca: si no se renueva durante {@code probeInterval} (con carga sostenida nunca se ve
+ * una respuesta sin cola), el límite se reduce a la mitad durante dos ventanas para volver a medirla, como la
+ * fase ProbeRTT de BBR. Así una ralentización permanente de la base de datos no deja el límite en el mínimo.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class GradientConcurrencyLimiter {
+
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int PROBE_WINDOWS = 2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final long probeIntervalNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Límite vigente; durante la medición de la latencia mínima es la mitad del límite ajustado.
+     */
+    private volatile int effectiveLimit;
+    private double limit;
+
+    private double minRtt;
+    private long minRttAt;
+    private int probeWindowsLeft;
+
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    /**
+     * Crea el limitador.
+     *
+     * @param initialLimit  límite inicial
+     * @param minLimit      límite mínimo
+     * @param maxLimit      límite máximo
+     * @param smoothing     peso (0-1] de cada nuevo cálculo sobre el límite actual
+     * @param rttTolerance  cuánto puede superar la latencia reciente a la mínima sin reducir el límite
+     * @param probeInterval vigencia de la latencia mínima antes de volver a medirla
+     */
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double smoothing, double rttTolerance, Duration probeInterval) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.probeIntervalNanos = probeInterval.toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.effectiveLimit = (int) limit;
+    }
+
+    /**
+     * Intenta ocupar un permiso. Si se obtiene, debe liberarse con {@link #onSuccess(long)},
+     * {@link #onDropped()} o {@link #onIgnore()}.
+     *
+     * @return {@code true} si hay capacidad; {@code false} si la petición debe rechazarse
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= effectiveLimit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el permiso de una operación completada y ajusta el límite con su latencia.
+     *
+     * @param rttNanos duración de la operación
+     */
+    public void onSuccess(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        sample(rttNanos, current);
+    }
+
+    /**
+     * Libera el permiso de una operación fallida por sobrecarga y reduce el límite.
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            applyLimit();
+        }
+    }
+
+    /**
+     * Libera el permiso sin ajustar el límite (operaciones cuya latencia no es representativa).
+     */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * @return límite de concurrencia vigente
+     */
+    public int getLimit() {
+        return effectiveLimit;
+    }
+
+    /**
+     * @return operaciones en curso
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightAtCompletion) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtCompletion);
+        if (windowSamples < Math.max(MIN_WINDOW_SAMPLES, effectiveLimit)) {
+            return;
+        }
+        double rtt = (double) windowRttSum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        long now = System.nanoTime();
+        if (probeWindowsLeft > 0) {
+            // La primera ventana aún incluye peticiones admitidas con el límite completo: solo la última mide
+            if (--probeWindowsLeft == 0) {
+                minRtt = rtt;
+                minRttAt = now;
+                applyLimit();
+            }
+            return;
+        }
+        if (minRtt == 0 || rtt <= minRtt) {
+            minRtt = rtt;
+            minRttAt = now;
+        } else if (now - minRttAt > probeIntervalNanos) {
+            probeWindowsLeft = PROBE_WINDOWS;
+            effectiveLimit = Math.max(minLimit, (int) (limit / 2));
+            return;
+        }
+
+        // Sin presión de carga la latencia no dice nada sobre la capacidad
+        if (maxInFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * minRtt / rtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + newLimit * smoothing));
+        applyLimit();
+    }
+
+    private void applyLimit() {
+        if (probeWindowsLeft == 0) {
+            effectiveLimit = (int) limit;
+        }
+    }
+}
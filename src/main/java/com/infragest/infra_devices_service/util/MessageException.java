@@ -14,17 +14,44 @@ public abstract class MessageException {
     public static final String DEVICE_MISSING_STATE = "Missing state for device %s.";
     public static final String DATABASE_ERROR = "Database error occurred.";
     public static final String INVALID_REQUEST_PAYLOAD = "Invalid request payload.";
+    public static final String INVALID_DATE_RANGE = "The date range is invalid: 'from' must be on or before 'to'.";
 
     // Mensajes específicos para DeviceAssignment
     public static final String DEVICE_ALREADY_ASSIGNED = "The device %s is already assigned to another order.";
+    public static final String DEVICE_OCCUPIED_STATUS_LOCKED = "The device %s is assigned to an order; its status cannot be changed by a bulk upload.";
     public static final String DEVICE_NOT_AVAILABLE_FOR_ASSIGNMENT = "The device %s is not in a state that allows assignment.";
     public static final String DEVICE_ASSIGNMENT_TO_ORDER_NOT_FOUND = "No active assignment found for the device %s in order %s.";
     public static final String DEVICE_ASSIGNMENT_NOT_FOUND = "No active assignment found for the device %s";
     public static final String DEVICE_ASSIGNMENT_ORDER_MISMATCH = "The active assignment does not belong to the order %s.";
 
+    // Mensajes específicos para cargas masivas
+    public static final String BULK_UPLOAD_NOT_FOUND = "Bulk upload job with ID %s not found.";
+    public static final String BULK_UPLOAD_UNSUPPORTED_FORMAT = "Unsupported file format. Upload an .xlsx, .csv or .ndjson file.";
+    public static final String BULK_UPLOAD_REPORT_NOT_FOUND = "Bulk upload job %s has no rejected-rows report.";
+    public static final String UPLOAD_SESSION_NOT_FOUND = "Upload session with ID %s not found.";
+    public static final String UPLOAD_SESSION_TOO_LARGE = "The file size %d exceeds the maximum allowed size of %d bytes.";
+    public static final String UPLOAD_SESSION_INVALID_RANGE = "Invalid Content-Range header: %s.";
+    public static final String UPLOAD_SESSION_OFFSET_MISMATCH = "The chunk starts at byte %d but the session expects byte %d.";
+    public static final String UPLOAD_SESSION_INCOMPLETE = "The upload session has %d of %d bytes.";
+    public static final String UPLOAD_SESSION_DATA_MISSING = "The data of upload session %s is not available on this node.";
+    public static final String BULK_UPLOAD_PROCESSING_ERROR = "An unexpected error occurred while processing the bulk upload.";
+    public static final String BULK_UPLOAD_QUEUE_FULL = "The bulk upload queue is full. Please try again later.";
+    public static final String BULK_UPLOAD_INTERRUPTED = "The bulk upload was interrupted before it finished. Please upload the file again.";
+    public static final String RATE_LIMIT_EXCEEDED = "Rate limit exceeded for %s. Please retry later.";
+    public static final String BULKHEAD_FULL = "Too many concurrent %s requests. Please retry later.";
+    public static final String WRITE_LIMIT_EXCEEDED = "The service is at its write capacity. Please retry later.";
+
+    // Mensajes específicos de la exportación
+    public static final String EXPORT_TOO_LARGE = "The export has %d devices, more than the %d rows of an XLSX sheet. Filter by status to export fewer devices.";
+
     // Mensajes específicos para IDs de órdenes
     public static final String ORDER_ID_CANNOT_BE_NULL_OR_EMPTY = "The order ID cannot be null or empty.";
 
+    // Mensajes específicos de la interfaz gRPC
+    public static final String GRPC_INVALID_UUID = "Invalid UUID: expected 16 bytes but got %d.";
+    public static final String GRPC_STATUS_REQUIRED = "A device status must be specified.";
+    public static final String GRPC_UNAUTHENTICATED = "Missing, malformed, invalid or expired bearer token.";
+
     private MessageException() {
     }
 }
@@ -0,0 +1,208 @@
+package com.infragest.infra_devices_service.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Lector en streaming de archivos NDJSON (un objeto JSON por línea) para la carga masiva de dispositivos.
+ *
+ * Lee el archivo por un {@link FileChannel} con un búfer fijo, lo corta en líneas y analiza cada una con el
+ * parser incremental de Jackson, sin construir árboles JSON. Cada objeto se convierte en una fila con las
+ * columnas {@code name}, {@code brand}, {@code barcode} y {@code status} (se acepta {@code state} como alias);
+ * los demás campos se ignoran.
+ *
+ * No hay fila de encabezados: el número de fila es la línea del archivo. Las líneas vacías se omiten. Una
+ * línea que no es un objeto JSON válido no detiene la lectura: se entrega como fila con error
+ * ({@link SheetRow#getError()}) y la lectura continúa en la línea siguiente.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public final class NdjsonStreamingReader {
+
+    /**
+     * Fábrica de parsers compartida (thread-safe).
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Tamaño del búfer de lectura.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private NdjsonStreamingReader() {
+    }
+
+    /**
+     * Lee el archivo y entrega sus filas en bloques.
+     *
+     * @param file          ruta del archivo NDJSON
+     * @param columns       número de columnas por fila (nombre, marca, barcode, estado)
+     * @param chunkSize     número de filas por bloque
+     * @param chunkConsumer receptor de cada bloque de filas
+     * @return número de filas leídas, incluidas las líneas con error
+     * @throws IOException si el archivo no se puede leer
+     */
+    public static int read(Path file, int columns, int chunkSize, Consumer<List<SheetRow>> chunkConsumer)
+            throws IOException {
+
+        LineSplitter lines = new LineSplitter(columns, chunkSize, chunkConsumer);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                lines.feed(buffer.array(), buffer.limit());
+                buffer.clear();
+            }
+        }
+        lines.finish();
+        return lines.rows;
+    }
+
+    /**
+     * Convierte una línea en una fila.
+     *
+     * @param bytes      contenido de la línea, sin el salto de línea
+     * @param length     longitud de la línea
+     * @param lineNumber número de línea (1-based)
+     * @param columns    número de columnas por fila
+     * @return fila con las columnas del objeto, o con error si la línea no es un objeto JSON válido
+     */
+    static SheetRow parseLine(byte[] bytes, int length, int lineNumber, int columns) {
+        String[] cells = new String[columns];
+        try (JsonParser parser = JSON_FACTORY.createParser(bytes, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return SheetRow.withError(lineNumber, "La línea " + lineNumber + " no es un objeto JSON.");
+            }
+
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                int column = columnOf(parser.currentName());
+                JsonToken value = parser.nextToken();
+                if (value.isStructStart()) {
+                    parser.skipChildren();
+                } else if (column >= 0 && column < columns && value != JsonToken.VALUE_NULL) {
+                    String text = parser.getText().trim();
+                    cells[column] = text.isEmpty() ? null : text;
+                }
+            }
+
+            if (token != JsonToken.END_OBJECT || parser.nextToken() != null) {
+                return SheetRow.withError(lineNumber, "La línea " + lineNumber + " debe contener un único objeto JSON.");
+            }
+            return new SheetRow(lineNumber, cells);
+        } catch (JsonProcessingException e) {
+            return SheetRow.withError(lineNumber,
+                    "La línea " + lineNumber + " no es JSON válido: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            // El origen es un arreglo en memoria: solo puede fallar el análisis
+            return SheetRow.withError(lineNumber, "La línea " + lineNumber + " no se pudo leer: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Columna de la fila correspondiente a un campo del objeto JSON.
+     *
+     * @param name nombre del campo
+     * @return índice de columna, o -1 si el campo no se usa
+     */
+    private static int columnOf(String name) {
+        return switch (name) {
+            case "name" -> 0;
+            case "brand" -> 1;
+            case "barcode" -> 2;
+            case "status", "state" -> 3;
+            default -> -1;
+        };
+    }
+
+    /**
+     * Corta los bytes leídos en líneas y entrega sus filas por bloques.
+     */
+    private static final class LineSplitter {
+
+        private final int columns;
+        private final int chunkSize;
+        private final Consumer<List<SheetRow>> chunkConsumer;
+
+        private List<SheetRow> chunk;
+        private byte[] line = new byte[1024];
+        private int lineLength;
+        private int lineNumber = 1;
+        private int rows;
+
+        LineSplitter(int columns, int chunkSize, Consumer<List<SheetRow>> chunkConsumer) {
+            this.columns = columns;
+            this.chunkSize = chunkSize;
+            this.chunkConsumer = chunkConsumer;
+            this.chunk = new ArrayList<>(chunkSize);
+        }
+
+        void feed(byte[] bytes, int length) {
+            int start = 0;
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] == '\n') {
+                    append(bytes, start, i - start);
+                    endLine();
+                    start = i + 1;
+                }
+            }
+            append(bytes, start, length - start);
+        }
+
+        /**
+         * Procesa la última línea (archivo sin salto de línea final) y entrega el bloque pendiente.
+         */
+        void finish() {
+            endLine();
+            if (!chunk.isEmpty()) {
+                chunkConsumer.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+
+        private void append(byte[] bytes, int from, int length) {
+            if (lineLength + length > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+            }
+            System.arraycopy(bytes, from, line, lineLength, length);
+            lineLength += length;
+        }
+
+        private void endLine() {
+            if (!isBlank()) {
+                chunk.add(parseLine(line, lineLength, lineNumber, columns));
+                rows++;
+                if (chunk.size() >= chunkSize) {
+                    chunkConsumer.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            lineNumber++;
+            lineLength = 0;
+        }
+
+        private boolean isBlank() {
+            for (int i = 0; i < lineLength; i++) {
+                byte b = line[i];
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
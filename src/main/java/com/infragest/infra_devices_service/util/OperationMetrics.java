@@ -0,0 +1,203 @@
+package com.infragest.infra_devices_service.util;
+
+import com.infragest.infra_devices_service.exception.DeviceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Métricas de una operación de servicio.
+ *
+ * Todas las métricas se etiquetan con {@code operation} y {@code phase}: {@code call} para las operaciones
+ * síncronas, o la fase de una operación que continúa en segundo plano (por ejemplo {@code submit} y
+ * {@code process} en la carga masiva), con una instancia por fase.
+ *
+ * <ul>
+ *     <li>{@code devices.operation}: timer con histograma de percentiles, etiquetado además con {@code outcome}:
+ *     {@code success}, el {@link DeviceException.Type} en minúsculas o {@code error} para cualquier otra
+ *     excepción.</li>
+ *     <li>{@code devices.operation.batch_size}: dispositivos recibidos por llamada.</li>
+ *     <li>{@code devices.operation.rows_affected}: filas modificadas por llamada.</li>
+ * </ul>
+ *
+ * Además, {@link #errorCounters} crea los contadores {@code devices.errors} por tipo de {@link DeviceException}
+ * que usan los manejadores de excepciones de HTTP y gRPC.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public final class OperationMetrics {
+
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+
+    /**
+     * Fase de las operaciones síncronas: la llamada completa.
+     */
+    public static final String CALL = "call";
+
+    private static final Duration DEFAULT_MAXIMUM_EXPECTED = Duration.ofSeconds(30);
+
+    private final MeterRegistry meterRegistry;
+    private final String operation;
+    private final String phase;
+    private final Duration maximumExpected;
+
+    /**
+     * Timers por outcome, creados al primer uso.
+     */
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final DistributionSummary batchSize;
+    private final DistributionSummary rowsAffected;
+
+    /**
+     * @param meterRegistry registro de métricas
+     * @param operation nombre de la operación (etiqueta {@code operation})
+     */
+    public OperationMetrics(MeterRegistry meterRegistry, String operation) {
+        this(meterRegistry, operation, CALL, DEFAULT_MAXIMUM_EXPECTED);
+    }
+
+    /**
+     * @param meterRegistry registro de métricas
+     * @param operation nombre de la operación (etiqueta {@code operation})
+     * @param phase fase de la operación (etiqueta {@code phase})
+     * @param maximumExpected duración máxima esperada, límite superior del histograma
+     */
+    public OperationMetrics(MeterRegistry meterRegistry, String operation, String phase, Duration maximumExpected) {
+        this.meterRegistry = meterRegistry;
+        this.operation = operation;
+        this.phase = phase;
+        this.maximumExpected = maximumExpected;
+        this.batchSize = summary("devices.operation.batch_size", "devices");
+        this.rowsAffected = summary("devices.operation.rows_affected", "rows");
+    }
+
+    /**
+     * Ejecuta y mide la operación.
+     *
+     * @param action operación
+     * @return resultado de la operación
+     */
+    public <T> T record(Supplier<T> action) {
+        return recordChecked(action::get);
+    }
+
+    /**
+     * Ejecuta y mide una operación que lanza excepciones comprobadas; estas cuentan como {@code error}.
+     *
+     * @param action operación
+     * @return resultado de la operación
+     * @throws E excepción de la operación
+     */
+    public <T, E extends Exception> T recordChecked(CheckedSupplier<T, E> action) throws E {
+        long start = System.nanoTime();
+        String outcome = ERROR;
+        try {
+            T result = action.get();
+            outcome = SUCCESS;
+            return result;
+        } catch (DeviceException e) {
+            outcome = outcomeOf(e.getType());
+            throw e;
+        } finally {
+            timer(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Ejecuta y mide la operación.
+     *
+     * @param action operación
+     */
+    public void record(Runnable action) {
+        record(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * @param size dispositivos recibidos en la llamada
+     */
+    public void recordBatchSize(long size) {
+        batchSize.record(size);
+    }
+
+    /**
+     * @param rows filas modificadas por la llamada
+     */
+    public void recordRowsAffected(long rows) {
+        rowsAffected.record(rows);
+    }
+
+    /**
+     * Crea un contador {@code devices.errors} por cada {@link DeviceException.Type}, etiquetado con {@code type}
+     * y {@code entrypoint}. Se registran todos desde el inicio para que los tipos sin errores se publiquen a 0.
+     *
+     * @param meterRegistry registro de métricas
+     * @param entrypoint punto de entrada que traduce la excepción ({@code http} o {@code grpc})
+     * @return contadores por tipo
+     */
+    public static Map<DeviceException.Type, Counter> errorCounters(MeterRegistry meterRegistry, String entrypoint) {
+        Map<DeviceException.Type, Counter> counters = new EnumMap<>(DeviceException.Type.class);
+        for (DeviceException.Type type : DeviceException.Type.values()) {
+            counters.put(type, Counter.builder("devices.errors")
+                    .tag("type", outcomeOf(type))
+                    .tag("entrypoint", entrypoint)
+                    .register(meterRegistry));
+        }
+        return counters;
+    }
+
+    /**
+     * @param type tipo de la excepción
+     * @return valor de la etiqueta {@code outcome} (y {@code type}) para el tipo
+     */
+    public static String outcomeOf(DeviceException.Type type) {
+        return type == null ? ERROR : type.name().toLowerCase(Locale.ROOT);
+    }
+
+    private Timer timer(String outcome) {
+        return timers.computeIfAbsent(outcome, key -> Timer.builder("devices.operation")
+                .tag("operation", operation)
+                .tag("phase", phase)
+                .tag("outcome", key)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(maximumExpected)
+                .register(meterRegistry));
+    }
+
+    private DistributionSummary summary(String name, String baseUnit) {
+        return DistributionSummary.builder(name)
+                .tag("operation", operation)
+                .tag("phase", phase)
+                .baseUnit(baseUnit)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100_000.0)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Operación con resultado que puede lanzar una excepción comprobada.
+     *
+     * @param <T> tipo del resultado
+     * @param <E> tipo de la excepción
+     */
+    @FunctionalInterface
+    public interface CheckedSupplier<T, E extends Exception> {
+        T get() throws E;
+    }
+}
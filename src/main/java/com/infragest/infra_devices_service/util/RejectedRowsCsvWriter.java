@@ -0,0 +1,139 @@
+package com.infragest.infra_devices_service.util;
+
+import com.infragest.infra_devices_service.model.RejectedRow;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Escribe de forma incremental el reporte CSV de filas rechazadas de una carga masiva.
+ *
+ * El archivo se crea con la primera fila rechazada, de modo que una carga sin errores no deja reporte.
+ * Cada fila se escribe al recibirse, sin acumularlas en memoria.
+ *
+ * Los valores vienen del archivo subido por el usuario: los que una hoja de cálculo interpretaría como
+ * fórmula se escriben precedidos de {@code '} (inyección de fórmulas en CSV).
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class RejectedRowsCsvWriter implements Consumer<RejectedRow>, Closeable {
+
+    /**
+     * Encabezado del reporte.
+     */
+    private static final String HEADER = "fila,barcode,motivo";
+
+    /**
+     * Primeros caracteres con los que una hoja de cálculo interpreta una celda como fórmula.
+     */
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    /**
+     * Ruta del reporte.
+     */
+    private final Path path;
+
+    /**
+     * Writer abierto con la primera fila rechazada.
+     */
+    private BufferedWriter writer;
+
+    /**
+     * Crea el writer del reporte; el archivo aún no se crea.
+     *
+     * @param path ruta del reporte
+     */
+    public RejectedRowsCsvWriter(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Escribe una fila rechazada en el reporte.
+     *
+     * @param row fila rechazada
+     * @throws UncheckedIOException si no se puede escribir el reporte
+     */
+    @Override
+    public void accept(RejectedRow row) {
+        try {
+            if (writer == null) {
+                Files.createDirectories(path.getParent());
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                // BOM para que Excel reconozca el UTF-8
+                writer.write('\uFEFF');
+                writer.write(HEADER);
+                writer.newLine();
+            }
+            writer.write(Integer.toString(row.getRowNumber()));
+            writer.write(',');
+            writeField(row.getBarcode());
+            writer.write(',');
+            writeField(row.getMessage());
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el reporte de errores " + path, e);
+        }
+    }
+
+    /**
+     * Indica si se escribió al menos una fila.
+     *
+     * @return true si el reporte existe
+     */
+    public boolean hasRows() {
+        return writer != null;
+    }
+
+    /**
+     * Ruta del reporte.
+     *
+     * @return ruta del archivo
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Cierra el reporte, si fue creado.
+     *
+     * @throws IOException si falla el cierre
+     */
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    /**
+     * Escribe un campo CSV, entre comillas si contiene separadores, comillas o saltos de línea, y precedido
+     * de {@code '} si empieza como una fórmula.
+     *
+     * @param value valor del campo (puede ser null)
+     * @throws IOException si falla la escritura
+     */
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
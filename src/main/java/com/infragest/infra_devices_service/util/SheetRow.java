@@ -0,0 +1,71 @@
+package com.infragest.infra_devices_service.util;
+
+import lombok.Getter;
+
+/**
+ * Fila leída de un archivo de carga masiva.
+ *
+ * Contiene el número de fila en el archivo (1-based, tal como lo ve el usuario) y el valor
+ * de cada columna como texto, con la misma semántica que la lectura celda a celda de POI:
+ * texto recortado, números sin decimales, booleanos como "true"/"false" y {@code null} para
+ * celdas vacías, de error o con fórmula.
+ *
+ * Una fila que el lector no pudo interpretar (por ejemplo, una línea NDJSON mal formada) no tiene
+ * valores y lleva el motivo en {@link #getError()}; la importación la rechaza sin validarla.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Getter
+public class SheetRow {
+
+    /**
+     * Número de fila en el archivo (1-based).
+     */
+    private final int rowNumber;
+
+    /**
+     * Valores de las columnas leídas; las posiciones sin valor son {@code null}.
+     */
+    private final String[] cells;
+
+    /**
+     * Motivo por el que la fila no se pudo leer, o {@code null} si se leyó correctamente.
+     */
+    private final String error;
+
+    /**
+     * @param rowNumber número de fila en el archivo (1-based)
+     * @param cells     valores de las columnas leídas
+     */
+    public SheetRow(int rowNumber, String[] cells) {
+        this(rowNumber, cells, null);
+    }
+
+    private SheetRow(int rowNumber, String[] cells, String error) {
+        this.rowNumber = rowNumber;
+        this.cells = cells;
+        this.error = error;
+    }
+
+    /**
+     * Crea una fila que no se pudo leer.
+     *
+     * @param rowNumber número de fila en el archivo (1-based)
+     * @param error     motivo por el que no se pudo leer
+     * @return fila sin valores con el motivo del error
+     */
+    public static SheetRow withError(int rowNumber, String error) {
+        return new SheetRow(rowNumber, new String[0], error);
+    }
+
+    /**
+     * Obtiene el valor de una columna.
+     *
+     * @param column índice de la columna (0-based)
+     * @return valor de la celda o {@code null} si no existe
+     */
+    public String getCell(int column) {
+        return column < cells.length ? cells[column] : null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.infragest.infra_devices_service.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las cargas concurrentes de una misma clave (single-flight).
+ *
+ * El primer hilo que pide una clave ejecuta la carga; los que llegan mientras sigue en curso esperan y
+ * reciben el mismo resultado, o la misma excepción. Al terminar la clave se libera, así que no es una
+ * caché: una petición posterior vuelve a cargar.
+ *
+ * @param <K> tipo de la clave
+ * @param <V> tipo del resultado
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Llamadas que ejecutaron la carga.
+     */
+    private final LongAdder loads = new LongAdder();
+
+    /**
+     * Llamadas que reutilizaron una carga en curso.
+     */
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Devuelve el resultado de la carga de {@code key}, uniéndose a la que esté en curso si la hay.
+     *
+     * @param key clave de la carga
+     * @param loader carga a ejecutar si no hay ninguna en curso para la clave
+     * @return resultado de la carga
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            shared.increment();
+            return await(existing);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * @return número de llamadas que ejecutaron la carga
+     */
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    /**
+     * @return número de llamadas que reutilizaron una carga en curso
+     */
+    public long getShared() {
+        return shared.sum();
+    }
+
+    /**
+     * @return número de claves con una carga en curso
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            // La excepción original de la carga, sin envolver
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.infragest.infra_devices_service.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin bloqueos, implementado como GCRA (generic cell rate algorithm).
+ *
+ * En lugar de guardar tokens y la hora de la última recarga, guarda un único instante teórico de llegada
+ * (TAT) en un {@link AtomicLong}: cada permiso lo adelanta un intervalo, y se rechaza la petición si quedaría
+ * más de {@code capacidad} intervalos por delante del reloj. Así la adquisición es un solo compare-and-set.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public final class TokenBucket {
+
+    /**
+     * Nanosegundos entre dos tokens.
+     */
+    private final long intervalNanos;
+
+    /**
+     * Ráfaga máxima expresada en tiempo: capacidad por intervalo.
+     */
+    private final long burstNanos;
+
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Crea un bucket lleno.
+     *
+     * @param permitsPerSecond tokens que se recargan por segundo
+     * @param capacity         tokens máximos acumulables (ráfaga)
+     * @param nowNanos         instante actual ({@link System#nanoTime()})
+     */
+    public TokenBucket(double permitsPerSecond, int capacity, long nowNanos) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, capacity);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Intenta tomar un token.
+     *
+     * @param nowNanos instante actual ({@link System#nanoTime()})
+     * @return 0 si se tomó el token; en otro caso, nanosegundos hasta que haya uno disponible
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
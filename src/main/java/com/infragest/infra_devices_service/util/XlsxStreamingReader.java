@@ -0,0 +1,226 @@
+package com.infragest.infra_devices_service.util;
+
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.exceptions.InvalidOperationException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Lector en streaming de archivos XLSX basado en el modelo de eventos de POI.
+ *
+ * Recorre la primera hoja con un parser SAX sobre {@link XSSFReader} y resuelve los textos
+ * compartidos con {@link ReadOnlySharedStringsTable}, sin construir el modelo DOM del libro.
+ * Las filas de datos (se omite la fila 1, de encabezados) se entregan en bloques de tamaño
+ * fijo, por lo que la memoria depende del tamaño del bloque y no del archivo.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public final class XlsxStreamingReader {
+
+    private XlsxStreamingReader() {
+    }
+
+    /**
+     * Lee la primera hoja del archivo y entrega sus filas de datos por bloques.
+     *
+     * @param file          archivo XLSX en disco
+     * @param columns       número de columnas a leer (las siguientes se ignoran)
+     * @param chunkSize     número máximo de filas por bloque
+     * @param chunkConsumer receptor de cada bloque de filas
+     * @return número de filas de datos leídas
+     * @throws IOException si el archivo no se puede leer o no es un XLSX válido
+     */
+    public static int read(Path file, int columns, int chunkSize, Consumer<List<SheetRow>> chunkConsumer)
+            throws IOException {
+
+        try (OPCPackage pkg = open(file)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return 0;
+            }
+
+            SheetHandler handler = new SheetHandler(sharedStrings, columns, chunkSize, chunkConsumer);
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(handler);
+                parser.parse(new InputSource(sheet));
+            }
+            handler.flush();
+            return handler.dataRows;
+
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Archivo XLSX inválido: " + e.getMessage(), e);
+        }
+    }
+
+    private static OPCPackage open(Path file) throws IOException {
+        try {
+            return OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (OpenXML4JException | InvalidOperationException | UnsupportedFileFormatException e) {
+            throw new IOException("Archivo XLSX inválido: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Convierte una referencia de celda (por ejemplo "C12") en el índice de columna (0-based).
+     */
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * Manejador SAX de {@code sheetN.xml} que reproduce la semántica de lectura celda a celda.
+     */
+    private static final class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final int columns;
+        private final int chunkSize;
+        private final Consumer<List<SheetRow>> chunkConsumer;
+
+        private List<SheetRow> chunk;
+        private int dataRows;
+
+        private int rowNumber;
+        private String[] cells;
+        private int nextColumn;
+
+        private int column;
+        private String cellType;
+        private boolean formula;
+        private boolean inValue;
+        private boolean inInlineText;
+        private final StringBuilder text = new StringBuilder();
+
+        SheetHandler(ReadOnlySharedStringsTable sharedStrings, int columns, int chunkSize,
+                     Consumer<List<SheetRow>> chunkConsumer) {
+            this.sharedStrings = sharedStrings;
+            this.columns = columns;
+            this.chunkSize = chunkSize;
+            this.chunkConsumer = chunkConsumer;
+            this.chunk = new ArrayList<>(chunkSize);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    rowNumber = r != null ? Integer.parseInt(r) : rowNumber + 1;
+                    cells = new String[columns];
+                    nextColumn = 0;
+                }
+                case "c" -> {
+                    String r = attributes.getValue("r");
+                    column = r != null ? columnIndex(r) : nextColumn;
+                    nextColumn = column + 1;
+                    cellType = attributes.getValue("t");
+                    formula = false;
+                    text.setLength(0);
+                }
+                case "f" -> formula = true;
+                case "v" -> inValue = true;
+                case "t" -> inInlineText = "inlineStr".equals(cellType);
+                default -> {
+                    // Otros elementos (estilos, fusiones, etc.) no afectan a los valores
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue || inInlineText) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v" -> inValue = false;
+                case "t" -> inInlineText = false;
+                case "c" -> {
+                    if (column >= 0 && column < columns) {
+                        cells[column] = cellValue();
+                    }
+                }
+                case "row" -> {
+                    // La fila 1 contiene los encabezados
+                    if (rowNumber > 1) {
+                        chunk.add(new SheetRow(rowNumber, cells));
+                        dataRows++;
+                        if (chunk.size() >= chunkSize) {
+                            flush();
+                        }
+                    }
+                }
+                default -> {
+                    // Sin acción
+                }
+            }
+        }
+
+        /**
+         * Entrega el bloque pendiente, si tiene filas.
+         */
+        void flush() {
+            if (!chunk.isEmpty()) {
+                List<SheetRow> full = chunk;
+                chunk = new ArrayList<>(chunkSize);
+                chunkConsumer.accept(full);
+            }
+        }
+
+        /**
+         * Valor de la celda actual: texto recortado, número sin decimales, booleano como texto;
+         * {@code null} para celdas vacías, de error o con fórmula.
+         */
+        private String cellValue() {
+            if (formula) {
+                return null;
+            }
+            String raw = text.toString();
+            if (cellType == null || "n".equals(cellType)) {
+                return raw.isEmpty() ? null : String.valueOf((long) Double.parseDouble(raw));
+            }
+            return switch (cellType) {
+                case "s" -> raw.isEmpty()
+                        ? null
+                        : sharedStrings.getItemAt(Integer.parseInt(raw)).getString().trim();
+                case "inlineStr", "str", "d" -> raw.trim();
+                case "b" -> String.valueOf("1".equals(raw) || "true".equalsIgnoreCase(raw));
+                default -> null; // "e": celda con error
+            };
+        }
+    }
+}
@@ -0,0 +1,74 @@
+-- Esquema base del servicio de dispositivos.
+-- Las tablas se crean solo si no existen para poder adoptar bases ya creadas por Hibernate.
+-- InnoDB descarta el índice implícito de cada FK cuando V2 crea un índice compuesto que empieza por device_id.
+
+CREATE TABLE IF NOT EXISTS devices (
+    id          UUID         NOT NULL,
+    created_at  DATETIME(6)  NOT NULL,
+    updated_at  DATETIME(6),
+    version     BIGINT,
+    name        VARCHAR(255) NOT NULL,
+    brand       VARCHAR(255) NOT NULL,
+    barcode     VARCHAR(255) NOT NULL,
+    status      VARCHAR(32)  NOT NULL,
+    CONSTRAINT pk_devices PRIMARY KEY (id),
+    CONSTRAINT uk_devices_barcode UNIQUE (barcode)
+);
+
+CREATE TABLE IF NOT EXISTS device_assignments (
+    id           UUID        NOT NULL,
+    created_at   DATETIME(6) NOT NULL,
+    updated_at   DATETIME(6),
+    version      BIGINT,
+    order_id     UUID        NOT NULL,
+    device_id    UUID        NOT NULL,
+    status       VARCHAR(32) NOT NULL,
+    assigned_at  DATETIME(6) NOT NULL,
+    released_at  DATETIME(6),
+    CONSTRAINT pk_device_assignments PRIMARY KEY (id),
+    CONSTRAINT fk_device_assignments_device FOREIGN KEY (device_id) REFERENCES devices (id)
+);
+
+CREATE TABLE IF NOT EXISTS device_assignments_archive (
+    id           UUID        NOT NULL,
+    order_id     UUID        NOT NULL,
+    device_id    UUID        NOT NULL,
+    status       VARCHAR(32) NOT NULL,
+    assigned_at  DATETIME(6) NOT NULL,
+    released_at  DATETIME(6) NOT NULL,
+    created_at   DATETIME(6) NOT NULL,
+    updated_at   DATETIME(6),
+    archived_at  DATETIME(6) NOT NULL,
+    CONSTRAINT pk_device_assignments_archive PRIMARY KEY (id),
+    CONSTRAINT fk_device_assignments_archive_device FOREIGN KEY (device_id) REFERENCES devices (id)
+);
+
+CREATE TABLE IF NOT EXISTS device_usage_daily (
+    device_id         UUID         NOT NULL,
+    usage_day         DATE         NOT NULL,
+    brand             VARCHAR(255) NOT NULL,
+    occupied_seconds  BIGINT       NOT NULL DEFAULT 0,
+    assignment_count  BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT pk_device_usage_daily PRIMARY KEY (device_id, usage_day)
+);
+
+CREATE TABLE IF NOT EXISTS bulk_upload_log (
+    id                  UUID         NOT NULL,
+    created_at          DATETIME(6)  NOT NULL,
+    updated_at          DATETIME(6),
+    version             BIGINT,
+    original_filename   VARCHAR(255) NOT NULL,
+    file_hash           VARCHAR(64),
+    operation_type      VARCHAR(200) NOT NULL,
+    status              VARCHAR(32)  NOT NULL,
+    error_log_path      VARCHAR(500),
+    uploaded_by         VARCHAR(100) NOT NULL,
+    uploaded_at         DATETIME(6)  NOT NULL,
+    started_at          DATETIME(6),
+    completed_at        DATETIME(6),
+    processing_time_ms  BIGINT,
+    service_version     VARCHAR(20),
+    client_ip           VARCHAR(45),
+    user_agent          VARCHAR(255),
+    CONSTRAINT pk_bulk_upload_log PRIMARY KEY (id)
+);
@@ -0,0 +1,25 @@
+-- Índices para los accesos frecuentes de los repositorios.
+
+-- DeviceRepository.findAllByStatus / findAllByStatusIn
+CREATE INDEX IF NOT EXISTS idx_devices_status ON devices (status);
+
+-- DeviceAssignmentRepository.findAllByDeviceIdInAndReleasedAtIsNull / findByDeviceIdAndReleasedAtIsNull
+CREATE INDEX IF NOT EXISTS idx_device_assignments_device_released ON device_assignments (device_id, released_at);
+
+-- DeviceAssignmentRepository.findAllByDeviceIdOrderByAssignedAtDesc
+CREATE INDEX IF NOT EXISTS idx_device_assignments_device_assigned ON device_assignments (device_id, assigned_at);
+
+-- DeviceAssignmentRepository.findIdsReleasedBefore (archivado)
+CREATE INDEX IF NOT EXISTS idx_device_assignments_released ON device_assignments (released_at);
+
+-- DeviceAssignmentArchiveRepository.findAllByDeviceIdOrderByAssignedAtDesc
+CREATE INDEX IF NOT EXISTS idx_device_assignments_archive_device_assigned ON device_assignments_archive (device_id, assigned_at);
+
+-- DeviceUsageDailyRepository: agregaciones por rango de días
+CREATE INDEX IF NOT EXISTS idx_device_usage_daily_day ON device_usage_daily (usage_day);
+
+-- BulkUploadLogRepository.findByFileHashAndUploadedAtAfter
+CREATE INDEX IF NOT EXISTS idx_bulk_upload_log_hash_uploaded ON bulk_upload_log (file_hash, uploaded_at);
+
+-- BulkUploadLogRepository.findByUploadedByAndStatusAndUploadedAtAfter
+CREATE INDEX IF NOT EXISTS idx_bulk_upload_log_user_status_uploaded ON bulk_upload_log (uploaded_by, status, uploaded_at);
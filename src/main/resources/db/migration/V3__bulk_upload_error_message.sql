@@ -0,0 +1,2 @@
+-- Motivo del fallo de una carga masiva procesada en segundo plano.
+ALTER TABLE bulk_upload_log ADD COLUMN IF NOT EXISTS error_message VARCHAR(1000);
@@ -0,0 +1,4 @@
+-- Conteos de filas de una carga masiva con éxito parcial.
+ALTER TABLE bulk_upload_log ADD COLUMN IF NOT EXISTS total_rows BIGINT;
+ALTER TABLE bulk_upload_log ADD COLUMN IF NOT EXISTS inserted_rows BIGINT;
+ALTER TABLE bulk_upload_log ADD COLUMN IF NOT EXISTS rejected_rows BIGINT;
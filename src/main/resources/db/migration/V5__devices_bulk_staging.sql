@@ -0,0 +1,12 @@
+-- Tabla de staging para la carga nativa (LOAD DATA LOCAL INFILE) de la carga masiva.
+-- Cada importación escribe sus filas con un load_id propio y las elimina tras fusionarlas en devices.
+CREATE TABLE IF NOT EXISTS devices_bulk_staging (
+    load_id  UUID         NOT NULL,
+    row_num  INT          NOT NULL,
+    id       UUID         NOT NULL,
+    name     VARCHAR(255) NOT NULL,
+    brand    VARCHAR(255) NOT NULL,
+    barcode  VARCHAR(255) NOT NULL,
+    status   VARCHAR(32)  NOT NULL,
+    CONSTRAINT pk_devices_bulk_staging PRIMARY KEY (load_id, row_num)
+);
@@ -0,0 +1,3 @@
+-- Conteos de la carga masiva en modo upsert.
+ALTER TABLE bulk_upload_log ADD COLUMN IF NOT EXISTS updated_rows BIGINT;
+ALTER TABLE bulk_upload_log ADD COLUMN IF NOT EXISTS unchanged_rows BIGINT;
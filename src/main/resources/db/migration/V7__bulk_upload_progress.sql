@@ -0,0 +1,4 @@
+-- Progreso de las cargas masivas en curso (checkpoint periódico).
+ALTER TABLE bulk_upload_log ADD COLUMN IF NOT EXISTS validated_rows BIGINT;
+ALTER TABLE bulk_upload_log ADD COLUMN IF NOT EXISTS persisted_rows BIGINT;
+ALTER TABLE bulk_upload_log ADD COLUMN IF NOT EXISTS current_chunk INT;
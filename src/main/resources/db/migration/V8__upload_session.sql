@@ -0,0 +1,18 @@
+-- Sesiones de carga masiva por partes. Se guardan en base de datos para que sobrevivan a un reinicio y
+-- cualquier réplica pueda continuar la carga; el archivo se arma en el spool compartido como session-<id><ext>.
+CREATE TABLE IF NOT EXISTS upload_session (
+    id                 UUID         NOT NULL,
+    created_at         DATETIME(6)  NOT NULL,
+    updated_at         DATETIME(6),
+    version            BIGINT,
+    owner              VARCHAR(100) NOT NULL,
+    original_filename  VARCHAR(255) NOT NULL,
+    format             VARCHAR(16)  NOT NULL,
+    total_size         BIGINT       NOT NULL,
+    received_bytes     BIGINT       NOT NULL,
+    last_activity_at   DATETIME(6)  NOT NULL,
+    committing         BOOLEAN      NOT NULL DEFAULT FALSE,
+    CONSTRAINT pk_upload_session PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_upload_session_last_activity ON upload_session (last_activity_at);
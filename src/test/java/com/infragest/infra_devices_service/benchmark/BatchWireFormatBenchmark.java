@@ -0,0 +1,133 @@
+package com.infragest.infra_devices_service.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infragest.infra_devices_service.config.BinaryFormatConfig;
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import com.infragest.infra_devices_service.model.DeviceRs;
+import com.infragest.infra_devices_service.model.DevicesBatchRq;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara JSON y Smile en los cuerpos de los endpoints batch: una petición con UUIDs ({@link DevicesBatchRq})
+ * y una respuesta con una lista de {@link DeviceRs}. Mide el costo de serializar y deserializar, e imprime el
+ * tamaño de cada cuerpo al iniciar.
+ *
+ * Ejecutar con: {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="BatchWireFormatBenchmark"}
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchWireFormatBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private ObjectMapper json;
+    private ObjectMapper smile;
+    private JavaType deviceListType;
+
+    private DevicesBatchRq request;
+    private List<DeviceRs> devices;
+
+    private byte[] requestJson;
+    private byte[] requestSmile;
+    private byte[] devicesJson;
+    private byte[] devicesSmile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = Jackson2ObjectMapperBuilder.json().build();
+        smile = new BinaryFormatConfig()
+                .smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json())
+                .getObjectMapper();
+        deviceListType = json.getTypeFactory().constructCollectionType(List.class, DeviceRs.class);
+
+        Random random = new Random(42L);
+        List<UUID> ids = new ArrayList<>(size);
+        devices = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            ids.add(id);
+            devices.add(DeviceRs.builder()
+                    .id(id)
+                    .name("Device " + i)
+                    .brand("Brand " + (i % 20))
+                    .barcode(String.format("BC%010d", i))
+                    .status(DeviceStatusEnum.values()[i % DeviceStatusEnum.values().length])
+                    .createdAt(now.minusDays(i % 365))
+                    .updatedAt(now)
+                    .build());
+        }
+        request = DevicesBatchRq.builder().ids(ids).build();
+
+        requestJson = json.writeValueAsBytes(request);
+        requestSmile = smile.writeValueAsBytes(request);
+        devicesJson = json.writeValueAsBytes(devices);
+        devicesSmile = smile.writeValueAsBytes(devices);
+
+        if (!request.equals(smile.readValue(requestSmile, DevicesBatchRq.class))
+                || !devices.equals(smile.readValue(devicesSmile, deviceListType))) {
+            throw new IllegalStateException("Smile no conserva los datos en la ida y vuelta");
+        }
+
+        System.out.printf("%nTamaño de %d ids:     JSON %,d bytes, Smile %,d bytes%n", size, requestJson.length, requestSmile.length);
+        System.out.printf("Tamaño de %d devices: JSON %,d bytes, Smile %,d bytes%n", size, devicesJson.length, devicesSmile.length);
+    }
+
+    @Benchmark
+    public byte[] writeIdsJson() throws IOException {
+        return json.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] writeIdsSmile() throws IOException {
+        return smile.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public DevicesBatchRq readIdsJson() throws IOException {
+        return json.readValue(requestJson, DevicesBatchRq.class);
+    }
+
+    @Benchmark
+    public DevicesBatchRq readIdsSmile() throws IOException {
+        return smile.readValue(requestSmile, DevicesBatchRq.class);
+    }
+
+    @Benchmark
+    public byte[] writeDevicesJson() throws IOException {
+        return json.writeValueAsBytes(devices);
+    }
+
+    @Benchmark
+    public byte[] writeDevicesSmile() throws IOException {
+        return smile.writeValueAsBytes(devices);
+    }
+
+    @Benchmark
+    public List<DeviceRs> readDevicesJson() throws IOException {
+        return json.readValue(devicesJson, deviceListType);
+    }
+
+    @Benchmark
+    public List<DeviceRs> readDevicesSmile() throws IOException {
+        return smile.readValue(devicesSmile, deviceListType);
+    }
+}
@@ -0,0 +1,269 @@
+package com.infragest.infra_devices_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.infragest.infra_devices_service.InfraDevicesServiceApplication;
+import com.infragest.infra_devices_service.enums.BulkUploadFormatEnum;
+import com.infragest.infra_devices_service.enums.BulkUploadModeEnum;
+import com.infragest.infra_devices_service.enums.BulkUploadStatusEnum;
+import com.infragest.infra_devices_service.model.BulkUploadJobRs;
+import com.infragest.infra_devices_service.repository.BulkUploadLogRepository;
+import com.infragest.infra_devices_service.repository.DeviceRepository;
+import com.infragest.infra_devices_service.service.BulkUploadService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Suite de benchmarks de extremo a extremo de la carga masiva de dispositivos.
+ *
+ * Arranca la aplicación sobre H2 (modo MariaDB, esquema por Flyway), genera archivos sintéticos con
+ * {@link SyntheticDeviceFileGenerator} y los envía por {@link BulkUploadService#submitUpload}: spool con
+ * hash, cola de trabajos, lectura en streaming, validación, deduplicación y persistencia por bloques. Por
+ * cada combinación de formato y tamaño mide filas por segundo, heap máximo, tiempo de GC y sentencias
+ * JDBC, y escribe los resultados en JSON para compararlos entre commits. Las sentencias se cuentan en el
+ * {@code DataSource} con {@link JdbcStatementCounter}, de modo que incluyen las rutas de {@code JdbcTemplate}.
+ *
+ * Ejecutar con:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.infragest.infra_devices_service.benchmark.BulkUploadBenchmarkSuite
+ * -Dbenchmark.args="--rows=10000,100000,1000000 --formats=XLSX,CSV,NDJSON --duplicates=0.02 --invalid=0.01"}
+ *
+ * Argumentos (todos opcionales): {@code --rows}, {@code --formats}, {@code --duplicates}, {@code --invalid},
+ * {@code --output} (directorio, por defecto {@code target/benchmarks}).
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public final class BulkUploadBenchmarkSuite {
+
+    private static final long SEED = 42L;
+    private static final Set<BulkUploadStatusEnum> FINAL_STATES = EnumSet.of(
+            BulkUploadStatusEnum.COMPLETED, BulkUploadStatusEnum.COMPLETED_WITH_WARNINGS, BulkUploadStatusEnum.FAILED);
+
+    private BulkUploadBenchmarkSuite() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        List<Integer> sizes = Arrays.stream(options.getOrDefault("rows", "10000,100000,1000000").split(","))
+                .map(String::trim).map(Integer::parseInt).toList();
+        List<BulkUploadFormatEnum> formats = Arrays.stream(options.getOrDefault("formats", "XLSX,CSV,NDJSON").split(","))
+                .map(String::trim).map(BulkUploadFormatEnum::valueOf).toList();
+        double duplicates = Double.parseDouble(options.getOrDefault("duplicates", "0.02"));
+        double invalid = Double.parseDouble(options.getOrDefault("invalid", "0.01"));
+        Path output = Path.of(options.getOrDefault("output", "target/benchmarks"));
+
+        Path workDir = Files.createTempDirectory("bulk-upload-suite");
+        List<Map<String, Object>> results = new ArrayList<>();
+
+        JdbcStatementCounter statementCounter = new JdbcStatementCounter();
+        try (ConfigurableApplicationContext context = startApplication(workDir, statementCounter)) {
+            BulkUploadService bulkUploadService = context.getBean(BulkUploadService.class);
+            DeviceRepository deviceRepository = context.getBean(DeviceRepository.class);
+            BulkUploadLogRepository bulkUploadLogRepository = context.getBean(BulkUploadLogRepository.class);
+
+            for (int rows : sizes) {
+                for (BulkUploadFormatEnum format : formats) {
+                    Path file = SyntheticDeviceFileGenerator.generate(
+                            workDir.resolve("devices-" + rows + format.getExtension()),
+                            format, rows, duplicates, invalid, SEED);
+
+                    deviceRepository.deleteAllInBatch();
+                    bulkUploadLogRepository.deleteAllInBatch();
+                    System.gc();
+
+                    results.add(run(bulkUploadService, statementCounter, file, format, rows));
+                    Files.deleteIfExists(file);
+                    System.out.println(results.get(results.size() - 1));
+                }
+            }
+        } finally {
+            FileSystemUtils.deleteRecursively(workDir);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", LocalDateTime.now());
+        report.put("commit", gitCommit());
+        report.put("jvm", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        report.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        report.put("duplicateRatio", duplicates);
+        report.put("invalidStateRatio", invalid);
+        report.put("results", results);
+
+        Files.createDirectories(output);
+        Path reportFile = output.resolve("bulk-upload-" + System.currentTimeMillis() + ".json");
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        mapper.writeValue(reportFile.toFile(), report);
+        System.out.println("Resultados: " + reportFile.toAbsolutePath());
+    }
+
+    /**
+     * Ejecuta una carga completa y devuelve sus métricas.
+     */
+    private static Map<String, Object> run(BulkUploadService bulkUploadService, JdbcStatementCounter statementCounter,
+                                           Path file, BulkUploadFormatEnum format, int rows) throws Exception {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long gcTimeBefore = gcTimeMillis();
+        long gcCountBefore = gcCount();
+        statementCounter.reset();
+
+        long start = System.nanoTime();
+        BulkUploadJobRs job = bulkUploadService.submitUpload(new PathMultipartFile(file, format), BulkUploadModeEnum.INSERT, "benchmark", "127.0.0.1", "benchmark");
+        while (!FINAL_STATES.contains(job.getStatus())) {
+            Thread.sleep(20);
+            job = bulkUploadService.getUploadJob(job.getId(), "benchmark");
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("format", format);
+        result.put("rows", rows);
+        result.put("fileBytes", Files.size(file));
+        result.put("status", job.getStatus());
+        result.put("insertedRows", job.getInsertedRows());
+        result.put("rejectedRows", job.getRejectedRows());
+        result.put("seconds", seconds);
+        result.put("rowsPerSecond", rows / seconds);
+        result.put("peakHeapBytes", heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum());
+        result.put("gcTimeMillis", gcTimeMillis() - gcTimeBefore);
+        result.put("gcCount", gcCount() - gcCountBefore);
+        // Incluye las consultas de estado del bucle de espera, igual en todas las ejecuciones
+        result.putAll(statementCounter.snapshot());
+        return result;
+    }
+
+    /**
+     * Arranca la aplicación en un puerto libre, sin config server ni Eureka y sobre H2 en modo MariaDB, con el
+     * {@code DataSource} envuelto por el contador de sentencias.
+     */
+    private static ConfigurableApplicationContext startApplication(Path workDir, JdbcStatementCounter statementCounter) {
+        // DevTools reinicia el contexto en otro hilo; solo se puede desactivar como propiedad de sistema
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(InfraDevicesServiceApplication.class)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(statementCounter))
+                .properties(
+                        "spring.config.name=bulk-upload-benchmark",
+                        "spring.cloud.config.enabled=false",
+                        "server.port=0",
+                        "spring.cloud.discovery.enabled=false",
+                        "eureka.client.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:bulk-benchmark;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=500",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "spring.security.oauth2.resourceserver.jwt.secret=YmJiYmJiYmJiYmJiYmJiYmJiYmJiYmJiYmJiYmJiYmJiYmJiYmJiYmJiYmJiYmJi",
+                        "devices.grpc.enabled=false",
+                        "devices.rate-limit.enabled=false",
+                        "devices.bulk-upload.dedup-window=PT0S",
+                        "devices.bulk-upload.spool-dir=" + workDir.resolve("spool"),
+                        "devices.bulk-upload.report-dir=" + workDir.resolve("reports"),
+                        "logging.level.root=WARN"
+                )
+                .run();
+    }
+
+    private static long gcTimeMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).filter(t -> t > 0).sum();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).filter(c -> c > 0).sum();
+    }
+
+    private static String gitCommit() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String commit = new String(process.getInputStream().readAllBytes()).trim();
+            return process.waitFor() == 0 ? commit : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * {@link MultipartFile} respaldado por un archivo en disco, para no cargar el archivo en memoria.
+     */
+    private record PathMultipartFile(Path path, BulkUploadFormatEnum format) implements MultipartFile {
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return path.getFileName().toString();
+        }
+
+        @Override
+        public String getContentType() {
+            return null; // El formato se detecta por la extensión
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.infragest.infra_devices_service.benchmark;
+
+import com.infragest.infra_devices_service.enums.BulkUploadFormatEnum;
+import com.infragest.infra_devices_service.util.CsvStreamingReader;
+import com.infragest.infra_devices_service.util.NdjsonStreamingReader;
+import com.infragest.infra_devices_service.util.XlsxStreamingReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el rendimiento (filas por segundo) de los lectores de carga masiva para XLSX, CSV y NDJSON
+ * sobre el mismo conjunto de filas.
+ *
+ * Ejecutar con: {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="BulkUploadFormatBenchmark"}
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BulkUploadFormatBenchmark.ROWS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class BulkUploadFormatBenchmark {
+
+    static final int ROWS = 100_000;
+    private static final int COLUMNS = 4;
+    private static final int CHUNK_SIZE = 1000;
+    private static final long SEED = 42L;
+
+    private Path directory;
+    private Path xlsx;
+    private Path csv;
+    private Path ndjson;
+
+    @Setup(Level.Trial)
+    public void generateFiles() throws IOException {
+        directory = Files.createTempDirectory("bulk-upload-benchmark");
+        xlsx = SyntheticDeviceFileGenerator.generate(directory.resolve("devices.xlsx"), BulkUploadFormatEnum.XLSX, ROWS, 0, 0, SEED);
+        csv = SyntheticDeviceFileGenerator.generate(directory.resolve("devices.csv"), BulkUploadFormatEnum.CSV, ROWS, 0, 0, SEED);
+        ndjson = SyntheticDeviceFileGenerator.generate(directory.resolve("devices.ndjson"), BulkUploadFormatEnum.NDJSON, ROWS, 0, 0, SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(xlsx);
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(ndjson);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public int xlsx(Blackhole blackhole) throws IOException {
+        return XlsxStreamingReader.read(xlsx, COLUMNS, CHUNK_SIZE, blackhole::consume);
+    }
+
+    @Benchmark
+    public int csv(Blackhole blackhole) throws IOException {
+        return CsvStreamingReader.read(csv, COLUMNS, CHUNK_SIZE, blackhole::consume);
+    }
+
+    @Benchmark
+    public int ndjson(Blackhole blackhole) throws IOException {
+        return NdjsonStreamingReader.read(ndjson, COLUMNS, CHUNK_SIZE, blackhole::consume);
+    }
+}
@@ -0,0 +1,101 @@
+package com.infragest.infra_devices_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.exception.GlobalExceptionHandler;
+import com.infragest.infra_devices_service.util.MessageException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo de una respuesta 404 de punta a punta (lanzar la excepción desde una pila de profundidad
+ * similar a la de una petición de Spring MVC, construir la respuesta y serializarla a JSON): la versión anterior,
+ * con traza completa y un {@code Map.of(...)} por error, frente a la {@link DeviceException} sin traza y las
+ * plantillas de {@link GlobalExceptionHandler}.
+ *
+ * Ejecutar con: {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="DeviceErrorPathBenchmark"}
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeviceErrorPathBenchmark {
+
+    /**
+     * Profundidad aproximada de la pila entre Tomcat y la capa de servicio.
+     */
+    @Param({"100"})
+    private int stackDepth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final UUID id = UUID.randomUUID();
+
+    @Benchmark
+    public byte[] previous() throws IOException {
+        try {
+            descend(stackDepth, true);
+            return null;
+        } catch (PreviousDeviceException ex) {
+            ResponseEntity<?> response = ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of(
+                            "timestamp", LocalDateTime.now(),
+                            "status", HttpStatus.NOT_FOUND.value(),
+                            "error", "Device Error",
+                            "type", ex.type,
+                            "message", ex.getMessage()
+                    ));
+            return objectMapper.writeValueAsBytes(response.getBody());
+        }
+    }
+
+    @Benchmark
+    public byte[] current() throws IOException {
+        try {
+            descend(stackDepth, false);
+            return null;
+        } catch (DeviceException ex) {
+            return objectMapper.writeValueAsBytes(handler.handleDeviceException(ex).getBody());
+        }
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private void descend(int depth, boolean previous) {
+        if (depth > 0) {
+            descend(depth - 1, previous);
+            return;
+        }
+        String message = String.format(MessageException.DEVICE_NOT_FOUND_BY_ID, id);
+        if (previous) {
+            throw new PreviousDeviceException(message, DeviceException.Type.NOT_FOUND);
+        }
+        throw new DeviceException(message, DeviceException.Type.NOT_FOUND);
+    }
+
+    /**
+     * {@link DeviceException} tal como era antes: siempre con traza de la pila.
+     */
+    private static final class PreviousDeviceException extends RuntimeException {
+
+        private final DeviceException.Type type;
+
+        PreviousDeviceException(String message, DeviceException.Type type) {
+            super(message);
+            this.type = type;
+        }
+    }
+}
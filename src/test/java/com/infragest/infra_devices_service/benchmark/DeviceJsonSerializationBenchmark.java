@@ -0,0 +1,111 @@
+package com.infragest.infra_devices_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.infragest.infra_devices_service.config.JacksonConfig;
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import com.infragest.infra_devices_service.model.DeviceAssignmentActiveRs;
+import com.infragest.infra_devices_service.model.DeviceAssignmentDto;
+import com.infragest.infra_devices_service.model.DeviceRs;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la serialización JSON de las listas de {@link DeviceRs}, {@link DeviceAssignmentDto} y
+ * {@link DeviceAssignmentActiveRs} con el {@code ObjectMapper} por defecto (reflexión) y con el módulo
+ * Blackbird de {@link JacksonConfig}. Al iniciar comprueba que ambas salidas son idénticas byte a byte.
+ *
+ * Ejecutar con: {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="DeviceJsonSerializationBenchmark"}
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeviceJsonSerializationBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private ObjectWriter reflective;
+    private ObjectWriter blackbird;
+
+    private List<DeviceRs> devices;
+    private List<DeviceAssignmentDto> assignments;
+    private List<DeviceAssignmentActiveRs> activeAssignments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        reflective = Jackson2ObjectMapperBuilder.json().build().writer();
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new JacksonConfig().blackbirdModule())
+                .build();
+        blackbird = mapper.writer();
+
+        Random random = new Random(42L);
+        LocalDateTime now = LocalDateTime.now();
+        devices = new ArrayList<>(size);
+        assignments = new ArrayList<>(size);
+        activeAssignments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            DeviceStatusEnum status = DeviceStatusEnum.values()[i % DeviceStatusEnum.values().length];
+            devices.add(DeviceRs.builder().id(id).name("Device " + i).brand("Brand " + (i % 20))
+                    .barcode(String.format("BC%010d", i)).status(status)
+                    .createdAt(now.minusDays(i % 365)).updatedAt(now).build());
+            assignments.add(DeviceAssignmentDto.builder().deviceId(id).orderId(new UUID(random.nextLong(), random.nextLong()))
+                    .deviceName("Device " + i).deviceStatus(status)
+                    .assignedAt(now.minusHours(i % 48)).releasedAt(i % 2 == 0 ? now : null).build());
+            activeAssignments.add(DeviceAssignmentActiveRs.builder().deviceId(id).active(i % 3 == 0).build());
+        }
+
+        for (Object payload : List.of(devices, assignments, activeAssignments)) {
+            if (!Arrays.equals(reflective.writeValueAsBytes(payload), blackbird.writeValueAsBytes(payload))) {
+                throw new IllegalStateException("Blackbird cambia el JSON producido");
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] devicesReflective() throws IOException {
+        return reflective.writeValueAsBytes(devices);
+    }
+
+    @Benchmark
+    public byte[] devicesBlackbird() throws IOException {
+        return blackbird.writeValueAsBytes(devices);
+    }
+
+    @Benchmark
+    public byte[] assignmentsReflective() throws IOException {
+        return reflective.writeValueAsBytes(assignments);
+    }
+
+    @Benchmark
+    public byte[] assignmentsBlackbird() throws IOException {
+        return blackbird.writeValueAsBytes(assignments);
+    }
+
+    @Benchmark
+    public byte[] activeAssignmentsReflective() throws IOException {
+        return reflective.writeValueAsBytes(activeAssignments);
+    }
+
+    @Benchmark
+    public byte[] activeAssignmentsBlackbird() throws IOException {
+        return blackbird.writeValueAsBytes(activeAssignments);
+    }
+}
@@ -0,0 +1,123 @@
+package com.infragest.infra_devices_service.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cuenta las sentencias JDBC a nivel de {@link DataSource}.
+ *
+ * Como {@link BeanPostProcessor}, envuelve el {@link DataSource} de la aplicación en un proxy que envuelve a su
+ * vez cada {@link Connection} y cada {@link Statement}. Así se cuentan todas las rutas de acceso (Hibernate,
+ * {@code JdbcTemplate}, {@code LOAD DATA}) y no solo las que registran las estadísticas de Hibernate.
+ *
+ * <ul>
+ *     <li>{@code statementsPrepared}: sentencias creadas o preparadas.</li>
+ *     <li>{@code executions}: ejecuciones individuales ({@code execute}, {@code executeQuery},
+ *     {@code executeUpdate}).</li>
+ *     <li>{@code batches} y {@code batchedRows}: lotes enviados y filas agregadas a ellos.</li>
+ *     <li>{@code roundTrips}: ejecuciones más lotes, es decir, viajes a la base de datos.</li>
+ *     <li>{@code commits}: transacciones confirmadas.</li>
+ * </ul>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public final class JdbcStatementCounter implements BeanPostProcessor {
+
+    private final LongAdder statementsPrepared = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedRows = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                return result instanceof Connection connection ? proxy(Connection.class, connection, this::onConnection) : result;
+            });
+        }
+        return bean;
+    }
+
+    /**
+     * Pone a cero los contadores.
+     */
+    public void reset() {
+        statementsPrepared.reset();
+        executions.reset();
+        batches.reset();
+        batchedRows.reset();
+        commits.reset();
+    }
+
+    /**
+     * @return valor de cada contador desde el último {@link #reset()}
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("statementsPrepared", statementsPrepared.sum());
+        counts.put("executions", executions.sum());
+        counts.put("batches", batches.sum());
+        counts.put("batchedRows", batchedRows.sum());
+        counts.put("roundTrips", executions.sum() + batches.sum());
+        counts.put("commits", commits.sum());
+        return counts;
+    }
+
+    private Object onConnection(Object target, Method method, Object[] args) throws Throwable {
+        Object result = invoke(target, method, args);
+        String name = method.getName();
+        if (name.equals("commit")) {
+            commits.increment();
+        } else if (result instanceof Statement statement) {
+            statementsPrepared.increment();
+            // PreparedStatement o CallableStatement según el método que lo creó
+            return proxy(method.getReturnType(), statement, this::onStatement);
+        }
+        return result;
+    }
+
+    private Object onStatement(Object target, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.equals("addBatch")) {
+            batchedRows.increment();
+        } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+            batches.increment();
+        } else if (name.startsWith("execute")) {
+            executions.increment();
+        }
+        return invoke(target, method, args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, TargetHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return (T) Proxy.newProxyInstance(JdbcStatementCounter.class.getClassLoader(), new Class<?>[]{type},
+                invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface TargetHandler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,82 @@
+package com.infragest.infra_devices_service.benchmark;
+
+import com.infragest.infra_devices_service.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo de autenticar una petición con JWT: la verificación anterior (validar y luego volver a
+ * parsear para obtener el subject), un único parseo sin caché y un acierto en la caché de tokens verificados.
+ *
+ * Ejecutar con: {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="JwtAuthBenchmark"}
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("infra-devices-benchmark-secret-key-0123456789".getBytes());
+
+    private SecretKeySpec key;
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        key = new SecretKeySpec(Base64.getDecoder().decode(SECRET), "HmacSHA256");
+        uncached = jwtUtil(0);
+        cached = jwtUtil(10_000);
+        token = Jwts.builder()
+                .setSubject("benchmark@infragest.com")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Flujo previo del filtro: {@code validateToken} y {@code getEmailFromToken}, cada uno con su propio parseo.
+     */
+    @Benchmark
+    public String doubleParse() {
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return claims != null
+                ? Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject()
+                : null;
+    }
+
+    @Benchmark
+    public String singleParse() {
+        return uncached.verifyToken(token).getSubject();
+    }
+
+    @Benchmark
+    public String cachedHit() {
+        return cached.verifyToken(token).getSubject();
+    }
+
+    private static JwtUtil jwtUtil(long cacheSize) {
+        JwtUtil jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecretBase64", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "tokenCacheMaxSize", cacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,123 @@
+package com.infragest.infra_devices_service.benchmark;
+
+import com.infragest.infra_devices_service.enums.BulkUploadFormatEnum;
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Genera archivos sintéticos de carga masiva de dispositivos (XLSX, CSV o NDJSON).
+ *
+ * Cada fila tiene nombre, marca, barcode y estado. Una fracción configurable de filas repite el barcode de
+ * una fila anterior y otra fracción usa un estado inválido, para ejercitar las rutas de rechazo. La semilla
+ * fija hace que el mismo tamaño y proporciones produzcan siempre el mismo contenido.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public final class SyntheticDeviceFileGenerator {
+
+    private static final DeviceStatusEnum[] STATES = DeviceStatusEnum.values();
+    private static final String INVALID_STATE = "BROKEN";
+    private static final int BRANDS = 50;
+
+    private SyntheticDeviceFileGenerator() {
+    }
+
+    /**
+     * Genera un archivo sintético.
+     *
+     * @param file destino
+     * @param format formato del archivo
+     * @param rows número de filas de datos
+     * @param duplicateRatio fracción de filas (0..1) con barcode repetido
+     * @param invalidStateRatio fracción de filas (0..1) con estado inválido
+     * @param seed semilla del generador aleatorio
+     * @return ruta del archivo generado
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public static Path generate(Path file, BulkUploadFormatEnum format, int rows,
+                                double duplicateRatio, double invalidStateRatio, long seed) throws IOException {
+        RowSource source = new RowSource(duplicateRatio, invalidStateRatio, seed);
+        switch (format) {
+            case XLSX -> writeXlsx(file, rows, source);
+            case CSV -> writeCsv(file, rows, source);
+            case NDJSON -> writeNdjson(file, rows, source);
+        }
+        return file;
+    }
+
+    private static void writeXlsx(Path file, int rows, RowSource source) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+             OutputStream out = Files.newOutputStream(file)) {
+            workbook.setCompressTempFiles(true);
+            Sheet sheet = workbook.createSheet("devices");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("name");
+            header.createCell(1).setCellValue("brand");
+            header.createCell(2).setCellValue("barcode");
+            header.createCell(3).setCellValue("status");
+            for (int i = 1; i <= rows; i++) {
+                String[] values = source.next(i);
+                Row row = sheet.createRow(i);
+                for (int c = 0; c < values.length; c++) {
+                    row.createCell(c).setCellValue(values[c]);
+                }
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+    }
+
+    private static void writeCsv(Path file, int rows, RowSource source) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("name,brand,barcode,status\n");
+            for (int i = 1; i <= rows; i++) {
+                writer.write(String.join(",", source.next(i)));
+                writer.write('\n');
+            }
+        }
+    }
+
+    private static void writeNdjson(Path file, int rows, RowSource source) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 1; i <= rows; i++) {
+                String[] values = source.next(i);
+                writer.write("{\"name\":\"" + values[0] + "\",\"brand\":\"" + values[1]
+                        + "\",\"barcode\":\"" + values[2] + "\",\"status\":\"" + values[3] + "\"}\n");
+            }
+        }
+    }
+
+    /**
+     * Produce los valores de cada fila.
+     */
+    private static final class RowSource {
+        private final double duplicateRatio;
+        private final double invalidStateRatio;
+        private final Random random;
+
+        private RowSource(double duplicateRatio, double invalidStateRatio, long seed) {
+            this.duplicateRatio = duplicateRatio;
+            this.invalidStateRatio = invalidStateRatio;
+            this.random = new Random(seed);
+        }
+
+        private String[] next(int index) {
+            int barcode = index > 1 && random.nextDouble() < duplicateRatio ? 1 + random.nextInt(index - 1) : index;
+            String state = random.nextDouble() < invalidStateRatio
+                    ? INVALID_STATE
+                    : STATES[random.nextInt(STATES.length)].name();
+            return new String[]{"Device " + index, "Brand " + (index % BRANDS), "BC-" + barcode, state};
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.infragest.infra_devices_service.config;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infragest.infra_devices_service.controller.DeviceAssignmentController;
+import com.infragest.infra_devices_service.controller.DeviceController;
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import com.infragest.infra_devices_service.model.DeviceAssignmentActiveRs;
+import com.infragest.infra_devices_service.model.DeviceRs;
+import com.infragest.infra_devices_service.model.DevicesBatchRq;
+import com.infragest.infra_devices_service.model.UpdateDevicesStateRq;
+import com.infragest.infra_devices_service.service.BulkUploadService;
+import com.infragest.infra_devices_service.service.DeviceAssignmentService;
+import com.infragest.infra_devices_service.service.DeviceExportService;
+import com.infragest.infra_devices_service.service.DeviceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica que {@code /devices/batch}, {@code /devices/reserve} y {@code /devices-assignments/devices/active}
+ * reciben y devuelven Smile con el convertidor de {@link BinaryFormatConfig}, con los UUID como 16 bytes
+ * binarios, y que los clientes JSON reciben la misma respuesta de siempre.
+ */
+class BinaryFormatConfigTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType(BinaryFormatConfig.APPLICATION_SMILE_VALUE);
+
+    private static final UUID FIRST = UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301");
+    private static final UUID SECOND = UUID.fromString("9b2f7c1e-0d6a-4c3b-8e5f-1a2b3c4d5e6f");
+
+    private final DeviceService deviceService = mock(DeviceService.class);
+    private final DeviceAssignmentService deviceAssignmentService = mock(DeviceAssignmentService.class);
+
+    private ObjectMapper smileMapper;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MappingJackson2SmileHttpMessageConverter smileConverter =
+                new BinaryFormatConfig().smileHttpMessageConverter(new Jackson2ObjectMapperBuilder());
+        smileMapper = smileConverter.getObjectMapper();
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(
+                        new DeviceController(deviceService, mock(BulkUploadService.class),
+                                mock(DeviceExportService.class), Duration.ofMinutes(10)),
+                        new DeviceAssignmentController(deviceAssignmentService))
+                .setMessageConverters(
+                        new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()),
+                        smileConverter)
+                .build();
+
+        when(deviceService.getDevicesByIds(any())).thenReturn(List.of(
+                device(FIRST, "bc-1"), device(SECOND, "bc-2")));
+        when(deviceAssignmentService.hasActiveAssignment(any())).thenReturn(List.of(
+                new DeviceAssignmentActiveRs(FIRST, true), new DeviceAssignmentActiveRs(SECOND, false)));
+    }
+
+    @Test
+    void batchAcceptsAndReturnsSmileWithBinaryUuids() throws Exception {
+        byte[] body = mockMvc.perform(post("/devices/batch")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smileMapper.writeValueAsBytes(new DevicesBatchRq(List.of(FIRST, SECOND)))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        verify(deviceService).getDevicesByIds(List.of(FIRST, SECOND));
+        assertThat(binaryValues(body)).containsExactly(bytes(FIRST), bytes(SECOND));
+        assertThat(new String(body, StandardCharsets.ISO_8859_1)).doesNotContain(FIRST.toString());
+        JsonNode devices = smileMapper.readTree(body);
+        assertThat(devices).hasSize(2);
+        assertThat(devices.get(1).get("barcode").asText()).isEqualTo("bc-2");
+        assertThat(smileMapper.convertValue(devices.get(0), DeviceRs.class).getId()).isEqualTo(FIRST);
+    }
+
+    @Test
+    void reserveAcceptsSmileWithBinaryUuids() throws Exception {
+        UpdateDevicesStateRq request = new UpdateDevicesStateRq(List.of(FIRST, SECOND), DeviceStatusEnum.OCCUPIED,
+                SECOND);
+        byte[] requestBody = smileMapper.writeValueAsBytes(request);
+        assertThat(binaryValues(requestBody)).containsExactly(bytes(FIRST), bytes(SECOND), bytes(SECOND));
+
+        byte[] body = mockMvc.perform(put("/devices/reserve")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        verify(deviceService).reserveDevices(List.of(FIRST, SECOND), DeviceStatusEnum.OCCUPIED, SECOND);
+        assertThat(smileMapper.readTree(body).get("success").asBoolean()).isTrue();
+    }
+
+    @Test
+    void activeAssignmentsAcceptAndReturnSmileWithBinaryUuids() throws Exception {
+        byte[] body = mockMvc.perform(post("/devices-assignments/devices/active")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smileMapper.writeValueAsBytes(new DevicesBatchRq(List.of(FIRST, SECOND)))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        verify(deviceAssignmentService).hasActiveAssignment(new DevicesBatchRq(List.of(FIRST, SECOND)));
+        assertThat(binaryValues(body)).containsExactly(bytes(FIRST), bytes(SECOND));
+        JsonNode assignments = smileMapper.readTree(body);
+        assertThat(assignments.get(0).get("active").asBoolean()).isTrue();
+        assertThat(assignments.get(1).get("active").asBoolean()).isFalse();
+    }
+
+    @Test
+    void jsonClientsAreUnaffected() throws Exception {
+        String ids = "{\"ids\":[\"" + FIRST + "\",\"" + SECOND + "\"]}";
+
+        mockMvc.perform(post("/devices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ids))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id").value(FIRST.toString()))
+                .andExpect(jsonPath("$[1].barcode").value("bc-2"));
+
+        mockMvc.perform(put("/devices/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content("{\"deviceIds\":[\"" + FIRST + "\"],\"state\":\"OCCUPIED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(true));
+
+        mockMvc.perform(post("/devices-assignments/devices/active")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(ids))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].deviceId").value(FIRST.toString()))
+                .andExpect(jsonPath("$[0].active").value(true));
+
+        verify(deviceService).reserveDevices(List.of(FIRST), DeviceStatusEnum.OCCUPIED, null);
+    }
+
+    /**
+     * @return valores binarios del documento Smile, en orden de aparición
+     */
+    private List<byte[]> binaryValues(byte[] smile) throws IOException {
+        List<byte[]> values = new ArrayList<>();
+        try (JsonParser parser = smileMapper.getFactory().createParser(smile)) {
+            for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                if (token == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                    values.add(parser.getBinaryValue());
+                }
+            }
+        }
+        return values;
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private static DeviceRs device(UUID id, String barcode) {
+        return DeviceRs.builder()
+                .id(id)
+                .name("Laptop")
+                .brand("Dell")
+                .barcode(barcode)
+                .status(DeviceStatusEnum.GOOD_CONDITION)
+                .createdAt(LocalDateTime.of(2026, 10, 18, 10, 0))
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.infragest.infra_devices_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import com.infragest.infra_devices_service.model.DeviceAssignmentActiveRs;
+import com.infragest.infra_devices_service.model.DeviceAssignmentDto;
+import com.infragest.infra_devices_service.model.DeviceRs;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que el {@code ObjectMapper} de Spring Boot con {@link JacksonConfig} produce exactamente los mismos
+ * bytes que sin él para los DTO de las listas de dispositivos y asignaciones, y que los vuelve a leer igual.
+ */
+class JacksonConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class));
+
+    @Test
+    void serializationIsByteIdentical() {
+        List<Object> payloads = List.of(devices(), assignments(), activeAssignments());
+
+        List<byte[]> expected = serialize(contextRunner, payloads);
+        List<byte[]> actual = serialize(contextRunner.withUserConfiguration(JacksonConfig.class), payloads);
+
+        for (int i = 0; i < payloads.size(); i++) {
+            assertThat(actual.get(i)).isEqualTo(expected.get(i));
+        }
+    }
+
+    @Test
+    void deserializationMatchesWithBlackbird() {
+        contextRunner.withUserConfiguration(JacksonConfig.class).run(context -> {
+            ObjectMapper mapper = context.getBean(ObjectMapper.class);
+            assertThat(mapper.getRegisteredModuleIds()).contains(new BlackbirdModule().getTypeId());
+            List<DeviceRs> devices = devices();
+            byte[] json = mapper.writeValueAsBytes(devices);
+
+            List<DeviceRs> read = mapper.readValue(json,
+                    mapper.getTypeFactory().constructCollectionType(List.class, DeviceRs.class));
+
+            assertThat(read).isEqualTo(devices);
+        });
+    }
+
+    private static List<byte[]> serialize(ApplicationContextRunner runner, List<Object> payloads) {
+        AtomicReference<List<byte[]>> result = new AtomicReference<>();
+        runner.run(context -> {
+            ObjectMapper mapper = context.getBean(ObjectMapper.class);
+            List<byte[]> bytes = new ArrayList<>();
+            for (Object payload : payloads) {
+                bytes.add(mapper.writeValueAsBytes(payload));
+            }
+            result.set(bytes);
+        });
+        return result.get();
+    }
+
+    private static List<DeviceRs> devices() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 18, 9, 30, 15, 123_456_000);
+        List<DeviceRs> devices = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            devices.add(DeviceRs.builder()
+                    .id(new UUID(i, -i))
+                    .name("Laptop \"" + i + "\" ñ")
+                    .brand(i % 2 == 0 ? "Dell" : null)
+                    .barcode("BC-" + i)
+                    .status(DeviceStatusEnum.values()[i % DeviceStatusEnum.values().length])
+                    .createdAt(now.minusDays(i))
+                    .updatedAt(i % 3 == 0 ? null : now)
+                    .build());
+        }
+        return devices;
+    }
+
+    private static List<DeviceAssignmentDto> assignments() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 18, 9, 30);
+        return List.of(
+                DeviceAssignmentDto.builder().deviceId(new UUID(1, 2)).orderId(new UUID(3, 4)).deviceName("Scanner")
+                        .deviceStatus(DeviceStatusEnum.OCCUPIED).assignedAt(now).build(),
+                DeviceAssignmentDto.builder().deviceId(new UUID(5, 6)).orderId(new UUID(7, 8)).deviceName("Tablet")
+                        .deviceStatus(DeviceStatusEnum.FAIR).assignedAt(now.minusHours(5)).releasedAt(now).build());
+    }
+
+    private static List<DeviceAssignmentActiveRs> activeAssignments() {
+        return List.of(
+                DeviceAssignmentActiveRs.builder().deviceId(new UUID(1, 2)).active(true).build(),
+                DeviceAssignmentActiveRs.builder().deviceId(new UUID(3, 4)).active(false).build());
+    }
+}
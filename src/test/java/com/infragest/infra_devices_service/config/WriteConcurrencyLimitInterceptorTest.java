@@ -0,0 +1,57 @@
+package com.infragest.infra_devices_service.config;
+
+import com.infragest.infra_devices_service.util.GradientConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica cómo libera {@link WriteConcurrencyLimitInterceptor} el permiso según el resultado de la petición:
+ * las 2xx ajustan el límite con su latencia, las 4xx no lo ajustan y las 5xx lo reducen.
+ */
+class WriteConcurrencyLimitInterceptorTest {
+
+    private final GradientConcurrencyLimiter limiter = mock(GradientConcurrencyLimiter.class);
+    private final WriteConcurrencyLimitInterceptor interceptor =
+            new WriteConcurrencyLimitInterceptor(limiter, new SimpleMeterRegistry());
+
+    @Test
+    void successfulWritesAdjustTheLimitWithTheirLatency() {
+        complete(200);
+
+        verify(limiter).onSuccess(anyLong());
+    }
+
+    @Test
+    void clientErrorsReleaseThePermitWithoutAdjustingTheLimit() {
+        complete(404);
+
+        verify(limiter).onIgnore();
+        verify(limiter, never()).onSuccess(anyLong());
+        verify(limiter, never()).onDropped();
+    }
+
+    @Test
+    void serverErrorsLowerTheLimit() {
+        complete(500);
+
+        verify(limiter).onDropped();
+    }
+
+    private void complete(int status) {
+        when(limiter.tryAcquire()).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/devices/update-batch");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        response.setStatus(status);
+        interceptor.afterCompletion(request, response, null, null);
+    }
+}
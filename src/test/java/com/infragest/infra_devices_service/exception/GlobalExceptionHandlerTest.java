@@ -0,0 +1,142 @@
+package com.infragest.infra_devices_service.exception;
+
+import com.infragest.infra_devices_service.model.ErrorRs;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que las {@link DeviceException} de negocio se crean sin traza ni excepciones suprimidas y las
+ * INTERNAL_SERVER con ambas, y que {@link GlobalExceptionHandler} responde con el estado HTTP de cada tipo, la
+ * cabecera {@code Retry-After} y un cuerpo {@link ErrorRs} con sus campos y la hora del error.
+ */
+class GlobalExceptionHandlerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(meterRegistry);
+
+    @Test
+    void businessExceptionsAreStackless() {
+        for (DeviceException.Type type : DeviceException.Type.values()) {
+            if (type == DeviceException.Type.INTERNAL_SERVER) {
+                continue;
+            }
+            DeviceException ex = new DeviceException("error", type);
+            ex.addSuppressed(new IllegalStateException("suppressed"));
+
+            assertThat(ex.getStackTrace()).as(type.name()).isEmpty();
+            assertThat(ex.getSuppressed()).as(type.name()).isEmpty();
+        }
+    }
+
+    @Test
+    void internalServerExceptionsKeepTheirStackTraceAndSuppressedExceptions() {
+        IllegalStateException cleanupFailure = new IllegalStateException("cleanup failed");
+        DeviceException ex = new DeviceException("error", DeviceException.Type.INTERNAL_SERVER);
+        ex.addSuppressed(cleanupFailure);
+
+        assertThat(ex.getStackTrace()).isNotEmpty();
+        assertThat(ex.getStackTrace()[0].getMethodName())
+                .isEqualTo("internalServerExceptionsKeepTheirStackTraceAndSuppressedExceptions");
+        assertThat(ex.getSuppressed()).containsExactly(cleanupFailure);
+    }
+
+    @Test
+    void eachTypeIsMappedToItsHttpStatus() {
+        Map<DeviceException.Type, HttpStatus> expected = new EnumMap<>(DeviceException.Type.class);
+        expected.put(DeviceException.Type.BAD_REQUEST, HttpStatus.BAD_REQUEST);
+        expected.put(DeviceException.Type.NOT_FOUND, HttpStatus.NOT_FOUND);
+        expected.put(DeviceException.Type.CONFLICT, HttpStatus.CONFLICT);
+        expected.put(DeviceException.Type.TOO_MANY_REQUESTS, HttpStatus.TOO_MANY_REQUESTS);
+        expected.put(DeviceException.Type.INTERNAL_SERVER, HttpStatus.INTERNAL_SERVER_ERROR);
+        expected.put(DeviceException.Type.SERVICE_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(expected).containsOnlyKeys(DeviceException.Type.values());
+
+        expected.forEach((type, status) -> {
+            ResponseEntity<ErrorRs> response = handler.handleDeviceException(new DeviceException("error", type));
+
+            assertThat(response.getStatusCode()).as(type.name()).isEqualTo(status);
+            assertThat(response.getBody().getStatus()).as(type.name()).isEqualTo(status.value());
+            assertThat(response.getBody().getType()).as(type.name()).isEqualTo(type);
+        });
+    }
+
+    @Test
+    void deviceErrorBodyHasTheTemplateFieldsTheMessageAndTheCurrentTime() {
+        LocalDateTime before = LocalDateTime.now();
+
+        ResponseEntity<ErrorRs> response = handler.handleDeviceException(
+                new DeviceException("Device with ID 42 not found.", DeviceException.Type.NOT_FOUND));
+
+        ErrorRs body = response.getBody();
+        assertThat(body.getStatus()).isEqualTo(404);
+        assertThat(body.getError()).isEqualTo("Device Error");
+        assertThat(body.getType()).isEqualTo(DeviceException.Type.NOT_FOUND);
+        assertThat(body.getMessage()).isEqualTo("Device with ID 42 not found.");
+        assertThat(body.getTimestamp()).isBetween(before, LocalDateTime.now());
+        assertThat(response.getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+    }
+
+    @Test
+    void eachResponseGetsItsOwnBodyAndTimestamp() {
+        ErrorRs first = handler.handleDeviceException(new DeviceException("first", DeviceException.Type.CONFLICT))
+                .getBody();
+        ErrorRs second = handler.handleDeviceException(new DeviceException("second", DeviceException.Type.CONFLICT))
+                .getBody();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(first.getMessage()).isEqualTo("first");
+        assertThat(second.getMessage()).isEqualTo("second");
+        assertThat(second.getTimestamp()).isAfterOrEqualTo(first.getTimestamp());
+    }
+
+    @Test
+    void retryAfterIsSentInWholeSecondsRoundedUp() {
+        assertThat(retryAfter(Duration.ofMillis(1500), DeviceException.Type.TOO_MANY_REQUESTS)).isEqualTo("2");
+        assertThat(retryAfter(Duration.ofSeconds(30), DeviceException.Type.SERVICE_UNAVAILABLE)).isEqualTo("30");
+        // Nunca 0: el cliente volvería a intentarlo de inmediato
+        assertThat(retryAfter(Duration.ofMillis(10), DeviceException.Type.TOO_MANY_REQUESTS)).isEqualTo("1");
+        assertThat(retryAfter(Duration.ZERO, DeviceException.Type.SERVICE_UNAVAILABLE)).isEqualTo("1");
+    }
+
+    @Test
+    void unexpectedExceptionsAreAnInternalErrorWithoutType() {
+        LocalDateTime before = LocalDateTime.now();
+
+        ResponseEntity<ErrorRs> response = handler.handleGenericsException(new IllegalStateException("boom"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        ErrorRs body = response.getBody();
+        assertThat(body.getStatus()).isEqualTo(500);
+        assertThat(body.getError()).isEqualTo("Internal Server Error");
+        assertThat(body.getType()).isNull();
+        assertThat(body.getMessage()).isEqualTo("boom");
+        assertThat(body.getTimestamp()).isBetween(before, LocalDateTime.now());
+    }
+
+    @Test
+    void handledDeviceExceptionsAreCountedAsHttpErrors() {
+        handler.handleDeviceException(new DeviceException("error", DeviceException.Type.NOT_FOUND));
+        handler.handleDeviceException(new DeviceException("error", DeviceException.Type.INTERNAL_SERVER));
+
+        double counted = meterRegistry.find("devices.errors").tag("entrypoint", "http").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+        assertThat(counted).isEqualTo(2);
+    }
+
+    private String retryAfter(Duration retryAfter, DeviceException.Type type) {
+        return handler.handleDeviceException(new DeviceException("retry", type, retryAfter))
+                .getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+    }
+}
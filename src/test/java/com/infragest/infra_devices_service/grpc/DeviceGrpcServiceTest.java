@@ -0,0 +1,302 @@
+package com.infragest.infra_devices_service.grpc;
+
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.grpc.proto.ActiveAssignmentsResponse;
+import com.infragest.infra_devices_service.grpc.proto.Device;
+import com.infragest.infra_devices_service.grpc.proto.DeviceIdsRequest;
+import com.infragest.infra_devices_service.grpc.proto.DeviceStatus;
+import com.infragest.infra_devices_service.grpc.proto.DevicesResponse;
+import com.infragest.infra_devices_service.grpc.proto.DevicesServiceGrpc;
+import com.infragest.infra_devices_service.grpc.proto.ReserveDevicesRequest;
+import com.infragest.infra_devices_service.grpc.proto.UpdateDevicesBatchRequest;
+import com.infragest.infra_devices_service.model.DeviceAssignmentActiveRs;
+import com.infragest.infra_devices_service.model.DeviceRs;
+import com.infragest.infra_devices_service.model.DevicesBatchRq;
+import com.infragest.infra_devices_service.security.JwtServerInterceptor;
+import com.infragest.infra_devices_service.security.JwtUtil;
+import com.infragest.infra_devices_service.service.DeviceAssignmentService;
+import com.infragest.infra_devices_service.service.DeviceService;
+import com.infragest.infra_devices_service.util.GradientConcurrencyLimiter;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ejercita {@link DeviceGrpcService} en proceso, con la misma cadena de interceptores que el servidor real
+ * (autenticación JWT y traducción de errores) y la capa de servicio simulada.
+ */
+class DeviceGrpcServiceTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("infra-devices-grpc-test-secret-key-0123456789".getBytes());
+
+    private final DeviceService deviceService = mock(DeviceService.class);
+    private final DeviceAssignmentService deviceAssignmentService = mock(DeviceAssignmentService.class);
+
+    private GradientConcurrencyLimiter limiter;
+    private Server server;
+    private ManagedChannel channel;
+    private DevicesServiceGrpc.DevicesServiceBlockingStub blockingStub;
+    private DevicesServiceGrpc.DevicesServiceStub asyncStub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JwtUtil jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecretBase64", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "tokenCacheMaxSize", 100L);
+        jwtUtil.init();
+
+        limiter = new GradientConcurrencyLimiter(1, 1, 10, 0.2, 1.5, Duration.ofSeconds(10));
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(GrpcServerLifecycle.interceptedService(
+                        new DeviceGrpcService(deviceService, deviceAssignmentService),
+                        new JwtServerInterceptor(jwtUtil),
+                        new GrpcConcurrencyLimitInterceptor(limiter, new SimpleMeterRegistry()),
+                        new GrpcExceptionInterceptor(new SimpleMeterRegistry())))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER), "Bearer " + token());
+        blockingStub = DevicesServiceGrpc.newBlockingStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+        asyncStub = DevicesServiceGrpc.newStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void getDevicesByIdsReturnsDevicesFromServiceLayer() {
+        DeviceRs device = device();
+        when(deviceService.getDevicesByIds(List.of(device.getId()))).thenReturn(List.of(device));
+
+        DevicesResponse response = blockingStub.getDevicesByIds(DeviceIdsRequest.newBuilder()
+                .addIds(GrpcMapper.toBytes(device.getId()))
+                .build());
+
+        assertThat(response.getDevicesList()).hasSize(1);
+        Device result = response.getDevices(0);
+        assertThat(GrpcMapper.toUuid(result.getId())).isEqualTo(device.getId());
+        assertThat(result.getBarcode()).isEqualTo(device.getBarcode());
+        assertThat(result.getStatus()).isEqualTo(DeviceStatus.GOOD_CONDITION);
+    }
+
+    @Test
+    void rejectsCallsWithoutBearerToken() {
+        DevicesServiceGrpc.DevicesServiceBlockingStub anonymous = DevicesServiceGrpc.newBlockingStub(channel);
+
+        assertThatThrownBy(() -> anonymous.getDevicesByIds(DeviceIdsRequest.newBuilder()
+                .addIds(GrpcMapper.toBytes(UUID.randomUUID()))
+                .build()))
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(e -> ((StatusRuntimeException) e).getStatus().getCode())
+                .isEqualTo(Status.Code.UNAUTHENTICATED);
+    }
+
+    @Test
+    void streamDevicesByIdsAnswersEachChunk() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            DeviceRs device = device();
+            ids.add(device.getId());
+            when(deviceService.getDevicesByIds(List.of(device.getId()))).thenReturn(List.of(device));
+        }
+
+        List<Device> received = new ArrayList<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        StreamObserver<DeviceIdsRequest> requests = asyncStub.streamDevicesByIds(new StreamObserver<>() {
+            @Override
+            public void onNext(Device device) {
+                received.add(device);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                done.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                done.complete(null);
+            }
+        });
+        for (UUID id : ids) {
+            requests.onNext(DeviceIdsRequest.newBuilder().addIds(GrpcMapper.toBytes(id)).build());
+        }
+        requests.onCompleted();
+        done.get(5, TimeUnit.SECONDS);
+
+        assertThat(received).extracting(device -> GrpcMapper.toUuid(device.getId())).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void streamDevicesByIdsSkipsEmptyChunksAndWaitsForTheClientToBeReady() throws Exception {
+        List<DeviceRs> devices = List.of(device(), device(), device());
+        when(deviceService.getDevicesByIds(anyList())).thenReturn(devices);
+
+        List<Device> received = new ArrayList<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        List<ClientCallStreamObserver<DeviceIdsRequest>> call = new ArrayList<>();
+        StreamObserver<DeviceIdsRequest> requests = asyncStub.streamDevicesByIds(
+                new ClientResponseObserver<DeviceIdsRequest, Device>() {
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<DeviceIdsRequest> requestStream) {
+                        // El cliente solo acepta un mensaje hasta que pida más
+                        requestStream.disableAutoRequestWithInitial(1);
+                        call.add(requestStream);
+                    }
+
+                    @Override
+                    public void onNext(Device device) {
+                        received.add(device);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        done.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        done.complete(null);
+                    }
+                });
+        requests.onNext(DeviceIdsRequest.getDefaultInstance());
+        DeviceIdsRequest.Builder chunk = DeviceIdsRequest.newBuilder();
+        devices.forEach(device -> chunk.addIds(GrpcMapper.toBytes(device.getId())));
+        requests.onNext(chunk.build());
+        requests.onCompleted();
+
+        assertThat(received).hasSize(1);
+        assertThat(done).isNotDone();
+
+        call.get(0).request(2);
+        done.get(5, TimeUnit.SECONDS);
+
+        assertThat(received).extracting(device -> GrpcMapper.toUuid(device.getId()))
+                .containsExactlyElementsOf(devices.stream().map(DeviceRs::getId).toList());
+        verify(deviceService).getDevicesByIds(anyList());
+    }
+
+    @Test
+    void hasActiveAssignmentDelegatesToAssignmentService() {
+        UUID id = UUID.randomUUID();
+        when(deviceAssignmentService.hasActiveAssignment(any(DevicesBatchRq.class)))
+                .thenReturn(List.of(DeviceAssignmentActiveRs.builder().deviceId(id).active(true).build()));
+
+        ActiveAssignmentsResponse response = blockingStub.hasActiveAssignment(DeviceIdsRequest.newBuilder()
+                .addIds(GrpcMapper.toBytes(id))
+                .build());
+
+        assertThat(response.getAssignments(0).getActive()).isTrue();
+        assertThat(GrpcMapper.toUuid(response.getAssignments(0).getDeviceId())).isEqualTo(id);
+    }
+
+    @Test
+    void reserveDevicesMapsDeviceExceptionToGrpcStatus() {
+        UUID id = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+        doThrow(new DeviceException("not found", DeviceException.Type.NOT_FOUND))
+                .when(deviceService).reserveDevices(anyList(), eq(DeviceStatusEnum.OCCUPIED), eq(orderId));
+
+        assertThatThrownBy(() -> blockingStub.reserveDevices(ReserveDevicesRequest.newBuilder()
+                .addDeviceIds(GrpcMapper.toBytes(id))
+                .setState(DeviceStatus.OCCUPIED)
+                .setOrderId(GrpcMapper.toBytes(orderId))
+                .build()))
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(e -> ((StatusRuntimeException) e).getStatus().getCode())
+                .isEqualTo(Status.Code.NOT_FOUND);
+        verify(deviceService).reserveDevices(List.of(id), DeviceStatusEnum.OCCUPIED, orderId);
+    }
+
+    @Test
+    void writesAreShedWhenConcurrencyLimitIsReached() {
+        assertThat(limiter.tryAcquire()).isTrue();
+        try {
+            assertThatThrownBy(() -> blockingStub.updateDevicesBatch(UpdateDevicesBatchRequest.newBuilder()
+                    .addDeviceIds(GrpcMapper.toBytes(UUID.randomUUID()))
+                    .setState(DeviceStatus.FAIR)
+                    .build()))
+                    .isInstanceOf(StatusRuntimeException.class)
+                    .extracting(e -> ((StatusRuntimeException) e).getStatus().getCode())
+                    .isEqualTo(Status.Code.UNAVAILABLE);
+        } finally {
+            limiter.onIgnore();
+        }
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void updateDevicesBatchRequiresState() {
+        assertThatThrownBy(() -> blockingStub.updateDevicesBatch(UpdateDevicesBatchRequest.newBuilder()
+                .addDeviceIds(GrpcMapper.toBytes(UUID.randomUUID()))
+                .build()))
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(e -> ((StatusRuntimeException) e).getStatus().getCode())
+                .isEqualTo(Status.Code.INVALID_ARGUMENT);
+    }
+
+    private static DeviceRs device() {
+        UUID id = UUID.randomUUID();
+        return DeviceRs.builder()
+                .id(id)
+                .name("Laptop")
+                .brand("Dell")
+                .barcode("BC-" + id)
+                .status(DeviceStatusEnum.GOOD_CONDITION)
+                .build();
+    }
+
+    private static String token() {
+        return Jwts.builder()
+                .setSubject("orders@infragest.com")
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(new SecretKeySpec(Base64.getDecoder().decode(SECRET), "HmacSHA256"), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,199 @@
+package com.infragest.infra_devices_service.repository;
+
+import com.infragest.infra_devices_service.enums.BulkUploadStatusEnum;
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica, contra una base embebida con el esquema tal como lo crea Flyway, que cada consulta frecuente
+ * de los repositorios se resuelve con su índice. Se captura el SQL real generado por Hibernate
+ * y se ejecuta {@code EXPLAIN} sobre él; cuando el planificador de H2 no puede reflejar el de MariaDB, se
+ * comprueba además que el índice existe en {@code INFORMATION_SCHEMA}.
+ */
+@DataJpaTest(properties = {
+        // Evita el application.yml principal (importa el config server); Flyway usa su ubicación por defecto
+        "spring.config.name=repository-index-usage-test",
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:indexes;MODE=MariaDB;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.infragest.infra_devices_service.repository.RepositoryIndexUsageTest$SqlCapture"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryIndexUsageTest {
+
+    private static final int DEVICES = 100;
+    private static final int ASSIGNMENTS_PER_DEVICE = 20;
+
+    /**
+     * Captura las sentencias SQL que Hibernate envía a la base de datos.
+     */
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private DeviceAssignmentRepository deviceAssignmentRepository;
+
+    @Autowired
+    private BulkUploadLogRepository bulkUploadLogRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Carga un volumen pequeño pero representativo (mayoría de asignaciones liberadas) y
+     * actualiza las estadísticas para que el optimizador elija por selectividad.
+     */
+    @BeforeEach
+    void seedAndClearCapture() {
+        SqlCapture.STATEMENTS.clear();
+
+        // ANALYZE confirma la transacción, así que los datos se cargan una única vez para toda la clase
+        Integer devices = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM devices", Integer.class);
+        if (devices != null && devices > 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int d = 0; d < DEVICES; d++) {
+            UUID deviceId = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO devices (id, created_at, name, brand, barcode, status) VALUES (?, ?, ?, ?, ?, ?)",
+                    deviceId, now, "Device " + d, "Brand " + (d % 5), "BC" + d, DeviceStatusEnum.values()[d % 4].name());
+            for (int a = 0; a < ASSIGNMENTS_PER_DEVICE; a++) {
+                LocalDateTime assignedAt = now.minusDays(ASSIGNMENTS_PER_DEVICE - a);
+                jdbcTemplate.update("INSERT INTO device_assignments (id, created_at, order_id, device_id, status, assigned_at, released_at) "
+                                + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                        UUID.randomUUID(), now, UUID.randomUUID(), deviceId, DeviceStatusEnum.OCCUPIED.name(), assignedAt,
+                        a == ASSIGNMENTS_PER_DEVICE - 1 ? null : assignedAt.plusHours(8));
+            }
+            jdbcTemplate.update("INSERT INTO bulk_upload_log (id, created_at, original_filename, file_hash, operation_type, status, "
+                            + "uploaded_by, uploaded_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    UUID.randomUUID(), now, "devices-" + d + ".xlsx", "hash-" + d, "DEVICE_BULK_UPLOAD",
+                    BulkUploadStatusEnum.values()[d % 5].name(), "user" + (d % 10) + "@infragest.com", now.minusHours(d));
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void findAllByStatusUsesStatusIndex() throws Exception {
+        deviceRepository.findAllByStatus(DeviceStatusEnum.GOOD_CONDITION);
+        assertThat(explainLastSelect()).contains("idx_devices_status");
+    }
+
+    @Test
+    void findAllByDeviceIdInAndReleasedAtIsNullUsesDeviceReleasedIndex() throws Exception {
+        deviceAssignmentRepository.findAllByDeviceIdInAndReleasedAtIsNull(List.of(UUID.randomUUID(), UUID.randomUUID()));
+        assertThat(explainLastSelect()).contains("idx_device_assignments_device_released");
+    }
+
+    /**
+     * H2 no tiene en cuenta el {@code ORDER BY} al elegir índice, así que su plan no refleja el de MariaDB, que
+     * resuelve esta consulta con (device_id, assigned_at) para evitar el filesort. Se comprueba que el plan de H2
+     * busca por {@code device_id} sin recorrer la tabla y que V2 crea el índice con las columnas en ese orden.
+     */
+    @Test
+    void findAllByDeviceIdOrderByAssignedAtDescHasDeviceAssignedIndex() throws Exception {
+        deviceAssignmentRepository.findAllByDeviceIdOrderByAssignedAtDesc(UUID.randomUUID());
+
+        assertThat(explainLastSelect()).contains("device_id = ?1").doesNotContain("tablescan");
+        assertThat(jdbcTemplate.queryForList("SELECT column_name FROM information_schema.index_columns "
+                        + "WHERE table_name = 'device_assignments' AND index_name = 'idx_device_assignments_device_assigned' "
+                        + "ORDER BY ordinal_position", String.class))
+                .containsExactly("device_id", "assigned_at");
+    }
+
+    @Test
+    void findByFileHashAndUploadedAtAfterUsesHashIndex() throws Exception {
+        bulkUploadLogRepository.findByFileHashAndUploadedAtAfter("hash", LocalDateTime.now());
+        assertThat(explainLastSelect()).contains("idx_bulk_upload_log_hash_uploaded");
+    }
+
+    @Test
+    void findLatestByFileHashUsesHashIndex() throws Exception {
+        bulkUploadLogRepository.findFirstByFileHashAndOperationTypeAndUploadedByAndUploadedAtAfterAndStatusNotOrderByUploadedAtDesc(
+                "hash", "DEVICE_BULK_UPLOAD", "user1@infragest.com", LocalDateTime.now(), BulkUploadStatusEnum.FAILED);
+        assertThat(explainLastSelect()).contains("idx_bulk_upload_log_hash_uploaded");
+    }
+
+    @Test
+    void findByUploadedByAndStatusAndUploadedAtAfterUsesUserStatusIndex() throws Exception {
+        bulkUploadLogRepository.findByUploadedByAndStatusAndUploadedAtAfter(
+                "user@infragest.com", BulkUploadStatusEnum.COMPLETED, LocalDateTime.now(), PageRequest.of(0, 20));
+        assertThat(explainLastSelect()).contains("idx_bulk_upload_log_user_status_uploaded");
+    }
+
+    /**
+     * Valor de ejemplo para un parámetro según su tipo; los parámetros sin tipo inferido
+     * (por ejemplo, límites de paginación) reciben un texto numérico que H2 convierte.
+     */
+    private Object sampleValue(String parameterClass) {
+        if (UUID.class.getName().equals(parameterClass)) {
+            return UUID.randomUUID();
+        }
+        if (Timestamp.class.getName().equals(parameterClass)) {
+            return Timestamp.valueOf(LocalDateTime.now().minusDays(1));
+        }
+        return "1";
+    }
+
+    /**
+     * Ejecuta EXPLAIN sobre la última sentencia SELECT capturada con valores de ejemplo.
+     *
+     * @return plan de ejecución en minúsculas
+     */
+    private String explainLastSelect() throws Exception {
+        String sql = SqlCapture.STATEMENTS.stream()
+                .filter(statement -> statement.trim().toLowerCase().startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No se capturó ninguna consulta SELECT"));
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            ParameterMetaData metaData = explain.getParameterMetaData();
+            for (int i = 1; i <= metaData.getParameterCount(); i++) {
+                explain.setObject(i, sampleValue(metaData.getParameterClassName(i)));
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                StringBuilder text = new StringBuilder();
+                while (plan.next()) {
+                    text.append(plan.getString(1)).append('\n');
+                }
+                return text.toString().toLowerCase();
+            }
+        }
+    }
+}
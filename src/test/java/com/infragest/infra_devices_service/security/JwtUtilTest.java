@@ -0,0 +1,176 @@
+package com.infragest.infra_devices_service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica la caché de tokens verificados de {@link JwtUtil}: aciertos, expiración en el {@code exp} del token
+ * (también con un {@code exp} muy lejano), tokens sin {@code exp} y tokens con firma inválida. La hora la marca
+ * un reloj manual, así que la expiración no depende del reloj de la máquina.
+ */
+class JwtUtilTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("infra-devices-jwt-cache-test-secret-0123456789".getBytes());
+
+    private static final String OTHER_SECRET = Base64.getEncoder()
+            .encodeToString("another-service-jwt-secret-key-0123456789abcd".getBytes());
+
+    private SimpleMeterRegistry meterRegistry;
+    private ManualClock clock;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new ManualClock(Instant.parse("2026-10-18T10:00:00Z"));
+        jwtUtil = new JwtUtil(meterRegistry, clock);
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecretBase64", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "tokenCacheMaxSize", 100L);
+        jwtUtil.init();
+    }
+
+    @Test
+    void reusedTokenIsServedFromTheCache() {
+        String token = token(SECRET, at(Duration.ofHours(1)));
+
+        Claims first = jwtUtil.verifyToken(token);
+        Claims second = jwtUtil.verifyToken(token);
+
+        assertThat(first.getSubject()).isEqualTo("orders@infragest.com");
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.verified-tokens").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceItExpires() {
+        String token = token(SECRET, at(Duration.ofSeconds(2)));
+
+        assertThat(jwtUtil.verifyToken(token)).isNotNull();
+        clock.advance(Duration.ofMillis(1999));
+        assertThat(jwtUtil.verifyToken(token)).isNotNull();
+        clock.advance(Duration.ofMillis(2));
+
+        assertThat(cache().getIfPresent(digest(token))).isNull();
+        assertThat(jwtUtil.verifyToken(token)).isNull();
+    }
+
+    @Test
+    void entriesExpireAtTheTokenExpirationEvenIfItIsVeryFarAway() {
+        long hour = TimeUnit.HOURS.toMillis(1);
+        String soon = token(SECRET, at(Duration.ofMillis(hour)));
+        // A 500 años, los nanosegundos hasta el exp no caben en un long
+        String farAway = token(SECRET, at(Duration.ofDays(365L * 500)));
+
+        jwtUtil.verifyToken(soon);
+        jwtUtil.verifyToken(farAway);
+
+        Cache<String, Claims> cache = cache();
+        assertThat(cache.estimatedSize()).isEqualTo(2);
+        Policy.VarExpiration<String, Claims> expiration = cache.policy().expireVariably().orElseThrow();
+        assertThat(expiration.getExpiresAfter(digest(soon), TimeUnit.MILLISECONDS).orElseThrow())
+                .isEqualTo(hour);
+        assertThat(expiration.getExpiresAfter(digest(farAway), TimeUnit.DAYS).orElseThrow())
+                .isGreaterThan(365L * 100);
+    }
+
+    @Test
+    void tokensWithoutExpirationAreValidButNotCached() {
+        String token = token(SECRET, null);
+
+        assertThat(jwtUtil.verifyToken(token)).isNotNull();
+        assertThat(jwtUtil.verifyToken(token)).isNotNull();
+
+        assertThat(cache().estimatedSize()).isZero();
+    }
+
+    @Test
+    void tokensWithAnInvalidSignatureAreRejectedAndNotCached() {
+        Date exp = at(Duration.ofHours(1));
+        String valid = token(SECRET, exp);
+        String forged = token(OTHER_SECRET, exp);
+
+        assertThat(jwtUtil.verifyToken(valid)).isNotNull();
+        assertThat(jwtUtil.verifyToken(forged)).isNull();
+        assertThat(jwtUtil.verifyToken(forged)).isNull();
+
+        assertThat(cache().asMap()).containsOnlyKeys(digest(valid));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<String, Claims> cache() {
+        return (Cache<String, Claims>) ReflectionTestUtils.getField(jwtUtil, "verifiedTokens");
+    }
+
+    private static String digest(String token) {
+        return ReflectionTestUtils.invokeMethod(JwtUtil.class, "digest", token);
+    }
+
+    /**
+     * @return instante {@code offset} después de la hora actual del reloj de la prueba
+     */
+    private Date at(Duration offset) {
+        return Date.from(clock.instant().plus(offset));
+    }
+
+    private static String token(String secret, Date expiration) {
+        JwtBuilder builder = Jwts.builder().setSubject("orders@infragest.com");
+        if (expiration != null) {
+            builder.setExpiration(expiration);
+        }
+        return builder
+                .signWith(new SecretKeySpec(Base64.getDecoder().decode(secret), "HmacSHA256"), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Reloj que solo avanza cuando la prueba lo indica.
+     */
+    private static final class ManualClock extends Clock {
+        private Instant now;
+
+        private ManualClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
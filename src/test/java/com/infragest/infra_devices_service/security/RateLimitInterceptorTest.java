@@ -0,0 +1,91 @@
+package com.infragest.infra_devices_service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.infragest.infra_devices_service.enums.EndpointClassEnum;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica la clasificación de endpoints de {@link RateLimitInterceptor} y que sus métricas no crean una serie
+ * por cliente salvo para los clientes rechazados, que se elimina al descartar su bucket.
+ */
+class RateLimitInterceptorTest {
+
+    @Test
+    void classifiesBulkUploadsReadsAndWrites() {
+        assertThat(RateLimitInterceptor.classify(request("POST", "/devices/batch/upload")))
+                .isEqualTo(EndpointClassEnum.BULK_UPLOAD);
+        assertThat(RateLimitInterceptor.classify(request("PUT", "/devices/batch/upload/sessions/1")))
+                .isEqualTo(EndpointClassEnum.BULK_UPLOAD);
+        assertThat(RateLimitInterceptor.classify(request("GET", "/devices/batch/upload/1/progress")))
+                .isEqualTo(EndpointClassEnum.READ);
+        assertThat(RateLimitInterceptor.classify(request("GET", "/devices/export.xlsx")))
+                .isEqualTo(EndpointClassEnum.READ);
+        assertThat(RateLimitInterceptor.classify(request("HEAD", "/devices")))
+                .isEqualTo(EndpointClassEnum.READ);
+        assertThat(RateLimitInterceptor.classify(request("POST", "/devices/batch")))
+                .isEqualTo(EndpointClassEnum.READ);
+        assertThat(RateLimitInterceptor.classify(request("POST", "/devices-assignments/devices/active")))
+                .isEqualTo(EndpointClassEnum.READ);
+        assertThat(RateLimitInterceptor.classify(request("POST", "/devices")))
+                .isEqualTo(EndpointClassEnum.WRITE);
+        assertThat(RateLimitInterceptor.classify(request("PUT", "/devices/update-batch")))
+                .isEqualTo(EndpointClassEnum.WRITE);
+    }
+
+    @Test
+    void classifyIgnoresTheContextPath() {
+        MockHttpServletRequest request = request("POST", "/api/devices/batch");
+        request.setContextPath("/api");
+
+        assertThat(RateLimitInterceptor.classify(request)).isEqualTo(EndpointClassEnum.READ);
+    }
+
+    @Test
+    void onlyRejectedCallersGetTheirOwnSeriesAndItIsRemovedWithTheirBucket() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(meterRegistry, true, 0.001, 1,
+                Duration.ofMillis(50), 8, 8, 8);
+
+        handle(interceptor, "allowed@infragest.com");
+        handle(interceptor, "limited@infragest.com");
+        assertThatThrownBy(() -> handle(interceptor, "limited@infragest.com"))
+                .isInstanceOf(DeviceException.class)
+                .extracting(e -> ((DeviceException) e).getType())
+                .isEqualTo(DeviceException.Type.TOO_MANY_REQUESTS);
+
+        assertThat(meterRegistry.get("devices.rate_limit.requests").tag("class", "read").tag("outcome", "allowed")
+                .counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("devices.rate_limit.requests").tag("class", "read")
+                .tag("outcome", "rate_limited").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("devices.rate_limit.requests").tagKeys("caller").meters()).isEmpty();
+        assertThat(meterRegistry.find("devices.rate_limit.rejected").meters()).singleElement()
+                .satisfies(meter -> assertThat(meter.getId().getTag("caller")).isEqualTo("limited@infragest.com"));
+
+        Thread.sleep(100);
+        ((Cache<?, ?>) ReflectionTestUtils.getField(interceptor, "clients")).cleanUp();
+
+        assertThat(meterRegistry.find("devices.rate_limit.rejected").meters()).isEmpty();
+    }
+
+    private static void handle(RateLimitInterceptor interceptor, String caller) {
+        MockHttpServletRequest request = request("GET", "/devices");
+        request.setUserPrincipal(() -> caller);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
@@ -0,0 +1,151 @@
+package com.infragest.infra_devices_service.service.impl;
+
+import com.infragest.infra_devices_service.enums.BulkUploadStatusEnum;
+import com.infragest.infra_devices_service.model.BulkUploadJobRs;
+import com.infragest.infra_devices_service.model.BulkUploadProgressRs;
+import com.infragest.infra_devices_service.repository.BulkUploadLogRepository;
+import com.infragest.infra_devices_service.util.BulkUploadProgress;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Verifica que {@link BulkUploadProgressServiceImpl} envía el progreso a los suscriptores SSE al suscribirse y
+ * en cada publicación, descarta los que se desconectan, cierra los streams con el estado final y guarda el
+ * checkpoint solo de los trabajos en curso.
+ */
+class BulkUploadProgressServiceImplTest {
+
+    private final BulkUploadLogRepository bulkUploadLogRepository = mock(BulkUploadLogRepository.class);
+    private final BulkUploadProgressServiceImpl progressService =
+            new BulkUploadProgressServiceImpl(bulkUploadLogRepository);
+
+    @Test
+    void subscribeSendsTheCurrentProgressAndPublishSendsUpdates() {
+        UUID jobId = UUID.randomUUID();
+        BulkUploadProgress progress = progressService.start(jobId);
+        progress.chunkRead(10);
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        assertThat(progressService.subscribe(jobId, emitter)).isTrue();
+        progress.chunkRead(5);
+        progress.rowsPersisted(12);
+        progressService.publishProgress();
+
+        assertThat(emitter.names).containsExactly("progress", "progress");
+        assertThat(emitter.data).extracting(data -> ((BulkUploadProgressRs) data).getRowsRead())
+                .containsExactly(10L, 15L);
+        BulkUploadProgressRs last = (BulkUploadProgressRs) emitter.data.get(1);
+        assertThat(last.getId()).isEqualTo(jobId);
+        assertThat(last.getCurrentChunk()).isEqualTo(2);
+        assertThat(last.getRowsPersisted()).isEqualTo(12);
+    }
+
+    @Test
+    void subscribeRejectsUnknownAndFinishedJobs() {
+        UUID jobId = UUID.randomUUID();
+        progressService.start(jobId);
+        progressService.finish(jobId, null);
+
+        assertThat(progressService.subscribe(UUID.randomUUID(), new RecordingEmitter())).isFalse();
+        assertThat(progressService.subscribe(jobId, new RecordingEmitter())).isFalse();
+    }
+
+    @Test
+    void finishSendsTheFinalStateAndClosesTheSubscribers() {
+        UUID jobId = UUID.randomUUID();
+        progressService.start(jobId);
+        RecordingEmitter emitter = new RecordingEmitter();
+        progressService.subscribe(jobId, emitter);
+        BulkUploadJobRs job = BulkUploadJobRs.builder().id(jobId).status(BulkUploadStatusEnum.COMPLETED).build();
+
+        progressService.finish(jobId, job);
+        progressService.publishProgress();
+
+        assertThat(emitter.names).containsExactly("progress", "completed");
+        assertThat(emitter.data.get(1)).isSameAs(job);
+        assertThat(emitter.completed).isTrue();
+    }
+
+    @Test
+    void disconnectedSubscribersAreDroppedAndTheRestKeepReceiving() {
+        UUID jobId = UUID.randomUUID();
+        progressService.start(jobId);
+        RecordingEmitter connected = new RecordingEmitter();
+        RecordingEmitter disconnected = new RecordingEmitter();
+        progressService.subscribe(jobId, connected);
+        progressService.subscribe(jobId, disconnected);
+
+        disconnected.failing = true;
+        progressService.publishProgress();
+        disconnected.failing = false;
+        progressService.publishProgress();
+
+        assertThat(connected.names).hasSize(3);
+        assertThat(disconnected.names).hasSize(1);
+    }
+
+    @Test
+    void checkpointSavesTheCountersOfLiveJobsOnly() {
+        UUID liveJob = UUID.randomUUID();
+        UUID finishedJob = UUID.randomUUID();
+        BulkUploadProgress progress = progressService.start(liveJob);
+        progressService.start(finishedJob);
+        progressService.finish(finishedJob, null);
+        progress.chunkRead(100);
+        progress.rowsValidated(90);
+        progress.rowsPersisted(80);
+        progress.rowsRejected(10);
+
+        progressService.checkpointProgress();
+
+        verify(bulkUploadLogRepository).updateProgress(liveJob, BulkUploadStatusEnum.PROCESSING,
+                100, 90, 80, 10, 1);
+        verify(bulkUploadLogRepository, never()).updateProgress(eq(finishedJob),
+                any(), anyLong(), anyLong(), anyLong(), anyLong(), anyInt());
+    }
+
+    /**
+     * Emisor que guarda los eventos enviados en lugar de escribirlos en una respuesta HTTP.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> names = new ArrayList<>();
+        private final List<Object> data = new ArrayList<>();
+        private boolean failing;
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                Object value = part.getData();
+                if (value instanceof String text && text.startsWith("event:")) {
+                    names.add(text.substring("event:".length(), text.indexOf('\n')));
+                } else if (!(value instanceof String)) {
+                    data.add(value);
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
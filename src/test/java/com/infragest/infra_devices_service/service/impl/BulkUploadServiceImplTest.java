@@ -0,0 +1,278 @@
+package com.infragest.infra_devices_service.service.impl;
+
+import com.infragest.infra_devices_service.entity.BulkUploadLog;
+import com.infragest.infra_devices_service.enums.BulkUploadModeEnum;
+import com.infragest.infra_devices_service.enums.BulkUploadStatusEnum;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.model.BulkImportResult;
+import com.infragest.infra_devices_service.model.BulkUploadJobRs;
+import com.infragest.infra_devices_service.repository.BulkUploadLogRepository;
+import com.infragest.infra_devices_service.service.BulkUploadProgressService;
+import com.infragest.infra_devices_service.service.DeviceImportService;
+import com.infragest.infra_devices_service.util.BulkUploadProgress;
+import com.infragest.infra_devices_service.util.MessageException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica la deduplicación de archivos idénticos por SHA-256, la recuperación de cargas masivas abandonadas
+ * (trabajos sin terminar y archivos huérfanos del spool), la retención de los reportes de filas rechazadas y
+ * que los trabajos solo son visibles para el usuario que subió el archivo.
+ */
+@DataJpaTest(properties = {
+        "spring.config.name=bulk-upload-test",
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:bulkuploads;MODE=MariaDB;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "devices.bulk-upload.stale-after=PT6H",
+        "devices.bulk-upload.dedup-window=PT1H",
+        "devices.bulk-upload.report-retention=P7D"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BulkUploadServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkUploadServiceImplTest {
+
+    private static final Path SPOOL_DIR = createTempDirectory("spool");
+    private static final Path REPORT_DIR = createTempDirectory("reports");
+    private static final String OWNER = "ana@infragest.com";
+
+    @DynamicPropertySource
+    static void directories(DynamicPropertyRegistry registry) {
+        registry.add("devices.bulk-upload.spool-dir", SPOOL_DIR::toString);
+        registry.add("devices.bulk-upload.report-dir", REPORT_DIR::toString);
+    }
+
+    @TestConfiguration
+    static class UploadBeans {
+
+        @Bean(name = "bulkUploadExecutor")
+        TaskExecutor bulkUploadExecutor() {
+            return new SyncTaskExecutor();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockBean
+    private DeviceImportService deviceImportService;
+
+    @MockBean
+    private BulkUploadProgressService bulkUploadProgressService;
+
+    @Autowired
+    private BulkUploadServiceImpl bulkUploadService;
+
+    @Autowired
+    private BulkUploadLogRepository bulkUploadLogRepository;
+
+    @BeforeEach
+    void clean() throws IOException {
+        when(bulkUploadProgressService.start(any())).thenAnswer(call -> new BulkUploadProgress(call.getArgument(0)));
+        when(deviceImportService.importDevices(any(), any(), any(), any(), any()))
+                .thenReturn(BulkImportResult.builder().totalRows(1).insertedRows(1).build());
+        bulkUploadLogRepository.deleteAll();
+        for (Path dir : new Path[]{SPOOL_DIR, REPORT_DIR}) {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Test
+    void identicalFileFromTheSameUserReturnsThePreviousJob() throws IOException {
+        BulkUploadJobRs first = upload("Laptop,Dell,BC-1,FAIR", OWNER, BulkUploadModeEnum.INSERT);
+        BulkUploadJobRs second = upload("Laptop,Dell,BC-1,FAIR", OWNER, BulkUploadModeEnum.INSERT);
+
+        assertThat(first.getStatus()).isEqualTo(BulkUploadStatusEnum.PENDING);
+        assertThat(first.isDeduplicated()).isFalse();
+        assertThat(second.isDeduplicated()).isTrue();
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getStatus()).isEqualTo(BulkUploadStatusEnum.COMPLETED);
+        assertThat(bulkUploadLogRepository.count()).isEqualTo(1);
+        verify(deviceImportService, times(1)).importDevices(any(), any(), any(), any(), any());
+        try (Stream<Path> files = Files.list(SPOOL_DIR)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void identicalFileIsProcessedAgainForAnotherUserModeOrAfterAFailure() {
+        BulkUploadJobRs first = upload("Laptop,Dell,BC-1,FAIR", OWNER, BulkUploadModeEnum.INSERT);
+        BulkUploadJobRs otherUser = upload("Laptop,Dell,BC-1,FAIR", "otro@infragest.com", BulkUploadModeEnum.INSERT);
+        BulkUploadJobRs otherMode = upload("Laptop,Dell,BC-1,FAIR", OWNER, BulkUploadModeEnum.UPSERT);
+        BulkUploadJobRs otherContent = upload("Laptop,Dell,BC-2,FAIR", OWNER, BulkUploadModeEnum.INSERT);
+
+        assertThat(new BulkUploadJobRs[]{otherUser, otherMode, otherContent})
+                .allSatisfy(job -> {
+                    assertThat(job.isDeduplicated()).isFalse();
+                    assertThat(job.getId()).isNotEqualTo(first.getId());
+                });
+
+        BulkUploadLog failed = bulkUploadLogRepository.findById(first.getId()).orElseThrow();
+        failed.setStatus(BulkUploadStatusEnum.FAILED);
+        bulkUploadLogRepository.save(failed);
+
+        BulkUploadJobRs retry = upload("Laptop,Dell,BC-1,FAIR", OWNER, BulkUploadModeEnum.INSERT);
+        assertThat(retry.isDeduplicated()).isFalse();
+        assertThat(retry.getId()).isNotEqualTo(first.getId());
+    }
+
+    @Test
+    void recoverStaleJobsFailsOldUnfinishedJobsOnly() {
+        LocalDateTime now = LocalDateTime.now();
+        UUID oldPending = job(BulkUploadStatusEnum.PENDING, now.minusHours(7));
+        UUID oldProcessing = job(BulkUploadStatusEnum.PROCESSING, now.minusDays(1));
+        UUID recentProcessing = job(BulkUploadStatusEnum.PROCESSING, now.minusHours(1));
+        UUID oldCompleted = job(BulkUploadStatusEnum.COMPLETED, now.minusDays(2));
+
+        assertThat(bulkUploadService.recoverStaleJobs()).isEqualTo(2);
+
+        for (UUID id : new UUID[]{oldPending, oldProcessing}) {
+            BulkUploadLog failed = bulkUploadLogRepository.findById(id).orElseThrow();
+            assertThat(failed.getStatus()).isEqualTo(BulkUploadStatusEnum.FAILED);
+            assertThat(failed.getErrorMessage()).isEqualTo(MessageException.BULK_UPLOAD_INTERRUPTED);
+            assertThat(failed.getCompletedAt()).isNotNull();
+        }
+        assertThat(bulkUploadLogRepository.findById(recentProcessing).orElseThrow().getStatus())
+                .isEqualTo(BulkUploadStatusEnum.PROCESSING);
+        assertThat(bulkUploadLogRepository.findById(oldCompleted).orElseThrow().getStatus())
+                .isEqualTo(BulkUploadStatusEnum.COMPLETED);
+    }
+
+    @Test
+    void recoverStaleJobsDeletesOnlyOldOrphanSpools() throws IOException {
+        Path orphan = spoolFile(UUID.randomUUID() + ".xlsx", Duration.ofHours(7));
+        Path recent = spoolFile(UUID.randomUUID() + ".csv", Duration.ofMinutes(5));
+        Path session = spoolFile("session-" + UUID.randomUUID() + ".csv", Duration.ofHours(7));
+
+        bulkUploadService.recoverStaleJobs();
+
+        assertThat(orphan).doesNotExist();
+        assertThat(recent).exists();
+        assertThat(session).exists();
+    }
+
+    @Test
+    void purgeExpiredReportsDeletesReportsPastTheirRetention() throws IOException {
+        Path expired = reportFile("expired-errors.csv", Duration.ofDays(8));
+        Path kept = reportFile("kept-errors.csv", Duration.ofDays(1));
+        Path stray = reportFile("stray-errors.csv", Duration.ofDays(8));
+        UUID expiredJob = jobWithReport(expired, LocalDateTime.now().minusDays(8));
+        UUID keptJob = jobWithReport(kept, LocalDateTime.now().minusDays(1));
+
+        assertThat(bulkUploadService.purgeExpiredReports()).isEqualTo(1);
+
+        assertThat(expired).doesNotExist();
+        assertThat(stray).doesNotExist();
+        assertThat(kept).exists();
+        assertThat(bulkUploadLogRepository.findById(expiredJob).orElseThrow().getErrorLogPath()).isNull();
+        assertThat(bulkUploadService.getErrorReport(keptJob, OWNER)).isEqualTo(kept);
+        assertThatThrownBy(() -> bulkUploadService.getErrorReport(expiredJob, OWNER))
+                .hasMessage(String.format(MessageException.BULK_UPLOAD_REPORT_NOT_FOUND, expiredJob));
+    }
+
+    @Test
+    void jobsOfOtherUsersAreNotFound() {
+        UUID id = job(BulkUploadStatusEnum.COMPLETED, LocalDateTime.now());
+
+        assertThat(bulkUploadService.getUploadJob(id, OWNER).getId()).isEqualTo(id);
+        for (Runnable lookup : new Runnable[]{
+                () -> bulkUploadService.getUploadJob(id, "otro@infragest.com"),
+                () -> bulkUploadService.streamProgress(id, "otro@infragest.com"),
+                () -> bulkUploadService.getErrorReport(id, "otro@infragest.com")}) {
+            assertThatThrownBy(lookup::run)
+                    .isInstanceOf(DeviceException.class)
+                    .hasMessage(String.format(MessageException.BULK_UPLOAD_NOT_FOUND, id))
+                    .extracting(e -> ((DeviceException) e).getType())
+                    .isEqualTo(DeviceException.Type.NOT_FOUND);
+        }
+    }
+
+    private BulkUploadJobRs upload(String row, String uploadedBy, BulkUploadModeEnum mode) {
+        MockMultipartFile file = new MockMultipartFile("file", "devices.csv", "text/csv",
+                ("name,brand,barcode,status\n" + row + "\n").getBytes());
+        return bulkUploadService.submitUpload(file, mode, uploadedBy, "127.0.0.1", "junit");
+    }
+
+    private UUID job(BulkUploadStatusEnum status, LocalDateTime uploadedAt) {
+        return bulkUploadLogRepository.save(BulkUploadLog.builder()
+                .originalFilename("devices.xlsx")
+                .fileHash(UUID.randomUUID().toString())
+                .operationType("DEVICE_BULK_UPLOAD")
+                .status(status)
+                .uploadedBy(OWNER)
+                .uploadedAt(uploadedAt)
+                .build()).getId();
+    }
+
+    private UUID jobWithReport(Path report, LocalDateTime completedAt) {
+        BulkUploadLog uploadLog = bulkUploadLogRepository.findById(job(BulkUploadStatusEnum.COMPLETED_WITH_WARNINGS,
+                completedAt.minusMinutes(5))).orElseThrow();
+        uploadLog.setCompletedAt(completedAt);
+        uploadLog.setErrorLogPath(report.toString());
+        return bulkUploadLogRepository.save(uploadLog).getId();
+    }
+
+    private static Path spoolFile(String name, Duration age) throws IOException {
+        return oldFile(SPOOL_DIR.resolve(name), "name,brand,barcode,status\n", age);
+    }
+
+    private static Path reportFile(String name, Duration age) throws IOException {
+        return oldFile(REPORT_DIR.resolve(name), "fila,barcode,motivo\n", age);
+    }
+
+    private static Path oldFile(Path path, String content, Duration age) throws IOException {
+        Path file = Files.writeString(path, content);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(age)));
+        return file;
+    }
+
+    private static Path createTempDirectory(String prefix) {
+        try {
+            return Files.createTempDirectory(prefix);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
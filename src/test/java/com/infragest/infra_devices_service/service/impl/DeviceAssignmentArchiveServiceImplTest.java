@@ -0,0 +1,121 @@
+package com.infragest.infra_devices_service.service.impl;
+
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import com.infragest.infra_devices_service.repository.DeviceAssignmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Verifica el archivado por lotes de {@link DeviceAssignmentArchiveServiceImpl} contra el esquema de Flyway:
+ * solo se mueven las asignaciones liberadas antes del umbral, y un lote con conteos distintos entre la copia
+ * y el borrado se revierte completo.
+ */
+@DataJpaTest(properties = {
+        "spring.config.name=device-assignment-archive-test",
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:archive;MODE=MariaDB;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "devices.assignments.archive.min-age=P90D",
+        "devices.assignments.archive.batch-size=3",
+        "devices.assignments.archive.pause-between-batches=PT0S"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DeviceAssignmentArchiveServiceImpl.class)
+// Cada lote confirma su propia transacción, como en producción
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DeviceAssignmentArchiveServiceImplTest {
+
+    @Autowired
+    private DeviceAssignmentArchiveServiceImpl archiveService;
+
+    @SpyBean
+    private DeviceAssignmentRepository deviceAssignmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UUID> oldReleased = new ArrayList<>();
+
+    /**
+     * 7 asignaciones liberadas hace más de 90 días, 2 liberadas recientemente y 1 activa.
+     */
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM device_assignments_archive");
+        jdbcTemplate.update("DELETE FROM device_assignments");
+        jdbcTemplate.update("DELETE FROM devices");
+        oldReleased.clear();
+
+        LocalDateTime now = LocalDateTime.now();
+        UUID deviceId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO devices (id, created_at, name, brand, barcode, status) VALUES (?, ?, ?, ?, ?, ?)",
+                deviceId, now, "Laptop", "Dell", "BC-ARCHIVE", DeviceStatusEnum.OCCUPIED.name());
+
+        for (int i = 0; i < 7; i++) {
+            LocalDateTime assignedAt = now.minusDays(200 + i);
+            oldReleased.add(insertAssignment(deviceId, assignedAt, assignedAt.plusHours(8)));
+        }
+        insertAssignment(deviceId, now.minusDays(10), now.minusDays(9));
+        insertAssignment(deviceId, now.minusDays(5), now.minusDays(4));
+        insertAssignment(deviceId, now.minusHours(2), null);
+    }
+
+    @Test
+    void movesOnlyAssignmentsReleasedBeforeTheCutoff() {
+        int moved = archiveService.archiveReleasedAssignments();
+
+        assertThat(moved).isEqualTo(7);
+        assertThat(count("device_assignments")).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM device_assignments_archive", UUID.class))
+                .containsExactlyInAnyOrderElementsOf(oldReleased);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM device_assignments_archive WHERE archived_at IS NULL", Integer.class)).isZero();
+    }
+
+    @Test
+    void rollsBackTheBatchWhenCopiedAndDeletedCountsDiffer() {
+        // Simula otra instancia que borró parte del lote entre la copia y el borrado
+        doAnswer(invocation -> {
+            List<UUID> ids = invocation.getArgument(0);
+            return jdbcTemplate.update("DELETE FROM device_assignments WHERE id IN (?, ?)", ids.get(0), ids.get(1));
+        }).when(deviceAssignmentRepository).deleteReleasedByIdIn(anyList());
+
+        assertThatThrownBy(() -> archiveService.archiveReleasedAssignments())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("copiadas 3, eliminadas 2");
+
+        assertThat(count("device_assignments")).isEqualTo(10);
+        assertThat(count("device_assignments_archive")).isZero();
+    }
+
+    private UUID insertAssignment(UUID deviceId, LocalDateTime assignedAt, LocalDateTime releasedAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO device_assignments (id, created_at, order_id, device_id, status, assigned_at, released_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                id, assignedAt, UUID.randomUUID(), deviceId, DeviceStatusEnum.OCCUPIED.name(), assignedAt, releasedAt);
+        return id;
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
@@ -0,0 +1,194 @@
+package com.infragest.infra_devices_service.service.impl;
+
+import com.infragest.infra_devices_service.enums.BulkUploadFormatEnum;
+import com.infragest.infra_devices_service.enums.BulkUploadModeEnum;
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.model.BulkImportResult;
+import com.infragest.infra_devices_service.model.RejectedRow;
+import com.infragest.infra_devices_service.repository.DeviceBulkLoadRepository;
+import com.infragest.infra_devices_service.repository.DeviceExportRepository;
+import com.infragest.infra_devices_service.util.BulkUploadProgress;
+import com.infragest.infra_devices_service.util.MessageException;
+import com.infragest.infra_devices_service.util.SheetRow;
+import com.infragest.infra_devices_service.util.XlsxStreamingReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que {@link DeviceExportServiceImpl} escribe una hoja con las columnas name, brand, barcode y status
+ * (todos los dispositivos o los de un estado), que el archivo exportado se vuelve a importar con la carga
+ * masiva sin pérdidas y que un inventario que no cabe en una hoja XLSX se rechaza antes de exportarlo.
+ */
+@DataJpaTest(properties = {
+        "spring.config.name=device-export-test",
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:exports;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "devices.export.row-window=2",
+        "devices.bulk-upload.chunk-size=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DeviceExportServiceImpl.class, DeviceExportRepository.class, DeviceImportServiceImpl.class,
+        DeviceBulkLoadRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DeviceExportServiceImplTest {
+
+    @TestConfiguration
+    static class ExportBeans {
+
+        @Bean(name = "bulkUploadValidationPool", destroyMethod = "shutdown")
+        ForkJoinPool bulkUploadValidationPool() {
+            return new ForkJoinPool(2);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private DeviceExportServiceImpl exportService;
+
+    @Autowired
+    private DeviceImportServiceImpl importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void seedDevices() {
+        jdbcTemplate.update("DELETE FROM devices");
+        seedDevice("Monitor", "LG", "BC-3", DeviceStatusEnum.NEEDS_REPAIR);
+        seedDevice("Laptop", "Dell", "BC-1", DeviceStatusEnum.GOOD_CONDITION);
+        seedDevice("Mouse", "Logitech", "BC-2", DeviceStatusEnum.FAIR);
+        seedDevice("Teclado", "Logitech", "BC-4", DeviceStatusEnum.FAIR);
+    }
+
+    @Test
+    void exportWritesTheHeadersAndEveryDeviceOrderedByBarcode() throws IOException {
+        Path file = export(null);
+
+        try (InputStream in = Files.newInputStream(file); XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(1);
+            Row header = workbook.getSheetAt(0).getRow(0);
+            assertThat(List.of(header.getCell(0).getStringCellValue(), header.getCell(1).getStringCellValue(),
+                    header.getCell(2).getStringCellValue(), header.getCell(3).getStringCellValue()))
+                    .containsExactly("name", "brand", "barcode", "status");
+        }
+        assertThat(readRows(file)).containsExactly(
+                "Laptop|Dell|BC-1|GOOD_CONDITION",
+                "Mouse|Logitech|BC-2|FAIR",
+                "Monitor|LG|BC-3|NEEDS_REPAIR",
+                "Teclado|Logitech|BC-4|FAIR");
+    }
+
+    @Test
+    void exportFilteredByStatusOnlyWritesThoseDevices() throws IOException {
+        Path file = export(DeviceStatusEnum.FAIR);
+
+        assertThat(readRows(file)).containsExactly(
+                "Mouse|Logitech|BC-2|FAIR",
+                "Teclado|Logitech|BC-4|FAIR");
+    }
+
+    @Test
+    void exportedFileIsImportedBackByTheBulkUpload() throws IOException {
+        Path file = export(null);
+        List<String> exported = devices();
+        jdbcTemplate.update("DELETE FROM devices");
+        List<RejectedRow> rejected = new ArrayList<>();
+
+        BulkImportResult result = importService.importDevices(file, BulkUploadFormatEnum.XLSX,
+                BulkUploadModeEnum.INSERT, new BulkUploadProgress(UUID.randomUUID()), rejected::add);
+
+        assertThat(rejected).isEmpty();
+        assertThat(result.getTotalRows()).isEqualTo(4);
+        assertThat(result.getInsertedRows()).isEqualTo(4);
+        assertThat(devices()).isEqualTo(exported);
+    }
+
+    @Test
+    void inventoryLargerThanOneSheetIsRejectedBeforeExporting() {
+        int maxDataRows = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+        DeviceExportRepository repository = mock(DeviceExportRepository.class);
+        when(repository.countDevices(DeviceStatusEnum.FAIR)).thenReturn((long) maxDataRows);
+        when(repository.countDevices(null)).thenReturn(maxDataRows + 1L);
+        DeviceExportServiceImpl service = new DeviceExportServiceImpl(repository);
+
+        service.checkExportSize(DeviceStatusEnum.FAIR);
+        assertThatThrownBy(() -> service.checkExportSize(null))
+                .isInstanceOfSatisfying(DeviceException.class, e -> {
+                    assertThat(e.getType()).isEqualTo(DeviceException.Type.BAD_REQUEST);
+                    assertThat(e.getMessage()).isEqualTo(
+                            String.format(MessageException.EXPORT_TOO_LARGE, maxDataRows + 1L, maxDataRows));
+                });
+    }
+
+    private Path export(DeviceStatusEnum status) throws IOException {
+        exportService.checkExportSize(status);
+        Path file = tempDir.resolve("devices-" + UUID.randomUUID() + ".xlsx");
+        long exported;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            exported = exportService.exportToXlsx(status, out);
+        }
+        assertThat(exported).isEqualTo(readRows(file).size());
+        return file;
+    }
+
+    private static List<String> readRows(Path file) throws IOException {
+        List<String> rows = new ArrayList<>();
+        XlsxStreamingReader.read(file, 4, 10, chunk -> {
+            for (SheetRow row : chunk) {
+                rows.add(String.join("|", row.getCells()));
+            }
+        });
+        return rows;
+    }
+
+    private List<String> devices() {
+        return jdbcTemplate.queryForList(
+                "SELECT CONCAT(name, '|', brand, '|', barcode, '|', status) FROM devices ORDER BY barcode",
+                String.class);
+    }
+
+    private void seedDevice(String name, String brand, String barcode, DeviceStatusEnum status) {
+        jdbcTemplate.update("INSERT INTO devices (id, created_at, version, name, brand, barcode, status) "
+                + "VALUES (?, CURRENT_TIMESTAMP, 0, ?, ?, ?, ?)", UUID.randomUUID(), name, brand, barcode, status.name());
+    }
+}
@@ -0,0 +1,257 @@
+package com.infragest.infra_devices_service.service.impl;
+
+import com.infragest.infra_devices_service.entity.Device;
+import com.infragest.infra_devices_service.enums.BulkUploadFormatEnum;
+import com.infragest.infra_devices_service.enums.BulkUploadModeEnum;
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import com.infragest.infra_devices_service.model.BulkImportResult;
+import com.infragest.infra_devices_service.model.RejectedRow;
+import com.infragest.infra_devices_service.repository.DeviceBulkLoadRepository;
+import com.infragest.infra_devices_service.util.BulkUploadProgress;
+import com.infragest.infra_devices_service.util.MessageException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que {@link DeviceImportServiceImpl} reconoce los barcodes ya guardados con otras mayúsculas, como
+ * hace la colación de MariaDB ({@code IGNORECASE} en H2), tanto en modo INSERT como UPSERT, que el upsert no
+ * cambia el estado de los dispositivos OCCUPIED, que las líneas NDJSON mal formadas se rechazan sin detener la
+ * importación y que con la carga nativa activada en una base sin {@code LOAD DATA} (H2) la importación pasa a la
+ * ruta JPA, tanto si lo detecta la comprobación previa como si falla la propia carga.
+ */
+@DataJpaTest(properties = {
+        "spring.config.name=device-import-test",
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:imports;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "devices.bulk-upload.chunk-size=10"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DeviceImportServiceImpl.class, DeviceBulkLoadRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DeviceImportServiceImplTest {
+
+    @TestConfiguration
+    static class ImportBeans {
+
+        @Bean(name = "bulkUploadValidationPool", destroyMethod = "shutdown")
+        ForkJoinPool bulkUploadValidationPool() {
+            return new ForkJoinPool(2);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private DeviceImportServiceImpl importService;
+
+    @Autowired
+    private DeviceBulkLoadRepository bulkLoadRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void seedMixedCaseBarcode() {
+        jdbcTemplate.update("DELETE FROM devices");
+        jdbcTemplate.update("INSERT INTO devices (id, created_at, version, name, brand, barcode, status) "
+                + "VALUES (?, CURRENT_TIMESTAMP, 0, 'Laptop', 'Dell', 'abc-1', 'GOOD_CONDITION')", UUID.randomUUID());
+    }
+
+    @AfterEach
+    void disableNativeLoad() {
+        ReflectionTestUtils.setField(importService, "nativeLoadEnabled", false);
+        ReflectionTestUtils.setField(bulkLoadRepository, "nativeLoadSupported", null);
+    }
+
+    @Test
+    void insertRejectsBarcodesStoredWithOtherCaseAndKeepsTheRestOfTheChunk() throws IOException {
+        List<RejectedRow> rejected = new ArrayList<>();
+
+        BulkImportResult result = importService.importDevices(csv(
+                        "Laptop,Dell,ABC-1,GOOD_CONDITION",
+                        "Mouse,Logitech,abc-2,FAIR"),
+                BulkUploadFormatEnum.CSV, BulkUploadModeEnum.INSERT, new BulkUploadProgress(UUID.randomUUID()),
+                rejected::add);
+
+        assertThat(result.getInsertedRows()).isEqualTo(1);
+        assertThat(result.getRejectedRows()).isEqualTo(1);
+        assertThat(rejected).singleElement().satisfies(row -> {
+            assertThat(row.getRowNumber()).isEqualTo(2);
+            assertThat(row.getMessage()).isEqualTo(String.format(MessageException.DEVICE_ALREADY_EXISTS, "abc-1"));
+        });
+        assertThat(jdbcTemplate.queryForList("SELECT barcode FROM devices", String.class))
+                .containsExactlyInAnyOrder("abc-1", "ABC-2");
+    }
+
+    @Test
+    void upsertUpdatesBarcodesStoredWithOtherCase() throws IOException {
+        List<RejectedRow> rejected = new ArrayList<>();
+
+        BulkImportResult result = importService.importDevices(csv("Laptop Pro,Dell,ABC-1,FAIR"),
+                BulkUploadFormatEnum.CSV, BulkUploadModeEnum.UPSERT, new BulkUploadProgress(UUID.randomUUID()),
+                rejected::add);
+
+        assertThat(rejected).isEmpty();
+        assertThat(result.getInsertedRows()).isZero();
+        assertThat(result.getUpdatedRows()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM devices", String.class)).containsExactly("Laptop Pro");
+    }
+
+    @Test
+    void upsertDoesNotChangeTheStatusOfOccupiedDevices() throws IOException {
+        seedDevice("occ-1", DeviceStatusEnum.OCCUPIED);
+        seedDevice("occ-2", DeviceStatusEnum.OCCUPIED);
+        List<RejectedRow> rejected = new ArrayList<>();
+
+        BulkImportResult result = importService.importDevices(csv(
+                        "Laptop Pro,Dell,OCC-1,FAIR",
+                        "Laptop Pro,Dell,OCC-2,OCCUPIED"),
+                BulkUploadFormatEnum.CSV, BulkUploadModeEnum.UPSERT, new BulkUploadProgress(UUID.randomUUID()),
+                rejected::add);
+
+        assertThat(result.getUpdatedRows()).isEqualTo(1);
+        assertThat(rejected).singleElement().satisfies(row -> {
+            assertThat(row.getRowNumber()).isEqualTo(2);
+            assertThat(row.getMessage())
+                    .isEqualTo(String.format(MessageException.DEVICE_OCCUPIED_STATUS_LOCKED, "occ-1"));
+        });
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM devices WHERE status = 'OCCUPIED'", String.class))
+                .containsExactlyInAnyOrder("Laptop", "Laptop Pro");
+    }
+
+    @Test
+    void upsertStatementKeepsOccupiedStatusEvenIfTheDeviceWasAssignedMeanwhile() {
+        UUID id = seedDevice("occ-3", DeviceStatusEnum.OCCUPIED);
+
+        Device device = Device.builder()
+                .name("Laptop Pro")
+                .brand("Dell")
+                .barcode("occ-3")
+                .status(DeviceStatusEnum.FAIR)
+                .build();
+        device.setId(UUID.randomUUID());
+
+        bulkLoadRepository.upsertDevices(List.of(device));
+
+        assertThat(jdbcTemplate.queryForMap("SELECT name, status FROM devices WHERE id = ?", id))
+                .containsEntry("name", "Laptop Pro")
+                .containsEntry("status", "OCCUPIED");
+    }
+
+    @Test
+    void malformedNdjsonLinesAreRejectedAndTheRestIsImported() throws IOException {
+        List<RejectedRow> rejected = new ArrayList<>();
+        Path file = tempDir.resolve("devices-" + UUID.randomUUID() + ".ndjson");
+        Files.writeString(file, "{\"name\":\"Mouse\",\"brand\":\"Logitech\",\"barcode\":\"m-1\",\"status\":\"FAIR\"}\n"
+                + "{\"name\":\"Teclado\",\n"
+                + "{\"name\":\"Monitor\",\"brand\":\"LG\",\"barcode\":\"m-2\",\"status\":\"FAIR\"}\n");
+
+        BulkImportResult result = importService.importDevices(file, BulkUploadFormatEnum.NDJSON,
+                BulkUploadModeEnum.INSERT, new BulkUploadProgress(UUID.randomUUID()), rejected::add);
+
+        assertThat(result.getTotalRows()).isEqualTo(3);
+        assertThat(result.getInsertedRows()).isEqualTo(2);
+        assertThat(result.getRejectedRows()).isEqualTo(1);
+        assertThat(rejected).singleElement().satisfies(row -> {
+            assertThat(row.getRowNumber()).isEqualTo(2);
+            assertThat(row.getMessage()).startsWith("La línea 2 no es JSON válido");
+        });
+    }
+
+    @Test
+    void nativeLoadOnADatabaseWithoutLoadDataUsesTheJpaPath() throws IOException {
+        ReflectionTestUtils.setField(importService, "nativeLoadEnabled", true);
+        List<RejectedRow> rejected = new ArrayList<>();
+
+        BulkImportResult result = importService.importDevices(csv(
+                        "Laptop,Dell,ABC-1,GOOD_CONDITION",
+                        "Mouse,Logitech,n-1,FAIR",
+                        "Mouse,Logitech,n-1,FAIR",
+                        "Monitor,LG,n-2,FAIR"),
+                BulkUploadFormatEnum.CSV, BulkUploadModeEnum.INSERT, new BulkUploadProgress(UUID.randomUUID()),
+                rejected::add);
+
+        assertThat(bulkLoadRepository.isNativeLoadSupported()).isFalse();
+        assertThat(result.getInsertedRows()).isEqualTo(2);
+        assertThat(rejected).extracting(RejectedRow::getRowNumber).containsExactly(2, 4);
+        assertThat(jdbcTemplate.queryForList("SELECT barcode FROM devices", String.class))
+                .containsExactlyInAnyOrder("abc-1", "N-1", "N-2");
+    }
+
+    @Test
+    void failedNativeLoadImportsTheStagedRowsThroughJpa() throws IOException {
+        ReflectionTestUtils.setField(importService, "nativeLoadEnabled", true);
+        // Forzar la ruta nativa: LOAD DATA no existe en H2 y la carga falla después de escribir el staging
+        ReflectionTestUtils.setField(bulkLoadRepository, "nativeLoadSupported", true);
+        double fallbacks = meterRegistry.get("devices.bulk_upload.native_load.fallback").counter().count();
+        List<RejectedRow> rejected = new ArrayList<>();
+
+        BulkImportResult result = importService.importDevices(csv(
+                        "Laptop,Dell,ABC-1,GOOD_CONDITION",
+                        "Mouse,Logitech,f-1,FAIR",
+                        "Mouse,Logitech,f-1,FAIR",
+                        "Monitor,LG,f-2,FAIR"),
+                BulkUploadFormatEnum.CSV, BulkUploadModeEnum.INSERT, new BulkUploadProgress(UUID.randomUUID()),
+                rejected::add);
+
+        assertThat(meterRegistry.get("devices.bulk_upload.native_load.fallback").counter().count())
+                .isEqualTo(fallbacks + 1);
+        assertThat(result.getInsertedRows()).isEqualTo(2);
+        assertThat(result.getRejectedRows()).isEqualTo(2);
+        assertThat(rejected).extracting(RejectedRow::getRowNumber).containsExactlyInAnyOrder(2, 4);
+        assertThat(rejected).extracting(RejectedRow::getMessage).containsExactlyInAnyOrder(
+                "El barcode F-1 está repetido en el archivo.",
+                String.format(MessageException.DEVICE_ALREADY_EXISTS, "abc-1"));
+        assertThat(jdbcTemplate.queryForList("SELECT barcode FROM devices", String.class))
+                .containsExactlyInAnyOrder("abc-1", "F-1", "F-2");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM devices_bulk_staging", Integer.class)).isZero();
+    }
+
+    private UUID seedDevice(String barcode, DeviceStatusEnum status) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO devices (id, created_at, version, name, brand, barcode, status) "
+                + "VALUES (?, CURRENT_TIMESTAMP, 0, 'Laptop', 'Dell', ?, ?)", id, barcode, status.name());
+        return id;
+    }
+
+    private Path csv(String... rows) throws IOException {
+        Path file = tempDir.resolve("devices-" + UUID.randomUUID() + ".csv");
+        Files.writeString(file, "name,brand,barcode,status\n" + String.join("\n", rows) + "\n");
+        return file;
+    }
+}
@@ -0,0 +1,157 @@
+package com.infragest.infra_devices_service.service.impl;
+
+import com.infragest.infra_devices_service.enums.DeviceStatusEnum;
+import com.infragest.infra_devices_service.enums.UtilizationGroupByEnum;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.model.DeviceUtilizationRs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica los acumulados diarios de {@link DeviceUtilizationServiceImpl} contra el esquema de Flyway: reparto
+ * por día natural, incremento de acumulados existentes, suma en vivo de las asignaciones activas y
+ * reconstrucción desde asignaciones y archivo.
+ */
+@DataJpaTest(properties = {
+        "spring.config.name=device-utilization-test",
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:utilization;MODE=MariaDB;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DeviceUtilizationServiceImpl.class)
+class DeviceUtilizationServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+    private static final long HOUR = 3_600L;
+
+    @Autowired
+    private DeviceUtilizationServiceImpl utilizationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID laptop = UUID.randomUUID();
+    private final UUID scanner = UUID.randomUUID();
+
+    @BeforeEach
+    void seedDevices() {
+        insertDevice(laptop, "Dell", "BC-LAPTOP");
+        insertDevice(scanner, "Zebra", "BC-SCANNER");
+    }
+
+    @Test
+    void recordIntervalSplitsByDayAndCountsTheAssignmentOnItsFirstDay() {
+        // 22:00 a 04:00 del día siguiente
+        utilizationService.recordInterval(laptop, "Dell", DAY.atTime(22, 0), DAY.plusDays(1).atTime(4, 0));
+
+        assertThat(rollup(laptop, DAY)).containsEntry("occupied_seconds", 2 * HOUR).containsEntry("assignment_count", 1L);
+        assertThat(rollup(laptop, DAY.plusDays(1)))
+                .containsEntry("occupied_seconds", 4 * HOUR).containsEntry("assignment_count", 0L);
+    }
+
+    @Test
+    void recordIntervalAddsToExistingRollups() {
+        utilizationService.recordInterval(laptop, "Dell", DAY.atTime(8, 0), DAY.atTime(10, 0));
+        utilizationService.recordInterval(laptop, "Dell", DAY.atTime(14, 0), DAY.atTime(15, 30));
+
+        assertThat(rollup(laptop, DAY))
+                .containsEntry("occupied_seconds", 3 * HOUR + HOUR / 2).containsEntry("assignment_count", 2L);
+    }
+
+    @Test
+    void utilizationByDeviceCombinesRollupsAndDerivedCapacity() {
+        utilizationService.recordInterval(laptop, "Dell", DAY.atTime(0, 0), DAY.atTime(12, 0));
+
+        List<DeviceUtilizationRs> result = utilizationService.getUtilization(DAY, DAY.plusDays(1), UtilizationGroupByEnum.DEVICE);
+
+        assertThat(result).hasSize(1);
+        DeviceUtilizationRs rs = result.get(0);
+        assertThat(rs.getDeviceId()).isEqualTo(laptop);
+        assertThat(rs.getOccupiedSeconds()).isEqualTo(12 * HOUR);
+        assertThat(rs.getIdleSeconds()).isEqualTo(36 * HOUR);
+        assertThat(rs.getBusyDays()).isEqualTo(1);
+        assertThat(rs.getIdleDays()).isEqualTo(1);
+        assertThat(rs.getUtilization()).isEqualTo(0.25);
+    }
+
+    @Test
+    void utilizationIncludesActiveAssignmentsLive() {
+        LocalDate today = LocalDate.now();
+        // Dentro del día actual aunque la prueba corra poco después de medianoche
+        LocalDateTime assignedAt = LocalDateTime.now().minusHours(1);
+        if (assignedAt.isBefore(today.atStartOfDay())) {
+            assignedAt = today.atStartOfDay();
+        }
+        long expected = Duration.between(assignedAt, LocalDateTime.now()).getSeconds();
+        insertAssignment("device_assignments", scanner, assignedAt, null);
+
+        List<DeviceUtilizationRs> result = utilizationService.getUtilization(today, today, UtilizationGroupByEnum.BRAND);
+
+        DeviceUtilizationRs zebra = result.stream().filter(rs -> "Zebra".equals(rs.getBrand())).findFirst().orElseThrow();
+        assertThat(zebra.getAssignmentCount()).isEqualTo(1);
+        assertThat(zebra.getOccupiedSeconds()).isBetween(expected - 60, expected + 60);
+        assertThat(result).extracting(DeviceUtilizationRs::getBrand).contains("Dell");
+    }
+
+    @Test
+    void rebuildReplacesRollupsFromAssignmentsAndArchive() {
+        insertAssignment("device_assignments", laptop, DAY.atTime(9, 0), DAY.atTime(11, 0));
+        insertAssignment("device_assignments_archive", laptop, DAY.atTime(13, 0), DAY.atTime(14, 0));
+        // Acumulado desactualizado que la reconstrucción debe sustituir
+        utilizationService.recordInterval(laptop, "Dell", DAY.atTime(0, 0), DAY.atTime(5, 0));
+
+        long intervals = utilizationService.rebuildRollups(DAY, DAY);
+
+        assertThat(intervals).isEqualTo(2);
+        assertThat(rollup(laptop, DAY)).containsEntry("occupied_seconds", 3 * HOUR).containsEntry("assignment_count", 2L);
+    }
+
+    @Test
+    void rejectsInvertedWindow() {
+        assertThatThrownBy(() -> utilizationService.getUtilization(DAY, DAY.minusDays(1), UtilizationGroupByEnum.DEVICE))
+                .isInstanceOf(DeviceException.class)
+                .extracting(e -> ((DeviceException) e).getType())
+                .isEqualTo(DeviceException.Type.BAD_REQUEST);
+    }
+
+    private Map<String, Object> rollup(UUID deviceId, LocalDate day) {
+        return jdbcTemplate.queryForMap("SELECT occupied_seconds, assignment_count FROM device_usage_daily "
+                + "WHERE device_id = ? AND usage_day = ?", deviceId, day);
+    }
+
+    private void insertDevice(UUID id, String brand, String barcode) {
+        jdbcTemplate.update("INSERT INTO devices (id, created_at, name, brand, barcode, status) VALUES (?, ?, ?, ?, ?, ?)",
+                id, LocalDateTime.now(), "Device " + barcode, brand, barcode, DeviceStatusEnum.GOOD_CONDITION.name());
+    }
+
+    private void insertAssignment(String table, UUID deviceId, LocalDateTime assignedAt, LocalDateTime releasedAt) {
+        if (table.endsWith("archive")) {
+            jdbcTemplate.update("INSERT INTO device_assignments_archive (id, order_id, device_id, status, assigned_at, "
+                            + "released_at, created_at, archived_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    UUID.randomUUID(), UUID.randomUUID(), deviceId, DeviceStatusEnum.OCCUPIED.name(), assignedAt,
+                    releasedAt, assignedAt, LocalDateTime.now());
+        } else {
+            jdbcTemplate.update("INSERT INTO device_assignments (id, created_at, order_id, device_id, status, assigned_at, "
+                            + "released_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    UUID.randomUUID(), assignedAt, UUID.randomUUID(), deviceId, DeviceStatusEnum.OCCUPIED.name(),
+                    assignedAt, releasedAt);
+        }
+    }
+}
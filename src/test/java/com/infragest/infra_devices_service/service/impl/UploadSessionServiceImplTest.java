@@ -0,0 +1,264 @@
+package com.infragest.infra_devices_service.service.impl;
+
+import com.infragest.infra_devices_service.entity.UploadSession;
+import com.infragest.infra_devices_service.enums.BulkUploadModeEnum;
+import com.infragest.infra_devices_service.exception.DeviceException;
+import com.infragest.infra_devices_service.model.BulkUploadJobRs;
+import com.infragest.infra_devices_service.model.UploadSessionRq;
+import com.infragest.infra_devices_service.model.UploadSessionRs;
+import com.infragest.infra_devices_service.repository.UploadSessionRepository;
+import com.infragest.infra_devices_service.service.BulkUploadService;
+import com.infragest.infra_devices_service.util.MessageException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que las sesiones de carga por partes se guardan en base de datos, que los rangos solapados o
+ * cortados avanzan el offset correctamente, que una confirmación fallida deja la sesión confirmable, que una
+ * sesión sin archivo en el spool se informa como tal y no como incompleta, y que la limpieza elimina las sesiones expiradas y los archivos de sesión huérfanos del spool.
+ */
+@DataJpaTest(properties = {
+        "spring.config.name=upload-session-test",
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:uploadsessions;MODE=MariaDB;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "devices.bulk-upload.session.ttl=PT1H"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(UploadSessionServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UploadSessionServiceImplTest {
+
+    private static final Path SPOOL_DIR = createTempDirectory("sessions");
+    private static final String OWNER = "ana@infragest.com";
+    private static final String CONTENT = "name,brand,barcode,status\nLaptop,Dell,bc-1,FAIR\n";
+
+    @DynamicPropertySource
+    static void directories(DynamicPropertyRegistry registry) {
+        registry.add("devices.bulk-upload.spool-dir", SPOOL_DIR::toString);
+    }
+
+    @MockBean
+    private BulkUploadService bulkUploadService;
+
+    @Autowired
+    private UploadSessionServiceImpl uploadSessionService;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> submitted = new ArrayList<>();
+
+    @BeforeEach
+    void clean() throws IOException {
+        submitted.clear();
+        when(bulkUploadService.submitSpooledUpload(any(), anyString(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(call -> {
+                    Path spooled = call.getArgument(0);
+                    submitted.add(spooled.getFileName() + ":" + call.getArgument(1) + ":" + Files.readString(spooled));
+                    return BulkUploadJobRs.builder().id(UUID.randomUUID()).build();
+                });
+        uploadSessionRepository.deleteAll();
+        try (Stream<Path> files = Files.list(SPOOL_DIR)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void rangesAdvanceThePersistedOffsetAndCommitHandsOverTheFile() {
+        UploadSessionRs session = open();
+
+        uploadSessionService.appendChunk(session.getId(), OWNER, range(0, 9), bytes(0, 10));
+        // Reintento solapado: solo aporta los bytes a partir del offset recibido
+        UploadSessionRs resumed = uploadSessionService.appendChunk(session.getId(), OWNER, range(5, 19), bytes(5, 20));
+
+        assertThat(resumed.getReceivedBytes()).isEqualTo(20);
+        assertThat(uploadSessionRepository.findById(session.getId()))
+                .get().extracting(UploadSession::getReceivedBytes).isEqualTo(20L);
+        assertThatThrownBy(() -> uploadSessionService.appendChunk(session.getId(), OWNER, range(25, 29), bytes(25, 30)))
+                .isInstanceOfSatisfying(DeviceException.class,
+                        e -> assertThat(e.getType()).isEqualTo(DeviceException.Type.CONFLICT));
+
+        uploadSessionService.appendChunk(session.getId(), OWNER, range(20, CONTENT.length() - 1),
+                bytes(20, CONTENT.length()));
+        uploadSessionService.commitSession(session.getId(), OWNER, BulkUploadModeEnum.INSERT, "127.0.0.1", "test");
+
+        assertThat(submitted).containsExactly(session.getId() + ".csv:" + sha256(CONTENT) + ":" + CONTENT);
+        assertThat(uploadSessionRepository.existsById(session.getId())).isFalse();
+        assertThatThrownBy(() -> uploadSessionService.getSession(session.getId(), OWNER))
+                .isInstanceOfSatisfying(DeviceException.class,
+                        e -> assertThat(e.getType()).isEqualTo(DeviceException.Type.NOT_FOUND));
+    }
+
+    @Test
+    void interruptedBodyKeepsTheBytesWritten() {
+        UploadSessionRs session = open();
+        InputStream cut = new SequenceInputStream(bytes(0, 12), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        });
+
+        assertThatThrownBy(() -> uploadSessionService.appendChunk(session.getId(), OWNER,
+                range(0, CONTENT.length() - 1), cut))
+                .isInstanceOfSatisfying(DeviceException.class, e -> {
+                    assertThat(e.getType()).isEqualTo(DeviceException.Type.BAD_REQUEST);
+                    assertThat(e.getMessage())
+                            .isEqualTo(String.format(MessageException.UPLOAD_SESSION_INCOMPLETE, 12, CONTENT.length()));
+                });
+        assertThat(uploadSessionService.getSession(session.getId(), OWNER).getReceivedBytes()).isEqualTo(12);
+    }
+
+    @Test
+    void failedCommitLeavesTheSessionCommittable() {
+        UploadSessionRs session = open();
+        uploadSessionService.appendChunk(session.getId(), OWNER, range(0, CONTENT.length() - 1),
+                bytes(0, CONTENT.length()));
+        doThrow(new DeviceException(MessageException.BULK_UPLOAD_QUEUE_FULL, DeviceException.Type.SERVICE_UNAVAILABLE))
+                .when(bulkUploadService).submitSpooledUpload(any(), anyString(), any(), any(),
+                        eq(BulkUploadModeEnum.UPSERT), any(), any(), any());
+
+        assertThatThrownBy(() -> uploadSessionService.commitSession(session.getId(), OWNER,
+                BulkUploadModeEnum.UPSERT, "127.0.0.1", "test"))
+                .isInstanceOf(DeviceException.class);
+        assertThat(SPOOL_DIR.resolve("session-" + session.getId() + ".csv")).exists();
+
+        uploadSessionService.commitSession(session.getId(), OWNER, BulkUploadModeEnum.INSERT, "127.0.0.1", "test");
+
+        assertThat(submitted).singleElement().asString().endsWith(CONTENT);
+    }
+
+    @Test
+    void sessionWhoseFileIsNotInTheSpoolIsReportedAsMissingData() throws IOException {
+        UploadSessionRs partial = open();
+        UploadSessionRs complete = open();
+        uploadSessionService.appendChunk(complete.getId(), OWNER, range(0, CONTENT.length() - 1),
+                bytes(0, CONTENT.length()));
+        // Como si los rangos hubieran llegado a una réplica con otro spool
+        Files.delete(SPOOL_DIR.resolve("session-" + partial.getId() + ".csv"));
+        Files.delete(SPOOL_DIR.resolve("session-" + complete.getId() + ".csv"));
+
+        assertThatThrownBy(() -> uploadSessionService.appendChunk(partial.getId(), OWNER, range(0, 9), bytes(0, 10)))
+                .isInstanceOfSatisfying(DeviceException.class, e -> {
+                    assertThat(e.getType()).isEqualTo(DeviceException.Type.SERVICE_UNAVAILABLE);
+                    assertThat(e.getMessage())
+                            .isEqualTo(String.format(MessageException.UPLOAD_SESSION_DATA_MISSING, partial.getId()));
+                });
+        assertThat(uploadSessionService.getSession(partial.getId(), OWNER).getReceivedBytes()).isZero();
+
+        assertThatThrownBy(() -> uploadSessionService.commitSession(complete.getId(), OWNER,
+                BulkUploadModeEnum.INSERT, "127.0.0.1", "test"))
+                .isInstanceOfSatisfying(DeviceException.class, e -> assertThat(e.getMessage())
+                        .isEqualTo(String.format(MessageException.UPLOAD_SESSION_DATA_MISSING, complete.getId())));
+        assertThat(uploadSessionService.getSession(complete.getId(), OWNER).getReceivedBytes())
+                .isEqualTo(CONTENT.length());
+        assertThat(submitted).isEmpty();
+    }
+
+    @Test
+    void purgeDeletesExpiredSessionsAndOldOrphanSessionFiles() throws IOException {
+        UploadSessionRs expired = open();
+        UploadSessionRs active = open();
+        jdbcTemplate.update("UPDATE upload_session SET last_activity_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(2)), expired.getId());
+        Path activeFile = age(SPOOL_DIR.resolve("session-" + active.getId() + ".csv"), Duration.ofHours(2));
+        Path orphan = age(Files.createFile(SPOOL_DIR.resolve("session-" + UUID.randomUUID() + ".csv")),
+                Duration.ofHours(2));
+        Path recentOrphan = Files.createFile(SPOOL_DIR.resolve("session-" + UUID.randomUUID() + ".ndjson"));
+        Path jobSpool = age(Files.createFile(SPOOL_DIR.resolve(UUID.randomUUID() + ".csv")), Duration.ofHours(2));
+
+        int purged = uploadSessionService.purgeExpiredSessions();
+
+        assertThat(purged).isEqualTo(1);
+        assertThat(uploadSessionRepository.existsById(expired.getId())).isFalse();
+        assertThat(SPOOL_DIR.resolve("session-" + expired.getId() + ".csv")).doesNotExist();
+        assertThat(orphan).doesNotExist();
+        assertThat(activeFile).exists();
+        assertThat(recentOrphan).exists();
+        assertThat(jobSpool).exists();
+    }
+
+    private UploadSessionRs open() {
+        UploadSessionRq request = new UploadSessionRq();
+        request.setFilename("devices.csv");
+        request.setContentType("text/csv");
+        request.setTotalSize((long) CONTENT.length());
+        return uploadSessionService.openSession(request, OWNER);
+    }
+
+    private static String range(long start, long end) {
+        return "bytes " + start + "-" + end + "/" + CONTENT.length();
+    }
+
+    private static InputStream bytes(int from, int to) {
+        return new ByteArrayInputStream(CONTENT.substring(from, to).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path age(Path file, Duration age) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(age)));
+        return file;
+    }
+
+    private static String sha256(String content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Path createTempDirectory(String prefix) {
+        try {
+            return Files.createTempDirectory(prefix);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
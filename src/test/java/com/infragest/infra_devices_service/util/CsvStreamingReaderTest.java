@@ -0,0 +1,118 @@
+package com.infragest.infra_devices_service.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica la máquina de estados de {@link CsvStreamingReader}: comillas, comillas escapadas, saltos de línea
+ * y separadores dentro de comillas, detección del separador, BOM y entrega por bloques.
+ */
+class CsvStreamingReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsQuotedFieldsWithEscapedQuotesDelimitersAndNewlines() throws IOException {
+        Path file = write("name,brand,barcode\r\n"
+                + "\"Laptop, 14\"\"\",\"Dell\nInc\",  bc-1  \r\n");
+
+        List<SheetRow> rows = readAll(file, 3, 10);
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.getRowNumber()).isEqualTo(2);
+            assertThat(row.getCells()).containsExactly("Laptop, 14\"", "Dell\nInc", "bc-1");
+        });
+    }
+
+    @Test
+    void keepsTextAfterAClosingQuoteAndLeavesEmptyCellsNull() throws IOException {
+        Path file = write("name,brand,barcode,status\n"
+                + "\"Mon\"itor,,\"\",  \n");
+
+        List<SheetRow> rows = readAll(file, 4, 10);
+
+        assertThat(rows).singleElement()
+                .extracting(SheetRow::getCells)
+                .isEqualTo(new String[]{"Monitor", null, null, null});
+    }
+
+    @Test
+    void detectsSemicolonDelimiterAndSkipsTheBom() throws IOException {
+        Path file = write("\uFEFFname;brand;barcode\n"
+                + "Router;Cisco;bc-9\n");
+
+        List<SheetRow> rows = readAll(file, 3, 10);
+
+        assertThat(rows).singleElement()
+                .extracting(SheetRow::getCells)
+                .isEqualTo(new String[]{"Router", "Cisco", "bc-9"});
+    }
+
+    @Test
+    void ignoresEmptyLinesAndExtraColumnsAndReadsTheLastLineWithoutNewline() throws IOException {
+        Path file = write("name,brand\n"
+                + "\n"
+                + "Mouse,Logitech,sobrante\n"
+                + "\r\n"
+                + "Teclado,HP");
+
+        List<SheetRow> rows = readAll(file, 2, 10);
+
+        assertThat(rows).extracting(SheetRow::getCells)
+                .containsExactly(new String[]{"Mouse", "Logitech"}, new String[]{"Teclado", "HP"});
+        assertThat(rows).extracting(SheetRow::getRowNumber).containsExactly(2, 3);
+    }
+
+    @Test
+    void keepsTheStateAcrossReadBuffers() throws IOException {
+        // Campo entre comillas que cruza el límite del búfer de 64 KB
+        String padding = "x".repeat(64 * 1024 - 30);
+        Path file = write("name,brand\n"
+                + "\"" + padding + "\",\"a,\"\"b\"\"\nc\"\n"
+                + "Switch,TP-Link\n");
+
+        List<SheetRow> rows = readAll(file, 2, 10);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getCells()).containsExactly(padding, "a,\"b\"\nc");
+        assertThat(rows.get(1).getCells()).containsExactly("Switch", "TP-Link");
+    }
+
+    @Test
+    void deliversDataRowsInChunks() throws IOException {
+        StringBuilder csv = new StringBuilder("name\n");
+        for (int i = 1; i <= 5; i++) {
+            csv.append("Device ").append(i).append('\n');
+        }
+        Path file = write(csv.toString());
+
+        List<List<SheetRow>> chunks = new ArrayList<>();
+        int read = CsvStreamingReader.read(file, 1, 2, chunks::add);
+
+        assertThat(read).isEqualTo(5);
+        assertThat(chunks).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(chunks.get(2).get(0).getRowNumber()).isEqualTo(6);
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(tempDir, "devices", ".csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static List<SheetRow> readAll(Path file, int columns, int chunkSize) throws IOException {
+        List<SheetRow> rows = new ArrayList<>();
+        CsvStreamingReader.read(file, columns, chunkSize, rows::addAll);
+        return rows;
+    }
+}
@@ -0,0 +1,92 @@
+package com.infragest.infra_devices_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que {@link GradientConcurrencyLimiter} rechaza por encima del límite, lo sube con latencia estable
+ * bajo carga, lo baja cuando la latencia crece o hay errores y no lo modifica sin carga ni con
+ * {@link GradientConcurrencyLimiter#onIgnore()}.
+ *
+ * Con {@code smoothing = 1} cada ventana aplica el cálculo completo, y con una vigencia de la latencia mínima
+ * de una hora no se dispara la fase de medición: los resultados no dependen del reloj.
+ */
+class GradientConcurrencyLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final GradientConcurrencyLimiter limiter =
+            new GradientConcurrencyLimiter(10, 2, 100, 1.0, 1.5, Duration.ofHours(1));
+
+    @Test
+    void rejectsAboveTheLimitAndIgnoredReleasesDoNotAdjustIt() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onIgnore();
+        }
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void stableLatencyUnderLoadRaisesTheLimitBySqrtOfTheLimit() {
+        fullWindow(10, RTT);
+
+        // 10 · gradiente 1 + √10
+        assertThat(limiter.getLimit()).isEqualTo(13);
+    }
+
+    @Test
+    void growingLatencyLowersTheLimit() {
+        fullWindow(10, RTT);
+        fullWindow(13, 4 * RTT);
+
+        // gradiente max(0,5; 1,5 · 10 / 40) = 0,5 → 13,16 · 0,5 + √13,16
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void samplesWithoutLoadDoNotChangeTheLimit() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.onSuccess(i < 10 ? RTT : 10 * RTT);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void droppedOperationsBackOffMultiplicativelyDownToTheMinimum() {
+        limiter.tryAcquire();
+        limiter.onDropped();
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    /**
+     * Completa una ventana con todos los permisos ocupados a la vez.
+     */
+    private void fullWindow(int permits, long rttNanos) {
+        for (int i = 0; i < permits; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        for (int i = 0; i < permits; i++) {
+            limiter.onSuccess(rttNanos);
+        }
+    }
+}
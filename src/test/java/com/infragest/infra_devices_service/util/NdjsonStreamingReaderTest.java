@@ -0,0 +1,96 @@
+package com.infragest.infra_devices_service.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que {@link NdjsonStreamingReader} convierte cada línea en una fila y que una línea mal formada se
+ * entrega como fila con error sin impedir la lectura de las siguientes.
+ */
+class NdjsonStreamingReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void mapsKnownFieldsAndIgnoresTheRest() throws IOException {
+        Path file = write("{\"barcode\":\" bc-1 \",\"name\":\"Laptop\",\"extra\":{\"a\":[1,2]},\"brand\":\"Dell\","
+                + "\"state\":\"FAIR\",\"price\":10}\n");
+
+        List<SheetRow> rows = readAll(file, 4, 10);
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.getRowNumber()).isEqualTo(1);
+            assertThat(row.getError()).isNull();
+            assertThat(row.getCells()).containsExactly("Laptop", "Dell", "bc-1", "FAIR");
+        });
+    }
+
+    @Test
+    void leavesNullBlankAndMissingFieldsNull() throws IOException {
+        Path file = write("{\"name\":\"Router\",\"brand\":null,\"barcode\":\"  \"}");
+
+        List<SheetRow> rows = readAll(file, 4, 10);
+
+        assertThat(rows).singleElement()
+                .extracting(SheetRow::getCells)
+                .isEqualTo(new String[]{"Router", null, null, null});
+    }
+
+    @Test
+    void rejectsMalformedLinesAndResumesAtTheNextLine() throws IOException {
+        Path file = write("{\"name\":\"Mouse\"}\r\n"
+                + "{\"name\": \"Teclado\",\n"
+                + "\n"
+                + "[1,2]\n"
+                + "{\"name\":\"A\"} {\"name\":\"B\"}\n"
+                + "{\"name\":\"Switch\"}\n");
+
+        List<SheetRow> rows = readAll(file, 4, 10);
+
+        assertThat(rows).extracting(SheetRow::getRowNumber).containsExactly(1, 2, 4, 5, 6);
+        assertThat(rows.get(0).getCell(0)).isEqualTo("Mouse");
+        assertThat(rows.get(1).getError()).startsWith("La línea 2 no es JSON válido");
+        assertThat(rows.get(2).getError()).isEqualTo("La línea 4 no es un objeto JSON.");
+        assertThat(rows.get(3).getError()).isEqualTo("La línea 5 debe contener un único objeto JSON.");
+        assertThat(rows.get(4).getError()).isNull();
+        assertThat(rows.get(4).getCell(0)).isEqualTo("Switch");
+    }
+
+    @Test
+    void deliversRowsInChunksIncludingLinesLongerThanTheBuffer() throws IOException {
+        String longName = "x".repeat(100 * 1024);
+        Path file = write("{\"name\":\"" + longName + "\"}\n"
+                + "{\"name\":\"Device 2\"}\n"
+                + "{\"name\":\"Device 3\"}\n");
+
+        List<List<SheetRow>> chunks = new ArrayList<>();
+        int read = NdjsonStreamingReader.read(file, 4, 2, chunks::add);
+
+        assertThat(read).isEqualTo(3);
+        assertThat(chunks).extracting(List::size).containsExactly(2, 1);
+        assertThat(chunks.get(0).get(0).getCell(0)).isEqualTo(longName);
+        assertThat(chunks.get(1).get(0).getRowNumber()).isEqualTo(3);
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(tempDir, "devices", ".ndjson");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static List<SheetRow> readAll(Path file, int columns, int chunkSize) throws IOException {
+        List<SheetRow> rows = new ArrayList<>();
+        NdjsonStreamingReader.read(file, columns, chunkSize, rows::addAll);
+        return rows;
+    }
+}
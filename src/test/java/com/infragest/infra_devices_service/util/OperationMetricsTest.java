@@ -0,0 +1,79 @@
+package com.infragest.infra_devices_service.util;
+
+import com.infragest.infra_devices_service.exception.DeviceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica las etiquetas de outcome y phase y las distribuciones que registra {@link OperationMetrics}.
+ */
+class OperationMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OperationMetrics metrics = new OperationMetrics(registry, "reserve-devices");
+
+    @Test
+    void recordsOutcomePerResult() {
+        DeviceException notFound = new DeviceException("not found", DeviceException.Type.NOT_FOUND);
+
+        assertThat(metrics.record(() -> "ok")).isEqualTo("ok");
+        assertThatThrownBy(() -> metrics.record(() -> {
+            throw notFound;
+        })).isSameAs(notFound);
+        assertThatThrownBy(() -> metrics.record((Runnable) () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(timerCount("success")).isEqualTo(1);
+        assertThat(timerCount("not_found")).isEqualTo(1);
+        assertThat(timerCount("error")).isEqualTo(1);
+    }
+
+    @Test
+    void recordsBatchSizeAndRowsAffected() {
+        metrics.recordBatchSize(25);
+        metrics.recordRowsAffected(20);
+
+        assertThat(registry.get("devices.operation.batch_size").tag("operation", "reserve-devices")
+                .summary().totalAmount()).isEqualTo(25);
+        assertThat(registry.get("devices.operation.rows_affected").tag("operation", "reserve-devices")
+                .summary().totalAmount()).isEqualTo(20);
+    }
+
+    @Test
+    void checkedExceptionsCountAsErrorsAndPhasesAreTaggedSeparately() {
+        OperationMetrics process = new OperationMetrics(registry, "reserve-devices", "process", Duration.ofHours(1));
+
+        assertThatThrownBy(() -> process.recordChecked(() -> {
+            throw new IOException("disk full");
+        })).isInstanceOf(IOException.class);
+        metrics.record(() -> "ok");
+
+        assertThat(registry.get("devices.operation").tag("phase", "process").tag("outcome", "error")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get("devices.operation").tag("phase", OperationMetrics.CALL).tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void registersOneErrorCounterPerType() {
+        OperationMetrics.errorCounters(registry, "http").get(DeviceException.Type.CONFLICT).increment();
+
+        assertThat(registry.get("devices.errors").tag("entrypoint", "http").counters())
+                .hasSize(DeviceException.Type.values().length);
+        assertThat(registry.get("devices.errors").tag("type", "conflict").counter().count()).isEqualTo(1);
+    }
+
+    private long timerCount(String outcome) {
+        return registry.get("devices.operation")
+                .tag("operation", "reserve-devices")
+                .tag("outcome", outcome)
+                .timer().count();
+    }
+}
@@ -0,0 +1,68 @@
+package com.infragest.infra_devices_service.util;
+
+import com.infragest.infra_devices_service.model.RejectedRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica el formato del reporte de filas rechazadas: creación perezosa, comillas de RFC 4180 y neutralización
+ * de los valores que una hoja de cálculo interpretaría como fórmula.
+ */
+class RejectedRowsCsvWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void doesNotCreateTheReportWithoutRejectedRows() throws IOException {
+        Path path = tempDir.resolve("reports/job-errors.csv");
+        try (RejectedRowsCsvWriter writer = new RejectedRowsCsvWriter(path)) {
+            assertThat(writer.hasRows()).isFalse();
+        }
+        assertThat(path).doesNotExist();
+    }
+
+    @Test
+    void quotesSeparatorsAndEscapesQuotes() throws IOException {
+        String report = write(
+                new RejectedRow(2, "BC-1", "A device BC-1 already exists."),
+                new RejectedRow(3, null, "Valor \"raro\", con coma"));
+
+        assertThat(report).isEqualTo("\uFEFFfila,barcode,motivo\n"
+                + "2,BC-1,A device BC-1 already exists.\n"
+                + "3,,\"Valor \"\"raro\"\", con coma\"\n");
+    }
+
+    @Test
+    void prefixesFormulaLikeValues() throws IOException {
+        String report = write(
+                new RejectedRow(2, "=HYPERLINK(\"http://evil\",\"x\")", "ok"),
+                new RejectedRow(3, "+1", "-2"),
+                new RejectedRow(4, "@SUM(A1)", "\tx"),
+                new RejectedRow(5, "BC-=5", ""));
+
+        assertThat(report.lines().skip(1)).containsExactly(
+                "2,\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",ok",
+                "3,'+1,'-2",
+                "4,'@SUM(A1),'\tx",
+                "5,BC-=5,");
+    }
+
+    private String write(RejectedRow... rows) throws IOException {
+        Path path = tempDir.resolve("job-errors.csv");
+        try (RejectedRowsCsvWriter writer = new RejectedRowsCsvWriter(path)) {
+            for (RejectedRow row : rows) {
+                writer.accept(row);
+            }
+            assertThat(writer.hasRows()).isTrue();
+        }
+        return Files.readString(path, StandardCharsets.UTF_8).replace(System.lineSeparator(), "\n");
+    }
+}
@@ -0,0 +1,111 @@
+package com.infragest.infra_devices_service.util;
+
+import com.infragest.infra_devices_service.exception.DeviceException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica que {@link SingleFlight} comparte una única carga entre los llamadores concurrentes de una clave.
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> flight.execute("BC-1", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "device";
+                })));
+            }
+            waitUntil(() -> flight.getLoads() + flight.getShared() == CALLERS);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("device");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(flight.getLoads()).isEqualTo(1);
+        assertThat(flight.getShared()).isEqualTo(CALLERS - 1);
+        assertThat(flight.getInFlight()).isZero();
+    }
+
+    @Test
+    void sharedCallersReceiveTheLoadException() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        DeviceException notFound = new DeviceException("not found", DeviceException.Type.NOT_FOUND);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> flight.execute("BC-2", () -> {
+                await(release);
+                throw notFound;
+            }));
+            waitUntil(() -> flight.getInFlight() == 1);
+            Future<String> follower = executor.submit(() -> flight.execute("BC-2", () -> "unexpected"));
+            waitUntil(() -> flight.getShared() == 1);
+            release.countDown();
+
+            for (Future<String> result : List.of(leader, follower)) {
+                assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCause(notFound);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void keyIsReleasedAfterTheLoad() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        flight.execute("BC-3", loads::incrementAndGet);
+        flight.execute("BC-3", loads::incrementAndGet);
+
+        assertThat(loads).hasValue(2);
+        assertThat(flight.getShared()).isZero();
+        assertThat(flight.getInFlight()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
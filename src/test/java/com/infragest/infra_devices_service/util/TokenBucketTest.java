@@ -0,0 +1,55 @@
+package com.infragest.infra_devices_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que {@link TokenBucket} admite una ráfaga de {@code capacidad} permisos, los recarga al ritmo
+ * configurado y, al rechazar, devuelve el tiempo hasta el siguiente permiso.
+ */
+class TokenBucketTest {
+
+    private static final long START = 1_000_000_000L;
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void allowsABurstOfCapacityPermitsAndThenRejects() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(START)).isZero();
+        }
+
+        assertThat(bucket.tryAcquire(START)).isPositive();
+    }
+
+    @Test
+    void refillsOnePermitPerInterval() {
+        TokenBucket bucket = new TokenBucket(10, 2, START);
+        bucket.tryAcquire(START);
+        bucket.tryAcquire(START);
+
+        assertThat(bucket.tryAcquire(START + INTERVAL)).isZero();
+        assertThat(bucket.tryAcquire(START + INTERVAL)).isPositive();
+
+        // Tras un tiempo largo sin peticiones solo se acumula la capacidad, no más
+        long later = START + 100 * INTERVAL;
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    void rejectionReturnsTheTimeUntilTheNextPermit() {
+        TokenBucket bucket = new TokenBucket(10, 1, START);
+        bucket.tryAcquire(START);
+
+        assertThat(bucket.tryAcquire(START)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryAcquire(START + INTERVAL / 4)).isEqualTo(INTERVAL - INTERVAL / 4);
+        // Los rechazos no consumen permisos: al cumplirse la espera se concede
+        assertThat(bucket.tryAcquire(START + INTERVAL)).isZero();
+    }
+}
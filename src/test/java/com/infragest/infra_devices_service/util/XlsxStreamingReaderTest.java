@@ -0,0 +1,149 @@
+package com.infragest.infra_devices_service.util;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica que {@link XlsxStreamingReader} resuelve textos compartidos y en línea, deja a {@code null} las
+ * celdas vacías y entrega las filas de datos por bloques.
+ */
+class XlsxStreamingReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsSharedStringsNumbersAndBooleans() throws IOException {
+        Path file = write(new XSSFWorkbook(), sheet -> {
+            header(sheet);
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue("  Laptop  ");
+            row.createCell(1).setCellValue("Dell");
+            row.createCell(2).setCellValue(1234.0);
+            row.createCell(3).setCellValue(true);
+        });
+
+        List<SheetRow> rows = readAll(file, 4, 10);
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getRowNumber()).isEqualTo(2);
+        assertThat(rows.get(0).getCells()).containsExactly("Laptop", "Dell", "1234", "true");
+    }
+
+    @Test
+    void readsInlineStrings() throws IOException {
+        // SXSSF escribe los textos como inlineStr, sin tabla de textos compartidos
+        Path file = write(new SXSSFWorkbook(), sheet -> {
+            header(sheet);
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue("Monitor ");
+            row.createCell(1).setCellValue("LG");
+            row.createCell(2).setCellValue("bc-77");
+        });
+
+        List<SheetRow> rows = readAll(file, 3, 10);
+
+        assertThat(rows).singleElement()
+                .extracting(SheetRow::getCells)
+                .isEqualTo(new String[]{"Monitor", "LG", "bc-77"});
+    }
+
+    @Test
+    void leavesMissingBlankAndFormulaCellsNull() throws IOException {
+        Path file = write(new XSSFWorkbook(), sheet -> {
+            header(sheet);
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue("Router");
+            row.createCell(1);
+            // Columna 2 sin celda
+            row.createCell(3).setCellFormula("1+1");
+            row.createCell(4).setCellValue("fuera de rango");
+        });
+
+        List<SheetRow> rows = readAll(file, 4, 10);
+
+        assertThat(rows).singleElement()
+                .extracting(SheetRow::getCells)
+                .isEqualTo(new String[]{"Router", null, null, null});
+        assertThat(rows.get(0).getCell(5)).isNull();
+    }
+
+    @Test
+    void deliversDataRowsInChunksAndSkipsTheHeader() throws IOException {
+        Path file = write(new XSSFWorkbook(), sheet -> {
+            header(sheet);
+            for (int i = 1; i <= 5; i++) {
+                sheet.createRow(i).createCell(0).setCellValue("Device " + i);
+            }
+            // Fila con hueco: el número de fila es el del archivo, no el consecutivo
+            sheet.createRow(8).createCell(0).setCellValue("Device 8");
+        });
+
+        List<List<SheetRow>> chunks = new ArrayList<>();
+        int read = XlsxStreamingReader.read(file, 1, 2, chunks::add);
+
+        assertThat(read).isEqualTo(6);
+        assertThat(chunks).extracting(List::size).containsExactly(2, 2, 2);
+        assertThat(chunks.get(2)).extracting(SheetRow::getRowNumber).containsExactly(6, 9);
+        assertThat(chunks.get(2).get(1).getCell(0)).isEqualTo("Device 8");
+    }
+
+    @Test
+    void rejectsFilesThatAreNotXlsx() throws IOException {
+        Path file = tempDir.resolve("devices.xlsx");
+        Files.writeString(file, "name,brand,barcode\n");
+
+        assertThatThrownBy(() -> XlsxStreamingReader.read(file, 3, 10, chunk -> { }))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Archivo XLSX inválido");
+    }
+
+    @Test
+    void columnIndexParsesCellReferences() {
+        assertThat(XlsxStreamingReader.columnIndex("A1")).isZero();
+        assertThat(XlsxStreamingReader.columnIndex("C12")).isEqualTo(2);
+        assertThat(XlsxStreamingReader.columnIndex("AA3")).isEqualTo(26);
+    }
+
+    private static void header(Sheet sheet) {
+        Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("name");
+        header.createCell(1).setCellValue("brand");
+        header.createCell(2).setCellValue("barcode");
+    }
+
+    private Path write(Workbook workbook, SheetWriter writer) throws IOException {
+        Path file = Files.createTempFile(tempDir, "devices", ".xlsx");
+        try (workbook; OutputStream out = Files.newOutputStream(file)) {
+            writer.write(workbook.createSheet("devices"));
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    private static List<SheetRow> readAll(Path file, int columns, int chunkSize) throws IOException {
+        List<SheetRow> rows = new ArrayList<>();
+        XlsxStreamingReader.read(file, columns, chunkSize, rows::addAll);
+        return rows;
+    }
+
+    @FunctionalInterface
+    private interface SheetWriter {
+        void write(Sheet sheet);
+    }
+}